@@ -1,5 +1,7 @@
 package com.duckyshine.app;
 
+import java.io.IOException;
+
 import java.nio.*;
 
 import org.lwjgl.glfw.*;
@@ -9,13 +11,25 @@ import com.duckyshine.app.camera.Camera;
 
 import com.duckyshine.app.display.Display;
 
+import com.duckyshine.app.edit.EditJournal;
+
+import com.duckyshine.app.model.MeshCache;
 import com.duckyshine.app.model.texture.Atlas;
 
+import com.duckyshine.app.physics.PlayerInput;
+
 import com.duckyshine.app.scene.Scene;
+import com.duckyshine.app.scene.Simulation;
+import com.duckyshine.app.scene.FramePacket;
 
 import com.duckyshine.app.sound.SoundPlayer;
 
-import com.duckyshine.app.asset.AssetLoader;
+import com.duckyshine.app.asset.AssetPool;
+import com.duckyshine.app.asset.AssetLoadingPhase;
+
+import com.duckyshine.app.shader.ShaderSource;
+
+import com.duckyshine.app.utility.FileUtility;
 
 import com.duckyshine.app.debug.Debug;
 
@@ -28,15 +42,44 @@ import static org.lwjgl.system.MemoryStack.*;
 import static org.lwjgl.system.MemoryUtil.*;
 
 public class Main {
+    private static final String TITLE = "Greedy Meshing";
+
+    // 0 forces the journal once at the end of every frame that edited something, higher values batch several frames
+    private static final long EDIT_COMMIT_INTERVAL = 0;
+
     private long window;
 
     private float lastTime;
 
+    private long startTime;
+
     private Scene scene;
 
+    // Ticks the scene on its own thread, this thread only polls input and draws the packets it publishes
+    private Simulation simulation;
+
+    // Drawn again every frame until a newer one arrives
+    private FramePacket framePacket;
+
+    // Mouse look stays on the window thread, its angles reach the simulation with every input sample
+    private Camera camera;
+
+    // Frames and the tick at the start of the current rate report
+    private int frameCount;
+
+    private float rateTime;
+
+    private long rateTick;
+
     private SoundPlayer soundPlayer;
 
+    private boolean isCleanedUp;
+
     private void initialise() {
+        this.startTime = System.nanoTime();
+
+        this.isCleanedUp = false;
+
         if (!glfwInit()) {
             throw new IllegalStateException("Unable to initialise GLFW");
         }
@@ -55,7 +98,7 @@ public class Main {
     private void initialiseWindow() {
         Display display = Display.get();
 
-        this.window = glfwCreateWindow(display.getWidth(), display.getHeight(), "Greedy Meshing", NULL, NULL);
+        this.window = glfwCreateWindow(display.getWidth(), display.getHeight(), Main.TITLE, NULL, NULL);
 
         if (this.window == NULL) {
             throw new RuntimeException("Failed to create the GLFW window");
@@ -90,23 +133,100 @@ public class Main {
         }
     }
 
-    private void initialiseSceneObjects() {
-        this.scene = new Scene();
+    // Workers read and decode, the GL and AL objects are created here as each result is needed
+    private void loadAssets() {
+        AssetLoadingPhase assetLoadingPhase = new AssetLoadingPhase();
+
+        assetLoadingPhase.start();
 
+        // Opening the audio device overlaps with the file reads instead of delaying them
         this.soundPlayer = new SoundPlayer();
+
+        for (ShaderSource shaderSource : assetLoadingPhase.getShaderSources()) {
+            AssetPool.addShader(shaderSource);
+        }
+
+        Atlas.setup(assetLoadingPhase.getTextureCache(), false);
+
+        this.soundPlayer.setPlaylist(assetLoadingPhase.getPlaylist());
+
+        Debug.debug(String.format("Assets loaded in %.1f ms, %.1f ms of it waiting on the loaders",
+                assetLoadingPhase.getElapsedTime(), assetLoadingPhase.getWaitTime()));
+
+        assetLoadingPhase.cleanup();
     }
 
-    private void initialiseSceneRenderingParameters() {
-        AssetLoader.loadShaders();
+    private void initialiseSceneObjects() {
+        this.scene = new Scene();
 
-        Atlas.setup(false);
+        this.camera = new Camera();
+    }
 
+    private void initialiseSceneRenderingParameters() {
         // glPolygonMode(GL_FRONT_AND_BACK, GL_LINE);
 
         glEnable(GL_DEPTH_TEST);
         glEnable(GL_CULL_FACE);
 
         this.scene.initialise();
+
+        // Before edits are restored, the chunks stored in the region file are the ones meshed through it
+        this.openMeshCache();
+    }
+
+    private void openMeshCache() {
+        try {
+            MeshCache meshCache = MeshCache.open(FileUtility.getCachePath("meshes.bin"));
+
+            this.scene.getChunkManager().setMeshCache(meshCache);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    // After pregeneration, so stored chunks and replayed edits land on generated terrain instead of being overwritten
+    private void restoreEdits() {
+        long start = System.nanoTime();
+
+        try {
+            EditJournal editJournal = EditJournal.open(FileUtility.getCachePath("edits.log"),
+                    FileUtility.getCachePath("edits.bin"), Main.EDIT_COMMIT_INTERVAL);
+
+            int replayCount = editJournal.getReplayEdit().getChangeCount();
+
+            int chunkCount = this.scene.restoreEdits(editJournal);
+
+            Debug.debug(String.format("Restored %d chunks, %d edits replayed, in %.1f ms", chunkCount, replayCount,
+                    (System.nanoTime() - start) / 1e6d));
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private void pregenerateSpawnArea() {
+        long start = System.nanoTime();
+
+        int chunkCount = this.scene.pregenerate(this::reportPregenerationProgress);
+
+        double time = (System.nanoTime() - start) / 1e9d;
+
+        glfwSetWindowTitle(this.window, Main.TITLE);
+
+        Debug.debug(String.format("Pregenerated %d chunks in %.1f ms (%.0f chunks/s)", chunkCount, time * 1e3d,
+                chunkCount / time));
+    }
+
+    // Events are not polled here, a key callback could otherwise tear the scene down mid generation
+    private void reportPregenerationProgress(int completed, int total) {
+        int percent = completed * 100 / total;
+
+        if (completed < total && percent / 10 == (completed - 1) * 100 / total / 10) {
+            return;
+        }
+
+        glfwSetWindowTitle(this.window, Main.TITLE + " - generating spawn area " + percent + "%");
+
+        Debug.debug(String.format("Spawn area %d%% (%d / %d columns)", percent, completed, total));
     }
 
     private void run() {
@@ -114,16 +234,46 @@ public class Main {
 
         createCapabilities();
 
+        this.loadAssets();
+
+        // The scene looks its shader up on construction, so it comes after the shaders are compiled
         this.initialiseSceneObjects();
 
         this.initialiseSceneRenderingParameters();
 
-        while (!glfwWindowShouldClose(this.window)) {
-            this.update();
-            this.render();
+        this.pregenerateSpawnArea();
 
-            glfwSwapBuffers(this.window);
-            glfwPollEvents();
+        this.restoreEdits();
+
+        this.simulation = new Simulation(this.scene);
+
+        this.simulation.start();
+
+        // Loading happens before the first frame, so timing starts here rather than at initialisation
+        this.lastTime = (float) glfwGetTime();
+
+        this.rateTime = this.lastTime;
+
+        boolean isFirstFrame = true;
+
+        // However the loop ends, by ESC, the close button or a failure, the world is saved and released once
+        try {
+            while (!glfwWindowShouldClose(this.window)) {
+                this.update();
+                this.render();
+
+                glfwSwapBuffers(this.window);
+                glfwPollEvents();
+
+                if (isFirstFrame) {
+                    Debug.debug(String.format("First frame after %.1f ms",
+                            (System.nanoTime() - this.startTime) / 1e6d));
+
+                    isFirstFrame = false;
+                }
+            }
+        } finally {
+            this.cleanup();
         }
 
         glfwDestroyWindow(this.window);
@@ -137,9 +287,49 @@ public class Main {
 
         this.lastTime = time;
 
-        this.scene.update(this.window, deltaTime);
+        Throwable failure = this.simulation.getFailure();
+
+        if (failure != null) {
+            throw new IllegalStateException("Simulation thread failed", failure);
+        }
+
+        this.simulation.setInput(PlayerInput.poll(this.window, this.camera));
+
+        FramePacket framePacket = this.simulation.takeFrame();
+
+        if (framePacket != null) {
+            this.scene.upload(framePacket);
+
+            this.framePacket = framePacket;
+        }
 
         this.soundPlayer.playMusic();
+
+        this.soundPlayer.update(this.scene.getRenderCamera().getPosition(), deltaTime);
+
+        this.reportRates(time);
+    }
+
+    // Once a second in the title, frames drawn and ticks simulated are counted apart since neither waits on the other
+    private void reportRates(float time) {
+        this.frameCount++;
+
+        float elapsedTime = time - this.rateTime;
+
+        if (elapsedTime < 1.0f) {
+            return;
+        }
+
+        long tick = this.framePacket.getTick();
+
+        glfwSetWindowTitle(this.window, String.format("%s - %.0f fps, %.0f tps", Main.TITLE,
+                this.frameCount / elapsedTime, (tick - this.rateTick) / elapsedTime));
+
+        this.frameCount = 0;
+
+        this.rateTime = time;
+
+        this.rateTick = tick;
     }
 
     private void render() {
@@ -147,20 +337,23 @@ public class Main {
 
         glClear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
 
-        this.scene.render();
+        this.scene.render(this.framePacket, this.framePacket.getAlpha(System.nanoTime()), this.camera.getYaw(),
+                this.camera.getPitch());
     }
 
     private void frameBufferSizeCallback(long window, int width, int height) {
-        Camera camera = this.scene.getCamera();
+        Camera camera = this.scene.getRenderCamera();
 
         glViewport(0, 0, width, height);
 
         camera.updateAspectRatio(width, height);
+
+        this.simulation.setAspectRatio(camera.getAspectRatio());
     }
 
     private void keyCallback(long window, int key, int scanmode, int action, int mods) {
         if (key == GLFW_KEY_ESCAPE && action == GLFW_PRESS) {
-            this.exit();
+            glfwSetWindowShouldClose(window, true);
         }
 
         if (key == GLFW_KEY_E && action == GLFW_PRESS) {
@@ -179,17 +372,25 @@ public class Main {
     }
 
     private void cursorPosCallback(long window, double mouseX, double mouseY) {
-        Camera camera = this.scene.getCamera();
-
-        camera.rotate(mouseX, mouseY);
+        this.camera.rotate(mouseX, mouseY);
     }
 
-    private void exit() {
-        this.scene.cleanup();
+    // The world is only torn down once the simulation thread has stopped touching it, and while the GL context is
+    // still current
+    private void cleanup() {
+        if (this.isCleanedUp) {
+            return;
+        }
 
-        this.soundPlayer.cleanup();
+        this.isCleanedUp = true;
 
-        glfwSetWindowShouldClose(window, true);
+        this.simulation.stop();
+
+        try {
+            this.scene.cleanup();
+        } finally {
+            this.soundPlayer.cleanup();
+        }
     }
 
     public static void main(String[] args) {
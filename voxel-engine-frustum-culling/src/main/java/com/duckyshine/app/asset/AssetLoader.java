@@ -3,22 +3,32 @@ package com.duckyshine.app.asset;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import com.duckyshine.app.shader.ShaderSource;
+
 import com.duckyshine.app.utility.FileUtility;
 
 public class AssetLoader {
     public static void loadShaders() {
-        JSONObject jsonObject = FileUtility.getFileToJSONObject("assets.json");
-
-        JSONArray shaders = jsonObject.getJSONArray("shaders");
+        JSONArray shaders = AssetLoader.getShaderEntries();
 
         for (int i = 0; i < shaders.length(); i++) {
-            JSONObject shader = shaders.getJSONObject(i);
+            ShaderSource shaderSource = AssetLoader.readShader(shaders.getJSONObject(i));
 
-            String key = shader.getString("key");
-            String vertexShaderPath = shader.getString("vertexShaderPath");
-            String fragmentShaderPath = shader.getString("fragmentShaderPath");
-
-            AssetPool.addShader(key, vertexShaderPath, fragmentShaderPath);
+            AssetPool.addShader(shaderSource);
         }
     }
+
+    public static JSONArray getShaderEntries() {
+        JSONObject jsonObject = FileUtility.getFileToJSONObject("assets.json");
+
+        return jsonObject.getJSONArray("shaders");
+    }
+
+    public static ShaderSource readShader(JSONObject shader) {
+        String key = shader.getString("key");
+        String vertexShaderPath = shader.getString("vertexShaderPath");
+        String fragmentShaderPath = shader.getString("fragmentShaderPath");
+
+        return ShaderSource.read(key, vertexShaderPath, fragmentShaderPath);
+    }
 }
@@ -0,0 +1,155 @@
+package com.duckyshine.app.asset;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+
+import java.nio.file.Path;
+
+import org.json.JSONArray;
+
+import com.duckyshine.app.shader.ShaderSource;
+
+import com.duckyshine.app.sound.MusicStream;
+import com.duckyshine.app.sound.SoundPlayer;
+
+import com.duckyshine.app.model.texture.Atlas;
+import com.duckyshine.app.model.texture.TextureCache;
+
+// Reads and decodes startup files on a pool while the main thread opens the audio device, the GL and AL objects are
+// still created by the caller from the results. Every file gets its own task, manifests fan out into more tasks
+public class AssetLoadingPhase {
+    private final ExecutorService executorService;
+
+    private final Path textureCachePath;
+
+    private Future<List<Future<ShaderSource>>> shaderSources;
+
+    private Future<TextureCache> textureCache;
+
+    private Future<List<Future<String>>> musicFiles;
+
+    private long startTime;
+
+    private long waitTime;
+
+    public AssetLoadingPhase() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public AssetLoadingPhase(int threads) {
+        this(threads, Atlas.getCachePath());
+    }
+
+    public AssetLoadingPhase(int threads, Path textureCachePath) {
+        this.executorService = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        this.textureCachePath = textureCachePath;
+
+        this.waitTime = 0L;
+    }
+
+    public void start() {
+        this.startTime = System.nanoTime();
+
+        // Decoding the face PNGs is by far the longest job when the cache is stale, so it goes first
+        this.textureCache = this.executorService.submit(() -> Atlas.loadCache(this.textureCachePath));
+
+        this.shaderSources = this.executorService.submit(this::submitShaders);
+
+        this.musicFiles = this.executorService.submit(this::submitMusicFiles);
+    }
+
+    // Tasks only queue further tasks and never wait on them, so a single thread cannot deadlock
+    private List<Future<ShaderSource>> submitShaders() {
+        JSONArray shaders = AssetLoader.getShaderEntries();
+
+        List<Future<ShaderSource>> sources = new ArrayList<>();
+
+        for (int i = 0; i < shaders.length(); i++) {
+            int index = i;
+
+            sources.add(this.executorService.submit(() -> AssetLoader.readShader(shaders.getJSONObject(index))));
+        }
+
+        return sources;
+    }
+
+    private List<Future<String>> submitMusicFiles() {
+        List<Future<String>> files = new ArrayList<>();
+
+        for (String file : SoundPlayer.getMusicFiles()) {
+            files.add(this.executorService.submit(() -> MusicStream.isPlayable(file) ? file : null));
+        }
+
+        return files;
+    }
+
+    public List<ShaderSource> getShaderSources() {
+        List<ShaderSource> sources = new ArrayList<>();
+
+        for (Future<ShaderSource> source : this.get(this.shaderSources)) {
+            sources.add(this.get(source));
+        }
+
+        return sources;
+    }
+
+    public TextureCache getTextureCache() {
+        return this.get(this.textureCache);
+    }
+
+    // Files whose headers cannot be read are left out rather than failing later on the streaming thread
+    public List<String> getPlaylist() {
+        List<String> playlist = new ArrayList<>();
+
+        for (Future<String> file : this.get(this.musicFiles)) {
+            String filepath = this.get(file);
+
+            if (filepath != null) {
+                playlist.add(filepath);
+            }
+        }
+
+        return playlist;
+    }
+
+    private <T> T get(Future<T> future) {
+        long start = System.nanoTime();
+
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted while loading assets", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Unable to load assets", exception.getCause());
+        } finally {
+            this.waitTime += System.nanoTime() - start;
+        }
+    }
+
+    // Time the main thread spent blocked on the workers, the rest of the phase overlapped with its own work
+    public double getWaitTime() {
+        return this.waitTime / 1e6d;
+    }
+
+    public double getElapsedTime() {
+        return (System.nanoTime() - this.startTime) / 1e6d;
+    }
+
+    public void cleanup() {
+        this.executorService.shutdownNow();
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Map;
 import java.util.HashMap;
 
 import com.duckyshine.app.shader.Shader;
+import com.duckyshine.app.shader.ShaderSource;
 
 import com.duckyshine.app.utility.ResourceFinder;
 
@@ -24,4 +25,10 @@ public class AssetPool {
 
         AssetPool.shaders.put(key, shader);
     }
+
+    public static void addShader(ShaderSource shaderSource) {
+        Shader shader = new Shader(shaderSource);
+
+        AssetPool.shaders.put(shaderSource.getKey(), shader);
+    }
 }
@@ -0,0 +1,107 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+
+import org.json.JSONArray;
+
+import com.duckyshine.app.asset.AssetLoader;
+import com.duckyshine.app.asset.AssetLoadingPhase;
+
+import com.duckyshine.app.shader.ShaderSource;
+
+import com.duckyshine.app.sound.MusicStream;
+import com.duckyshine.app.sound.SoundPlayer;
+
+import com.duckyshine.app.model.texture.Atlas;
+
+// Headless: the file and decode half of startup, read one after another as before and through the loading phase.
+// Cold runs delete the texture cache first so the face PNGs are decoded, warm runs only validate and map it
+public class AssetLoadingBenchmark {
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) throws IOException {
+        // Warms up class loading, the JSON parser and the stb natives
+        AssetLoadingBenchmark.loadSerially();
+
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        for (boolean isCold : new boolean[] { true, false }) {
+            String label = isCold ? "cold" : "warm";
+
+            double serialTime = AssetLoadingBenchmark.time(isCold, 0);
+
+            System.out.printf("%s serial:            %.2f ms%n", label, serialTime);
+
+            for (int threads = 1; threads <= processors; threads <<= 1) {
+                double parallelTime = AssetLoadingBenchmark.time(isCold, threads);
+
+                System.out.printf("%s pool of %2d threads: %.2f ms%n", label, threads, parallelTime);
+            }
+
+            if (Integer.bitCount(processors) != 1) {
+                System.out.printf("%s pool of %2d threads: %.2f ms%n", label, processors,
+                        AssetLoadingBenchmark.time(isCold, processors));
+            }
+        }
+    }
+
+    // No threads means the old serial order
+    private static double time(boolean isCold, int threads) throws IOException {
+        long total = 0L;
+
+        for (int i = 0; i < AssetLoadingBenchmark.ITERATIONS; i++) {
+            if (isCold) {
+                Files.deleteIfExists(Atlas.getCachePath());
+            }
+
+            long start = System.nanoTime();
+
+            if (threads == 0) {
+                AssetLoadingBenchmark.loadSerially();
+            } else {
+                AssetLoadingBenchmark.loadInParallel(threads);
+            }
+
+            total += System.nanoTime() - start;
+        }
+
+        return total / 1e6d / AssetLoadingBenchmark.ITERATIONS;
+    }
+
+    private static void loadSerially() {
+        JSONArray shaders = AssetLoader.getShaderEntries();
+
+        List<ShaderSource> shaderSources = new ArrayList<>();
+
+        for (int i = 0; i < shaders.length(); i++) {
+            shaderSources.add(AssetLoader.readShader(shaders.getJSONObject(i)));
+        }
+
+        Atlas.loadCache();
+
+        List<String> playlist = new ArrayList<>();
+
+        for (String file : SoundPlayer.getMusicFiles()) {
+            if (MusicStream.isPlayable(file)) {
+                playlist.add(file);
+            }
+        }
+    }
+
+    private static void loadInParallel(int threads) {
+        AssetLoadingPhase assetLoadingPhase = new AssetLoadingPhase(threads);
+
+        assetLoadingPhase.start();
+
+        assetLoadingPhase.getShaderSources();
+        assetLoadingPhase.getTextureCache();
+        assetLoadingPhase.getPlaylist();
+
+        assetLoadingPhase.cleanup();
+    }
+}
@@ -0,0 +1,70 @@
+package com.duckyshine.app.benchmark;
+
+import org.joml.Vector3f;
+
+import com.duckyshine.app.physics.controller.Player;
+
+import com.duckyshine.app.scene.ChunkManager;
+import com.duckyshine.app.scene.ChunkScheduler;
+
+// Headless: flies over fresh terrain faster than the workers can keep up with, turning halfway, at a 60 Hz frame
+// budget. Reports how long update holds the main thread and how much scheduled work was useful, wasted or avoided
+public class ChunkSchedulerBenchmark {
+    private static final int FRAMES = 600;
+
+    private static final long FRAME_TIME = 16_666_667L;
+
+    // Blocks per frame, a chunk every two frames
+    private static final float SPEED = 8.0f;
+
+    public static void main(String[] args) throws InterruptedException {
+        ChunkManager chunkManager = new ChunkManager();
+
+        Player player = new Player(0.0f, 20.0f, 0.0f);
+
+        Vector3f position = new Vector3f(0.0f, 20.0f, 0.0f);
+
+        double totalTime = 0.0d;
+        double maximumTime = 0.0d;
+
+        for (int frame = 0; frame < ChunkSchedulerBenchmark.FRAMES; frame++) {
+            // Along +x, then a right angle turn onto +z
+            if (frame < ChunkSchedulerBenchmark.FRAMES / 2) {
+                position.x += ChunkSchedulerBenchmark.SPEED;
+
+                player.getCamera().setRotation(0.0f, 0.0f);
+            } else {
+                position.z += ChunkSchedulerBenchmark.SPEED;
+
+                player.getCamera().setRotation(90.0f, 0.0f);
+            }
+
+            player.setPosition(position);
+
+            long start = System.nanoTime();
+
+            chunkManager.update(player);
+
+            long time = System.nanoTime() - start;
+
+            totalTime += time / 1e6d;
+            maximumTime = Math.max(maximumTime, time / 1e6d);
+
+            // The rest of the frame goes to the workers, as rendering would leave it to them
+            Thread.sleep(Math.max(0L, (ChunkSchedulerBenchmark.FRAME_TIME - time) / 1_000_000L));
+        }
+
+        ChunkScheduler chunkScheduler = chunkManager.getChunkScheduler();
+
+        System.out.printf("%d frames, update %.2f ms on average, %.2f ms at most, %d threads%n",
+                ChunkSchedulerBenchmark.FRAMES, totalTime / ChunkSchedulerBenchmark.FRAMES, maximumTime,
+                chunkScheduler.getThreads());
+
+        System.out.printf("Useful %d jobs in %.1f ms, wasted %d in %.1f ms, %d cancelled before starting, %d skipped, "
+                + "%d still pending%n", chunkScheduler.getUsefulCount(), chunkScheduler.getUsefulTime(),
+                chunkScheduler.getWastedCount(), chunkScheduler.getWastedTime(), chunkScheduler.getAvoidedCount(),
+                chunkScheduler.getSkippedCount(), chunkScheduler.getPendingCount());
+
+        chunkScheduler.cleanup();
+    }
+}
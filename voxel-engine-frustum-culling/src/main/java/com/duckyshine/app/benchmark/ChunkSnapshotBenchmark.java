@@ -0,0 +1,155 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.Block;
+import com.duckyshine.app.model.BlockType;
+
+// Headless: what a snapshot costs next to copying the blocks outright, then a worker meshing snapshots while the main
+// thread keeps building in the same chunk, with stale results thrown away on arrival
+public class ChunkSnapshotBenchmark {
+    private static final int ITERATIONS = 20000;
+
+    private static final int EDITS = 500;
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        Chunk chunk = ChunkSnapshotBenchmark.getTerrain();
+
+        // Warm up
+        ChunkSnapshotBenchmark.measure(chunk);
+
+        ChunkSnapshotBenchmark.measure(chunk);
+
+        ChunkSnapshotBenchmark.meshWhileEditing(chunk);
+    }
+
+    private static Chunk getTerrain() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int z = 0; z < chunk.getDepth(); z++) {
+                for (int y = 0; y <= 4 + (x * z) % 9; y++) {
+                    chunk.addBlock(x, y, z, BlockType.GRASS);
+                }
+            }
+        }
+
+        return chunk;
+    }
+
+    private static void measure(Chunk chunk) {
+        long start = System.nanoTime();
+
+        int count = 0;
+
+        for (int i = 0; i < ChunkSnapshotBenchmark.ITERATIONS; i++) {
+            count += chunk.getSnapshot().getSolidCount() & 1;
+        }
+
+        double snapshotTime = (System.nanoTime() - start) / 1e3d / ChunkSnapshotBenchmark.ITERATIONS;
+
+        start = System.nanoTime();
+
+        for (int i = 0; i < ChunkSnapshotBenchmark.ITERATIONS; i++) {
+            chunk.getSnapshot();
+
+            chunk.addBlock(i % 16, 15, 0, BlockType.GRASS);
+        }
+
+        double writeTime = (System.nanoTime() - start) / 1e3d / ChunkSnapshotBenchmark.ITERATIONS;
+
+        start = System.nanoTime();
+
+        for (int i = 0; i < ChunkSnapshotBenchmark.ITERATIONS; i++) {
+            count += ChunkSnapshotBenchmark.copy(chunk).getSolidCount() & 1;
+        }
+
+        double copyTime = (System.nanoTime() - start) / 1e3d / ChunkSnapshotBenchmark.ITERATIONS;
+
+        System.out.printf("Snapshot %.3f us, snapshot and first write %.3f us, full copy %.3f us, checksum %d%n",
+                snapshotTime, writeTime, copyTime, count);
+    }
+
+    // What handing a worker its own chunk would cost without snapshots
+    private static Chunk copy(Chunk chunk) {
+        Chunk copy = new Chunk(chunk.getPosition());
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int y = 0; y < chunk.getHeight(); y++) {
+                for (int z = 0; z < chunk.getDepth(); z++) {
+                    Block block = chunk.getBlock(x, y, z);
+
+                    if (block != null) {
+                        copy.addBlock(x, y, z, block.getBlockType());
+                    }
+                }
+            }
+        }
+
+        return copy;
+    }
+
+    private static void meshWhileEditing(Chunk chunk) throws InterruptedException, ExecutionException {
+        ExecutorService executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-mesher");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        Deque<Future<Chunk>> results = new ArrayDeque<>();
+
+        int appliedCount = 0;
+        int staleCount = 0;
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ChunkSnapshotBenchmark.EDITS; i++) {
+            if ((i & 1) == 0) {
+                chunk.addBlock(i % 16, 14, (i / 16) % 16, BlockType.GRASS);
+            } else {
+                chunk.removeBlock((i / 3) % 16, 14, (i / 16) % 16);
+            }
+
+            Chunk snapshot = chunk.getSnapshot();
+
+            results.add(executorService.submit(() -> {
+                snapshot.update();
+
+                return snapshot;
+            }));
+
+            // Whatever the worker finished by now is applied, as the frame loop would
+            while (!results.isEmpty() && results.peek().isDone()) {
+                if (chunk.applySnapshot(results.poll().get())) {
+                    appliedCount++;
+                } else {
+                    staleCount++;
+                }
+            }
+        }
+
+        while (!results.isEmpty()) {
+            if (chunk.applySnapshot(results.poll().get())) {
+                appliedCount++;
+            } else {
+                staleCount++;
+            }
+        }
+
+        double time = (System.nanoTime() - start) / 1e6d;
+
+        executorService.shutdownNow();
+
+        System.out.printf("%d edits meshed off thread in %.1f ms, %d results applied, %d stale and discarded%n",
+                ChunkSnapshotBenchmark.EDITS, time, appliedCount, staleCount);
+    }
+}
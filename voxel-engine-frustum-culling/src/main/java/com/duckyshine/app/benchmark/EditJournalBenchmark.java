@@ -0,0 +1,85 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.List;
+
+import java.io.IOException;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+
+import com.duckyshine.app.edit.EditJournal;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+
+import com.duckyshine.app.scene.RegionFile;
+
+// Headless: a burst of rapid building, a few edits every frame, made durable three ways. Rewriting the edited chunk
+// file after every edit, forcing the journal after every edit, and forcing it once per frame
+public class EditJournalBenchmark {
+    private static final int FRAMES = 120;
+
+    private static final int EDITS_PER_FRAME = 8;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("edit-journal");
+
+        int edits = EditJournalBenchmark.FRAMES * EditJournalBenchmark.EDITS_PER_FRAME;
+
+        double rewriteTime = EditJournalBenchmark.rewrite(directory.resolve("region.bin"));
+
+        System.out.printf("Chunk rewrite per edit: %.1f ms, %.3f ms per edit%n", rewriteTime, rewriteTime / edits);
+
+        double editTime = EditJournalBenchmark.journal(directory, "each", false);
+
+        System.out.printf("Fsync per edit:         %.1f ms, %.3f ms per edit%n", editTime, editTime / edits);
+
+        double frameTime = EditJournalBenchmark.journal(directory, "frame", true);
+
+        System.out.printf("Fsync per frame:        %.1f ms, %.3f ms per edit, %.3f ms per frame%n", frameTime,
+                frameTime / edits, frameTime / EditJournalBenchmark.FRAMES);
+    }
+
+    private static double rewrite(Path path) throws IOException {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < EditJournalBenchmark.FRAMES * EditJournalBenchmark.EDITS_PER_FRAME; i++) {
+            chunk.addBlock(i % 16, (i / 16) % 16, (i / 256) % 16, BlockType.GRASS);
+
+            RegionFile.write(path, 0L, List.of(chunk));
+        }
+
+        return (System.nanoTime() - start) / 1e6d;
+    }
+
+    private static double journal(Path directory, String name, boolean isGrouped) throws IOException {
+        EditJournal editJournal = EditJournal.open(directory.resolve(name + ".log"), directory.resolve(name + ".bin"), 0);
+
+        long start = System.nanoTime();
+
+        for (int frame = 0; frame < EditJournalBenchmark.FRAMES; frame++) {
+            editJournal.setTick(frame);
+
+            for (int i = 0; i < EditJournalBenchmark.EDITS_PER_FRAME; i++) {
+                editJournal.append(frame, 64, i, null, BlockType.GRASS);
+
+                if (!isGrouped) {
+                    editJournal.commit();
+                }
+            }
+
+            editJournal.commit();
+        }
+
+        double time = (System.nanoTime() - start) / 1e6d;
+
+        System.out.printf("  %s: %d commits, %d bytes%n", name, editJournal.getCommitCount(),
+                Files.size(directory.resolve(name + ".log")));
+
+        editJournal.close();
+
+        return time;
+    }
+}
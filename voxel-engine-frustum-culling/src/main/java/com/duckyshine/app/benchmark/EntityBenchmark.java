@@ -0,0 +1,85 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.Random;
+
+import com.duckyshine.app.entity.EntityStore;
+import com.duckyshine.app.entity.EntitySystem;
+
+import com.duckyshine.app.physics.VoxelGrid;
+import com.duckyshine.app.physics.FixedTimestep;
+
+// Headless: a crowd of wandering mobs and dropped items on bumpy ground, reports tick cost per thread count and how
+// many entities fit in one 60 Hz tick
+public class EntityBenchmark {
+    private static final long SEED = 1337L;
+
+    private static final int[] COUNTS = { 1000, 5000, 20000, 50000 };
+
+    private static final int WARMUP_TICKS = 60;
+    private static final int TICKS = 300;
+
+    private static final float AREA = 256.0f;
+
+    private static final double TICK_BUDGET = 1000.0d / 60.0d;
+
+    // Flat floor with a one block step every 16 blocks along x
+    private static final VoxelGrid GRID = (x, y, z) -> y < 0 || (y == 0 && Math.floorMod(x, 16) == 0);
+
+    public static void main(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%d cores, %.2f ms per tick at 60 Hz%n", cores, EntityBenchmark.TICK_BUDGET);
+
+        int[] threadCounts = (cores > 1) ? new int[] { 1, cores } : new int[] { 1 };
+
+        for (int threadCount : threadCounts) {
+            for (int count : EntityBenchmark.COUNTS) {
+                EntitySystem entitySystem = new EntitySystem(EntityBenchmark.GRID, threadCount);
+
+                EntityBenchmark.spawn(entitySystem, count);
+
+                for (int i = 0; i < EntityBenchmark.WARMUP_TICKS; i++) {
+                    entitySystem.step(FixedTimestep.STEP);
+                }
+
+                long start = System.nanoTime();
+
+                for (int i = 0; i < EntityBenchmark.TICKS; i++) {
+                    entitySystem.step(FixedTimestep.STEP);
+                }
+
+                double tickTime = (System.nanoTime() - start) / 1e6d / EntityBenchmark.TICKS;
+
+                System.out.printf("%2d threads %6d entities: %.3f ms per tick, %d contacts, ~%.0f entities per 60 Hz tick%n",
+                        threadCount, count, tickTime, entitySystem.getContactCount(),
+                        count * EntityBenchmark.TICK_BUDGET / tickTime);
+
+                entitySystem.cleanup();
+            }
+        }
+    }
+
+    // Three quarters are mob sized and walk in a random direction, the rest are small items
+    private static void spawn(EntitySystem entitySystem, int count) {
+        Random random = new Random(EntityBenchmark.SEED);
+
+        EntityStore entityStore = entitySystem.getEntityStore();
+
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * EntityBenchmark.AREA;
+            float z = random.nextFloat() * EntityBenchmark.AREA;
+
+            boolean isMob = random.nextInt(4) != 0;
+
+            int index = isMob
+                    ? entitySystem.add(x, 2.0f, z, 0.6f, 1.8f)
+                    : entitySystem.add(x, 2.0f, z, 0.25f, 0.25f);
+
+            if (isMob) {
+                double angle = random.nextDouble() * Math.PI * 2.0d;
+
+                entityStore.setVelocity(index, (float) Math.cos(angle) * 2.0f, 0.0f, (float) Math.sin(angle) * 2.0f);
+            }
+        }
+    }
+}
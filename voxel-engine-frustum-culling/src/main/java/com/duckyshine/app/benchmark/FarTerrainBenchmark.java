@@ -0,0 +1,100 @@
+package com.duckyshine.app.benchmark;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+
+import com.duckyshine.app.math.Voxel;
+
+import com.duckyshine.app.model.Chunk;
+
+import com.duckyshine.app.scene.HeightMap;
+
+import com.duckyshine.app.terrain.FarTerrain;
+
+// Headless: walks the far terrain across the world and compares its update cost with building voxel chunks
+public class FarTerrainBenchmark {
+    private static final int VOXEL_RADIUS = 8 * Voxel.CHUNK_WIDTH;
+
+    private static final int STEPS = 4096;
+
+    private static final float STEP = 1.0f;
+
+    private static final int CHUNK_SAMPLES = 64;
+
+    // Terrain covered by the surface layer usually spans this many vertical sections
+    private static final int SECTIONS_PER_COLUMN = 2;
+
+    public static void main(String[] args) {
+        FarTerrain farTerrain = new FarTerrain();
+
+        Vector3f position = new Vector3f(0.5f, 20.0f, 0.5f);
+
+        long start = System.nanoTime();
+
+        FarTerrainBenchmark.update(farTerrain, position);
+
+        double initialTime = (System.nanoTime() - start) / 1e6d;
+
+        System.out.printf("Initial build: %.2f ms, %d samples, %d quads, %d blocks across%n", initialTime,
+                farTerrain.getSampleCount(), farTerrain.getQuadCount(), farTerrain.getExtent());
+
+        long moveTime = 0;
+        long samples = 0;
+
+        int rebuilds = 0;
+
+        for (int i = 0; i < FarTerrainBenchmark.STEPS; i++) {
+            position.x += FarTerrainBenchmark.STEP;
+            position.z += FarTerrainBenchmark.STEP * 0.5f;
+
+            long moveStart = System.nanoTime();
+
+            FarTerrainBenchmark.update(farTerrain, position);
+
+            moveTime += System.nanoTime() - moveStart;
+
+            samples += farTerrain.getSampleCount();
+
+            if (farTerrain.getSampleCount() > 0) {
+                rebuilds++;
+            }
+        }
+
+        System.out.printf("Per move: %.4f ms, %.1f samples (%d of %d moves crossed a ring cell)%n",
+                moveTime / 1e6d / FarTerrainBenchmark.STEPS, (double) samples / FarTerrainBenchmark.STEPS, rebuilds,
+                FarTerrainBenchmark.STEPS);
+
+        double chunkTime = FarTerrainBenchmark.getChunkTime();
+
+        int columns = farTerrain.getExtent() / Voxel.CHUNK_WIDTH;
+
+        double voxelTime = chunkTime * columns * columns * FarTerrainBenchmark.SECTIONS_PER_COLUMN;
+
+        System.out.printf("Voxel chunk: %.3f ms each, covering the same area with chunks would take about %.0f ms%n",
+                chunkTime, voxelTime);
+    }
+
+    private static void update(FarTerrain farTerrain, Vector3f position) {
+        Vector3i chunkPosition = Voxel.getChunkPositionFromGlobalPosition(position);
+
+        farTerrain.update(position, chunkPosition.x, chunkPosition.z, FarTerrainBenchmark.VOXEL_RADIUS);
+    }
+
+    private static double getChunkTime() {
+        long start = System.nanoTime();
+
+        for (int i = 0; i < FarTerrainBenchmark.CHUNK_SAMPLES; i++) {
+            Vector3i position = new Vector3i(i * Voxel.CHUNK_WIDTH, 0, 0);
+
+            HeightMap heightMap = new HeightMap(Voxel.CHUNK_WIDTH, Voxel.CHUNK_DEPTH);
+
+            heightMap.generate(position);
+
+            Chunk chunk = new Chunk(position);
+
+            chunk.generate(heightMap);
+        }
+
+        return (System.nanoTime() - start) / 1e6d / FarTerrainBenchmark.CHUNK_SAMPLES;
+    }
+}
@@ -0,0 +1,102 @@
+package com.duckyshine.app.benchmark;
+
+import com.duckyshine.app.physics.PlayerInput;
+
+import com.duckyshine.app.scene.Scene;
+import com.duckyshine.app.scene.Simulation;
+import com.duckyshine.app.scene.FramePacket;
+import com.duckyshine.app.scene.FrameExchange;
+
+// Headless: the simulation walks the player over fresh terrain on its own thread while this thread stands in for the
+// render loop at 144 Hz, taking packets and walking their draws as a frame would. Compares the longest gap between
+// frames with the longest gap between packets, which is what every frame waited for before the split
+public class FrameLoopBenchmark {
+    private static final int SECONDS = 10;
+
+    private static final long FRAME_TIME = 1_000_000_000L / 144L;
+
+    public static void main(String[] args) throws InterruptedException {
+        Scene scene = new Scene(null);
+
+        Simulation simulation = new Simulation(scene);
+
+        simulation.setInput(new PlayerInput(PlayerInput.FORWARD, 0.0f, 0.0f));
+
+        simulation.start();
+
+        long start = System.nanoTime();
+        long end = start + FrameLoopBenchmark.SECONDS * 1_000_000_000L;
+
+        long lastFrame = start;
+        long longestFrameGap = 0;
+
+        long lastPacketTime = 0;
+        long longestPacketGap = 0;
+
+        int frameCount = 0;
+        int packetCount = 0;
+        int uploadCount = 0;
+
+        long drawCount = 0;
+
+        FramePacket framePacket = null;
+
+        while (System.nanoTime() < end) {
+            if (simulation.getFailure() != null) {
+                throw new IllegalStateException("Simulation thread failed", simulation.getFailure());
+            }
+
+            FramePacket packet = simulation.takeFrame();
+
+            if (packet != null) {
+                if (lastPacketTime != 0) {
+                    longestPacketGap = Math.max(longestPacketGap, packet.getTime() - lastPacketTime);
+                }
+
+                lastPacketTime = packet.getTime();
+
+                uploadCount += packet.getMeshUploads().size();
+
+                packetCount++;
+
+                framePacket = packet;
+            }
+
+            // What a frame reads from its packet
+            if (framePacket != null) {
+                drawCount += framePacket.getChunkDraws().size();
+
+                framePacket.getAlpha(System.nanoTime());
+            }
+
+            frameCount++;
+
+            long time = System.nanoTime();
+
+            longestFrameGap = Math.max(longestFrameGap, time - lastFrame);
+
+            lastFrame = time;
+
+            long wait = FrameLoopBenchmark.FRAME_TIME - (System.nanoTime() - time);
+
+            if (wait > 0) {
+                Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+            }
+        }
+
+        double elapsedTime = (System.nanoTime() - start) / 1e9d;
+
+        simulation.stop();
+
+        FrameExchange frameExchange = simulation.getFrameExchange();
+
+        System.out.printf("%.0f fps, longest frame gap %.1f ms, %.0f chunk draws per frame%n",
+                frameCount / elapsedTime, longestFrameGap / 1e6d, (double) drawCount / frameCount);
+
+        System.out.printf("%.0f tps over %d ticks, longest packet gap %.1f ms, %d packets taken, %d replaced unseen, "
+                + "%d mesh uploads%n", framePacket.getTick() / elapsedTime, framePacket.getTick(),
+                longestPacketGap / 1e6d, packetCount, frameExchange.getSkippedCount(), uploadCount);
+
+        scene.getChunkManager().getChunkScheduler().cleanup();
+    }
+}
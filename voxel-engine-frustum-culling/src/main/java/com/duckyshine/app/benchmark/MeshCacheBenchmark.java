@@ -0,0 +1,126 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.io.IOException;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+
+import org.joml.Vector3i;
+
+import com.duckyshine.app.math.Voxel;
+import com.duckyshine.app.math.noise.Noise;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+import com.duckyshine.app.model.MeshCache;
+import com.duckyshine.app.model.LevelOfDetail;
+
+import com.duckyshine.app.scene.RegionFile;
+import com.duckyshine.app.scene.ChunkPregenerator;
+
+// Headless: an area is generated and saved once, then loaded three times as separate sessions would. Without the
+// cache, into an empty cache, and into the cache the previous session filled, with a share of chunks edited in between
+public class MeshCacheBenchmark {
+    private static final int SIZE = 24;
+
+    private static final int VERTICAL_MARGIN = 4;
+
+    // Every n-th chunk gets a block placed before the revisit, so those have to be meshed again
+    private static final int EDIT_STRIDE = 10;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("mesh-cache");
+
+        Path regionPath = directory.resolve("region.bin");
+        Path cachePath = directory.resolve("meshes.bin");
+
+        RegionFile.write(regionPath, Noise.getSeed(), MeshCacheBenchmark.generate());
+
+        // Warms up the mesher so the uncached session is not charged for it
+        MeshCacheBenchmark.load(regionPath, null, false);
+
+        double uncachedTime = MeshCacheBenchmark.load(regionPath, null, false);
+
+        System.out.printf("No cache:        %.1f ms%n", uncachedTime);
+
+        MeshCache first = MeshCache.open(cachePath);
+
+        double firstTime = MeshCacheBenchmark.load(regionPath, first, false);
+
+        first.close();
+
+        MeshCacheBenchmark.report("First visit:", firstTime, first);
+
+        System.out.printf("Cache file:      %d bytes%n", Files.size(cachePath));
+
+        MeshCache second = MeshCache.open(cachePath);
+
+        double secondTime = MeshCacheBenchmark.load(regionPath, second, false);
+
+        second.close();
+
+        MeshCacheBenchmark.report("Revisit:", secondTime, second);
+
+        MeshCache third = MeshCache.open(cachePath);
+
+        double thirdTime = MeshCacheBenchmark.load(regionPath, third, true);
+
+        third.close();
+
+        MeshCacheBenchmark.report("Revisit, edited:", thirdTime, third);
+    }
+
+    private static void report(String label, double time, MeshCache meshCache) {
+        System.out.printf("%-16s %.1f ms, %d hits in %.1f ms, %d misses in %.1f ms, %.1f%% hit rate, %.1f ms saved%n",
+                label, time, meshCache.getHitCount(), meshCache.getHitTime(), meshCache.getMissCount(),
+                meshCache.getMissTime(), meshCache.getHitRate() * 100.0d, meshCache.getSavedTime());
+    }
+
+    private static List<Chunk> generate() {
+        List<Vector3i> columns = new ArrayList<>();
+
+        for (int x = 0; x < MeshCacheBenchmark.SIZE; x++) {
+            for (int z = 0; z < MeshCacheBenchmark.SIZE; z++) {
+                columns.add(new Vector3i(x * Voxel.CHUNK_WIDTH, 0, z * Voxel.CHUNK_DEPTH));
+            }
+        }
+
+        ChunkPregenerator chunkPregenerator = new ChunkPregenerator(Runtime.getRuntime().availableProcessors(),
+                MeshCacheBenchmark.VERTICAL_MARGIN);
+
+        List<Chunk> chunks = new ArrayList<>();
+
+        for (ChunkPregenerator.Column column : chunkPregenerator.generate(columns, Integer.MIN_VALUE,
+                Integer.MAX_VALUE, position -> LevelOfDetail.FULL, null)) {
+            chunks.addAll(column.getChunks());
+        }
+
+        chunkPregenerator.cleanup();
+
+        return chunks;
+    }
+
+    // Reading the region is left out of the timing, only meshing or decoding is measured
+    private static double load(Path regionPath, MeshCache meshCache, boolean isEdited) throws IOException {
+        List<Chunk> chunks = RegionFile.read(regionPath).getChunks();
+
+        if (isEdited) {
+            for (int i = 0; i < chunks.size(); i += MeshCacheBenchmark.EDIT_STRIDE) {
+                chunks.get(i).addBlock(0, Voxel.CHUNK_HEIGHT - 1, 0, BlockType.GRASS);
+            }
+        }
+
+        long start = System.nanoTime();
+
+        for (Chunk chunk : chunks) {
+            chunk.setMeshCache(meshCache);
+
+            chunk.update();
+        }
+
+        return (System.nanoTime() - start) / 1e6d;
+    }
+}
@@ -0,0 +1,194 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.Map;
+import java.util.HashMap;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.FrustumIntersection;
+
+import com.duckyshine.app.camera.Camera;
+
+import com.duckyshine.app.culling.OcclusionCuller;
+
+import com.duckyshine.app.math.Voxel;
+import com.duckyshine.app.math.noise.SimplexNoise;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+
+// Headless: solid ground carved by 3d noise tunnels, compares frustum culling with frustum + occlusion culling
+public class OcclusionCullingBenchmark {
+    private static final long SEED = 1337L;
+
+    private static final int RADIUS = 6;
+
+    private static final int SURFACE = 64;
+
+    private static final double CAVE_FREQUENCY = 0.06d;
+    private static final double CAVE_THRESHOLD = 0.12d;
+
+    private static final int ITERATIONS = 200;
+
+    private static final float[] YAWS = { 0.0f, 45.0f, 90.0f, 135.0f, 180.0f, 225.0f, 270.0f, 315.0f };
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : OcclusionCullingBenchmark.SEED;
+
+        Map<Vector3i, Chunk> chunks = new HashMap<>();
+
+        long start = System.nanoTime();
+
+        OcclusionCullingBenchmark.generate(chunks, seed);
+
+        double generateTime = (System.nanoTime() - start) / 1e6d;
+
+        System.out.printf("Generated and meshed %d chunks in %.1f ms (seed %d)%n", chunks.size(), generateTime, seed);
+
+        OcclusionCuller occlusionCuller = new OcclusionCuller(OcclusionCullingBenchmark.RADIUS);
+
+        FrustumIntersection frustum = new FrustumIntersection();
+
+        Vector3f cameraPosition = OcclusionCullingBenchmark.findCaveCameraPosition(chunks);
+
+        long totalFrustumChunks = 0;
+        long totalVisibleChunks = 0;
+
+        long frustumTime = 0;
+        long occlusionTime = 0;
+
+        for (float yaw : OcclusionCullingBenchmark.YAWS) {
+            Camera camera = OcclusionCullingBenchmark.getCamera(cameraPosition, yaw);
+
+            frustum.set(camera.getProjectionView());
+
+            for (int i = 0; i < OcclusionCullingBenchmark.ITERATIONS; i++) {
+                long frustumStart = System.nanoTime();
+
+                int frustumChunks = OcclusionCullingBenchmark.countFrustumChunks(chunks, cameraPosition, frustum);
+
+                long occlusionStart = System.nanoTime();
+
+                int visibleChunks = occlusionCuller.cull(chunks, cameraPosition, frustum).size();
+
+                long end = System.nanoTime();
+
+                frustumTime += occlusionStart - frustumStart;
+                occlusionTime += end - occlusionStart;
+
+                if (i == 0) {
+                    totalFrustumChunks += frustumChunks;
+                    totalVisibleChunks += visibleChunks;
+                }
+            }
+        }
+
+        int samples = OcclusionCullingBenchmark.YAWS.length * OcclusionCullingBenchmark.ITERATIONS;
+
+        System.out.printf("Camera at [%.1f, %.1f, %.1f]%n", cameraPosition.x, cameraPosition.y, cameraPosition.z);
+        System.out.printf("Frustum only:        %.1f chunks per view, %.3f ms per pass%n",
+                (double) totalFrustumChunks / OcclusionCullingBenchmark.YAWS.length, frustumTime / 1e6d / samples);
+        System.out.printf("Frustum + occlusion: %.1f chunks per view, %.3f ms per pass%n",
+                (double) totalVisibleChunks / OcclusionCullingBenchmark.YAWS.length, occlusionTime / 1e6d / samples);
+    }
+
+    private static void generate(Map<Vector3i, Chunk> chunks, long seed) {
+        int radius = OcclusionCullingBenchmark.RADIUS;
+
+        int layers = OcclusionCullingBenchmark.SURFACE / Voxel.CHUNK_HEIGHT;
+
+        for (int cx = -radius; cx <= radius; cx++) {
+            for (int cy = 0; cy < layers; cy++) {
+                for (int cz = -radius; cz <= radius; cz++) {
+                    Vector3i position = new Vector3i(cx * Voxel.CHUNK_WIDTH, cy * Voxel.CHUNK_HEIGHT, cz * Voxel.CHUNK_DEPTH);
+
+                    Chunk chunk = new Chunk(position);
+
+                    OcclusionCullingBenchmark.fill(chunk, seed);
+
+                    chunk.update();
+
+                    chunks.put(position, chunk);
+                }
+            }
+        }
+    }
+
+    private static void fill(Chunk chunk, long seed) {
+        Vector3i position = chunk.getPosition();
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int y = 0; y < chunk.getHeight(); y++) {
+                for (int z = 0; z < chunk.getDepth(); z++) {
+                    if (!OcclusionCullingBenchmark.isCave(position.x + x, position.y + y, position.z + z, seed)) {
+                        chunk.addBlock(x, y, z, BlockType.GRASS);
+                    }
+                }
+            }
+        }
+    }
+
+    // Tunnels run where two independent noise fields are both close to zero
+    private static boolean isCave(int x, int y, int z, long seed) {
+        double frequency = OcclusionCullingBenchmark.CAVE_FREQUENCY;
+
+        double first = SimplexNoise.noise3_ImproveXZ(seed, x * frequency, y * frequency, z * frequency);
+        double second = SimplexNoise.noise3_ImproveXZ(seed + 1, x * frequency, y * frequency, z * frequency);
+
+        return Math.abs(first) < OcclusionCullingBenchmark.CAVE_THRESHOLD
+                && Math.abs(second) < OcclusionCullingBenchmark.CAVE_THRESHOLD;
+    }
+
+    private static Vector3f findCaveCameraPosition(Map<Vector3i, Chunk> chunks) {
+        int y = OcclusionCullingBenchmark.SURFACE / 2;
+
+        for (int distance = 0; distance < Voxel.CHUNK_WIDTH * OcclusionCullingBenchmark.RADIUS; distance++) {
+            for (int x = -distance; x <= distance; x++) {
+                Vector3f position = new Vector3f(x + 0.5f, y + 0.5f, distance + 0.5f);
+
+                Chunk chunk = chunks.get(Voxel.getChunkPositionFromGlobalPosition(position));
+
+                Vector3i block = Voxel.getBlockPositionFromGlobalPosition(position);
+
+                if (chunk != null && !chunk.isBlockActive(block)) {
+                    return position;
+                }
+            }
+        }
+
+        return new Vector3f(0.5f, y + 0.5f, 0.5f);
+    }
+
+    private static Camera getCamera(Vector3f position, float yaw) {
+        Camera camera = new Camera(new Vector3f(position));
+
+        camera.setRotation(camera.getYaw() + yaw, camera.getPitch());
+
+        camera.updateMatrices();
+
+        return camera;
+    }
+
+    private static int countFrustumChunks(Map<Vector3i, Chunk> chunks, Vector3f cameraPosition, FrustumIntersection frustum) {
+        Vector3i start = Voxel.getChunkPositionFromGlobalPosition(cameraPosition);
+
+        int count = 0;
+
+        for (Vector3i position : chunks.keySet()) {
+            int dx = Math.abs(position.x - start.x) / Voxel.CHUNK_WIDTH;
+            int dy = Math.abs(position.y - start.y) / Voxel.CHUNK_HEIGHT;
+            int dz = Math.abs(position.z - start.z) / Voxel.CHUNK_DEPTH;
+
+            if (Math.max(dx, Math.max(dy, dz)) > OcclusionCullingBenchmark.RADIUS) {
+                continue;
+            }
+
+            if (position.equals(start) || frustum.testAab(position.x, position.y, position.z,
+                    position.x + Voxel.CHUNK_WIDTH, position.y + Voxel.CHUNK_HEIGHT, position.z + Voxel.CHUNK_DEPTH)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
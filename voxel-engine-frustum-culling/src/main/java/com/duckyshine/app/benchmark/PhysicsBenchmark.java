@@ -0,0 +1,88 @@
+package com.duckyshine.app.benchmark;
+
+import java.io.IOException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.joml.Vector3f;
+
+import com.duckyshine.app.physics.InputLog;
+import com.duckyshine.app.physics.PlayerInput;
+import com.duckyshine.app.physics.PlayerPhysics;
+import com.duckyshine.app.physics.VoxelGrid;
+
+import com.duckyshine.app.physics.controller.Player;
+
+// Headless: replays a scripted or recorded input log twice, checks both runs end in the same place and times the ticks
+public class PhysicsBenchmark {
+    private static final int TICKS = 60 * 60;
+
+    private static final int ITERATIONS = 20;
+
+    // Flat floor below y = 0 with a pillar every 8 blocks to walk into and jump over
+    private static final VoxelGrid GRID = (x, y, z) -> y < 0
+            || (y < 2 && Math.floorMod(x, 8) == 0 && Math.floorMod(z, 8) == 0);
+
+    public static void main(String[] args) throws IOException {
+        InputLog inputLog = args.length > 0 ? InputLog.read(Paths.get(args[0])) : PhysicsBenchmark.getScript();
+
+        if (args.length > 1) {
+            Path path = Paths.get(args[1]);
+
+            inputLog.write(path);
+
+            System.out.printf("Wrote %d ticks to %s%n", inputLog.size(), path);
+        }
+
+        Vector3f first = PhysicsBenchmark.replay(inputLog);
+        Vector3f second = PhysicsBenchmark.replay(inputLog);
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < PhysicsBenchmark.ITERATIONS; i++) {
+            PhysicsBenchmark.replay(inputLog);
+        }
+
+        double time = (System.nanoTime() - start) / 1e9d;
+
+        long ticks = (long) inputLog.size() * PhysicsBenchmark.ITERATIONS;
+
+        System.out.printf("Final position [%.4f, %.4f, %.4f], replay %s%n", first.x, first.y, first.z,
+                first.equals(second) ? "identical" : "DIVERGED");
+        System.out.printf("%d ticks in %.1f ms, %.0f ticks per second%n", ticks, time * 1e3d, ticks / time);
+    }
+
+    private static Vector3f replay(InputLog inputLog) {
+        Player player = new Player(0.5f, 4.0f, 0.5f);
+
+        PlayerPhysics playerPhysics = new PlayerPhysics(PhysicsBenchmark.GRID);
+
+        for (int i = 0; i < inputLog.size(); i++) {
+            playerPhysics.step(player, inputLog.get(i));
+        }
+
+        return new Vector3f(player.getPosition());
+    }
+
+    // Walks forward while slowly turning, jumping every second
+    private static InputLog getScript() {
+        InputLog inputLog = new InputLog();
+
+        for (int i = 0; i < PhysicsBenchmark.TICKS; i++) {
+            int keys = PlayerInput.FORWARD;
+
+            if (i % 60 == 0) {
+                keys |= PlayerInput.JUMP;
+            }
+
+            if (i % 300 > 200) {
+                keys |= PlayerInput.LEFT;
+            }
+
+            inputLog.record(new PlayerInput(keys, i * 0.1f, -10.0f));
+        }
+
+        return inputLog;
+    }
+}
@@ -0,0 +1,114 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.io.IOException;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+
+import org.joml.Vector3i;
+
+import com.duckyshine.app.math.Voxel;
+import com.duckyshine.app.math.noise.Noise;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.LevelOfDetail;
+
+import com.duckyshine.app.scene.RegionFile;
+import com.duckyshine.app.scene.ChunkPregenerator;
+
+import com.duckyshine.app.utility.FileUtility;
+
+// Headless: also the pregeneration tool. Generates and meshes a square of columns centred on the origin at every
+// power of two thread count up to the core count, then writes the last run's blocks to a region file.
+// Arguments: [columns per side] [output path]
+public class PregenerationBenchmark {
+    private static final int SIZE = 32;
+
+    private static final int VERTICAL_MARGIN = 4;
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : PregenerationBenchmark.SIZE;
+
+        Path path = args.length > 1 ? Path.of(args[1]) : FileUtility.getCachePath("region.bin");
+
+        List<Vector3i> columns = PregenerationBenchmark.getColumns(size);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        // Warms up the mesher and noise so the single thread row is not charged for it
+        ChunkPregenerator warmUp = new ChunkPregenerator(1, PregenerationBenchmark.VERTICAL_MARGIN);
+
+        warmUp.generate(PregenerationBenchmark.getColumns(4), Integer.MIN_VALUE, Integer.MAX_VALUE,
+                position -> LevelOfDetail.FULL, null);
+
+        warmUp.cleanup();
+
+        List<Chunk> chunks = null;
+
+        for (int threads = 1; threads <= processors; threads <<= 1) {
+            // Progress is only printed for the widest run, the tool's actual output
+            chunks = PregenerationBenchmark.generate(columns, threads,
+                    threads << 1 > processors && Integer.bitCount(processors) == 1);
+        }
+
+        if (Integer.bitCount(processors) != 1) {
+            chunks = PregenerationBenchmark.generate(columns, processors, true);
+        }
+
+        long writeStart = System.nanoTime();
+
+        RegionFile.write(path, Noise.getSeed(), chunks);
+
+        double writeTime = (System.nanoTime() - writeStart) / 1e6d;
+
+        int readCount = RegionFile.read(path).getChunks().size();
+
+        System.out.printf("Wrote %d chunks (%d bytes) to %s in %.1f ms, %d read back%n", chunks.size(),
+                Files.size(path), path, writeTime, readCount);
+    }
+
+    private static List<Chunk> generate(List<Vector3i> columns, int threads, boolean isReportingProgress) {
+        ChunkPregenerator chunkPregenerator = new ChunkPregenerator(threads, PregenerationBenchmark.VERTICAL_MARGIN);
+
+        long start = System.nanoTime();
+
+        List<ChunkPregenerator.Column> results = chunkPregenerator.generate(columns, Integer.MIN_VALUE,
+                Integer.MAX_VALUE, position -> LevelOfDetail.FULL, (completed, total) -> {
+                    if (isReportingProgress && completed * 4 / total != (completed - 1) * 4 / total) {
+                        System.out.printf("  %3d%% (%d / %d columns)%n", completed * 100 / total, completed, total);
+                    }
+                });
+
+        double time = (System.nanoTime() - start) / 1e9d;
+
+        chunkPregenerator.cleanup();
+
+        List<Chunk> chunks = new ArrayList<>();
+
+        for (ChunkPregenerator.Column column : results) {
+            chunks.addAll(column.getChunks());
+        }
+
+        System.out.printf("%2d threads: %d columns, %d chunks in %.1f ms, %.0f chunks/s%n", threads, columns.size(),
+                chunks.size(), time * 1e3d, chunks.size() / time);
+
+        return chunks;
+    }
+
+    private static List<Vector3i> getColumns(int size) {
+        List<Vector3i> columns = new ArrayList<>();
+
+        int offset = size / 2;
+
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                columns.add(new Vector3i((x - offset) * Voxel.CHUNK_WIDTH, 0, (z - offset) * Voxel.CHUNK_DEPTH));
+            }
+        }
+
+        return columns;
+    }
+}
@@ -0,0 +1,203 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+
+import com.duckyshine.app.math.Voxel;
+import com.duckyshine.app.math.noise.SimplexNoise;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+
+import com.duckyshine.app.physics.ray.RayBatch;
+import com.duckyshine.app.physics.ray.ChunkSource;
+import com.duckyshine.app.physics.ray.RaycastService;
+
+// Headless: long random rays over rolling terrain with open sky above, compares a per block lookup walk like the one
+// the player pick used before with the batched service at each level of empty space skipping
+public class RaycastBenchmark {
+    private static final long SEED = 1337L;
+
+    private static final int RADIUS = 6;
+
+    private static final int LAYERS = 8;
+
+    private static final int RAYS = 100000;
+
+    private static final float DISTANCE = 160.0f;
+
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) {
+        Map<Vector3i, Chunk> chunks = new HashMap<>();
+
+        RaycastBenchmark.generate(chunks);
+
+        ChunkSource chunkSource = (x, y, z) -> chunks.get(new Vector3i(x, y, z));
+
+        RayBatch rayBatch = RaycastBenchmark.getRays();
+
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        double perBlockTime = RaycastBenchmark.timePerBlock(chunks, rayBatch);
+
+        System.out.printf("%d rays up to %.0f blocks, %d cores%n", RaycastBenchmark.RAYS, RaycastBenchmark.DISTANCE, cores);
+        System.out.printf("Per block lookup:  %.2f ms per batch, %.2f M rays/s%n", perBlockTime,
+                RaycastBenchmark.RAYS / perBlockTime / 1e3d);
+
+        String[] names = { "block by block", "empty chunks", "empty bricks" };
+
+        int[] skippings = { RaycastService.SKIP_NONE, RaycastService.SKIP_CHUNKS, RaycastService.SKIP_BRICKS };
+
+        for (int i = 0; i < skippings.length; i++) {
+            RaycastBenchmark.time(chunkSource, rayBatch, skippings[i], 1, names[i]);
+        }
+
+        if (cores > 1) {
+            RaycastBenchmark.time(chunkSource, rayBatch, RaycastService.SKIP_BRICKS, cores, names[2]);
+        }
+    }
+
+    private static void time(ChunkSource chunkSource, RayBatch rayBatch, int skipping, int threadCount, String name) {
+        RaycastService raycastService = new RaycastService(chunkSource, threadCount);
+
+        raycastService.setSkipping(skipping);
+
+        raycastService.cast(rayBatch);
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < RaycastBenchmark.ITERATIONS; i++) {
+            raycastService.cast(rayBatch);
+        }
+
+        double time = (System.nanoTime() - start) / 1e6d / RaycastBenchmark.ITERATIONS;
+
+        int hits = 0;
+
+        for (int i = 0; i < rayBatch.size(); i++) {
+            hits += rayBatch.getIsHit(i) ? 1 : 0;
+        }
+
+        System.out.printf("Service, %-14s %2d threads: %.2f ms per batch, %.2f M rays/s, %d hits%n", name, threadCount,
+                time, RaycastBenchmark.RAYS / time / 1e3d, hits);
+
+        raycastService.cleanup();
+    }
+
+    private static void generate(Map<Vector3i, Chunk> chunks) {
+        int radius = RaycastBenchmark.RADIUS;
+
+        for (int cx = -radius; cx <= radius; cx++) {
+            for (int cy = 0; cy < RaycastBenchmark.LAYERS; cy++) {
+                for (int cz = -radius; cz <= radius; cz++) {
+                    Vector3i position = new Vector3i(cx * Voxel.CHUNK_WIDTH, cy * Voxel.CHUNK_HEIGHT, cz * Voxel.CHUNK_DEPTH);
+
+                    Chunk chunk = new Chunk(position);
+
+                    for (int x = 0; x < Voxel.CHUNK_WIDTH; x++) {
+                        for (int z = 0; z < Voxel.CHUNK_DEPTH; z++) {
+                            double noise = SimplexNoise.noise3_ImproveXZ(RaycastBenchmark.SEED,
+                                    (position.x + x) * 0.02d, 0.0d, (position.z + z) * 0.02d);
+
+                            int height = 24 + (int) (noise * 16.0d);
+
+                            for (int y = 0; y < Voxel.CHUNK_HEIGHT && position.y + y < height; y++) {
+                                chunk.addBlock(x, y, z, BlockType.GRASS);
+                            }
+                        }
+                    }
+
+                    chunks.put(position, chunk);
+                }
+            }
+        }
+    }
+
+    // Rays start high above the terrain, half look down at it like picks and probes, half run level as sight lines
+    private static RayBatch getRays() {
+        Random random = new Random(RaycastBenchmark.SEED);
+
+        RayBatch rayBatch = new RayBatch(RaycastBenchmark.RAYS);
+
+        float extent = RaycastBenchmark.RADIUS * Voxel.CHUNK_WIDTH;
+
+        for (int i = 0; i < RaycastBenchmark.RAYS; i++) {
+            float x = (random.nextFloat() * 2.0f - 1.0f) * extent;
+            float z = (random.nextFloat() * 2.0f - 1.0f) * extent;
+
+            float directionX = random.nextFloat() * 2.0f - 1.0f;
+            float directionY = (i % 2 == 0) ? -random.nextFloat() * 0.5f : random.nextFloat() * 0.1f - 0.05f;
+            float directionZ = random.nextFloat() * 2.0f - 1.0f;
+
+            rayBatch.add(x, 72.0f, z, directionX, directionY, directionZ, RaycastBenchmark.DISTANCE);
+        }
+
+        return rayBatch;
+    }
+
+    private static double timePerBlock(Map<Vector3i, Chunk> chunks, RayBatch rayBatch) {
+        for (int i = 0; i < rayBatch.size(); i++) {
+            RaycastBenchmark.castPerBlock(chunks, rayBatch, i);
+        }
+
+        long start = System.nanoTime();
+
+        for (int iteration = 0; iteration < RaycastBenchmark.ITERATIONS; iteration++) {
+            for (int i = 0; i < rayBatch.size(); i++) {
+                RaycastBenchmark.castPerBlock(chunks, rayBatch, i);
+            }
+        }
+
+        return (System.nanoTime() - start) / 1e6d / RaycastBenchmark.ITERATIONS;
+    }
+
+    // Float block position, a chunk lookup and fresh vectors at every step
+    private static boolean castPerBlock(Map<Vector3i, Chunk> chunks, RayBatch rayBatch, int index) {
+        Vector3f origin = new Vector3f(rayBatch.getOriginX(index), rayBatch.getOriginY(index), rayBatch.getOriginZ(index));
+
+        Vector3f direction = new Vector3f(rayBatch.getDirectionX(index), rayBatch.getDirectionY(index),
+                rayBatch.getDirectionZ(index)).normalize();
+
+        Vector3f position = new Vector3f((float) Math.floor(origin.x), (float) Math.floor(origin.y), (float) Math.floor(origin.z));
+
+        Vector3f step = new Vector3f(Math.signum(direction.x), Math.signum(direction.y), Math.signum(direction.z));
+
+        Vector3f tDelta = new Vector3f(Math.abs(1.0f / direction.x), Math.abs(1.0f / direction.y), Math.abs(1.0f / direction.z));
+
+        Vector3f tMax = new Vector3f(
+                step.x > 0 ? (position.x + 1.0f - origin.x) * tDelta.x : (origin.x - position.x) * tDelta.x,
+                step.y > 0 ? (position.y + 1.0f - origin.y) * tDelta.y : (origin.y - position.y) * tDelta.y,
+                step.z > 0 ? (position.z + 1.0f - origin.z) * tDelta.z : (origin.z - position.z) * tDelta.z);
+
+        float t = 0.0f;
+
+        while (t <= RaycastBenchmark.DISTANCE) {
+            Chunk chunk = chunks.get(Voxel.getChunkPositionFromGlobalPosition(position));
+
+            if (chunk != null && chunk.isBlockActive(Voxel.getBlockPositionFromGlobalPosition(position))) {
+                return true;
+            }
+
+            if (tMax.x < tMax.y && tMax.x < tMax.z) {
+                position.x += step.x;
+                t = tMax.x;
+                tMax.x += tDelta.x;
+            } else if (tMax.y < tMax.z) {
+                position.y += step.y;
+                t = tMax.y;
+                tMax.y += tDelta.y;
+            } else {
+                position.z += step.z;
+                t = tMax.z;
+                tMax.z += tDelta.z;
+            }
+        }
+
+        return false;
+    }
+}
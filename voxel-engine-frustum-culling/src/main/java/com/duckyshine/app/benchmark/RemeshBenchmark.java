@@ -0,0 +1,71 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.List;
+
+import org.joml.Vector3i;
+
+import com.duckyshine.app.model.Mesh;
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+
+// Headless: time from a single block edit to fresh vertex data, full remesh against slice remesh
+public class RemeshBenchmark {
+    private static final int EDITS = 2000;
+
+    private static final int WARMUP = 500;
+
+    public static void main(String[] args) {
+        Chunk chunk = RemeshBenchmark.getTerrain();
+
+        Mesh fullMesh = new Mesh();
+        Mesh sliceMesh = new Mesh();
+
+        fullMesh.update(chunk);
+        sliceMesh.update(chunk);
+
+        long fullTime = 0;
+        long sliceTime = 0;
+
+        for (int i = 0; i < RemeshBenchmark.WARMUP + RemeshBenchmark.EDITS; i++) {
+            Vector3i position = new Vector3i(i % 16, 8 + (i / 16) % 8, (i * 7) % 16);
+
+            if (chunk.isBlockActive(position)) {
+                chunk.removeBlock(position);
+            } else {
+                chunk.addBlock(position, BlockType.GRASS);
+            }
+
+            long fullStart = System.nanoTime();
+
+            fullMesh.update(chunk);
+
+            long sliceStart = System.nanoTime();
+
+            sliceMesh.updateBlocks(chunk, List.of(position));
+
+            long end = System.nanoTime();
+
+            if (i >= RemeshBenchmark.WARMUP) {
+                fullTime += sliceStart - fullStart;
+                sliceTime += end - sliceStart;
+            }
+        }
+
+        System.out.printf("Full remesh:  %.3f ms per edit%n", fullTime / 1e6d / RemeshBenchmark.EDITS);
+        System.out.printf("Slice remesh: %.3f ms per edit%n", sliceTime / 1e6d / RemeshBenchmark.EDITS);
+    }
+
+    private static Chunk getTerrain() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int z = 0; z < chunk.getDepth(); z++) {
+                for (int y = 0; y <= 4 + (x * z) % 7; y++) {
+                    chunk.addBlock(x, y, z, BlockType.GRASS);
+                }
+            }
+        }
+
+        return chunk;
+    }
+}
@@ -0,0 +1,65 @@
+package com.duckyshine.app.benchmark;
+
+import java.util.List;
+
+import java.io.IOException;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+
+import java.awt.image.BufferedImage;
+
+import javax.imageio.ImageIO;
+
+import com.duckyshine.app.model.texture.Atlas;
+import com.duckyshine.app.model.texture.TextureCache;
+
+import com.duckyshine.app.utility.FileUtility;
+
+// Headless: also the prebuild step, leaves a valid texture cache behind so the first launch maps it straight away.
+// Compares decoding every face PNG with validating and mapping the cache
+public class TextureCacheBenchmark {
+    private static final int LAYER_SIZE = 16;
+
+    private static final int ITERATIONS = 50;
+
+    public static void main(String[] args) throws IOException {
+        List<Path> sources = Atlas.getSources();
+
+        Path path = args.length > 0 ? Path.of(args[0]) : FileUtility.getCachePath("textures.bin");
+
+        long buildStart = System.nanoTime();
+
+        TextureCache.build(path, sources, TextureCacheBenchmark.LAYER_SIZE, TextureCache.hash(sources));
+
+        double buildTime = (System.nanoTime() - buildStart) / 1e6d;
+
+        long decodeStart = System.nanoTime();
+
+        for (int i = 0; i < TextureCacheBenchmark.ITERATIONS; i++) {
+            for (Path source : sources) {
+                BufferedImage image = ImageIO.read(source.toFile());
+
+                image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+            }
+        }
+
+        double decodeTime = (System.nanoTime() - decodeStart) / 1e6d / TextureCacheBenchmark.ITERATIONS;
+
+        long loadStart = System.nanoTime();
+
+        TextureCache textureCache = null;
+
+        for (int i = 0; i < TextureCacheBenchmark.ITERATIONS; i++) {
+            textureCache = TextureCache.getOrBuild(path, sources, TextureCacheBenchmark.LAYER_SIZE);
+        }
+
+        double loadTime = (System.nanoTime() - loadStart) / 1e6d / TextureCacheBenchmark.ITERATIONS;
+
+        System.out.printf("%d layers, %d mip levels, %d bytes at %s%n", textureCache.getLayerCount(),
+                textureCache.getLevelCount(), Files.size(path), path);
+        System.out.printf("Build:                   %.2f ms%n", buildTime);
+        System.out.printf("Decode every PNG:        %.3f ms per startup%n", decodeTime);
+        System.out.printf("Hash, validate and map:  %.3f ms per startup%n", loadTime);
+    }
+}
@@ -3,6 +3,13 @@ package com.duckyshine.app.buffer;
 import static org.lwjgl.opengl.GL30.*;
 
 public class AABBBuffer extends Buffer {
+    // The twelve edges between the corners AABB.getVertices lists, uploaded once since only the corners move
+    private static final int[] INDICES = {
+            0, 1, 1, 2, 2, 3, 3, 0,
+            4, 5, 5, 6, 6, 7, 7, 4,
+            0, 4, 1, 5, 2, 6, 3, 7
+    };
+
     public AABBBuffer() {
         super();
 
@@ -11,6 +18,7 @@ public class AABBBuffer extends Buffer {
 
     private void initialise() {
         super.setupBuffers();
+        super.setupIndexBuffer();
 
         this.bindVertexArray();
 
@@ -18,19 +26,19 @@ public class AABBBuffer extends Buffer {
         glBufferData(GL_ARRAY_BUFFER, 0, GL_DYNAMIC_DRAW);
         this.setVertexAttributePointer(0, 3, GL_FLOAT, 3 * Float.BYTES, 0);
 
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, this.indexBufferId);
-        glBufferData(GL_ELEMENT_ARRAY_BUFFER, 0, GL_DYNAMIC_DRAW);
+        this.bindIndexBuffer(AABBBuffer.INDICES);
 
         this.detachVertexArray();
     }
 
-    public void setup(BufferData bufferData) {
+    public void setup(float[] vertices) {
         this.bindVertexArray();
 
         glBindBuffer(GL_ARRAY_BUFFER, this.vertexBufferId);
-        glBufferData(GL_ARRAY_BUFFER, bufferData.getVertices(), GL_DYNAMIC_DRAW);
+        glBufferData(GL_ARRAY_BUFFER, vertices, GL_DYNAMIC_DRAW);
+    }
 
-        glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, this.indexBufferId);
-        glBufferData(GL_ELEMENT_ARRAY_BUFFER, bufferData.getIndices(), GL_DYNAMIC_DRAW);
+    public int getIndexCount() {
+        return AABBBuffer.INDICES.length;
     }
 }
@@ -24,6 +24,9 @@ public abstract class Buffer {
         this.vertexArrayId = glGenVertexArrays();
 
         this.vertexBufferId = glGenBuffers();
+    }
+
+    protected void setupIndexBuffer() {
         this.indexBufferId = glGenBuffers();
     }
 
@@ -117,8 +120,6 @@ public abstract class Buffer {
         return this.vertexArrayId;
     }
 
-    public abstract void setup(BufferData bufferData);
-
     public void cleanup() {
         this.deleteVertexArray();
 
@@ -0,0 +1,117 @@
+package com.duckyshine.app.buffer;
+
+import java.util.Arrays;
+
+// CPU side list of (index count, base vertex) draws, every draw starts at index 0 of the shared quad index buffer
+public class DrawCommandList {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int maximumQuadsPerCommand;
+
+    private int size;
+
+    private int[] counts;
+    private int[] baseVertices;
+
+    public DrawCommandList(int maximumQuadsPerCommand) {
+        this.maximumQuadsPerCommand = maximumQuadsPerCommand;
+
+        this.size = 0;
+
+        this.counts = new int[DrawCommandList.INITIAL_CAPACITY];
+        this.baseVertices = new int[DrawCommandList.INITIAL_CAPACITY];
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    // Quads are contiguous in the pool, so a range that continues the previous command extends it instead
+    public void add(int firstQuad, int quadCount) {
+        while (quadCount > 0) {
+            if (this.isContinuation(firstQuad)) {
+                int previousQuads = this.getQuadCount(this.size - 1);
+
+                int quads = Math.min(quadCount, this.maximumQuadsPerCommand - previousQuads);
+
+                this.counts[this.size - 1] += QuadIndexBuffer.getIndexCount(quads);
+
+                firstQuad += quads;
+                quadCount -= quads;
+
+                continue;
+            }
+
+            int quads = Math.min(quadCount, this.maximumQuadsPerCommand);
+
+            this.ensureCapacity(this.size + 1);
+
+            this.counts[this.size] = QuadIndexBuffer.getIndexCount(quads);
+            this.baseVertices[this.size] = firstQuad * QuadIndexBuffer.VERTICES_PER_QUAD;
+
+            this.size++;
+
+            firstQuad += quads;
+            quadCount -= quads;
+        }
+    }
+
+    private boolean isContinuation(int firstQuad) {
+        if (this.size == 0) {
+            return false;
+        }
+
+        int previous = this.size - 1;
+
+        int previousQuads = this.getQuadCount(previous);
+
+        if (previousQuads >= this.maximumQuadsPerCommand) {
+            return false;
+        }
+
+        int previousEnd = this.baseVertices[previous] / QuadIndexBuffer.VERTICES_PER_QUAD + previousQuads;
+
+        return previousEnd == firstQuad;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.counts.length) {
+            return;
+        }
+
+        int length = Math.max(capacity, this.counts.length << 1);
+
+        this.counts = Arrays.copyOf(this.counts, length);
+        this.baseVertices = Arrays.copyOf(this.baseVertices, length);
+    }
+
+    private int getQuadCount(int command) {
+        return this.counts[command] / QuadIndexBuffer.INDICES_PER_QUAD;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int getCount(int command) {
+        return this.counts[command];
+    }
+
+    public int getBaseVertex(int command) {
+        return this.baseVertices[command];
+    }
+
+    public int getTotalQuadCount() {
+        int quadCount = 0;
+
+        for (int i = 0; i < this.size; i++) {
+            quadCount += this.getQuadCount(i);
+        }
+
+        return quadCount;
+    }
+}
@@ -13,7 +13,6 @@ public class MeshBuffer extends Buffer {
         this.coordinateBufferId = 0;
     }
 
-    @Override
     public void setup(BufferData bufferData) {
         super.setupBuffers();
 
@@ -31,11 +30,15 @@ public class MeshBuffer extends Buffer {
         this.bindTextureBuffer(bufferData.getTextures());
         this.setIntegerVertexAttributePointer(2, 1, GL_INT, Integer.BYTES, 0);
 
-        this.bindIndexBuffer(bufferData.getIndices());
+        QuadIndexBuffer.bind(this.getQuadCount(bufferData));
 
         this.detachVertexArray();
     }
 
+    private int getQuadCount(BufferData bufferData) {
+        return bufferData.getVertices().length / (3 * QuadIndexBuffer.VERTICES_PER_QUAD);
+    }
+
     private void bindCoordinateBuffer(float[] coordinates) {
         this.bindFloatBuffer(this.coordinateBufferId, coordinates);
     }
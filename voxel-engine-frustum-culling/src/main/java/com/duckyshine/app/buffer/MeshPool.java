@@ -0,0 +1,247 @@
+package com.duckyshine.app.buffer;
+
+import java.nio.IntBuffer;
+import java.nio.FloatBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.PointerBuffer;
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+
+import static org.lwjgl.opengl.GL32.*;
+
+// Every chunk mesh lives in one set of vertex buffers, so visible chunks can be drawn with a single call
+public class MeshPool {
+    private static final int INITIAL_QUADS = 1 << 16;
+
+    private static final int POSITION_SIZE = 3;
+    private static final int COORDINATE_SIZE = 2;
+    private static final int TEXTURE_SIZE = 1;
+
+    private int vertexArrayId;
+
+    private int vertexBufferId;
+    private int textureBufferId;
+    private int coordinateBufferId;
+
+    private RangeAllocator allocator;
+
+    private IntBuffer counts;
+    private IntBuffer baseVertices;
+
+    private PointerBuffer offsets;
+
+    public MeshPool() {
+        this.vertexArrayId = 0;
+
+        this.vertexBufferId = 0;
+        this.textureBufferId = 0;
+        this.coordinateBufferId = 0;
+
+        this.allocator = new RangeAllocator(MeshPool.INITIAL_QUADS);
+    }
+
+    public static boolean isSupported() {
+        GLCapabilities capabilities = GL.getCapabilities();
+
+        return capabilities.OpenGL32 || capabilities.GL_ARB_draw_elements_base_vertex;
+    }
+
+    public void initialise() {
+        this.vertexBufferId = this.createBuffer(MeshPool.POSITION_SIZE * Float.BYTES, this.getCapacity());
+        this.coordinateBufferId = this.createBuffer(MeshPool.COORDINATE_SIZE * Float.BYTES, this.getCapacity());
+        this.textureBufferId = this.createBuffer(MeshPool.TEXTURE_SIZE * Integer.BYTES, this.getCapacity());
+
+        this.setupVertexArray();
+
+        this.resizeCommandBuffers(256);
+    }
+
+    private int createBuffer(int vertexSize, int quadCount) {
+        int bufferId = glGenBuffers();
+
+        glBindBuffer(GL_ARRAY_BUFFER, bufferId);
+        glBufferData(GL_ARRAY_BUFFER, this.getByteSize(vertexSize, quadCount), GL_STATIC_DRAW);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+
+        return bufferId;
+    }
+
+    private void setupVertexArray() {
+        if (this.vertexArrayId != 0) {
+            glDeleteVertexArrays(this.vertexArrayId);
+        }
+
+        this.vertexArrayId = glGenVertexArrays();
+
+        glBindVertexArray(this.vertexArrayId);
+
+        glBindBuffer(GL_ARRAY_BUFFER, this.vertexBufferId);
+        glVertexAttribPointer(0, MeshPool.POSITION_SIZE, GL_FLOAT, false, MeshPool.POSITION_SIZE * Float.BYTES, 0);
+        glEnableVertexAttribArray(0);
+
+        glBindBuffer(GL_ARRAY_BUFFER, this.coordinateBufferId);
+        glVertexAttribPointer(1, MeshPool.COORDINATE_SIZE, GL_FLOAT, false, MeshPool.COORDINATE_SIZE * Float.BYTES, 0);
+        glEnableVertexAttribArray(1);
+
+        glBindBuffer(GL_ARRAY_BUFFER, this.textureBufferId);
+        glVertexAttribIPointer(2, MeshPool.TEXTURE_SIZE, GL_INT, MeshPool.TEXTURE_SIZE * Integer.BYTES, 0);
+        glEnableVertexAttribArray(2);
+
+        // Commands never span more quads than 16 bit indices can address, base vertex does the rest
+        QuadIndexBuffer.bind(QuadIndexBuffer.MAXIMUM_SHORT_QUADS);
+
+        glBindVertexArray(0);
+
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    public int allocate(int quadCount) {
+        int offset = this.allocator.allocate(quadCount);
+
+        if (offset == RangeAllocator.INVALID_OFFSET) {
+            this.grow(quadCount);
+
+            offset = this.allocator.allocate(quadCount);
+        }
+
+        return offset;
+    }
+
+    public void free(int offset, int quadCount) {
+        this.allocator.free(offset, quadCount);
+    }
+
+    private void grow(int quadCount) {
+        int capacity = this.getCapacity();
+
+        int newCapacity = capacity << 1;
+
+        while (newCapacity - capacity < quadCount) {
+            newCapacity <<= 1;
+        }
+
+        this.vertexBufferId = this.copyBuffer(this.vertexBufferId, MeshPool.POSITION_SIZE * Float.BYTES, newCapacity);
+        this.coordinateBufferId = this.copyBuffer(this.coordinateBufferId, MeshPool.COORDINATE_SIZE * Float.BYTES, newCapacity);
+        this.textureBufferId = this.copyBuffer(this.textureBufferId, MeshPool.TEXTURE_SIZE * Integer.BYTES, newCapacity);
+
+        this.setupVertexArray();
+
+        this.allocator.grow(newCapacity);
+    }
+
+    private int copyBuffer(int bufferId, int vertexSize, int quadCount) {
+        int newBufferId = this.createBuffer(vertexSize, quadCount);
+
+        glBindBuffer(GL_COPY_READ_BUFFER, bufferId);
+        glBindBuffer(GL_COPY_WRITE_BUFFER, newBufferId);
+
+        glCopyBufferSubData(GL_COPY_READ_BUFFER, GL_COPY_WRITE_BUFFER, 0, 0, this.getByteSize(vertexSize, this.getCapacity()));
+
+        glBindBuffer(GL_COPY_READ_BUFFER, 0);
+        glBindBuffer(GL_COPY_WRITE_BUFFER, 0);
+
+        glDeleteBuffers(bufferId);
+
+        return newBufferId;
+    }
+
+    public void upload(int offset, BufferData bufferData) {
+        this.upload(this.vertexBufferId, MeshPool.POSITION_SIZE * Float.BYTES, offset, bufferData.getVertices());
+        this.upload(this.coordinateBufferId, MeshPool.COORDINATE_SIZE * Float.BYTES, offset, bufferData.getCoordinates());
+        this.upload(this.textureBufferId, MeshPool.TEXTURE_SIZE * Integer.BYTES, offset, bufferData.getTextures());
+    }
+
+    private void upload(int bufferId, int vertexSize, int offset, float[] data) {
+        FloatBuffer buffer = BufferUtils.createFloatBuffer(data.length);
+
+        buffer.put(data).flip();
+
+        glBindBuffer(GL_ARRAY_BUFFER, bufferId);
+        glBufferSubData(GL_ARRAY_BUFFER, this.getByteSize(vertexSize, offset), buffer);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    private void upload(int bufferId, int vertexSize, int offset, int[] data) {
+        IntBuffer buffer = BufferUtils.createIntBuffer(data.length);
+
+        buffer.put(data).flip();
+
+        glBindBuffer(GL_ARRAY_BUFFER, bufferId);
+        glBufferSubData(GL_ARRAY_BUFFER, this.getByteSize(vertexSize, offset), buffer);
+        glBindBuffer(GL_ARRAY_BUFFER, 0);
+    }
+
+    private void resizeCommandBuffers(int capacity) {
+        this.counts = BufferUtils.createIntBuffer(capacity);
+        this.baseVertices = BufferUtils.createIntBuffer(capacity);
+
+        // Every command starts at the first index, only the base vertex moves
+        this.offsets = BufferUtils.createPointerBuffer(capacity);
+    }
+
+    public void render(DrawCommandList drawCommandList) {
+        int size = drawCommandList.size();
+
+        if (size == 0) {
+            return;
+        }
+
+        if (size > this.counts.capacity()) {
+            this.resizeCommandBuffers(Math.max(size, this.counts.capacity() << 1));
+        }
+
+        this.counts.clear();
+        this.baseVertices.clear();
+        this.offsets.clear();
+
+        for (int i = 0; i < size; i++) {
+            this.counts.put(drawCommandList.getCount(i));
+            this.baseVertices.put(drawCommandList.getBaseVertex(i));
+            this.offsets.put(0L);
+        }
+
+        this.counts.flip();
+        this.baseVertices.flip();
+        this.offsets.flip();
+
+        glBindVertexArray(this.vertexArrayId);
+
+        glMultiDrawElementsBaseVertex(GL_TRIANGLES, this.counts, GL_UNSIGNED_SHORT, this.offsets, this.baseVertices);
+
+        glBindVertexArray(0);
+    }
+
+    private long getByteSize(int vertexSize, int quadCount) {
+        return (long) vertexSize * QuadIndexBuffer.VERTICES_PER_QUAD * quadCount;
+    }
+
+    public int getCapacity() {
+        return this.allocator.getCapacity();
+    }
+
+    public int getAllocated() {
+        return this.allocator.getAllocated();
+    }
+
+    public int getMaximumQuadsPerCommand() {
+        return QuadIndexBuffer.MAXIMUM_SHORT_QUADS;
+    }
+
+    public void cleanup() {
+        if (this.vertexArrayId != 0) {
+            glDeleteVertexArrays(this.vertexArrayId);
+
+            this.vertexArrayId = 0;
+        }
+
+        glDeleteBuffers(this.vertexBufferId);
+        glDeleteBuffers(this.coordinateBufferId);
+        glDeleteBuffers(this.textureBufferId);
+
+        this.vertexBufferId = 0;
+        this.coordinateBufferId = 0;
+        this.textureBufferId = 0;
+    }
+}
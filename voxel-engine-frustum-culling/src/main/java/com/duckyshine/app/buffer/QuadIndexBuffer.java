@@ -0,0 +1,164 @@
+package com.duckyshine.app.buffer;
+
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import org.lwjgl.BufferUtils;
+
+import static org.lwjgl.opengl.GL31.*;
+
+// Every quad uses the same { 0, 1, 2, 2, 3, 0 } pattern, so one shared index buffer serves every mesh
+public class QuadIndexBuffer {
+    public static final int VERTICES_PER_QUAD = 4;
+
+    public static final int INDICES_PER_QUAD = 6;
+
+    // 16 bit indices can address 65536 vertices, i.e., 16384 quads
+    public static final int MAXIMUM_SHORT_QUADS = 65536 / QuadIndexBuffer.VERTICES_PER_QUAD;
+
+    private static final int[] INDICES = { 0, 1, 2, 2, 3, 0 };
+
+    // Worst case for a 16x16x16 chunk is a checkerboard, where half the blocks expose all six faces
+    private static final int INITIAL_QUADS = 16 * 16 * 16 / 2 * 6;
+
+    private static int shortBufferId = 0;
+    private static int integerBufferId = 0;
+
+    private static int shortCapacity = 0;
+    private static int integerCapacity = 0;
+
+    public static void initialise() {
+        QuadIndexBuffer.ensureCapacity(QuadIndexBuffer.INITIAL_QUADS);
+    }
+
+    public static boolean isShort(int quadCount) {
+        return quadCount <= QuadIndexBuffer.MAXIMUM_SHORT_QUADS;
+    }
+
+    public static int getType(int quadCount) {
+        return QuadIndexBuffer.isShort(quadCount) ? GL_UNSIGNED_SHORT : GL_UNSIGNED_INT;
+    }
+
+    public static int getIndexSize(int quadCount) {
+        return QuadIndexBuffer.isShort(quadCount) ? Short.BYTES : Integer.BYTES;
+    }
+
+    public static int getIndexCount(int quadCount) {
+        return quadCount * QuadIndexBuffer.INDICES_PER_QUAD;
+    }
+
+    // Must be called while the vertex array that will use the indices is bound
+    public static void bind(int quadCount) {
+        QuadIndexBuffer.ensureCapacity(quadCount);
+
+        if (QuadIndexBuffer.isShort(quadCount)) {
+            glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, QuadIndexBuffer.shortBufferId);
+        } else {
+            glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, QuadIndexBuffer.integerBufferId);
+        }
+    }
+
+    private static void ensureCapacity(int quadCount) {
+        if (QuadIndexBuffer.isShort(quadCount)) {
+            QuadIndexBuffer.ensureShortCapacity(quadCount);
+        } else {
+            QuadIndexBuffer.ensureIntegerCapacity(quadCount);
+        }
+    }
+
+    private static void ensureShortCapacity(int quadCount) {
+        if (quadCount <= QuadIndexBuffer.shortCapacity && QuadIndexBuffer.shortBufferId != 0) {
+            return;
+        }
+
+        int capacity = Math.min(QuadIndexBuffer.getGrownCapacity(quadCount), QuadIndexBuffer.MAXIMUM_SHORT_QUADS);
+
+        ShortBuffer buffer = BufferUtils.createShortBuffer(QuadIndexBuffer.getIndexCount(capacity));
+
+        for (int quad = 0; quad < capacity; quad++) {
+            int offset = quad * QuadIndexBuffer.VERTICES_PER_QUAD;
+
+            for (int index : QuadIndexBuffer.INDICES) {
+                buffer.put((short) (index + offset));
+            }
+        }
+
+        buffer.flip();
+
+        if (QuadIndexBuffer.shortBufferId == 0) {
+            QuadIndexBuffer.shortBufferId = glGenBuffers();
+        }
+
+        // Re-specifying the same buffer object keeps every vertex array that references it valid
+        QuadIndexBuffer.upload(QuadIndexBuffer.shortBufferId, buffer);
+
+        QuadIndexBuffer.shortCapacity = capacity;
+    }
+
+    private static void ensureIntegerCapacity(int quadCount) {
+        if (quadCount <= QuadIndexBuffer.integerCapacity && QuadIndexBuffer.integerBufferId != 0) {
+            return;
+        }
+
+        int capacity = QuadIndexBuffer.getGrownCapacity(quadCount);
+
+        IntBuffer buffer = BufferUtils.createIntBuffer(QuadIndexBuffer.getIndexCount(capacity));
+
+        for (int quad = 0; quad < capacity; quad++) {
+            int offset = quad * QuadIndexBuffer.VERTICES_PER_QUAD;
+
+            for (int index : QuadIndexBuffer.INDICES) {
+                buffer.put(index + offset);
+            }
+        }
+
+        buffer.flip();
+
+        if (QuadIndexBuffer.integerBufferId == 0) {
+            QuadIndexBuffer.integerBufferId = glGenBuffers();
+        }
+
+        QuadIndexBuffer.upload(QuadIndexBuffer.integerBufferId, buffer);
+
+        QuadIndexBuffer.integerCapacity = capacity;
+    }
+
+    // Uploads through the copy target, so the element binding of whichever vertex array is bound stays untouched
+    private static void upload(int bufferId, ShortBuffer buffer) {
+        glBindBuffer(GL_COPY_WRITE_BUFFER, bufferId);
+        glBufferData(GL_COPY_WRITE_BUFFER, buffer, GL_STATIC_DRAW);
+        glBindBuffer(GL_COPY_WRITE_BUFFER, 0);
+    }
+
+    private static void upload(int bufferId, IntBuffer buffer) {
+        glBindBuffer(GL_COPY_WRITE_BUFFER, bufferId);
+        glBufferData(GL_COPY_WRITE_BUFFER, buffer, GL_STATIC_DRAW);
+        glBindBuffer(GL_COPY_WRITE_BUFFER, 0);
+    }
+
+    private static int getGrownCapacity(int quadCount) {
+        int capacity = QuadIndexBuffer.INITIAL_QUADS;
+
+        while (capacity < quadCount) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    public static void cleanup() {
+        if (QuadIndexBuffer.shortBufferId != 0) {
+            glDeleteBuffers(QuadIndexBuffer.shortBufferId);
+
+            QuadIndexBuffer.shortBufferId = 0;
+            QuadIndexBuffer.shortCapacity = 0;
+        }
+
+        if (QuadIndexBuffer.integerBufferId != 0) {
+            glDeleteBuffers(QuadIndexBuffer.integerBufferId);
+
+            QuadIndexBuffer.integerBufferId = 0;
+            QuadIndexBuffer.integerCapacity = 0;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.duckyshine.app.buffer;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// First fit allocator over [0, capacity), free neighbours are coalesced on release
+public class RangeAllocator {
+    public static final int INVALID_OFFSET = -1;
+
+    private int capacity;
+
+    private int allocated;
+
+    private TreeMap<Integer, Integer> freeRanges;
+
+    public RangeAllocator(int capacity) {
+        this.capacity = capacity;
+
+        this.allocated = 0;
+
+        this.freeRanges = new TreeMap<>();
+
+        if (capacity > 0) {
+            this.freeRanges.put(0, capacity);
+        }
+    }
+
+    public int allocate(int size) {
+        if (size <= 0) {
+            return RangeAllocator.INVALID_OFFSET;
+        }
+
+        for (Map.Entry<Integer, Integer> freeRange : this.freeRanges.entrySet()) {
+            int offset = freeRange.getKey();
+            int length = freeRange.getValue();
+
+            if (length < size) {
+                continue;
+            }
+
+            this.freeRanges.remove(offset);
+
+            if (length > size) {
+                this.freeRanges.put(offset + size, length - size);
+            }
+
+            this.allocated += size;
+
+            return offset;
+        }
+
+        return RangeAllocator.INVALID_OFFSET;
+    }
+
+    public void free(int offset, int size) {
+        if (offset == RangeAllocator.INVALID_OFFSET || size <= 0) {
+            return;
+        }
+
+        this.allocated -= size;
+
+        this.release(offset, size);
+    }
+
+    private void release(int offset, int size) {
+        Map.Entry<Integer, Integer> previous = this.freeRanges.floorEntry(offset);
+
+        if (previous != null && previous.getKey() + previous.getValue() == offset) {
+            offset = previous.getKey();
+            size += previous.getValue();
+
+            this.freeRanges.remove(offset);
+        }
+
+        Integer nextLength = this.freeRanges.get(offset + size);
+
+        if (nextLength != null) {
+            this.freeRanges.remove(offset + size);
+
+            size += nextLength;
+        }
+
+        this.freeRanges.put(offset, size);
+    }
+
+    public void grow(int capacity) {
+        if (capacity <= this.capacity) {
+            return;
+        }
+
+        int previousCapacity = this.capacity;
+
+        this.capacity = capacity;
+
+        this.release(previousCapacity, capacity - previousCapacity);
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public int getAllocated() {
+        return this.allocated;
+    }
+
+    public int getFreeRangeCount() {
+        return this.freeRanges.size();
+    }
+}
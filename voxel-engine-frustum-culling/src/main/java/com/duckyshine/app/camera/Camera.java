@@ -17,7 +17,7 @@ public class Camera {
     private final float PITCH = 0.0f;
     private final float PITCH_LIMIT = 89.0f;
 
-    private final float FAR = 100.0f;
+    private final float FAR = 1500.0f;
     private final float NEAR = 0.1f;
     private final float FIELD_OF_VIEW = 45.0f;
 
@@ -90,6 +90,14 @@ public class Camera {
         this.aspectRatio = (float) width / height;
     }
 
+    public void setAspectRatio(float aspectRatio) {
+        this.aspectRatio = aspectRatio;
+    }
+
+    public float getAspectRatio() {
+        return this.aspectRatio;
+    }
+
     public void updateMatrices() {
         float fieldOfView = Math.toRadians(this.FIELD_OF_VIEW);
 
@@ -104,9 +112,6 @@ public class Camera {
         float floatMouseX = (float) mouseX;
         float floatMouseY = (float) mouseY;
 
-        float theta;
-        float omega;
-
         if (this.lastMousePosition == null) {
             this.lastMousePosition = new Vector2f((float) mouseX, (float) mouseY);
         }
@@ -117,8 +122,16 @@ public class Camera {
         this.lastMousePosition.x = floatMouseX;
         this.lastMousePosition.y = floatMouseY;
 
-        this.yaw += offsetX;
-        this.pitch = Math.clamp(-this.PITCH_LIMIT, this.PITCH_LIMIT, this.pitch + offsetY);
+        this.setRotation(this.yaw + offsetX, this.pitch + offsetY);
+    }
+
+    // Replaying recorded input sets the angles directly instead of going through the mouse
+    public void setRotation(float yaw, float pitch) {
+        float theta;
+        float omega;
+
+        this.yaw = yaw;
+        this.pitch = Math.clamp(-this.PITCH_LIMIT, this.PITCH_LIMIT, pitch);
 
         theta = Math.toRadians(this.yaw);
         omega = Math.toRadians(this.pitch);
@@ -132,6 +145,14 @@ public class Camera {
         this.front = this.direction.normalize();
     }
 
+    public float getYaw() {
+        return this.yaw;
+    }
+
+    public float getPitch() {
+        return this.pitch;
+    }
+
     public Vector3f getUp() {
         return this.up;
     }
@@ -153,4 +174,13 @@ public class Camera {
     public Matrix4f getProjectionView() {
         return this.projectionView;
     }
+
+    // As of the last updateMatrices, with the field of view widened by margin degrees on each side
+    public Matrix4f getProjectionView(float margin, Matrix4f projectionView) {
+        float fieldOfView = Math.toRadians(this.FIELD_OF_VIEW + 2.0f * margin);
+
+        projectionView.setPerspective(fieldOfView, this.aspectRatio, this.NEAR, this.FAR);
+
+        return projectionView.mul(this.view);
+    }
 }
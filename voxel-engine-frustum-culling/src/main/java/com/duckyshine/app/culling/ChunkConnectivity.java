@@ -0,0 +1,171 @@
+package com.duckyshine.app.culling;
+
+import com.duckyshine.app.math.Direction;
+
+import com.duckyshine.app.model.Chunk;
+
+// Which pairs of chunk faces can see each other through non-solid space, found by flood filling every air pocket
+public class ChunkConnectivity {
+    private static final int FACES = 6;
+
+    public static final ChunkConnectivity OPEN = new ChunkConnectivity(-1L);
+
+    public static final ChunkConnectivity CLOSED = new ChunkConnectivity(0L);
+
+    // Bit (a * 6 + b) is set when face a and face b touch the same air pocket
+    private final long connections;
+
+    private ChunkConnectivity(long connections) {
+        this.connections = connections;
+    }
+
+    public static ChunkConnectivity compute(Chunk chunk) {
+        int width = chunk.getWidth();
+        int height = chunk.getHeight();
+        int depth = chunk.getDepth();
+
+        int size = width * height * depth;
+
+        boolean[] isVisited = new boolean[size];
+
+        int[] queue = new int[size];
+
+        long connections = 0L;
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                for (int z = 0; z < depth; z++) {
+                    if (!ChunkConnectivity.isBoundary(x, y, z, width, height, depth)) {
+                        continue;
+                    }
+
+                    int index = ChunkConnectivity.getIndex(x, y, z, height, depth);
+
+                    if (isVisited[index] || chunk.isBlockActive(x, y, z)) {
+                        continue;
+                    }
+
+                    int faces = ChunkConnectivity.fill(chunk, x, y, z, isVisited, queue);
+
+                    connections |= ChunkConnectivity.getConnections(faces);
+                }
+            }
+        }
+
+        return new ChunkConnectivity(connections);
+    }
+
+    // Only pockets that reach the boundary matter, so flood fills start from boundary cells
+    private static boolean isBoundary(int x, int y, int z, int width, int height, int depth) {
+        return x == 0 || y == 0 || z == 0 || x == width - 1 || y == height - 1 || z == depth - 1;
+    }
+
+    private static int fill(Chunk chunk, int startX, int startY, int startZ, boolean[] isVisited, int[] queue) {
+        int width = chunk.getWidth();
+        int height = chunk.getHeight();
+        int depth = chunk.getDepth();
+
+        int head = 0;
+        int tail = 0;
+
+        int faces = 0;
+
+        int start = ChunkConnectivity.getIndex(startX, startY, startZ, height, depth);
+
+        isVisited[start] = true;
+
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int index = queue[head++];
+
+            int x = index / (height * depth);
+            int y = (index / depth) % height;
+            int z = index % depth;
+
+            faces |= ChunkConnectivity.getTouchedFaces(x, y, z, width, height, depth);
+
+            for (Direction direction : Direction.values()) {
+                int dx = x + direction.getX();
+                int dy = y + direction.getY();
+                int dz = z + direction.getZ();
+
+                if (dx < 0 || dy < 0 || dz < 0 || dx >= width || dy >= height || dz >= depth) {
+                    continue;
+                }
+
+                int neighbour = ChunkConnectivity.getIndex(dx, dy, dz, height, depth);
+
+                if (isVisited[neighbour] || chunk.isBlockActive(dx, dy, dz)) {
+                    continue;
+                }
+
+                isVisited[neighbour] = true;
+
+                queue[tail++] = neighbour;
+            }
+        }
+
+        return faces;
+    }
+
+    private static int getTouchedFaces(int x, int y, int z, int width, int height, int depth) {
+        int faces = 0;
+
+        if (y == height - 1) {
+            faces |= FaceCulling.getMask(Direction.TOP);
+        }
+
+        if (y == 0) {
+            faces |= FaceCulling.getMask(Direction.BOTTOM);
+        }
+
+        if (x == 0) {
+            faces |= FaceCulling.getMask(Direction.LEFT);
+        }
+
+        if (x == width - 1) {
+            faces |= FaceCulling.getMask(Direction.RIGHT);
+        }
+
+        if (z == depth - 1) {
+            faces |= FaceCulling.getMask(Direction.FRONT);
+        }
+
+        if (z == 0) {
+            faces |= FaceCulling.getMask(Direction.BACK);
+        }
+
+        return faces;
+    }
+
+    private static long getConnections(int faces) {
+        long connections = 0L;
+
+        for (int a = 0; a < ChunkConnectivity.FACES; a++) {
+            if ((faces & (1 << a)) == 0) {
+                continue;
+            }
+
+            for (int b = 0; b < ChunkConnectivity.FACES; b++) {
+                if ((faces & (1 << b)) != 0) {
+                    connections |= 1L << (a * ChunkConnectivity.FACES + b);
+                }
+            }
+        }
+
+        return connections;
+    }
+
+    private static int getIndex(int x, int y, int z, int height, int depth) {
+        return (x * height + y) * depth + z;
+    }
+
+    public boolean isConnected(Direction from, Direction to) {
+        return (this.connections & (1L << (from.getIndex() * ChunkConnectivity.FACES + to.getIndex()))) != 0;
+    }
+
+    public boolean isOpen(Direction direction) {
+        return this.isConnected(direction, direction);
+    }
+}
@@ -0,0 +1,52 @@
+package com.duckyshine.app.culling;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+
+import com.duckyshine.app.math.Direction;
+
+// A face can only be seen from the side its normal points to, so whole direction buckets of a chunk can be
+// skipped when the camera is behind every plane those faces could lie on
+public class FaceCulling {
+    public static final int ALL_FACES = (1 << Direction.values().length) - 1;
+
+    public static int getVisibleFaces(Vector3f cameraPosition, Vector3i position, int width, int height, int depth) {
+        int visibleFaces = 0;
+
+        for (Direction direction : Direction.values()) {
+            if (FaceCulling.isFaceVisible(direction, cameraPosition, position, width, height, depth)) {
+                visibleFaces |= FaceCulling.getMask(direction);
+            }
+        }
+
+        return visibleFaces;
+    }
+
+    public static boolean isFaceVisible(Direction direction, Vector3f cameraPosition, Vector3i position, int width,
+            int height, int depth) {
+        switch (direction) {
+            case TOP:
+                return cameraPosition.y > position.y;
+            case BOTTOM:
+                return cameraPosition.y < position.y + height;
+            case RIGHT:
+                return cameraPosition.x > position.x;
+            case LEFT:
+                return cameraPosition.x < position.x + width;
+            case FRONT:
+                return cameraPosition.z > position.z;
+            case BACK:
+                return cameraPosition.z < position.z + depth;
+            default:
+                return true;
+        }
+    }
+
+    public static int getMask(Direction direction) {
+        return 1 << direction.getIndex();
+    }
+
+    public static boolean isVisible(int visibleFaces, Direction direction) {
+        return (visibleFaces & FaceCulling.getMask(direction)) != 0;
+    }
+}
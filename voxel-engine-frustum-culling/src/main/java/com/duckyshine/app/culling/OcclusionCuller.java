@@ -0,0 +1,164 @@
+package com.duckyshine.app.culling;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.joml.FrustumIntersection;
+
+import com.duckyshine.app.math.Voxel;
+import com.duckyshine.app.math.Direction;
+
+import com.duckyshine.app.model.Chunk;
+
+// Breadth first walk over the chunk graph from the camera chunk, a chunk is only entered through a face its
+// predecessor can see out of, and the walk never turns back towards the camera
+public class OcclusionCuller {
+    private int maximumDistance;
+
+    private int visitedCount;
+
+    private List<Chunk> visibleChunks;
+
+    private Set<Vector3i> visited;
+
+    private Deque<Step> queue;
+
+    public OcclusionCuller(int maximumDistance) {
+        this.maximumDistance = maximumDistance;
+
+        this.visitedCount = 0;
+
+        this.visibleChunks = new ArrayList<>();
+
+        this.visited = new HashSet<>();
+
+        this.queue = new ArrayDeque<>();
+    }
+
+    public List<Chunk> cull(Map<Vector3i, Chunk> chunks, Vector3f cameraPosition, FrustumIntersection frustum) {
+        this.visibleChunks.clear();
+
+        this.visited.clear();
+
+        this.queue.clear();
+
+        Vector3i start = Voxel.getChunkPositionFromGlobalPosition(cameraPosition);
+
+        this.visited.add(start);
+
+        this.queue.add(new Step(start, null, 0));
+
+        while (!this.queue.isEmpty()) {
+            Step step = this.queue.poll();
+
+            Chunk chunk = chunks.get(step.position);
+
+            if (chunk != null) {
+                this.visibleChunks.add(chunk);
+            }
+
+            this.visitNeighbours(chunks, start, step, chunk, frustum);
+        }
+
+        this.visitedCount = this.visited.size();
+
+        return this.visibleChunks;
+    }
+
+    private void visitNeighbours(Map<Vector3i, Chunk> chunks, Vector3i start, Step step, Chunk chunk,
+            FrustumIntersection frustum) {
+        ChunkConnectivity connectivity = (chunk == null) ? ChunkConnectivity.OPEN : chunk.getConnectivity();
+
+        for (Direction direction : Direction.values()) {
+            // Going back the way the walk already came can only reach chunks that are hidden from the camera
+            if ((step.directions & FaceCulling.getMask(direction.getOpposite())) != 0) {
+                continue;
+            }
+
+            if (step.entry != null && !connectivity.isConnected(step.entry, direction)) {
+                continue;
+            }
+
+            Vector3i position = this.getNeighbour(step.position, direction);
+
+            if (!this.isInRange(start, position) || this.visited.contains(position)) {
+                continue;
+            }
+
+            if (!this.isInFrustum(frustum, position)) {
+                continue;
+            }
+
+            this.visited.add(position);
+
+            int directions = step.directions | FaceCulling.getMask(direction);
+
+            this.queue.add(new Step(position, direction.getOpposite(), directions));
+        }
+    }
+
+    private Vector3i getNeighbour(Vector3i position, Direction direction) {
+        int x = position.x + direction.getX() * Voxel.CHUNK_WIDTH;
+        int y = position.y + direction.getY() * Voxel.CHUNK_HEIGHT;
+        int z = position.z + direction.getZ() * Voxel.CHUNK_DEPTH;
+
+        return new Vector3i(x, y, z);
+    }
+
+    private boolean isInRange(Vector3i start, Vector3i position) {
+        int dx = Math.abs(position.x - start.x) / Voxel.CHUNK_WIDTH;
+        int dy = Math.abs(position.y - start.y) / Voxel.CHUNK_HEIGHT;
+        int dz = Math.abs(position.z - start.z) / Voxel.CHUNK_DEPTH;
+
+        return Math.max(dx, Math.max(dy, dz)) <= this.maximumDistance;
+    }
+
+    private boolean isInFrustum(FrustumIntersection frustum, Vector3i position) {
+        if (frustum == null) {
+            return true;
+        }
+
+        return frustum.testAab(
+                position.x,
+                position.y,
+                position.z,
+                position.x + Voxel.CHUNK_WIDTH,
+                position.y + Voxel.CHUNK_HEIGHT,
+                position.z + Voxel.CHUNK_DEPTH);
+    }
+
+    public void setMaximumDistance(int maximumDistance) {
+        this.maximumDistance = maximumDistance;
+    }
+
+    public int getVisitedCount() {
+        return this.visitedCount;
+    }
+
+    public List<Chunk> getVisibleChunks() {
+        return this.visibleChunks;
+    }
+
+    private static class Step {
+        private final Vector3i position;
+
+        private final Direction entry;
+
+        private final int directions;
+
+        private Step(Vector3i position, Direction entry, int directions) {
+            this.position = position;
+
+            this.entry = entry;
+
+            this.directions = directions;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.duckyshine.app.debug;
+
+import static org.lwjgl.opengl.GL11.*;
+
+import com.duckyshine.app.buffer.AABBBuffer;
+
+import com.duckyshine.app.physics.AABB;
+
+// Draws physics boxes as wireframes, the only place a box touches GL
+public class AABBRenderer {
+    private AABBBuffer aabbBuffer;
+
+    public AABBRenderer() {
+        this.aabbBuffer = null;
+    }
+
+    public void render(AABB aabb) {
+        // Created on first use, so constructing the renderer needs no context
+        if (this.aabbBuffer == null) {
+            this.aabbBuffer = new AABBBuffer();
+        }
+
+        this.aabbBuffer.setup(aabb.getVertices());
+
+        glDrawElements(GL_LINES, this.aabbBuffer.getIndexCount(), GL_UNSIGNED_INT, 0);
+
+        this.aabbBuffer.detachVertexArray();
+    }
+
+    public void cleanup() {
+        if (this.aabbBuffer != null) {
+            this.aabbBuffer.cleanup();
+
+            this.aabbBuffer = null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.duckyshine.app.edit;
+
+import com.duckyshine.app.model.BlockType;
+
+// One write inside a chunk, a null block type is air, replacements only apply over the matching type
+public class BlockChange {
+    private final int x;
+    private final int y;
+    private final int z;
+
+    private final BlockType blockType;
+
+    private final BlockType replacedType;
+
+    private final boolean isReplace;
+
+    private BlockChange(int x, int y, int z, BlockType blockType, BlockType replacedType, boolean isReplace) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+
+        this.blockType = blockType;
+
+        this.replacedType = replacedType;
+
+        this.isReplace = isReplace;
+    }
+
+    public static BlockChange set(int x, int y, int z, BlockType blockType) {
+        return new BlockChange(x, y, z, blockType, null, false);
+    }
+
+    public static BlockChange replace(int x, int y, int z, BlockType replacedType, BlockType blockType) {
+        return new BlockChange(x, y, z, blockType, replacedType, true);
+    }
+
+    public boolean isApplicable(BlockType currentType) {
+        if (this.isReplace) {
+            return currentType == this.replacedType && currentType != this.blockType;
+        }
+
+        return currentType != this.blockType;
+    }
+
+    public int getX() {
+        return this.x;
+    }
+
+    public int getY() {
+        return this.y;
+    }
+
+    public int getZ() {
+        return this.z;
+    }
+
+    public BlockType getBlockType() {
+        return this.blockType;
+    }
+
+    public BlockType getReplacedType() {
+        return this.replacedType;
+    }
+
+    public boolean getIsReplace() {
+        return this.isReplace;
+    }
+}
@@ -0,0 +1,562 @@
+package com.duckyshine.app.edit;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+
+import java.util.zip.CRC32;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.joml.Vector3i;
+
+import com.duckyshine.app.math.Voxel;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+
+import com.duckyshine.app.physics.ray.ChunkSource;
+
+import com.duckyshine.app.scene.RegionFile;
+
+import com.duckyshine.app.utility.FileUtility;
+
+// Write-ahead log of block edits. Appends only buffer, commit writes everything since the last one as a single frame
+// and forces it to disk once, so a burst of building costs one fsync per frame instead of one per block. Once the log
+// grows past a limit the loaded chunks it touched are written whole to the region file beside it and the log keeps
+// only the records of chunks that were not loaded.
+//
+// Layout, big endian: magic, version, then frames of (record count, records, CRC32 of the records). A record holds the
+// global position, old and new block type index with AIR for empty, and the tick. A torn or corrupt last frame is
+// dropped, every frame before it was acknowledged by a finished commit
+public class EditJournal {
+    private static final int MAGIC = 0x56584a4c;
+
+    private static final int VERSION = 1;
+
+    private static final int AIR = -1;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int RECORD_SIZE = 3 * Integer.BYTES + 2 + Long.BYTES;
+
+    // Past this many records the log is folded into the region file, replay time on startup stays bounded
+    public static final int COMPACTION_THRESHOLD = 16384;
+
+    private final Path path;
+
+    private final Path storagePath;
+
+    // Replaced when compaction rewrites the log
+    private FileChannel channel;
+
+    // Nanoseconds between forced writes, 0 commits on every call
+    private final long commitInterval;
+
+    // Block contents as of the last compaction, restored before the log is replayed
+    private final Map<Vector3i, Chunk> storedChunks;
+
+    // Writes found in the log on open, in the order they were made
+    private final RegionEdit replayEdit;
+
+    // Chunks written to since the last compaction, these are what the next one stores
+    private final Set<Vector3i> touchedChunks;
+
+    private ByteBuffer pending;
+
+    private int pendingCount;
+
+    private int recordCount;
+
+    // Records of unloaded chunks carried over by the last compaction, they do not count towards the next one
+    private int retainedCount;
+
+    private long tick;
+
+    private long lastCommitTime;
+
+    private long commitCount;
+
+    private long commitTime;
+
+    private int compactionCount;
+
+    // First write that failed. Nothing after it is acknowledged, every later commit rethrows it
+    private IOException failure;
+
+    private EditJournal(Path path, FileChannel channel, Path storagePath, long commitInterval,
+            Map<Vector3i, Chunk> storedChunks, RegionEdit replayEdit) {
+        this.path = path;
+
+        this.storagePath = storagePath;
+
+        this.channel = channel;
+
+        this.commitInterval = commitInterval;
+
+        this.storedChunks = storedChunks;
+
+        this.replayEdit = replayEdit;
+
+        this.touchedChunks = new LinkedHashSet<>(replayEdit.getChanges().keySet());
+
+        this.pending = ByteBuffer.allocate(64 * EditJournal.RECORD_SIZE);
+
+        this.pendingCount = 0;
+
+        this.recordCount = replayEdit.getChangeCount();
+
+        this.retainedCount = 0;
+
+        this.tick = 0;
+
+        this.lastCommitTime = System.nanoTime();
+
+        this.commitCount = 0;
+
+        this.commitTime = 0;
+
+        this.compactionCount = 0;
+
+        this.failure = null;
+    }
+
+    // Opens or creates the log at path with its region file at storagePath. A file that is not a journal is an error
+    // rather than started over, it may be the only copy of someone's edits
+    public static EditJournal open(Path path, Path storagePath, long commitIntervalMillis) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Map<Vector3i, Chunk> storedChunks = new LinkedHashMap<>();
+
+        if (Files.exists(storagePath)) {
+            for (Chunk chunk : RegionFile.read(storagePath).getChunks()) {
+                storedChunks.put(chunk.getPosition(), chunk);
+            }
+        }
+
+        FileChannel channel = EditJournal.openChannel(path);
+
+        RegionEdit replayEdit = new RegionEdit();
+
+        try {
+            if (channel.size() < EditJournal.HEADER_SIZE) {
+                EditJournal.reset(channel);
+            } else {
+                EditJournal.read(path, channel, replayEdit);
+            }
+        } catch (IOException exception) {
+            channel.close();
+
+            throw exception;
+        }
+
+        return new EditJournal(path, channel, storagePath, commitIntervalMillis * 1_000_000L, storedChunks, replayEdit);
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void reset(FileChannel channel) throws IOException {
+        channel.truncate(0);
+
+        EditJournal.write(channel, EditJournal.getHeader(0).flip(), 0);
+
+        channel.force(false);
+
+        channel.position(EditJournal.HEADER_SIZE);
+    }
+
+    private static void read(Path path, FileChannel channel, RegionEdit replayEdit) throws IOException {
+        ByteBuffer data = EditJournal.readAll(channel);
+
+        if (data.getInt() != EditJournal.MAGIC || data.getInt() != EditJournal.VERSION) {
+            throw new IOException("Not an edit journal or an unsupported version: " + path);
+        }
+
+        int end = EditJournal.readFrames(data, record -> {
+            int x = record.getInt();
+            int y = record.getInt();
+            int z = record.getInt();
+
+            record.get();
+
+            BlockType blockType = EditJournal.getBlockType(record.get());
+
+            record.getLong();
+
+            replayEdit.set(x, y, z, blockType);
+        });
+
+        // Anything past the last whole frame was never acknowledged, appends continue from the last good byte
+        if (end < channel.size()) {
+            channel.truncate(end);
+
+            channel.force(false);
+        }
+
+        channel.position(end);
+    }
+
+    private static ByteBuffer readAll(FileChannel channel) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate((int) channel.size());
+
+        while (data.hasRemaining()) {
+            if (channel.read(data, data.position()) < 0) {
+                break;
+            }
+        }
+
+        data.flip();
+
+        return data;
+    }
+
+    // Hands every record of every whole frame after the header to recordReader, which must consume it. Returns the
+    // end of the last whole frame
+    private static int readFrames(ByteBuffer data, RecordReader recordReader) throws IOException {
+        data.position(EditJournal.HEADER_SIZE);
+
+        int end = EditJournal.HEADER_SIZE;
+
+        while (data.remaining() >= 2 * Integer.BYTES) {
+            int count = data.getInt();
+
+            // A zeroed or torn count is caught here, before it can size anything
+            if (count <= 0 || count > (data.remaining() - Integer.BYTES) / EditJournal.RECORD_SIZE) {
+                break;
+            }
+
+            int length = count * EditJournal.RECORD_SIZE;
+
+            CRC32 crc = new CRC32();
+
+            crc.update(data.array(), data.position(), length);
+
+            if ((int) crc.getValue() != data.getInt(data.position() + length)) {
+                break;
+            }
+
+            for (int i = 0; i < count; i++) {
+                recordReader.read(data);
+            }
+
+            data.getInt();
+
+            end = data.position();
+        }
+
+        return end;
+    }
+
+    // The magic and version, followed by room for length more bytes
+    private static ByteBuffer getHeader(int length) {
+        ByteBuffer header = ByteBuffer.allocate(EditJournal.HEADER_SIZE + length);
+
+        header.putInt(EditJournal.MAGIC);
+        header.putInt(EditJournal.VERSION);
+
+        return header;
+    }
+
+    private static void putFrame(ByteBuffer buffer, byte[] records, int count) {
+        int length = count * EditJournal.RECORD_SIZE;
+
+        CRC32 crc = new CRC32();
+
+        crc.update(records, 0, length);
+
+        buffer.putInt(count);
+        buffer.put(records, 0, length);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static int getIndex(BlockType blockType) {
+        return (blockType == null) ? EditJournal.AIR : blockType.getIndex();
+    }
+
+    private static BlockType getBlockType(int index) throws IOException {
+        if (index == EditJournal.AIR) {
+            return null;
+        }
+
+        for (BlockType blockType : BlockType.values()) {
+            if (blockType.getIndex() == index) {
+                return blockType;
+            }
+        }
+
+        throw new IOException("Unknown block type " + index);
+    }
+
+    // Stamped onto every record appended from now on
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    // Global block coordinates, a null type is air. Not durable until the next commit returns
+    public void append(int x, int y, int z, BlockType oldType, BlockType newType) {
+        if (this.pending.remaining() < EditJournal.RECORD_SIZE) {
+            ByteBuffer pending = ByteBuffer.allocate(this.pending.capacity() * 2);
+
+            this.pending.flip();
+
+            pending.put(this.pending);
+
+            this.pending = pending;
+        }
+
+        this.pending.putInt(x);
+        this.pending.putInt(y);
+        this.pending.putInt(z);
+
+        this.pending.put((byte) EditJournal.getIndex(oldType));
+        this.pending.put((byte) EditJournal.getIndex(newType));
+
+        this.pending.putLong(this.tick);
+
+        this.pendingCount++;
+
+        this.touchedChunks.add(Voxel.getChunkPositionFromGlobalPosition(x, y, z));
+    }
+
+    // Called once a frame, writes the pending records only when the commit interval has passed since the last write.
+    // Returns whether anything was made durable
+    public boolean commit() throws IOException {
+        if (this.pendingCount == 0 || System.nanoTime() - this.lastCommitTime < this.commitInterval) {
+            return false;
+        }
+
+        this.sync();
+
+        return true;
+    }
+
+    // Writes and forces the pending records now, whatever the interval
+    public void sync() throws IOException {
+        this.checkFailure();
+
+        try {
+            this.writePending();
+        } catch (IOException exception) {
+            this.failure = exception;
+
+            throw exception;
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (this.failure != null) {
+            throw new IOException("Edit journal failed earlier, later edits are not durable", this.failure);
+        }
+    }
+
+    private void writePending() throws IOException {
+        if (this.pendingCount == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        ByteBuffer frame = ByteBuffer.allocate(this.pendingCount * EditJournal.RECORD_SIZE + 2 * Integer.BYTES);
+
+        EditJournal.putFrame(frame, this.pending.array(), this.pendingCount);
+
+        frame.flip();
+
+        long position = this.channel.position();
+
+        EditJournal.write(this.channel, frame, position);
+
+        this.channel.position(position + frame.limit());
+
+        // Metadata is left out, the size change still reaches disk with the data on the filesystems this targets
+        this.channel.force(false);
+
+        this.recordCount += this.pendingCount;
+
+        this.pending.clear();
+
+        this.pendingCount = 0;
+
+        this.lastCommitTime = System.nanoTime();
+
+        this.commitCount++;
+
+        this.commitTime += this.lastCommitTime - start;
+    }
+
+    // Records that reached the log since the last compaction
+    public boolean isCompactionDue() {
+        return this.recordCount - this.retainedCount + this.pendingCount >= EditJournal.COMPACTION_THRESHOLD;
+    }
+
+    // Stores every loaded touched chunk's current blocks in the region file, then rewrites the log with only the
+    // records of touched chunks that are not loaded, whose edits live nowhere else. Both files are forced before the
+    // old log is replaced, a crash in between replays writes the region file already holds, which sets the same blocks
+    // again. Returns false and leaves both files alone when no touched chunk is loaded
+    public boolean compact(long seed, ChunkSource chunkSource) throws IOException {
+        this.checkFailure();
+
+        try {
+            return this.store(seed, chunkSource);
+        } catch (IOException exception) {
+            this.failure = exception;
+
+            throw exception;
+        }
+    }
+
+    private boolean store(long seed, ChunkSource chunkSource) throws IOException {
+        Map<Vector3i, Chunk> chunks = new LinkedHashMap<>(this.storedChunks);
+
+        Set<Vector3i> missingChunks = new LinkedHashSet<>();
+
+        for (Vector3i position : this.touchedChunks) {
+            Chunk chunk = chunkSource.getChunk(position.x, position.y, position.z);
+
+            if (chunk == null) {
+                missingChunks.add(position);
+            } else {
+                chunks.put(position, chunk.getSnapshot());
+            }
+        }
+
+        if (missingChunks.size() == this.touchedChunks.size()) {
+            return false;
+        }
+
+        this.writePending();
+
+        RegionFile.write(this.storagePath, seed, chunks.values());
+
+        int retainedCount = this.rewrite(missingChunks);
+
+        this.storedChunks.clear();
+        this.storedChunks.putAll(chunks);
+
+        this.touchedChunks.retainAll(missingChunks);
+
+        this.recordCount = retainedCount;
+
+        this.retainedCount = retainedCount;
+
+        this.compactionCount++;
+
+        return true;
+    }
+
+    // Replaces the log with one holding a single frame of the records written to chunks in positions, returns how
+    // many it kept. The old log stays whole until the new one is durable
+    private int rewrite(Set<Vector3i> positions) throws IOException {
+        ByteBuffer data = EditJournal.readAll(this.channel);
+
+        ByteBuffer records = ByteBuffer.allocate(data.limit());
+
+        EditJournal.readFrames(data, record -> {
+            int start = record.position();
+
+            int x = record.getInt(start);
+            int y = record.getInt(start + Integer.BYTES);
+            int z = record.getInt(start + 2 * Integer.BYTES);
+
+            if (positions.contains(Voxel.getChunkPositionFromGlobalPosition(x, y, z))) {
+                records.put(record.array(), start, EditJournal.RECORD_SIZE);
+            }
+
+            record.position(start + EditJournal.RECORD_SIZE);
+        });
+
+        int count = records.position() / EditJournal.RECORD_SIZE;
+
+        int length = (count == 0) ? 0 : records.position() + 2 * Integer.BYTES;
+
+        ByteBuffer contents = EditJournal.getHeader(length);
+
+        if (count > 0) {
+            EditJournal.putFrame(contents, records.array(), count);
+        }
+
+        contents.flip();
+
+        // Closed first, some platforms refuse to replace a file that is still open
+        this.channel.close();
+
+        try {
+            FileUtility.replaceDurably(this.path, contents);
+        } finally {
+            this.channel = EditJournal.openChannel(this.path);
+
+            this.channel.position(this.channel.size());
+        }
+
+        return count;
+    }
+
+    // Whatever is pending is made durable first
+    public void close() throws IOException {
+        try {
+            this.sync();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    public boolean isFailed() {
+        return this.failure != null;
+    }
+
+    public List<Chunk> getStoredChunks() {
+        return new ArrayList<>(this.storedChunks.values());
+    }
+
+    public RegionEdit getReplayEdit() {
+        return this.replayEdit;
+    }
+
+    public int getPendingCount() {
+        return this.pendingCount;
+    }
+
+    public int getRecordCount() {
+        return this.recordCount;
+    }
+
+    public long getCommitCount() {
+        return this.commitCount;
+    }
+
+    // Milliseconds spent writing and forcing frames
+    public double getCommitTime() {
+        return this.commitTime / 1e6d;
+    }
+
+    public int getCompactionCount() {
+        return this.compactionCount;
+    }
+
+    private interface RecordReader {
+        void read(ByteBuffer record) throws IOException;
+    }
+}
@@ -0,0 +1,129 @@
+package com.duckyshine.app.edit;
+
+import java.util.Map;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+
+import com.duckyshine.app.math.Voxel;
+
+import com.duckyshine.app.model.BlockType;
+
+// Collects block writes grouped by chunk, ChunkManager.applyEdit then touches each chunk once and remeshes it once
+public class RegionEdit {
+    private Map<Vector3i, List<BlockChange>> changes;
+
+    private int changeCount;
+
+    public RegionEdit() {
+        this.changes = new LinkedHashMap<>();
+
+        this.changeCount = 0;
+    }
+
+    // Global block coordinates, both corners inclusive, a null block type clears the box
+    public RegionEdit fillBox(Vector3i minimum, Vector3i maximum, BlockType blockType) {
+        for (int x = Math.min(minimum.x, maximum.x); x <= Math.max(minimum.x, maximum.x); x++) {
+            for (int y = Math.min(minimum.y, maximum.y); y <= Math.max(minimum.y, maximum.y); y++) {
+                for (int z = Math.min(minimum.z, maximum.z); z <= Math.max(minimum.z, maximum.z); z++) {
+                    this.set(x, y, z, blockType);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    // Every block whose centre lies within radius of centre
+    public RegionEdit fillSphere(Vector3f centre, float radius, BlockType blockType) {
+        int minimumX = (int) Math.floor(centre.x - radius);
+        int minimumY = (int) Math.floor(centre.y - radius);
+        int minimumZ = (int) Math.floor(centre.z - radius);
+
+        int maximumX = (int) Math.floor(centre.x + radius);
+        int maximumY = (int) Math.floor(centre.y + radius);
+        int maximumZ = (int) Math.floor(centre.z + radius);
+
+        float radiusSquared = radius * radius;
+
+        for (int x = minimumX; x <= maximumX; x++) {
+            for (int y = minimumY; y <= maximumY; y++) {
+                for (int z = minimumZ; z <= maximumZ; z++) {
+                    float dx = x + 0.5f - centre.x;
+                    float dy = y + 0.5f - centre.y;
+                    float dz = z + 0.5f - centre.z;
+
+                    if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                        this.set(x, y, z, blockType);
+                    }
+                }
+            }
+        }
+
+        return this;
+    }
+
+    // Swaps one type for another inside the box, whatever else is there is left alone
+    public RegionEdit replace(Vector3i minimum, Vector3i maximum, BlockType replacedType, BlockType blockType) {
+        for (int x = Math.min(minimum.x, maximum.x); x <= Math.max(minimum.x, maximum.x); x++) {
+            for (int y = Math.min(minimum.y, maximum.y); y <= Math.max(minimum.y, maximum.y); y++) {
+                for (int z = Math.min(minimum.z, maximum.z); z <= Math.max(minimum.z, maximum.z); z++) {
+                    Vector3i chunkPosition = Voxel.getChunkPositionFromGlobalPosition(x, y, z);
+                    Vector3i blockPosition = Voxel.getBlockPositionFromGlobalPosition(x, y, z);
+
+                    this.add(chunkPosition, BlockChange.replace(blockPosition.x, blockPosition.y, blockPosition.z,
+                            replacedType, blockType));
+                }
+            }
+        }
+
+        return this;
+    }
+
+    public RegionEdit set(int x, int y, int z, BlockType blockType) {
+        Vector3i chunkPosition = Voxel.getChunkPositionFromGlobalPosition(x, y, z);
+        Vector3i blockPosition = Voxel.getBlockPositionFromGlobalPosition(x, y, z);
+
+        return this.add(chunkPosition, BlockChange.set(blockPosition.x, blockPosition.y, blockPosition.z, blockType));
+    }
+
+    // Sparse change list, e.g. a structure template, keyed by global block position
+    public RegionEdit setAll(Map<Vector3i, BlockType> blocks) {
+        for (Map.Entry<Vector3i, BlockType> entry : blocks.entrySet()) {
+            Vector3i position = entry.getKey();
+
+            this.set(position.x, position.y, position.z, entry.getValue());
+        }
+
+        return this;
+    }
+
+    private RegionEdit add(Vector3i chunkPosition, BlockChange change) {
+        this.changes.computeIfAbsent(chunkPosition, position -> new ArrayList<>()).add(change);
+
+        this.changeCount++;
+
+        return this;
+    }
+
+    public Map<Vector3i, List<BlockChange>> getChanges() {
+        return this.changes;
+    }
+
+    public int getChunkCount() {
+        return this.changes.size();
+    }
+
+    public int getChangeCount() {
+        return this.changeCount;
+    }
+
+    public void clear() {
+        this.changes.clear();
+
+        this.changeCount = 0;
+    }
+}
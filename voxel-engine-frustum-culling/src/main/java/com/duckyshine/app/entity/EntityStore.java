@@ -0,0 +1,187 @@
+package com.duckyshine.app.entity;
+
+import java.util.Arrays;
+
+// Structure of arrays storage, an entity is just an index and every field sits in its own tightly packed array
+public class EntityStore {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int size;
+
+    // Feet position, x and z are the centre of the box and y its bottom
+    private float[] xs;
+    private float[] ys;
+    private float[] zs;
+
+    private float[] velocityXs;
+    private float[] velocityYs;
+    private float[] velocityZs;
+
+    private float[] halfWidths;
+    private float[] heights;
+
+    private boolean[] isGrounded;
+
+    public EntityStore() {
+        this.size = 0;
+
+        this.xs = new float[EntityStore.INITIAL_CAPACITY];
+        this.ys = new float[EntityStore.INITIAL_CAPACITY];
+        this.zs = new float[EntityStore.INITIAL_CAPACITY];
+
+        this.velocityXs = new float[EntityStore.INITIAL_CAPACITY];
+        this.velocityYs = new float[EntityStore.INITIAL_CAPACITY];
+        this.velocityZs = new float[EntityStore.INITIAL_CAPACITY];
+
+        this.halfWidths = new float[EntityStore.INITIAL_CAPACITY];
+        this.heights = new float[EntityStore.INITIAL_CAPACITY];
+
+        this.isGrounded = new boolean[EntityStore.INITIAL_CAPACITY];
+    }
+
+    public int add(float x, float y, float z, float width, float height) {
+        this.ensureCapacity(this.size + 1);
+
+        int index = this.size++;
+
+        this.xs[index] = x;
+        this.ys[index] = y;
+        this.zs[index] = z;
+
+        this.velocityXs[index] = 0.0f;
+        this.velocityYs[index] = 0.0f;
+        this.velocityZs[index] = 0.0f;
+
+        this.halfWidths[index] = width * 0.5f;
+        this.heights[index] = height;
+
+        this.isGrounded[index] = false;
+
+        return index;
+    }
+
+    // The last entity moves into the freed slot, so indices held elsewhere for it become index
+    public void remove(int index) {
+        int last = --this.size;
+
+        this.xs[index] = this.xs[last];
+        this.ys[index] = this.ys[last];
+        this.zs[index] = this.zs[last];
+
+        this.velocityXs[index] = this.velocityXs[last];
+        this.velocityYs[index] = this.velocityYs[last];
+        this.velocityZs[index] = this.velocityZs[last];
+
+        this.halfWidths[index] = this.halfWidths[last];
+        this.heights[index] = this.heights[last];
+
+        this.isGrounded[index] = this.isGrounded[last];
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.xs.length) {
+            return;
+        }
+
+        int length = Math.max(capacity, this.xs.length << 1);
+
+        this.xs = Arrays.copyOf(this.xs, length);
+        this.ys = Arrays.copyOf(this.ys, length);
+        this.zs = Arrays.copyOf(this.zs, length);
+
+        this.velocityXs = Arrays.copyOf(this.velocityXs, length);
+        this.velocityYs = Arrays.copyOf(this.velocityYs, length);
+        this.velocityZs = Arrays.copyOf(this.velocityZs, length);
+
+        this.halfWidths = Arrays.copyOf(this.halfWidths, length);
+        this.heights = Arrays.copyOf(this.heights, length);
+
+        this.isGrounded = Arrays.copyOf(this.isGrounded, length);
+    }
+
+    public void setPosition(int index, float x, float y, float z) {
+        this.xs[index] = x;
+        this.ys[index] = y;
+        this.zs[index] = z;
+    }
+
+    public void setVelocity(int index, float x, float y, float z) {
+        this.velocityXs[index] = x;
+        this.velocityYs[index] = y;
+        this.velocityZs[index] = z;
+    }
+
+    public void setIsGrounded(int index, boolean isGrounded) {
+        this.isGrounded[index] = isGrounded;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public float getX(int index) {
+        return this.xs[index];
+    }
+
+    public float getY(int index) {
+        return this.ys[index];
+    }
+
+    public float getZ(int index) {
+        return this.zs[index];
+    }
+
+    public float getVelocityX(int index) {
+        return this.velocityXs[index];
+    }
+
+    public float getVelocityY(int index) {
+        return this.velocityYs[index];
+    }
+
+    public float getVelocityZ(int index) {
+        return this.velocityZs[index];
+    }
+
+    public float getHalfWidth(int index) {
+        return this.halfWidths[index];
+    }
+
+    public float getHeight(int index) {
+        return this.heights[index];
+    }
+
+    public boolean getIsGrounded(int index) {
+        return this.isGrounded[index];
+    }
+
+    public float getMinimumX(int index) {
+        return this.xs[index] - this.halfWidths[index];
+    }
+
+    public float getMinimumZ(int index) {
+        return this.zs[index] - this.halfWidths[index];
+    }
+
+    public float getMaximumX(int index) {
+        return this.xs[index] + this.halfWidths[index];
+    }
+
+    public float getMaximumY(int index) {
+        return this.ys[index] + this.heights[index];
+    }
+
+    public float getMaximumZ(int index) {
+        return this.zs[index] + this.halfWidths[index];
+    }
+
+    public boolean isOverlapping(int first, int second) {
+        return this.getMinimumX(first) < this.getMaximumX(second) && this.getMaximumX(first) > this.getMinimumX(second)
+                && this.ys[first] < this.getMaximumY(second) && this.getMaximumY(first) > this.ys[second]
+                && this.getMinimumZ(first) < this.getMaximumZ(second) && this.getMaximumZ(first) > this.getMinimumZ(second);
+    }
+}
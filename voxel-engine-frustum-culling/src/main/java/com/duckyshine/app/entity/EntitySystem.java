@@ -0,0 +1,308 @@
+package com.duckyshine.app.entity;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.joml.Vector3f;
+
+import com.duckyshine.app.physics.AABB;
+import com.duckyshine.app.physics.VoxelGrid;
+import com.duckyshine.app.physics.VoxelCollider;
+
+// Simulates every entity once per fixed tick, in two passes over batches of entities that can run on several cores:
+// contacts are gathered from last tick's positions first, then each entity only writes its own slot while moving
+public class EntitySystem {
+    public static final float GRAVITY = 9.81f;
+
+    // Also the spatial hash cell size, no entity may be wider or taller than this
+    public static final float MAXIMUM_SIZE = 2.0f;
+
+    private static final int BATCH_SIZE = 1024;
+
+    private static final int MAXIMUM_CONTACTS = 16;
+
+    // Overlapping entities are pushed apart by this share of the overlap per tick, so crowds settle instead of jitter
+    private static final float SEPARATION = 0.5f;
+
+    // Added to every push so a shrinking overlap actually reaches zero rather than only approaching it
+    private static final float SKIN = 1e-3f;
+
+    private final int threadCount;
+
+    private final EntityStore entityStore;
+
+    private final SpatialHash spatialHash;
+
+    private final VoxelCollider voxelCollider;
+
+    private final ExecutorService executor;
+
+    private final List<Batch> batches;
+
+    private float[] pushXs;
+    private float[] pushZs;
+
+    private float deltaTime;
+
+    private long contactCount;
+
+    public EntitySystem(VoxelGrid voxelGrid) {
+        this(voxelGrid, Runtime.getRuntime().availableProcessors());
+    }
+
+    public EntitySystem(VoxelGrid voxelGrid, int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+
+        this.entityStore = new EntityStore();
+
+        this.spatialHash = new SpatialHash(EntitySystem.MAXIMUM_SIZE);
+
+        this.voxelCollider = new VoxelCollider(voxelGrid);
+
+        this.executor = (this.threadCount > 1) ? Executors.newFixedThreadPool(this.threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "entity-worker");
+
+            thread.setDaemon(true);
+
+            return thread;
+        }) : null;
+
+        this.batches = new ArrayList<>();
+
+        this.pushXs = new float[0];
+        this.pushZs = new float[0];
+
+        this.deltaTime = 0.0f;
+
+        this.contactCount = 0;
+    }
+
+    public int add(float x, float y, float z, float width, float height) {
+        if (width > EntitySystem.MAXIMUM_SIZE || height > EntitySystem.MAXIMUM_SIZE) {
+            throw new IllegalArgumentException("Entity larger than " + EntitySystem.MAXIMUM_SIZE + ": " + width + "x" + height);
+        }
+
+        return this.entityStore.add(x, y, z, width, height);
+    }
+
+    public void remove(int index) {
+        this.entityStore.remove(index);
+    }
+
+    public void step(float deltaTime) {
+        int size = this.entityStore.size();
+
+        if (size == 0) {
+            return;
+        }
+
+        this.deltaTime = deltaTime;
+
+        if (this.pushXs.length < size) {
+            this.pushXs = new float[size * 2];
+            this.pushZs = new float[size * 2];
+        }
+
+        this.spatialHash.build(this.entityStore);
+
+        this.prepareBatches(size);
+
+        this.run(Pass.CONTACTS);
+        this.run(Pass.MOVE);
+
+        this.contactCount = 0;
+
+        for (Batch batch : this.batches) {
+            this.contactCount += batch.contactCount;
+        }
+    }
+
+    private void prepareBatches(int size) {
+        int batchCount = (size + EntitySystem.BATCH_SIZE - 1) / EntitySystem.BATCH_SIZE;
+
+        while (this.batches.size() < batchCount) {
+            this.batches.add(new Batch());
+        }
+
+        while (this.batches.size() > batchCount) {
+            this.batches.remove(this.batches.size() - 1);
+        }
+
+        for (int i = 0; i < batchCount; i++) {
+            Batch batch = this.batches.get(i);
+
+            batch.start = i * EntitySystem.BATCH_SIZE;
+            batch.end = Math.min(size, batch.start + EntitySystem.BATCH_SIZE);
+        }
+    }
+
+    // Every batch of a pass finishes before the next pass starts, which is the only synchronisation needed
+    private void run(Pass pass) {
+        for (Batch batch : this.batches) {
+            batch.pass = pass;
+        }
+
+        if (this.executor == null || this.batches.size() == 1) {
+            for (Batch batch : this.batches) {
+                batch.call();
+            }
+
+            return;
+        }
+
+        try {
+            for (Future<Void> future : this.executor.invokeAll(this.batches)) {
+                future.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Entity batch failed", exception.getCause());
+        }
+    }
+
+    // Reads positions only and writes this entity's push, so batches never touch each other's output
+    private int gatherContacts(int index, int[] contacts, int[] visited) {
+        EntityStore store = this.entityStore;
+
+        int count = this.spatialHash.query(store, index, contacts, visited);
+
+        float pushX = 0.0f;
+        float pushZ = 0.0f;
+
+        for (int i = 0; i < count; i++) {
+            int other = contacts[i];
+
+            float dx = store.getX(index) - store.getX(other);
+            float dz = store.getZ(index) - store.getZ(other);
+
+            float overlapX = store.getHalfWidth(index) + store.getHalfWidth(other) - Math.abs(dx);
+            float overlapZ = store.getHalfWidth(index) + store.getHalfWidth(other) - Math.abs(dz);
+
+            // Each side of a pair takes half of the separation along the shallower axis, ties go by index so
+            // stacked entities still split apart
+            float sign;
+
+            if (overlapX < overlapZ) {
+                sign = (dx != 0.0f) ? Math.signum(dx) : (index < other ? -1.0f : 1.0f);
+
+                pushX += sign * (overlapX * EntitySystem.SEPARATION + EntitySystem.SKIN) * 0.5f;
+            } else {
+                sign = (dz != 0.0f) ? Math.signum(dz) : (index < other ? -1.0f : 1.0f);
+
+                pushZ += sign * (overlapZ * EntitySystem.SEPARATION + EntitySystem.SKIN) * 0.5f;
+            }
+        }
+
+        this.pushXs[index] = pushX;
+        this.pushZs[index] = pushZ;
+
+        return count;
+    }
+
+    private void move(int index, AABB aabb, Vector3f motion) {
+        EntityStore store = this.entityStore;
+
+        float velocityX = store.getVelocityX(index);
+        float velocityY = store.getVelocityY(index) - EntitySystem.GRAVITY * this.deltaTime;
+        float velocityZ = store.getVelocityZ(index);
+
+        motion.set(
+                velocityX * this.deltaTime + this.pushXs[index],
+                velocityY * this.deltaTime,
+                velocityZ * this.deltaTime + this.pushZs[index]);
+
+        float requestedY = motion.y;
+
+        aabb.getMin().set(store.getMinimumX(index), store.getY(index), store.getMinimumZ(index));
+        aabb.getMax().set(store.getMaximumX(index), store.getMaximumY(index), store.getMaximumZ(index));
+
+        int collisions = this.voxelCollider.move(aabb, motion);
+
+        if ((collisions & VoxelCollider.X) != 0) {
+            velocityX = 0.0f;
+        }
+
+        if ((collisions & VoxelCollider.Y) != 0) {
+            velocityY = 0.0f;
+        }
+
+        if ((collisions & VoxelCollider.Z) != 0) {
+            velocityZ = 0.0f;
+        }
+
+        store.setIsGrounded(index, (collisions & VoxelCollider.Y) != 0 && requestedY <= 0.0f);
+
+        store.setPosition(index, store.getX(index) + motion.x, store.getY(index) + motion.y, store.getZ(index) + motion.z);
+
+        store.setVelocity(index, velocityX, velocityY, velocityZ);
+    }
+
+    public void cleanup() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+
+    public int size() {
+        return this.entityStore.size();
+    }
+
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    // Contacts found in the last tick, a touching pair is counted from both sides
+    public long getContactCount() {
+        return this.contactCount;
+    }
+
+    public EntityStore getEntityStore() {
+        return this.entityStore;
+    }
+
+    private enum Pass {
+        CONTACTS,
+        MOVE
+    }
+
+    // A contiguous index range plus the scratch space one worker needs for it, reused every tick
+    private class Batch implements Callable<Void> {
+        private int start;
+        private int end;
+
+        private Pass pass;
+
+        private long contactCount;
+
+        private final int[] contacts = new int[EntitySystem.MAXIMUM_CONTACTS];
+        private final int[] visited = new int[27];
+
+        private final AABB aabb = new AABB(0.0f, 0.0f, 0.0f, 0.0f, 0.0f, 0.0f);
+
+        private final Vector3f motion = new Vector3f();
+
+        @Override
+        public Void call() {
+            if (this.pass == Pass.CONTACTS) {
+                this.contactCount = 0;
+
+                for (int i = this.start; i < this.end; i++) {
+                    this.contactCount += EntitySystem.this.gatherContacts(i, this.contacts, this.visited);
+                }
+            } else {
+                for (int i = this.start; i < this.end; i++) {
+                    EntitySystem.this.move(i, this.aabb, this.motion);
+                }
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.duckyshine.app.entity;
+
+import java.util.Arrays;
+
+// Uniform grid over entity boxes, hashed into a table sized to the entity count and rebuilt every tick by counting sort,
+// so a build is two linear passes with no per entity allocation
+public class SpatialHash {
+    private final float cellSize;
+
+    private int mask;
+
+    // Entities of bucket b are entries[bucketStarts[b]] up to entries[bucketStarts[b + 1]]
+    private int[] bucketStarts;
+    private int[] cursors;
+
+    private int[] entries;
+    private int[] buckets;
+
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+
+        this.mask = 0;
+
+        this.bucketStarts = new int[1];
+        this.cursors = new int[0];
+
+        this.entries = new int[0];
+        this.buckets = new int[0];
+    }
+
+    // Each entity is filed under the cell of its minimum corner, boxes must not be larger than a cell
+    public void build(EntityStore entityStore) {
+        int size = entityStore.size();
+
+        int bucketCount = this.getBucketCount(size);
+
+        this.mask = bucketCount - 1;
+
+        if (this.bucketStarts.length < bucketCount + 1) {
+            this.bucketStarts = new int[bucketCount + 1];
+            this.cursors = new int[bucketCount];
+        }
+
+        if (this.entries.length < size) {
+            this.entries = new int[size];
+            this.buckets = new int[size];
+        }
+
+        Arrays.fill(this.bucketStarts, 0, bucketCount + 1, 0);
+
+        for (int i = 0; i < size; i++) {
+            int bucket = this.getBucket(
+                    this.getCell(entityStore.getMinimumX(i)),
+                    this.getCell(entityStore.getY(i)),
+                    this.getCell(entityStore.getMinimumZ(i)));
+
+            this.buckets[i] = bucket;
+
+            this.bucketStarts[bucket + 1]++;
+        }
+
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            this.bucketStarts[bucket + 1] += this.bucketStarts[bucket];
+
+            this.cursors[bucket] = this.bucketStarts[bucket];
+        }
+
+        for (int i = 0; i < size; i++) {
+            this.entries[this.cursors[this.buckets[i]]++] = i;
+        }
+    }
+
+    // Twice as many buckets as entities keeps chains short, a power of two turns the modulo into a mask
+    private int getBucketCount(int size) {
+        int bucketCount = 16;
+
+        while (bucketCount < size * 2) {
+            bucketCount <<= 1;
+        }
+
+        return bucketCount;
+    }
+
+    // Writes up to contacts.length entities overlapping index into contacts and returns how many were written, visited
+    // needs room for the 27 buckets a query can touch and is only scratch space
+    public int query(EntityStore entityStore, int index, int[] contacts, int[] visited) {
+        // A neighbour's minimum corner is at most one cell below this box's minimum corner
+        int startX = this.getCell(entityStore.getMinimumX(index) - this.cellSize);
+        int startY = this.getCell(entityStore.getY(index) - this.cellSize);
+        int startZ = this.getCell(entityStore.getMinimumZ(index) - this.cellSize);
+
+        int endX = this.getCell(entityStore.getMaximumX(index));
+        int endY = this.getCell(entityStore.getMaximumY(index));
+        int endZ = this.getCell(entityStore.getMaximumZ(index));
+
+        int visitedCount = 0;
+        int contactCount = 0;
+
+        for (int x = startX; x <= endX; x++) {
+            for (int y = startY; y <= endY; y++) {
+                for (int z = startZ; z <= endZ; z++) {
+                    int bucket = this.getBucket(x, y, z);
+
+                    // Different cells can share a bucket, each bucket is only scanned once per query
+                    if (this.contains(visited, visitedCount, bucket)) {
+                        continue;
+                    }
+
+                    visited[visitedCount++] = bucket;
+
+                    for (int entry = this.bucketStarts[bucket]; entry < this.bucketStarts[bucket + 1]; entry++) {
+                        int other = this.entries[entry];
+
+                        if (other == index || !entityStore.isOverlapping(index, other)) {
+                            continue;
+                        }
+
+                        contacts[contactCount++] = other;
+
+                        if (contactCount == contacts.length) {
+                            return contactCount;
+                        }
+                    }
+                }
+            }
+        }
+
+        return contactCount;
+    }
+
+    private boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int getCell(float value) {
+        return (int) Math.floor(value / this.cellSize);
+    }
+
+    private int getBucket(int x, int y, int z) {
+        return ((x * 73856093) ^ (y * 19349663) ^ (z * 83492791)) & this.mask;
+    }
+
+    public float getCellSize() {
+        return this.cellSize;
+    }
+}
@@ -44,6 +44,23 @@ public enum Direction {
         return this.index;
     }
 
+    public Direction getOpposite() {
+        switch (this) {
+            case TOP:
+                return BOTTOM;
+            case BOTTOM:
+                return TOP;
+            case LEFT:
+                return RIGHT;
+            case RIGHT:
+                return LEFT;
+            case FRONT:
+                return BACK;
+            default:
+                return FRONT;
+        }
+    }
+
     public Vector3i get() {
         return this.direction;
     }
@@ -10,14 +10,18 @@ public class Range {
     }
 
     public static boolean isInRange3D(Vector3i position, int width, int height, int depth) {
-        if (!Range.isInRange1D(position.x, 0, width)) {
+        return Range.isInRange3D(position.x, position.y, position.z, width, height, depth);
+    }
+
+    public static boolean isInRange3D(int x, int y, int z, int width, int height, int depth) {
+        if (!Range.isInRange1D(x, 0, width)) {
             return false;
         }
 
-        if (!Range.isInRange1D(position.y, 0, height)) {
+        if (!Range.isInRange1D(y, 0, height)) {
             return false;
         }
 
-        return Range.isInRange1D(position.z, 0, depth);
+        return Range.isInRange1D(z, 0, depth);
     }
 }
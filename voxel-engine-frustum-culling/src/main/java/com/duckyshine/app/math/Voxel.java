@@ -8,6 +8,9 @@ public class Voxel {
     public static final int CHUNK_DEPTH = 16;
     public static final int CHUNK_HEIGHT = 16;
 
+    // Chunks are summarised as 4x4x4 bricks of this many blocks a side, one bit each in a long
+    public static final int BRICK_SIZE = 4;
+
     public static Vector3i getChunkPositionFromGlobalPosition(float x, float y, float z) {
         Vector3f position = new Vector3f(x, y, z);
 
@@ -22,6 +25,20 @@ public class Voxel {
         return new Vector3i(x, y, z);
     }
 
+    public static Vector3i getChunkPositionFromGlobalPosition(int x, int y, int z) {
+        return new Vector3i(
+                Math.floorDiv(x, Voxel.CHUNK_WIDTH) * Voxel.CHUNK_WIDTH,
+                Math.floorDiv(y, Voxel.CHUNK_HEIGHT) * Voxel.CHUNK_HEIGHT,
+                Math.floorDiv(z, Voxel.CHUNK_DEPTH) * Voxel.CHUNK_DEPTH);
+    }
+
+    public static Vector3i getBlockPositionFromGlobalPosition(int x, int y, int z) {
+        return new Vector3i(
+                Math.floorMod(x, Voxel.CHUNK_WIDTH),
+                Math.floorMod(y, Voxel.CHUNK_HEIGHT),
+                Math.floorMod(z, Voxel.CHUNK_DEPTH));
+    }
+
     public static Vector3i getBlockPositionFromGlobalPosition(float x, float y, float z) {
         Vector3f position = new Vector3f(x, y, z);
 
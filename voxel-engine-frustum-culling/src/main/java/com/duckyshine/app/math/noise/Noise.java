@@ -51,6 +51,11 @@ public class Noise {
         return y;
     }
 
+    // Generated terrain is only reproducible under the same seed, so anything written to disk records it
+    public static long getSeed() {
+        return Noise.SEED;
+    }
+
     private static double getSimplexNoise2d(double x, double z) {
         return SimplexNoise.noise2(Noise.SEED, x, z);
     }
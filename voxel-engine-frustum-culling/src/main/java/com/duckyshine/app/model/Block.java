@@ -1,30 +1,20 @@
 package com.duckyshine.app.model;
 
-import java.util.Arrays;
-
 import org.joml.Vector3i;
 
-import com.duckyshine.app.math.Direction;
-
 public class Block {
-    private final int FACES = 6;
-
     private final Vector3i position;
 
     private final Vector3i globalPosition;
 
     private final BlockType blockType;
 
-    private boolean[] isFaceActive;
-
     public Block(Vector3i position, BlockType blockType) {
         this.position = position;
 
         this.globalPosition = new Vector3i();
 
         this.blockType = blockType;
-
-        this.initialise();
     }
 
     public Block(int x, int y, int z, BlockType blockType) {
@@ -33,26 +23,6 @@ public class Block {
         this.globalPosition = new Vector3i();
 
         this.blockType = blockType;
-
-        this.initialise();
-    }
-
-    public void initialise() {
-        this.isFaceActive = new boolean[this.FACES];
-
-        Arrays.fill(this.isFaceActive, true);
-    }
-
-    public void setAllFaceStatuses(boolean status) {
-        Arrays.fill(this.isFaceActive, status);
-    }
-
-    public boolean isFaceActive(Direction direction) {
-        return this.isFaceActive[direction.getIndex()];
-    }
-
-    public void setFaceStatus(Direction direction, boolean status) {
-        this.isFaceActive[direction.getIndex()] = status;
     }
 
     public Vector3i getPosition() {
@@ -1,14 +1,17 @@
 package com.duckyshine.app.model;
 
 import java.util.Deque;
+import java.util.List;
+import java.util.ArrayList;
 
 import org.joml.Vector3i;
 
 import com.duckyshine.app.math.Range;
 import com.duckyshine.app.math.Voxel;
 import com.duckyshine.app.math.noise.Noise;
-import com.duckyshine.app.scene.ChunkManager;
 import com.duckyshine.app.scene.HeightMap;
+
+import com.duckyshine.app.culling.ChunkConnectivity;
 import com.duckyshine.app.debug.Debug;
 
 public class Chunk {
@@ -16,59 +19,128 @@ public class Chunk {
     private final int DEPTH = 16;
     private final int HEIGHT = 16;
 
+    // Past this many edits in one update a full remesh is cheaper than re-merging slice by slice
+    private final int MAXIMUM_INCREMENTAL_EDITS = 16;
+
     private final Vector3i position;
 
     private boolean isHidden;
     private boolean isUpdate;
+    private boolean isEnclosed;
+
+    private int solidCount;
+
+    // Bit per brick holding any solid block, so rays can cross empty bricks without reading blocks
+    private long brickMask;
+
+    private int level;
 
+    // All air chunks stay placeholders, the block array and mesh only exist once something solid is added
     private Block[][][] blocks;
 
+    // Bumped by every block write, a snapshot carries the version it was taken at
+    private int version;
+
+    // The block array is also held by a snapshot, the next write copies it first instead of changing it in place
+    private boolean isShared;
+
+    // Snapshots refuse writes, they are read by other threads without any locking
+    private final boolean isSnapshot;
+
     private Mesh mesh;
 
+    // Optional, full rebuilds go through it so unchanged contents skip meshing
+    private MeshCache meshCache;
+
+    private ChunkConnectivity connectivity;
+
+    // Blocks changed since the last update, meshes at full detail only re-merge the slices around them
+    private List<Vector3i> edits;
+
     public Chunk(Vector3i position) {
         this.position = position;
 
+        this.isSnapshot = false;
+
         this.initialise();
     }
 
     public Chunk(int x, int y, int z) {
         this.position = new Vector3i(x, y, z);
 
+        this.isSnapshot = false;
+
         this.initialise();
     }
 
+    // Shares the source's block array, which the source no longer writes to once it is shared
+    private Chunk(Chunk source) {
+        this.position = source.position;
+
+        this.isSnapshot = true;
+
+        this.initialise();
+
+        this.isEnclosed = source.isEnclosed;
+
+        this.solidCount = source.solidCount;
+
+        this.brickMask = source.brickMask;
+
+        this.level = source.level;
+
+        this.blocks = source.blocks;
+
+        this.version = source.version;
+
+        this.meshCache = source.meshCache;
+    }
+
     public void initialise() {
         this.isHidden = false;
         this.isUpdate = false;
+        this.isEnclosed = false;
+
+        this.solidCount = 0;
+
+        this.brickMask = 0L;
+
+        this.level = LevelOfDetail.FULL;
+
+        this.blocks = null;
+
+        this.version = 0;
 
-        this.blocks = new Block[WIDTH][HEIGHT][DEPTH];
+        this.isShared = false;
 
-        this.mesh = new Mesh();
+        this.mesh = null;
+
+        this.meshCache = null;
+
+        this.connectivity = ChunkConnectivity.OPEN;
+
+        this.edits = new ArrayList<>();
     }
 
     public boolean isValidHeight(int height) {
         return Range.isInRange1D(height, this.position.y, this.position.y + this.HEIGHT);
     }
 
-    public void generate(ChunkManager chunkManager, HeightMap heightMap) {
+    public void generate(HeightMap heightMap) {
         int[][] heights = heightMap.getHeights();
 
-        this.generateSurface(chunkManager, heights);
+        this.generateSurface(heights);
 
         this.update();
     }
 
-    public void generateSurface(ChunkManager chunkManager, int[][] heights) {
+    // Every section spanning the column's height range is scheduled, so heights outside this one belong to another
+    public void generateSurface(int[][] heights) {
         for (int z = 0; z < this.DEPTH; z++) {
             for (int x = 0; x < this.WIDTH; x++) {
                 int y = heights[z][x];
 
-                // Don't need this since, chunks are added based on player's position
                 if (!isValidHeight(y)) {
-                    Vector3i chunkPosition = Voxel.getChunkPositionFromGlobalPosition(this.position.x + x, y,
-                            this.position.z + z);
-                    chunkManager.queueChunk(chunkPosition);
-
                     continue;
                 }
 
@@ -83,7 +155,123 @@ public class Chunk {
     }
 
     public void update() {
-        this.mesh.update(this);
+        boolean isEdited = !this.edits.isEmpty() && this.edits.size() <= this.MAXIMUM_INCREMENTAL_EDITS;
+
+        if (this.isEmpty()) {
+            this.edits.clear();
+
+            this.connectivity = ChunkConnectivity.OPEN;
+
+            // A mesh left over from before the chunk was emptied is cleared, so its GPU data is released
+            if (this.mesh != null) {
+                this.mesh.clear();
+            }
+
+            return;
+        }
+
+        // Nothing inside a solid chunk walled in by solid neighbours can ever be seen
+        if (this.isEnclosed) {
+            this.edits.clear();
+
+            this.connectivity = ChunkConnectivity.CLOSED;
+
+            if (this.mesh != null) {
+                this.mesh.clear();
+            }
+
+            return;
+        }
+
+        if (this.mesh == null) {
+            this.mesh = new Mesh();
+        }
+
+        boolean isIncremental = isEdited && this.level == LevelOfDetail.FULL
+                && this.mesh.canUpdateBlocks();
+
+        if (isIncremental) {
+            this.mesh.updateBlocks(this, this.edits);
+        } else {
+            this.remesh(this.level);
+        }
+
+        this.edits.clear();
+
+        this.connectivity = ChunkConnectivity.compute(this);
+    }
+
+    public void addEdit(Vector3i position) {
+        this.addEdit(position.x, position.y, position.z);
+    }
+
+    public void addEdit(int x, int y, int z) {
+        // One past the limit is enough to know the next update remeshes everything
+        if (this.edits.size() <= this.MAXIMUM_INCREMENTAL_EDITS) {
+            this.edits.add(new Vector3i(x, y, z));
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.solidCount == 0;
+    }
+
+    public boolean isFull() {
+        return this.solidCount == this.WIDTH * this.HEIGHT * this.DEPTH;
+    }
+
+    public boolean hasMesh() {
+        return this.mesh != null;
+    }
+
+    // A mesh without quads holds nothing on the GPU, so it is skipped like a missing one
+    public boolean isRenderable() {
+        return this.mesh != null && this.mesh.getQuadCount() > 0;
+    }
+
+    // Only rebuilds the mesh, block data and therefore connectivity are unchanged
+    public void updateLevel(int level) {
+        this.level = level;
+
+        if (this.mesh != null && !this.isEmpty() && !this.isEnclosed) {
+            this.remesh(level);
+        }
+    }
+
+    private void remesh(int level) {
+        if (this.meshCache != null) {
+            this.meshCache.update(this, this.mesh, level);
+        } else {
+            this.mesh.update(this, level);
+        }
+    }
+
+    public void setMeshCache(MeshCache meshCache) {
+        this.meshCache = meshCache;
+    }
+
+    public int getLevel() {
+        return this.level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public void setIsEnclosed(boolean isEnclosed) {
+        this.isEnclosed = isEnclosed;
+    }
+
+    public boolean getIsEnclosed() {
+        return this.isEnclosed;
+    }
+
+    public int getSolidCount() {
+        return this.solidCount;
+    }
+
+    public ChunkConnectivity getConnectivity() {
+        return this.connectivity;
     }
 
     public void setMesh(Mesh mesh) {
@@ -99,9 +287,7 @@ public class Chunk {
     }
 
     public boolean isBlockActive(int x, int y, int z) {
-        Vector3i position = new Vector3i(x, y, z);
-
-        if (!Range.isInRange3D(position, this.WIDTH, this.HEIGHT, this.DEPTH)) {
+        if (this.blocks == null || !Range.isInRange3D(x, y, z, this.WIDTH, this.HEIGHT, this.DEPTH)) {
             return false;
         }
 
@@ -118,7 +304,19 @@ public class Chunk {
 
         block.setGlobalPosition(this.position.x + x, this.position.y + y, this.position.z + z);
 
+        this.prepareWrite();
+
+        if (this.blocks == null) {
+            this.blocks = new Block[this.WIDTH][this.HEIGHT][this.DEPTH];
+        }
+
+        if (this.blocks[x][y][z] == null) {
+            this.solidCount++;
+        }
+
         this.blocks[x][y][z] = block;
+
+        this.brickMask |= this.getBrickBit(x, y, z);
     }
 
     public void removeBlock(Vector3i position) {
@@ -126,10 +324,141 @@ public class Chunk {
     }
 
     public void removeBlock(int x, int y, int z) {
+        if (this.blocks == null || this.blocks[x][y][z] == null) {
+            return;
+        }
+
+        this.prepareWrite();
+
         this.blocks[x][y][z] = null;
+
+        this.solidCount--;
+
+        if (this.isBrickCleared(x, y, z)) {
+            this.brickMask &= ~this.getBrickBit(x, y, z);
+        }
+    }
+
+    // Copy on write, only the arrays are copied, blocks themselves are never changed once placed
+    private void prepareWrite() {
+        if (this.isSnapshot) {
+            throw new IllegalStateException("Chunk snapshots are read only");
+        }
+
+        this.version++;
+
+        if (!this.isShared) {
+            return;
+        }
+
+        Block[][][] blocks = new Block[this.WIDTH][this.HEIGHT][];
+
+        for (int x = 0; x < this.WIDTH; x++) {
+            for (int y = 0; y < this.HEIGHT; y++) {
+                blocks[x][y] = this.blocks[x][y].clone();
+            }
+        }
+
+        this.blocks = blocks;
+
+        this.isShared = false;
+    }
+
+    // An immutable view of the blocks as they are now, for meshing or saving on another thread. Taking one costs an
+    // object, the first write after it pays for copying the block array once
+    public Chunk getSnapshot() {
+        if (this.isSnapshot) {
+            return this;
+        }
+
+        this.isShared = this.blocks != null;
+
+        return new Chunk(this);
+    }
+
+    // Takes the mesh a worker built by calling update on a snapshot of this chunk. Nothing changes and false is
+    // returned when blocks, level or enclosure moved on since the snapshot was taken, the result is then stale
+    public boolean applySnapshot(Chunk snapshot) {
+        if (snapshot.version != this.version || snapshot.level != this.level
+                || snapshot.isEnclosed != this.isEnclosed) {
+            return false;
+        }
+
+        // Never updated, an empty or enclosed snapshot is the only kind meant to come back without a mesh
+        if (snapshot.mesh == null && !snapshot.isEmpty() && !snapshot.isEnclosed) {
+            return false;
+        }
+
+        if (snapshot.mesh == null) {
+            if (this.mesh != null) {
+                this.mesh.clear();
+            }
+        } else {
+            if (this.mesh == null) {
+                this.mesh = new Mesh();
+            }
+
+            this.mesh.adopt(snapshot.mesh);
+        }
+
+        this.connectivity = snapshot.connectivity;
+
+        this.edits.clear();
+
+        return true;
+    }
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    public boolean isSnapshot() {
+        return this.isSnapshot;
+    }
+
+    private boolean isBrickCleared(int x, int y, int z) {
+        int size = Voxel.BRICK_SIZE;
+
+        int startX = x - x % size;
+        int startY = y - y % size;
+        int startZ = z - z % size;
+
+        for (int bx = startX; bx < startX + size; bx++) {
+            for (int by = startY; by < startY + size; by++) {
+                for (int bz = startZ; bz < startZ + size; bz++) {
+                    if (this.blocks[bx][by][bz] != null) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private long getBrickBit(int x, int y, int z) {
+        int size = Voxel.BRICK_SIZE;
+
+        int bricksY = this.HEIGHT / size;
+        int bricksZ = this.DEPTH / size;
+
+        return 1L << (((x / size) * bricksY + y / size) * bricksZ + z / size);
+    }
+
+    // Takes block coordinates inside this chunk, answers for the whole brick around them
+    public boolean isBrickEmpty(int x, int y, int z) {
+        return (this.brickMask & this.getBrickBit(x, y, z)) == 0L;
+    }
+
+    public long getBrickMask() {
+        return this.brickMask;
     }
 
     public Block getBlock(int x, int y, int z) {
+        if (this.blocks == null) {
+            return null;
+        }
+
         return this.blocks[x][y][z];
     }
 
@@ -0,0 +1,88 @@
+package com.duckyshine.app.model;
+
+// Distant chunks are meshed from a coarser grid, level n merges (2^n)^3 blocks into one cell
+public class LevelOfDetail {
+    public static final int FULL = 0;
+
+    public static final int MAXIMUM_LEVEL = 3;
+
+    // Chebyshev chunk distance up to which each level is used, anything further gets the coarsest level. The last ring
+    // ends inside the player's render distance, so every level is meshed somewhere in the loaded area
+    private static final int[] RING_DISTANCES = { 1, 3, 5 };
+
+    public static int getLevel(int distance) {
+        for (int level = 0; level < LevelOfDetail.RING_DISTANCES.length; level++) {
+            if (distance <= LevelOfDetail.RING_DISTANCES[level]) {
+                return level;
+            }
+        }
+
+        return LevelOfDetail.MAXIMUM_LEVEL;
+    }
+
+    public static int getScale(int level) {
+        return 1 << level;
+    }
+
+    // A cell is solid if any block inside it is, so thin surfaces survive, and takes the most common type on its
+    // highest occupied layer, so the top of the terrain keeps its look
+    public static BlockType[][][] downsample(Chunk chunk, int scale) {
+        int width = chunk.getWidth() / scale;
+        int height = chunk.getHeight() / scale;
+        int depth = chunk.getDepth() / scale;
+
+        BlockType[][][] cells = new BlockType[width][height][depth];
+
+        int[] counts = new int[BlockType.values().length];
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                for (int z = 0; z < depth; z++) {
+                    cells[x][y][z] = LevelOfDetail.getCellType(chunk, x * scale, y * scale, z * scale, scale, counts);
+                }
+            }
+        }
+
+        return cells;
+    }
+
+    private static BlockType getCellType(Chunk chunk, int startX, int startY, int startZ, int scale, int[] counts) {
+        for (int y = startY + scale - 1; y >= startY; y--) {
+            boolean isOccupied = false;
+
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = 0;
+            }
+
+            for (int x = startX; x < startX + scale; x++) {
+                for (int z = startZ; z < startZ + scale; z++) {
+                    if (!chunk.isBlockActive(x, y, z)) {
+                        continue;
+                    }
+
+                    counts[chunk.getBlock(x, y, z).getBlockType().ordinal()]++;
+
+                    isOccupied = true;
+                }
+            }
+
+            if (isOccupied) {
+                return LevelOfDetail.getMajority(counts);
+            }
+        }
+
+        return null;
+    }
+
+    private static BlockType getMajority(int[] counts) {
+        int majority = 0;
+
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[majority]) {
+                majority = i;
+            }
+        }
+
+        return BlockType.values()[majority];
+    }
+}
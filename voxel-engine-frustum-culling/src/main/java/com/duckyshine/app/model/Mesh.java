@@ -7,28 +7,59 @@ import org.joml.Vector3i;
 
 import com.duckyshine.app.math.Direction;
 
+import com.duckyshine.app.culling.FaceCulling;
+
 import com.duckyshine.app.math.noise.Noise;
 
 import com.duckyshine.app.model.texture.Texture;
 
-import com.duckyshine.app.buffer.Buffer;
+import com.duckyshine.app.buffer.MeshPool;
 import com.duckyshine.app.buffer.BufferData;
 import com.duckyshine.app.buffer.MeshBuffer;
+import com.duckyshine.app.buffer.RangeAllocator;
+import com.duckyshine.app.buffer.DrawCommandList;
+import com.duckyshine.app.buffer.QuadIndexBuffer;
 
 import com.duckyshine.app.debug.Debug;
 
 import static org.lwjgl.opengl.GL30.*;
 
 public class Mesh {
-    private Buffer buffer;
+    // Bump whenever the quads update produces change, cached meshes from older versions are then discarded
+    public static final int VERSION = 1;
+
+    private MeshBuffer buffer;
 
     private List<Quad> quads;
 
-    private List<Float> vertices;
-    private List<Float> coordinates;
+    // Full resolution quads cached per (direction, slice), an edit only re-merges the slices it touches
+    private List<List<Quad>> sliceQuads;
+
+    private int sliceStride;
+
+    private boolean isSliceCacheValid;
+
+    private int quadCount;
+
+    private int level;
+
+    // Quads are merged one direction at a time, bucket i spans [bucketOffsets[i], bucketOffsets[i + 1])
+    private int[] bucketOffsets;
+
+    private boolean isDirty;
+
+    private BufferData bufferData;
 
-    private List<Integer> indices;
-    private List<Integer> textures;
+    // Everything below belongs to the render thread, the simulation thread only reaches it through a MeshUpload
+    private int poolOffset;
+    private int poolQuadCount;
+
+    private MeshPool meshPool;
+
+    // Bucket layout of whatever is on the GPU, which can lag the one being built
+    private int[] uploadedBucketOffsets;
+
+    private int uploadedQuadCount;
 
     private int[][] heightMap;
 
@@ -37,55 +68,164 @@ public class Mesh {
 
         this.quads = new ArrayList<>();
 
-        this.vertices = new ArrayList<>();
-        this.coordinates = new ArrayList<>();
+        this.sliceQuads = new ArrayList<>();
+
+        this.sliceStride = 0;
+
+        this.isSliceCacheValid = false;
+
+        this.quadCount = 0;
+
+        this.level = LevelOfDetail.FULL;
+
+        this.bucketOffsets = new int[Direction.values().length + 1];
 
-        this.indices = new ArrayList<>();
-        this.textures = new ArrayList<>();
+        this.isDirty = false;
+
+        this.bufferData = null;
+
+        this.poolOffset = RangeAllocator.INVALID_OFFSET;
+        this.poolQuadCount = 0;
+
+        this.meshPool = null;
+
+        this.uploadedBucketOffsets = new int[this.bucketOffsets.length];
+
+        this.uploadedQuadCount = 0;
     }
 
     public void update(Chunk chunk) {
-        this.cull(chunk);
+        this.update(chunk, LevelOfDetail.FULL);
+    }
+
+    // Only reads the chunk, so any number of threads may mesh the same snapshot at once
+    public void update(Chunk chunk, int level) {
+        if (level == LevelOfDetail.FULL) {
+            this.merge(chunk);
+        } else {
+            this.mergeCells(chunk, level);
+
+            this.isSliceCacheValid = false;
+        }
 
-        this.merge(chunk);
+        this.level = level;
 
         this.build();
     }
 
-    private void cull(Chunk chunk) {
-        int width = chunk.getWidth();
-        int depth = chunk.getDepth();
-        int height = chunk.getHeight();
+    // Takes prebuilt vertex data, such as a cached mesh, without any quads behind it. Edits then need a full update
+    public void load(BufferData bufferData, int[] bucketOffsets, int level) {
+        this.quads.clear();
 
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                for (int z = 0; z < depth; z++) {
-                    if (!chunk.isBlockActive(x, y, z)) {
-                        continue;
-                    }
+        this.isSliceCacheValid = false;
 
-                    Block block = chunk.getBlock(x, y, z);
+        System.arraycopy(bucketOffsets, 0, this.bucketOffsets, 0, this.bucketOffsets.length);
 
-                    this.cullFacesForBlock(chunk, block);
+        this.level = level;
+
+        this.bufferData = bufferData;
+
+        this.quadCount = bufferData.getVertices().length / (3 * QuadIndexBuffer.VERTICES_PER_QUAD);
+
+        this.isDirty = true;
+    }
+
+    // Takes over what another mesh built, e.g. on a worker, while keeping this mesh's GPU buffer or pool range so the
+    // next upload replaces them in place. The other mesh is not used afterwards
+    public void adopt(Mesh mesh) {
+        this.quads = mesh.quads;
+
+        this.sliceQuads = mesh.sliceQuads;
+
+        this.sliceStride = mesh.sliceStride;
+
+        this.isSliceCacheValid = mesh.isSliceCacheValid;
+
+        this.level = mesh.level;
+
+        System.arraycopy(mesh.bucketOffsets, 0, this.bucketOffsets, 0, this.bucketOffsets.length);
+
+        this.bufferData = mesh.bufferData;
+
+        this.quadCount = mesh.quadCount;
+
+        this.isDirty = true;
+    }
+
+    public boolean canUpdateBlocks() {
+        return this.isSliceCacheValid && this.level == LevelOfDetail.FULL;
+    }
+
+    // Block (x, y, z) changed, only its faces, its neighbours' faces towards it and the slices holding them move
+    public void updateBlocks(Chunk chunk, List<Vector3i> positions) {
+        boolean[] isDirty = new boolean[this.sliceQuads.size()];
+
+        for (Vector3i position : positions) {
+            for (Direction direction : Direction.values()) {
+                int slice = this.getSlice(direction, position.x, position.y, position.z);
+
+                // The neighbour behind this face shows its opposite face, one slice over
+                int neighbourSlice = slice + this.getStep(direction);
+
+                this.markSlice(isDirty, direction, slice, chunk);
+                this.markSlice(isDirty, direction.getOpposite(), neighbourSlice, chunk);
+            }
+        }
+
+        for (Direction direction : Direction.values()) {
+            for (int slice = 0; slice < this.getSliceCount(chunk, direction); slice++) {
+                int index = this.getSliceIndex(direction, slice);
+
+                if (isDirty[index]) {
+                    this.sliceQuads.set(index, this.mergeSlice(chunk, direction, slice));
                 }
             }
         }
+
+        this.assemble(chunk);
+
+        this.build();
     }
 
-    private void cullFacesForBlock(Chunk chunk, Block block) {
-        Vector3i position = block.getPosition();
+    private void markSlice(boolean[] isDirty, Direction direction, int slice, Chunk chunk) {
+        if (slice < 0 || slice >= this.getSliceCount(chunk, direction)) {
+            return;
+        }
 
-        block.setAllFaceStatuses(true);
+        isDirty[this.getSliceIndex(direction, slice)] = true;
+    }
 
-        for (Direction direction : Direction.values()) {
-            int dx = position.x + direction.getX();
-            int dy = position.y + direction.getY();
-            int dz = position.z + direction.getZ();
+    private int getSlice(Direction direction, int x, int y, int z) {
+        if (direction == Direction.TOP || direction == Direction.BOTTOM) {
+            return y;
+        } else if (direction == Direction.LEFT || direction == Direction.RIGHT) {
+            return x;
+        }
 
-            if (chunk.isBlockActive(dx, dy, dz)) {
-                block.setFaceStatus(direction, false);
-            }
+        return z;
+    }
+
+    private int getStep(Direction direction) {
+        return direction.getX() + direction.getY() + direction.getZ();
+    }
+
+    private int getSliceCount(Chunk chunk, Direction direction) {
+        if (direction == Direction.TOP || direction == Direction.BOTTOM) {
+            return chunk.getHeight();
+        } else if (direction == Direction.LEFT || direction == Direction.RIGHT) {
+            return chunk.getWidth();
         }
+
+        return chunk.getDepth();
+    }
+
+    private int getSliceIndex(Direction direction, int slice) {
+        return direction.getIndex() * this.sliceStride + slice;
+    }
+
+    // A face shows unless a block inside the chunk covers it, faces on the chunk border always show
+    private boolean isFaceVisible(Chunk chunk, int x, int y, int z, Direction direction) {
+        return !chunk.isBlockActive(x + direction.getX(), y + direction.getY(), z + direction.getZ());
     }
 
     private int findMaximumHeight(BlockType[][] grid, int x, int y, int height) {
@@ -150,83 +290,95 @@ public class Mesh {
         }
     }
 
-    private void mergeX(Chunk chunk, Direction direction, int width, int height, int depth) {
-        Vector3i chunkPosition = chunk.getPosition();
+    private List<Quad> mergeSlice(Chunk chunk, Direction direction, int slice) {
+        int width = chunk.getWidth();
+        int depth = chunk.getDepth();
+        int height = chunk.getHeight();
 
-        for (int x = 0; x < width; x++) {
-            BlockType[][] grid = this.getGridX(chunk, direction, x, depth, height);
+        List<Quad> quads = new ArrayList<>();
 
-            for (int y = 0; y < height; y++) {
-                for (int z = 0; z < depth; z++) {
-                    BlockType blockType = grid[y][z];
+        if (direction == Direction.TOP || direction == Direction.BOTTOM) {
+            this.mergeY(chunk, direction, slice, width, depth, quads);
+        } else if (direction == Direction.LEFT || direction == Direction.RIGHT) {
+            this.mergeX(chunk, direction, slice, height, depth, quads);
+        } else {
+            this.mergeZ(chunk, direction, slice, width, height, quads);
+        }
 
-                    if (blockType == null) {
-                        continue;
-                    }
+        return quads;
+    }
 
-                    int maximumHeight = this.findMaximumHeight(grid, z, y, height);
-                    int maximumWidth = this.findMaximumWidth(grid, z, y, depth, maximumHeight);
+    private void mergeX(Chunk chunk, Direction direction, int x, int height, int depth, List<Quad> quads) {
+        Vector3i chunkPosition = chunk.getPosition();
 
-                    Vector3i position = new Vector3i(x, y, z).add(chunkPosition);
+        BlockType[][] grid = this.getGridX(chunk, direction, x, depth, height);
 
-                    this.addQuad(position, direction, blockType, 1, maximumHeight, maximumWidth);
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < depth; z++) {
+                BlockType blockType = grid[y][z];
 
-                    this.resetGrid(grid, z, y, maximumWidth, maximumHeight);
+                if (blockType == null) {
+                    continue;
                 }
+
+                int maximumHeight = this.findMaximumHeight(grid, z, y, height);
+                int maximumWidth = this.findMaximumWidth(grid, z, y, depth, maximumHeight);
+
+                Vector3i position = new Vector3i(x, y, z).add(chunkPosition);
+
+                quads.add(this.createQuad(position, direction, blockType, 1, maximumHeight, maximumWidth));
+
+                this.resetGrid(grid, z, y, maximumWidth, maximumHeight);
             }
         }
     }
 
-    private void mergeZ(Chunk chunk, Direction direction, int width, int height, int depth) {
+    private void mergeZ(Chunk chunk, Direction direction, int z, int width, int height, List<Quad> quads) {
         Vector3i chunkPosition = chunk.getPosition();
 
-        for (int z = 0; z < depth; z++) {
-            BlockType[][] grid = this.getGridZ(chunk, direction, z, width, height);
+        BlockType[][] grid = this.getGridZ(chunk, direction, z, width, height);
 
-            for (int y = 0; y < height; y++) {
-                for (int x = 0; x < width; x++) {
-                    BlockType blockType = grid[y][x];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                BlockType blockType = grid[y][x];
 
-                    if (blockType == null) {
-                        continue;
-                    }
+                if (blockType == null) {
+                    continue;
+                }
 
-                    int maximumHeight = this.findMaximumHeight(grid, x, y, height);
-                    int maximumWidth = this.findMaximumWidth(grid, x, y, width, maximumHeight);
+                int maximumHeight = this.findMaximumHeight(grid, x, y, height);
+                int maximumWidth = this.findMaximumWidth(grid, x, y, width, maximumHeight);
 
-                    Vector3i position = new Vector3i(x, y, z).add(chunkPosition);
+                Vector3i position = new Vector3i(x, y, z).add(chunkPosition);
 
-                    this.addQuad(position, direction, blockType, maximumWidth, maximumHeight, 1);
+                quads.add(this.createQuad(position, direction, blockType, maximumWidth, maximumHeight, 1));
 
-                    this.resetGrid(grid, x, y, maximumWidth, maximumHeight);
-                }
+                this.resetGrid(grid, x, y, maximumWidth, maximumHeight);
             }
         }
     }
 
-    private void mergeY(Chunk chunk, Direction direction, int width, int height, int depth) {
+    private void mergeY(Chunk chunk, Direction direction, int y, int width, int depth, List<Quad> quads) {
         Vector3i chunkPosition = chunk.getPosition();
 
-        for (int y = 0; y < height; y++) {
-            BlockType[][] grid = this.getGridY(chunk, direction, y, width, depth);
+        BlockType[][] grid = this.getGridY(chunk, direction, y, width, depth);
 
-            for (int z = 0; z < depth; z++) {
-                for (int x = 0; x < width; x++) {
-                    BlockType blockType = grid[z][x];
+        for (int z = 0; z < depth; z++) {
+            for (int x = 0; x < width; x++) {
+                BlockType blockType = grid[z][x];
 
-                    if (blockType == null) {
-                        continue;
-                    }
+                if (blockType == null) {
+                    continue;
+                }
 
-                    int maximumHeight = this.findMaximumHeight(grid, x, z, depth);
-                    int maximumWidth = this.findMaximumWidth(grid, x, z, width, maximumHeight);
+                int maximumHeight = this.findMaximumHeight(grid, x, z, depth);
+                int maximumWidth = this.findMaximumWidth(grid, x, z, width, maximumHeight);
 
-                    Vector3i position = new Vector3i(x, y, z).add(chunkPosition);
+                Vector3i position = new Vector3i(x, y, z).add(chunkPosition);
 
-                    this.addQuad(position, direction, blockType, maximumWidth, 1, maximumHeight);
+                quads.add(this.createQuad(position, direction, blockType, maximumWidth, 1, maximumHeight));
 
-                    this.resetGrid(grid, x, z, maximumWidth, maximumHeight);
-                }
+                this.resetGrid(grid, x, z, maximumWidth, maximumHeight);
             }
         }
     }
@@ -236,14 +388,8 @@ public class Mesh {
 
         for (int y = 0; y < height; y++) {
             for (int z = 0; z < depth; z++) {
-                if (chunk.isBlockActive(x, y, z)) {
-                    Block block = chunk.getBlock(x, y, z);
-
-                    if (!block.isFaceActive(direction)) {
-                        continue;
-                    }
-
-                    grid[y][z] = block.getBlockType();
+                if (chunk.isBlockActive(x, y, z) && this.isFaceVisible(chunk, x, y, z, direction)) {
+                    grid[y][z] = chunk.getBlock(x, y, z).getBlockType();
                 }
             }
         }
@@ -256,14 +402,8 @@ public class Mesh {
 
         for (int z = 0; z < depth; z++) {
             for (int x = 0; x < width; x++) {
-                if (chunk.isBlockActive(x, y, z)) {
-                    Block block = chunk.getBlock(x, y, z);
-
-                    if (!block.isFaceActive(direction)) {
-                        continue;
-                    }
-
-                    grid[z][x] = block.getBlockType();
+                if (chunk.isBlockActive(x, y, z) && this.isFaceVisible(chunk, x, y, z, direction)) {
+                    grid[z][x] = chunk.getBlock(x, y, z).getBlockType();
                 }
             }
         }
@@ -276,14 +416,8 @@ public class Mesh {
 
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
-                if (chunk.isBlockActive(x, y, z)) {
-                    Block block = chunk.getBlock(x, y, z);
-
-                    if (!block.isFaceActive(direction)) {
-                        continue;
-                    }
-
-                    grid[y][x] = block.getBlockType();
+                if (chunk.isBlockActive(x, y, z) && this.isFaceVisible(chunk, x, y, z, direction)) {
+                    grid[y][x] = chunk.getBlock(x, y, z).getBlockType();
                 }
             }
         }
@@ -292,165 +426,405 @@ public class Mesh {
     }
 
     private void merge(Chunk chunk) {
-        int width = chunk.getWidth();
-        int depth = chunk.getDepth();
-        int height = chunk.getHeight();
+        this.sliceStride = Math.max(chunk.getWidth(), Math.max(chunk.getHeight(), chunk.getDepth()));
+
+        this.sliceQuads.clear();
+
+        for (int i = 0; i < Direction.values().length * this.sliceStride; i++) {
+            this.sliceQuads.add(null);
+        }
+
+        for (Direction direction : Direction.values()) {
+            for (int slice = 0; slice < this.getSliceCount(chunk, direction); slice++) {
+                this.sliceQuads.set(this.getSliceIndex(direction, slice), this.mergeSlice(chunk, direction, slice));
+            }
+        }
 
+        this.isSliceCacheValid = true;
+
+        this.assemble(chunk);
+    }
+
+    // Slices are laid out direction by direction, so each direction stays one contiguous bucket
+    private void assemble(Chunk chunk) {
         this.quads.clear();
 
         for (Direction direction : Direction.values()) {
-            if (direction == Direction.TOP || direction == Direction.BOTTOM) {
-                this.mergeY(chunk, direction, width, height, depth);
-            } else if (direction == Direction.LEFT || direction == Direction.RIGHT) {
-                this.mergeX(chunk, direction, width, height, depth);
-            } else {
-                this.mergeZ(chunk, direction, width, height, depth);
+            this.bucketOffsets[direction.getIndex()] = this.quads.size();
+
+            for (int slice = 0; slice < this.getSliceCount(chunk, direction); slice++) {
+                this.quads.addAll(this.sliceQuads.get(this.getSliceIndex(direction, slice)));
             }
         }
+
+        this.bucketOffsets[Direction.values().length] = this.quads.size();
     }
 
-    public void addBlock(Block block) {
-        Vector3i position = block.getGlobalPosition();
+    // Same greedy merge as full resolution, run over the downsampled cells and scaled back up to block units
+    private void mergeCells(Chunk chunk, int level) {
+        int scale = LevelOfDetail.getScale(level);
 
-        BlockType blockType = block.getBlockType();
+        BlockType[][][] cells = LevelOfDetail.downsample(chunk, scale);
+
+        int size = cells.length;
+
+        Vector3i chunkPosition = chunk.getPosition();
+
+        this.quads.clear();
 
         for (Direction direction : Direction.values()) {
-            if (block.isFaceActive(direction)) {
-                this.addQuad(position, direction, blockType);
+            this.bucketOffsets[direction.getIndex()] = this.quads.size();
+
+            for (int slice = 0; slice < size; slice++) {
+                BlockType[][] grid = this.getCellGrid(cells, direction, slice, size);
+
+                for (int v = 0; v < size; v++) {
+                    for (int u = 0; u < size; u++) {
+                        BlockType blockType = grid[v][u];
+
+                        if (blockType == null) {
+                            continue;
+                        }
+
+                        int maximumHeight = this.findMaximumHeight(grid, u, v, size);
+                        int maximumWidth = this.findMaximumWidth(grid, u, v, size, maximumHeight);
+
+                        Vector3i cell = this.getCellPosition(direction, slice, u, v);
+
+                        Vector3i position = cell.mul(scale).add(chunkPosition);
+
+                        if (direction == Direction.TOP || direction == Direction.BOTTOM) {
+                            this.addQuad(position, direction, blockType, maximumWidth * scale, scale, maximumHeight * scale);
+                        } else if (direction == Direction.LEFT || direction == Direction.RIGHT) {
+                            this.addQuad(position, direction, blockType, scale, maximumHeight * scale, maximumWidth * scale);
+                        } else {
+                            this.addQuad(position, direction, blockType, maximumWidth * scale, maximumHeight * scale, scale);
+                        }
+
+                        this.resetGrid(grid, u, v, maximumWidth, maximumHeight);
+                    }
+                }
+            }
+
+            this.addSkirts(cells, direction, scale, chunkPosition);
+        }
+
+        this.bucketOffsets[Direction.values().length] = this.quads.size();
+    }
+
+    // Grid rows follow the same axes as getGridX, getGridY and getGridZ
+    private BlockType[][] getCellGrid(BlockType[][][] cells, Direction direction, int slice, int size) {
+        BlockType grid[][] = new BlockType[size][size];
+
+        for (int v = 0; v < size; v++) {
+            for (int u = 0; u < size; u++) {
+                Vector3i cell = this.getCellPosition(direction, slice, u, v);
+
+                BlockType blockType = cells[cell.x][cell.y][cell.z];
+
+                if (blockType == null) {
+                    continue;
+                }
+
+                int dx = cell.x + direction.getX();
+                int dy = cell.y + direction.getY();
+                int dz = cell.z + direction.getZ();
+
+                boolean isInside = dx >= 0 && dy >= 0 && dz >= 0 && dx < size && dy < size && dz < size;
+
+                if (isInside && cells[dx][dy][dz] != null) {
+                    continue;
+                }
+
+                grid[v][u] = blockType;
+            }
+        }
+
+        return grid;
+    }
+
+    private Vector3i getCellPosition(Direction direction, int slice, int u, int v) {
+        if (direction == Direction.TOP || direction == Direction.BOTTOM) {
+            return new Vector3i(u, slice, v);
+        } else if (direction == Direction.LEFT || direction == Direction.RIGHT) {
+            return new Vector3i(slice, v, u);
+        }
+
+        return new Vector3i(u, v, slice);
+    }
+
+    // Neighbouring chunks may sit at another level, so the bottom of every solid run on a chunk side hangs a wall
+    // one cell deep below it, covering the gap where a finer neighbour's surface drops below the coarse one
+    private void addSkirts(BlockType[][][] cells, Direction direction, int scale, Vector3i chunkPosition) {
+        if (direction == Direction.TOP || direction == Direction.BOTTOM) {
+            return;
+        }
+
+        int size = cells.length;
+
+        int slice = (direction.getX() + direction.getZ() > 0) ? size - 1 : 0;
+
+        for (int u = 0; u < size; u++) {
+            for (int y = 1; y < size; y++) {
+                Vector3i cell = this.getCellPosition(direction, slice, u, y);
+
+                BlockType blockType = cells[cell.x][cell.y][cell.z];
+
+                if (blockType == null || cells[cell.x][cell.y - 1][cell.z] != null) {
+                    continue;
+                }
+
+                Vector3i position = cell.mul(scale).add(chunkPosition);
+
+                position.y -= scale;
+
+                this.addQuad(position, direction, blockType, scale, scale, scale);
             }
         }
     }
 
     public void addQuad(Vector3i position, Direction direction, BlockType blockType, int width, int height, int depth) {
-        Quad quad = addQuad(position, direction, blockType);
+        this.quads.add(this.createQuad(position, direction, blockType, width, height, depth));
+    }
+
+    private Quad createQuad(Vector3i position, Direction direction, BlockType blockType, int width, int height,
+            int depth) {
+        Quad quad = this.createQuad(position, direction, blockType);
 
         quad.scale(direction, width, height, depth);
 
         quad.translate(position);
+
+        return quad;
     }
 
     public Quad addQuad(Vector3i position, Direction direction, BlockType blockType) {
+        Quad quad = this.createQuad(position, direction, blockType);
+
+        this.quads.add(quad);
+
+        return quad;
+    }
+
+    private Quad createQuad(Vector3i position, Direction direction, BlockType blockType) {
         int textureId = blockType.getIndex() * 6 + direction.getIndex();
 
         Texture texture = new Texture(direction, textureId);
 
-        Quad quad = new Quad(position, direction, texture);
+        return new Quad(position, direction, texture);
+    }
 
-        this.quads.add(quad);
+    // Drops every quad, the next upload then releases whatever the mesh held on the GPU
+    public void clear() {
+        this.quads.clear();
 
-        return quad;
+        this.isSliceCacheValid = false;
+
+        for (int i = 0; i < this.bucketOffsets.length; i++) {
+            this.bucketOffsets[i] = 0;
+        }
+
+        this.build();
     }
 
     public void build() {
-        int[] indices = this.getMergedIndices();
         int[] textures = this.getMergedTextures();
 
         float[] vertices = this.getMergedVertices();
         float[] coordinates = this.getMergedCoordinates();
 
-        BufferData bufferData = new BufferData(vertices, indices, coordinates, textures);
+        this.bufferData = new BufferData(vertices, coordinates, textures);
 
-        this.buffer.cleanup();
+        this.quadCount = this.quads.size();
 
-        this.buffer.setup(bufferData);
+        this.isDirty = true;
     }
 
-    private int[] getMergedIndices() {
-        int offset = 0;
+    // Hands what was built since the last call over to the render thread, null when nothing changed. The mesh lets go
+    // of the data, so the next build starts fresh arrays instead of writing into ones the render thread reads
+    public MeshUpload takeUpload() {
+        if (!this.isDirty) {
+            return null;
+        }
 
-        int[] indices;
+        MeshUpload meshUpload = new MeshUpload(this, this.bufferData, this.bucketOffsets.clone(), this.quadCount);
 
-        this.indices.clear();
+        this.bufferData = null;
 
-        for (Quad quad : this.quads) {
-            for (int index : quad.getIndices()) {
-                this.indices.add(index + offset);
+        this.isDirty = false;
+
+        return meshUpload;
+    }
+
+    // Render thread only, replaces whatever the mesh held on the GPU with the upload's data
+    public void upload(MeshPool meshPool, MeshUpload meshUpload) {
+        this.uploadedQuadCount = meshUpload.getQuadCount();
+
+        System.arraycopy(meshUpload.getBucketOffsets(), 0, this.uploadedBucketOffsets, 0,
+                this.uploadedBucketOffsets.length);
+
+        if (meshPool != null) {
+            this.uploadToPool(meshPool, meshUpload.getBufferData());
+        } else {
+            this.buffer.cleanup();
+
+            // A mesh without exposed faces never creates vertex arrays or buffers
+            if (this.uploadedQuadCount > 0) {
+                this.buffer.setup(meshUpload.getBufferData());
             }
+        }
+    }
+
+    private void uploadToPool(MeshPool meshPool, BufferData bufferData) {
+        this.freePoolRange();
+
+        this.meshPool = meshPool;
 
-            offset += 4;
+        if (this.uploadedQuadCount == 0) {
+            return;
         }
 
-        indices = new int[this.indices.size()];
+        this.poolOffset = meshPool.allocate(this.uploadedQuadCount);
+        this.poolQuadCount = this.uploadedQuadCount;
 
-        for (int i = 0; i < this.indices.size(); i++) {
-            indices[i] = this.indices.get(i);
+        meshPool.upload(this.poolOffset, bufferData);
+    }
+
+    private void freePoolRange() {
+        if (this.meshPool == null || this.poolOffset == RangeAllocator.INVALID_OFFSET) {
+            return;
         }
 
-        return indices;
+        this.meshPool.free(this.poolOffset, this.poolQuadCount);
+
+        this.poolOffset = RangeAllocator.INVALID_OFFSET;
+        this.poolQuadCount = 0;
     }
 
-    private float[] getMergedVertices() {
-        float[] vertices;
+    public void addDrawCommands(DrawCommandList drawCommandList, int visibleFaces) {
+        if (this.poolOffset == RangeAllocator.INVALID_OFFSET) {
+            return;
+        }
 
-        this.vertices.clear();
+        for (Direction direction : Direction.values()) {
+            int bucketQuadCount = this.getUploadedBucketQuadCount(direction);
 
-        for (Quad quad : this.quads) {
-            for (float vertex : quad.getVertices()) {
-                this.vertices.add(vertex);
+            if (bucketQuadCount == 0 || !FaceCulling.isVisible(visibleFaces, direction)) {
+                continue;
             }
+
+            drawCommandList.add(this.poolOffset + this.uploadedBucketOffsets[direction.getIndex()], bucketQuadCount);
         }
+    }
+
+    public int getQuadCount() {
+        return this.quadCount;
+    }
+
+    public int getLevel() {
+        return this.level;
+    }
+
+    // CPU side data waiting for the next upload, null once it has been taken
+    public BufferData getBufferData() {
+        return this.bufferData;
+    }
+
+    public int getBucketOffset(Direction direction) {
+        return this.bucketOffsets[direction.getIndex()];
+    }
+
+    public int getBucketQuadCount(Direction direction) {
+        int index = direction.getIndex();
+
+        return this.bucketOffsets[index + 1] - this.bucketOffsets[index];
+    }
+
+    private int getUploadedBucketQuadCount(Direction direction) {
+        int index = direction.getIndex();
+
+        return this.uploadedBucketOffsets[index + 1] - this.uploadedBucketOffsets[index];
+    }
+
+    // Arrays are sized up front and filled straight from the quads, no boxed intermediate lists
+    private float[] getMergedVertices() {
+        float[] vertices = new float[this.quads.size() * 3 * QuadIndexBuffer.VERTICES_PER_QUAD];
+
+        int offset = 0;
+
+        for (Quad quad : this.quads) {
+            float[] quadVertices = quad.getVertices();
 
-        vertices = new float[this.vertices.size()];
+            System.arraycopy(quadVertices, 0, vertices, offset, quadVertices.length);
 
-        for (int i = 0; i < this.vertices.size(); i++) {
-            vertices[i] = this.vertices.get(i);
+            offset += quadVertices.length;
         }
 
         return vertices;
     }
 
     private float[] getMergedCoordinates() {
-        float[] coordinates;
+        float[] coordinates = new float[this.quads.size() * 2 * QuadIndexBuffer.VERTICES_PER_QUAD];
 
-        this.coordinates.clear();
+        int offset = 0;
 
         for (Quad quad : this.quads) {
-            Texture texture = quad.getTexture();
-
-            for (float coordinate : texture.getCoordinates()) {
-                this.coordinates.add(coordinate);
-            }
-        }
+            float[] quadCoordinates = quad.getTexture().getCoordinates();
 
-        coordinates = new float[this.coordinates.size()];
+            System.arraycopy(quadCoordinates, 0, coordinates, offset, quadCoordinates.length);
 
-        for (int i = 0; i < this.coordinates.size(); i++) {
-            coordinates[i] = this.coordinates.get(i);
+            offset += quadCoordinates.length;
         }
 
         return coordinates;
     }
 
     private int[] getMergedTextures() {
-        int[] textures;
+        int[] textures = new int[this.quads.size() * QuadIndexBuffer.VERTICES_PER_QUAD];
 
-        this.textures.clear();
+        int offset = 0;
 
         for (Quad quad : this.quads) {
-            Texture texture = quad.getTexture();
+            int textureId = quad.getTexture().getId();
 
-            for (int i = 0; i < 4; i++) {
-                this.textures.add(texture.getId());
+            for (int i = 0; i < QuadIndexBuffer.VERTICES_PER_QUAD; i++) {
+                textures[offset++] = textureId;
             }
         }
 
-        textures = new int[this.textures.size()];
-
-        for (int i = 0; i < this.textures.size(); i++) {
-            textures[i] = this.textures.get(i);
-        }
-
         return textures;
     }
 
     public void cleanup() {
         this.buffer.cleanup();
+
+        this.freePoolRange();
     }
 
-    public void render() {
+    public void render(int visibleFaces) {
+        if (this.uploadedQuadCount == 0) {
+            return;
+        }
+
+        int type = QuadIndexBuffer.getType(this.uploadedQuadCount);
+        int indexSize = QuadIndexBuffer.getIndexSize(this.uploadedQuadCount);
+
         this.buffer.bindVertexArray();
 
-        glDrawElements(GL_TRIANGLES, this.indices.size(), GL_UNSIGNED_INT, 0);
+        for (Direction direction : Direction.values()) {
+            int bucketQuadCount = this.getUploadedBucketQuadCount(direction);
+
+            if (bucketQuadCount == 0 || !FaceCulling.isVisible(visibleFaces, direction)) {
+                continue;
+            }
+
+            int indexCount = QuadIndexBuffer.getIndexCount(bucketQuadCount);
+
+            long offset = (long) QuadIndexBuffer.getIndexCount(this.uploadedBucketOffsets[direction.getIndex()])
+                    * indexSize;
+
+            glDrawElements(GL_TRIANGLES, indexCount, type, offset);
+        }
 
         this.buffer.detachVertexArray();
     }
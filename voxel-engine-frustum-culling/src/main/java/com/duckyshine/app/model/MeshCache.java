@@ -0,0 +1,432 @@
+package com.duckyshine.app.model;
+
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.io.IOException;
+
+import java.nio.ByteOrder;
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.joml.Vector3i;
+
+import com.duckyshine.app.math.Direction;
+
+import com.duckyshine.app.buffer.BufferData;
+import com.duckyshine.app.buffer.QuadIndexBuffer;
+
+// Built chunk meshes keyed by a hash of the blocks, detail level, origin and mesher version, so a chunk whose
+// contents are unchanged since any earlier session is decoded from the mapped file instead of culled and merged.
+//
+// Layout, little endian: magic, version, mesher version, then records appended one after another, each holding its
+// key, payload length, origin, level, quad count, meshing time in microseconds, bucket offsets and per quad a texture
+// id followed by four vertices of (x, y, z, u, v) signed bytes, positions relative to the origin. Skirts of coarse
+// levels hang below the origin, so offsets go negative. A torn last record is dropped
+public class MeshCache {
+    private static final int MAGIC = 0x56584d43;
+
+    // Bump whenever the record layout changes, old files are then discarded
+    private static final int VERSION = 2;
+
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private static final int ENTRY_HEADER_SIZE = 3 * Integer.BYTES + 1 + 2 * Integer.BYTES + 6 * Integer.BYTES;
+
+    private static final int VERTEX_SIZE = 5;
+
+    private static final int QUAD_SIZE = Short.BYTES + QuadIndexBuffer.VERTICES_PER_QUAD * MeshCache.VERTEX_SIZE;
+
+    // Records for old contents are never removed, the file is started over once it grows past this
+    private static final long MAXIMUM_SIZE = 256L << 20;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer data;
+
+    // Key to payload offset in the mapped data, only records present when the file was opened are mapped
+    private final Map<Long, Integer> offsets;
+
+    // Appended this session, kept so the same contents are never written twice
+    private final Set<Long> written;
+
+    private final AtomicLong hitCount;
+    private final AtomicLong missCount;
+
+    private final AtomicLong hitTime;
+    private final AtomicLong missTime;
+
+    // What meshing each hit cost when it was stored, less what decoding it cost now
+    private final AtomicLong savedTime;
+
+    private MeshCache(FileChannel channel, ByteBuffer data, Map<Long, Integer> offsets) {
+        this.channel = channel;
+
+        this.data = data;
+
+        this.offsets = offsets;
+
+        this.written = ConcurrentHashMap.newKeySet();
+
+        this.hitCount = new AtomicLong();
+        this.missCount = new AtomicLong();
+
+        this.hitTime = new AtomicLong();
+        this.missTime = new AtomicLong();
+
+        this.savedTime = new AtomicLong();
+    }
+
+    // Opens or creates the cache at path, a file from another version or mesher is started over
+    public static MeshCache open(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        if (!MeshCache.isValid(channel)) {
+            MeshCache.reset(channel);
+        }
+
+        ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+
+        Map<Long, Integer> offsets = new ConcurrentHashMap<>();
+
+        int end = MeshCache.index(data, offsets);
+
+        // Anything past the last whole record is a torn write, appends continue from the last good byte
+        if (end < channel.size()) {
+            channel.truncate(end);
+
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, end).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        channel.position(end);
+
+        return new MeshCache(channel, data, offsets);
+    }
+
+    private static boolean isValid(FileChannel channel) throws IOException {
+        if (channel.size() < MeshCache.HEADER_SIZE || channel.size() > MeshCache.MAXIMUM_SIZE) {
+            return false;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(MeshCache.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        channel.read(header, 0);
+
+        return header.getInt(0) == MeshCache.MAGIC
+                && header.getInt(4) == MeshCache.VERSION
+                && header.getInt(8) == Mesh.VERSION;
+    }
+
+    private static void reset(FileChannel channel) throws IOException {
+        channel.truncate(0);
+
+        ByteBuffer header = ByteBuffer.allocate(MeshCache.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        header.putInt(MeshCache.MAGIC);
+        header.putInt(MeshCache.VERSION);
+        header.putInt(Mesh.VERSION);
+
+        header.flip();
+
+        channel.write(header, 0);
+    }
+
+    private static int index(ByteBuffer data, Map<Long, Integer> offsets) {
+        int offset = MeshCache.HEADER_SIZE;
+
+        while (offset + MeshCache.RECORD_HEADER_SIZE <= data.limit()) {
+            long key = data.getLong(offset);
+
+            int length = data.getInt(offset + Long.BYTES);
+
+            int payload = offset + MeshCache.RECORD_HEADER_SIZE;
+
+            if (length < MeshCache.ENTRY_HEADER_SIZE || payload + length > data.limit()) {
+                break;
+            }
+
+            offsets.put(key, payload);
+
+            offset = payload + length;
+        }
+
+        return offset;
+    }
+
+    // Covers everything Mesh.update reads, the blocks, the detail level and the origin vertices are placed at
+    public static long getKey(Chunk chunk, int level) {
+        Vector3i position = chunk.getPosition();
+
+        long hash = 0xcbf29ce484222325L;
+
+        hash = MeshCache.mix(hash, Mesh.VERSION);
+        hash = MeshCache.mix(hash, level);
+        hash = MeshCache.mix(hash, position.x);
+        hash = MeshCache.mix(hash, position.y);
+        hash = MeshCache.mix(hash, position.z);
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int y = 0; y < chunk.getHeight(); y++) {
+                for (int z = 0; z < chunk.getDepth(); z++) {
+                    Block block = chunk.getBlock(x, y, z);
+
+                    hash = MeshCache.mix(hash, (block == null) ? -1 : block.getBlockType().getIndex());
+                }
+            }
+        }
+
+        // Final avalanche so nearby contents do not land on nearby keys
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    // Decodes the chunk's mesh from the cache when its contents were seen before, otherwise meshes it and stores the
+    // result for next time. Safe to call from several threads
+    public void update(Chunk chunk, Mesh mesh, int level) {
+        long start = System.nanoTime();
+
+        long key = MeshCache.getKey(chunk, level);
+
+        long buildTime = this.load(key, chunk, mesh, level);
+
+        if (buildTime >= 0L) {
+            long time = System.nanoTime() - start;
+
+            this.hitCount.incrementAndGet();
+            this.hitTime.addAndGet(time);
+
+            this.savedTime.addAndGet(buildTime - time);
+
+            return;
+        }
+
+        mesh.update(chunk, level);
+
+        long time = System.nanoTime() - start;
+
+        this.missCount.incrementAndGet();
+        this.missTime.addAndGet(time);
+
+        this.store(key, chunk.getPosition(), mesh, level, time);
+    }
+
+    // Returns the nanoseconds meshing took when the record was stored, negative on a miss
+    private long load(long key, Chunk chunk, Mesh mesh, int level) {
+        Integer offset = this.offsets.get(key);
+
+        if (offset == null) {
+            return -1L;
+        }
+
+        ByteBuffer data = this.data;
+
+        Vector3i origin = chunk.getPosition();
+
+        // A key collision between different chunks is caught here rather than drawn in the wrong place
+        boolean isMatching = data.getInt(offset) == origin.x
+                && data.getInt(offset + 4) == origin.y
+                && data.getInt(offset + 8) == origin.z
+                && data.get(offset + 12) == level;
+
+        if (!isMatching) {
+            return -1L;
+        }
+
+        int quadCount = data.getInt(offset + 13);
+
+        long buildTime = data.getInt(offset + 17) * 1000L;
+
+        int[] bucketOffsets = new int[Direction.values().length + 1];
+
+        for (int i = 0; i < Direction.values().length; i++) {
+            bucketOffsets[i] = data.getInt(offset + 21 + i * Integer.BYTES);
+        }
+
+        bucketOffsets[Direction.values().length] = quadCount;
+
+        int vertexCount = quadCount * QuadIndexBuffer.VERTICES_PER_QUAD;
+
+        float[] vertices = new float[vertexCount * 3];
+        float[] coordinates = new float[vertexCount * 2];
+
+        int[] textures = new int[vertexCount];
+
+        int position = offset + MeshCache.ENTRY_HEADER_SIZE;
+
+        for (int quad = 0, vertex = 0; quad < quadCount; quad++) {
+            int textureId = data.getShort(position);
+
+            position += Short.BYTES;
+
+            for (int i = 0; i < QuadIndexBuffer.VERTICES_PER_QUAD; i++, vertex++) {
+                vertices[vertex * 3] = origin.x + data.get(position);
+                vertices[vertex * 3 + 1] = origin.y + data.get(position + 1);
+                vertices[vertex * 3 + 2] = origin.z + data.get(position + 2);
+
+                coordinates[vertex * 2] = data.get(position + 3);
+                coordinates[vertex * 2 + 1] = data.get(position + 4);
+
+                textures[vertex] = textureId;
+
+                position += MeshCache.VERTEX_SIZE;
+            }
+        }
+
+        mesh.load(new BufferData(vertices, coordinates, textures), bucketOffsets, level);
+
+        return buildTime;
+    }
+
+    private void store(long key, Vector3i origin, Mesh mesh, int level, long buildTime) {
+        if (this.offsets.containsKey(key) || !this.written.add(key)) {
+            return;
+        }
+
+        ByteBuffer record = this.encode(key, origin, mesh, level, buildTime);
+
+        // Meshes with vertices the compact format cannot hold are simply rebuilt every time
+        if (record == null) {
+            return;
+        }
+
+        try {
+            synchronized (this.channel) {
+                while (record.hasRemaining()) {
+                    this.channel.write(record);
+                }
+            }
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    private ByteBuffer encode(long key, Vector3i origin, Mesh mesh, int level, long buildTime) {
+        BufferData bufferData = mesh.getBufferData();
+
+        if (bufferData == null) {
+            return null;
+        }
+
+        int quadCount = mesh.getQuadCount();
+
+        int length = MeshCache.ENTRY_HEADER_SIZE + quadCount * MeshCache.QUAD_SIZE;
+
+        ByteBuffer record = ByteBuffer.allocate(MeshCache.RECORD_HEADER_SIZE + length).order(ByteOrder.LITTLE_ENDIAN);
+
+        record.putLong(key);
+        record.putInt(length);
+
+        record.putInt(origin.x);
+        record.putInt(origin.y);
+        record.putInt(origin.z);
+
+        record.put((byte) level);
+
+        record.putInt(quadCount);
+
+        record.putInt((int) Math.min(Integer.MAX_VALUE, buildTime / 1000L));
+
+        for (Direction direction : Direction.values()) {
+            record.putInt(mesh.getBucketOffset(direction));
+        }
+
+        float[] vertices = bufferData.getVertices();
+        float[] coordinates = bufferData.getCoordinates();
+
+        int[] textures = bufferData.getTextures();
+
+        for (int quad = 0, vertex = 0; quad < quadCount; quad++) {
+            record.putShort((short) textures[vertex]);
+
+            for (int i = 0; i < QuadIndexBuffer.VERTICES_PER_QUAD; i++, vertex++) {
+                boolean isEncoded = this.putByte(record, vertices[vertex * 3] - origin.x)
+                        && this.putByte(record, vertices[vertex * 3 + 1] - origin.y)
+                        && this.putByte(record, vertices[vertex * 3 + 2] - origin.z)
+                        && this.putByte(record, coordinates[vertex * 2])
+                        && this.putByte(record, coordinates[vertex * 2 + 1]);
+
+                if (!isEncoded) {
+                    return null;
+                }
+            }
+        }
+
+        record.flip();
+
+        return record;
+    }
+
+    private boolean putByte(ByteBuffer record, float value) {
+        int integer = (int) value;
+
+        if (integer != value || integer < Byte.MIN_VALUE || integer > Byte.MAX_VALUE) {
+            return false;
+        }
+
+        record.put((byte) integer);
+
+        return true;
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    public double getHitRate() {
+        long total = this.getHitCount() + this.getMissCount();
+
+        return total == 0 ? 0.0d : (double) this.getHitCount() / total;
+    }
+
+    // In milliseconds, from the meshing time recorded with each record that was hit
+    public double getSavedTime() {
+        return this.savedTime.get() / 1e6d;
+    }
+
+    public double getHitTime() {
+        return this.hitTime.get() / 1e6d;
+    }
+
+    public double getMissTime() {
+        return this.missTime.get() / 1e6d;
+    }
+
+    public void close() {
+        try {
+            this.channel.force(false);
+
+            this.channel.close();
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+}
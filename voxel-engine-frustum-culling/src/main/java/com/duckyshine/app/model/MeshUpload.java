@@ -0,0 +1,41 @@
+package com.duckyshine.app.model;
+
+import com.duckyshine.app.buffer.BufferData;
+
+// What a mesh built since its last upload, taken on the simulation thread and sent to the GPU on the render thread.
+// Nothing in it is written again once it is taken
+public class MeshUpload {
+    private final Mesh mesh;
+
+    private final BufferData bufferData;
+
+    private final int[] bucketOffsets;
+
+    private final int quadCount;
+
+    public MeshUpload(Mesh mesh, BufferData bufferData, int[] bucketOffsets, int quadCount) {
+        this.mesh = mesh;
+
+        this.bufferData = bufferData;
+
+        this.bucketOffsets = bucketOffsets;
+
+        this.quadCount = quadCount;
+    }
+
+    public Mesh getMesh() {
+        return this.mesh;
+    }
+
+    public BufferData getBufferData() {
+        return this.bufferData;
+    }
+
+    public int[] getBucketOffsets() {
+        return this.bucketOffsets;
+    }
+
+    public int getQuadCount() {
+        return this.quadCount;
+    }
+}
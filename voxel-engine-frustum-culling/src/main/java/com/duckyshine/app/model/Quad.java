@@ -11,15 +11,6 @@ import com.duckyshine.app.model.texture.Texture;
 import com.duckyshine.app.debug.Debug;
 
 public class Quad {
-    private final int[][] INDICES = {
-            { 0, 1, 2, 2, 3, 0 },
-            { 0, 1, 2, 2, 3, 0 },
-            { 0, 1, 2, 2, 3, 0 },
-            { 0, 1, 2, 2, 3, 0 },
-            { 0, 1, 2, 2, 3, 0 },
-            { 0, 1, 2, 2, 3, 0 }
-    };
-
     private final float[][] VERTICES = {
             {
                     0.0f, 1.0f, 0.0f,
@@ -59,8 +50,6 @@ public class Quad {
             },
     };
 
-    private int[] indices;
-
     private float[] vertices;
 
     private Texture texture;
@@ -70,8 +59,6 @@ public class Quad {
     public Quad(Vector3i position, Direction direction, Texture texture) {
         this.direction = direction;
 
-        this.indices = this.INDICES[direction.getIndex()];
-
         this.vertices = this.copyVertices();
 
         this.texture = texture;
@@ -101,10 +88,6 @@ public class Quad {
         return Arrays.copyOf(vertices, vertices.length);
     }
 
-    public int[] getIndices() {
-        return this.indices;
-    }
-
     public float[] getVertices() {
         return this.vertices;
     }
@@ -22,6 +22,7 @@ import com.duckyshine.app.math.Direction;
 
 import com.duckyshine.app.model.BlockType;
 
+import com.duckyshine.app.utility.FileUtility;
 import com.duckyshine.app.utility.ResourceFinder;
 
 import com.duckyshine.app.debug.Debug;
@@ -40,14 +41,94 @@ public class Atlas {
 
     private final static String PARENT_DIRECTORY = "textures/blocks/";
 
+    private final static String CACHE_FILENAME = "textures.bin";
+
     public static void setup(boolean isUsingAtlas) {
+        TextureCache textureCache = isUsingAtlas ? null : Atlas.loadCache();
+
+        Atlas.setup(textureCache, isUsingAtlas);
+    }
+
+    // Upload only, the cache can be prepared on another thread beforehand and may be null to decode face by face
+    public static void setup(TextureCache textureCache, boolean isUsingAtlas) {
         int textureId = glGenTextures();
 
+        if (textureCache != null) {
+            Atlas.upload(textureId, textureCache);
+
+            return;
+        }
+
         Atlas.initialise(textureId);
 
         Atlas.create(isUsingAtlas);
     }
 
+    public static Path getCachePath() {
+        return FileUtility.getCachePath(Atlas.CACHE_FILENAME);
+    }
+
+    public static TextureCache loadCache() {
+        return Atlas.loadCache(Atlas.getCachePath());
+    }
+
+    // Null when the cache can neither be read nor written, never touches GL
+    public static TextureCache loadCache(Path path) {
+        try {
+            return TextureCache.getOrBuild(path, Atlas.getSources(), Atlas.IMAGE_SIZE);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+
+        return null;
+    }
+
+    private static void upload(int textureId, TextureCache textureCache) {
+        glActiveTexture(GL_TEXTURE0);
+
+        glBindTexture(GL_TEXTURE_2D_ARRAY, textureId);
+
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_MIN_FILTER, GL_NEAREST_MIPMAP_LINEAR);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_MAX_LEVEL, textureCache.getLevelCount() - 1);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_WRAP_R, GL_CLAMP_TO_EDGE);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_WRAP_S, GL_REPEAT);
+        glTexParameteri(GL_TEXTURE_2D_ARRAY, GL_TEXTURE_WRAP_T, GL_REPEAT);
+
+        for (int level = 0; level < textureCache.getLevelCount(); level++) {
+            int size = TextureCache.getLevelSize(textureCache.getLayerSize(), level);
+
+            glTexImage3D(
+                    GL_TEXTURE_2D_ARRAY,
+                    level,
+                    GL_RGBA,
+                    size,
+                    size,
+                    textureCache.getLayerCount(),
+                    0,
+                    GL_RGBA,
+                    GL_UNSIGNED_BYTE,
+                    textureCache.getLevel(level));
+        }
+    }
+
+    // One face image per layer, in the same blockType * 6 + direction order the shader indexes by
+    public static List<Path> getSources() {
+        Path[] sources = new Path[BlockType.values().length * 6];
+
+        for (BlockType blockType : BlockType.values()) {
+            for (Direction direction : Direction.values()) {
+                String filename = direction.getName() + Atlas.FORMAT;
+
+                String filepath = ResourceFinder.getFile(Atlas.PARENT_DIRECTORY, blockType.getName(), filename);
+
+                sources[blockType.getIndex() * 6 + direction.getIndex()] = Path.of(filepath);
+            }
+        }
+
+        return List.of(sources);
+    }
+
     private static void initialise(int textureId) {
         glActiveTexture(GL_TEXTURE0);
 
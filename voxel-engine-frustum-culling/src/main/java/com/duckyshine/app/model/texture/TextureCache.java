@@ -0,0 +1,276 @@
+package com.duckyshine.app.model.texture;
+
+import java.util.List;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.ByteOrder;
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.awt.image.BufferedImage;
+
+import javax.imageio.ImageIO;
+
+import com.duckyshine.app.utility.FileUtility;
+
+// Every block face packed into one file of raw RGBA layers with all mip levels, written once and memory mapped after
+// that so startup uploads straight from the page cache without decoding a single PNG.
+//
+// Layout, little endian: magic, version, layer size, layer count, level count, source hash, then each level in turn
+// holding every layer at that level's size
+public class TextureCache {
+    private static final int MAGIC = 0x56585441;
+
+    // Bump whenever the layout or the mip filter changes, old files then fail validation and are rebuilt
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 5 * Integer.BYTES + Long.BYTES;
+
+    private static final int CHANNELS = 4;
+
+    private final int layerSize;
+    private final int layerCount;
+    private final int levelCount;
+
+    private final long hash;
+
+    private final ByteBuffer data;
+
+    private TextureCache(int layerSize, int layerCount, int levelCount, long hash, ByteBuffer data) {
+        this.layerSize = layerSize;
+        this.layerCount = layerCount;
+        this.levelCount = levelCount;
+
+        this.hash = hash;
+
+        this.data = data;
+    }
+
+    // Loads the cache at path if it was built from exactly these sources, otherwise rebuilds it first
+    public static TextureCache getOrBuild(Path path, List<Path> sources, int layerSize) throws IOException {
+        long hash = TextureCache.hash(sources);
+
+        TextureCache textureCache = TextureCache.load(path, hash, layerSize, sources.size());
+
+        if (textureCache != null) {
+            return textureCache;
+        }
+
+        TextureCache.build(path, sources, layerSize, hash);
+
+        return TextureCache.load(path, hash, layerSize, sources.size());
+    }
+
+    // Null when the file is missing or was built from other sources, sizes or layout
+    public static TextureCache load(Path path, long hash, int layerSize, int layerCount) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < TextureCache.HEADER_SIZE) {
+                return null;
+            }
+
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+
+            if (data.getInt(0) != TextureCache.MAGIC || data.getInt(4) != TextureCache.VERSION) {
+                return null;
+            }
+
+            int levelCount = data.getInt(16);
+
+            boolean isValid = data.getInt(8) == layerSize
+                    && data.getInt(12) == layerCount
+                    && levelCount == TextureCache.getLevelCount(layerSize)
+                    && data.getLong(20) == hash
+                    && channel.size() == TextureCache.HEADER_SIZE + TextureCache.getDataSize(layerSize, layerCount);
+
+            if (!isValid) {
+                return null;
+            }
+
+            return new TextureCache(layerSize, layerCount, levelCount, hash, data);
+        }
+    }
+
+    // Hashes the encoded files rather than decoded pixels, so checking the cache costs a read but no decode
+    public static long hash(List<Path> sources) throws IOException {
+        MessageDigest digest = TextureCache.getDigest();
+
+        for (Path source : sources) {
+            digest.update(Files.readAllBytes(source));
+        }
+
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static MessageDigest getDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    public static void build(Path path, List<Path> sources, int layerSize, long hash) throws IOException {
+        int layerCount = sources.size();
+        int levelCount = TextureCache.getLevelCount(layerSize);
+
+        ByteBuffer buffer = ByteBuffer.allocate(TextureCache.HEADER_SIZE + (int) TextureCache.getDataSize(layerSize, layerCount))
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(TextureCache.MAGIC);
+        buffer.putInt(TextureCache.VERSION);
+        buffer.putInt(layerSize);
+        buffer.putInt(layerCount);
+        buffer.putInt(levelCount);
+        buffer.putLong(hash);
+
+        byte[][] levels = new byte[layerCount][];
+
+        for (int layer = 0; layer < layerCount; layer++) {
+            levels[layer] = TextureCache.getPixels(sources.get(layer), layerSize);
+        }
+
+        int size = layerSize;
+
+        for (int level = 0; level < levelCount; level++) {
+            for (int layer = 0; layer < layerCount; layer++) {
+                buffer.put(levels[layer]);
+
+                levels[layer] = TextureCache.downsample(levels[layer], size);
+            }
+
+            size = Math.max(1, size >> 1);
+        }
+
+        buffer.flip();
+
+        // A crash mid write leaves the old cache or none, never a torn one that could pass the header check
+        FileUtility.replaceDurably(path, buffer);
+    }
+
+    private static byte[] getPixels(Path source, int layerSize) throws IOException {
+        BufferedImage image = ImageIO.read(new File(source.toString()));
+
+        if (image == null) {
+            throw new IOException("Unreadable image " + source);
+        }
+
+        if (image.getWidth() != layerSize || image.getHeight() != layerSize) {
+            throw new IOException("Expected " + layerSize + "x" + layerSize + " image " + source);
+        }
+
+        int[] argb = image.getRGB(0, 0, layerSize, layerSize, null, 0, layerSize);
+
+        byte[] pixels = new byte[argb.length * TextureCache.CHANNELS];
+
+        for (int i = 0; i < argb.length; i++) {
+            int pixel = argb[i];
+
+            int offset = i * TextureCache.CHANNELS;
+
+            pixels[offset] = (byte) ((pixel >> 16) & 0xFF);
+            pixels[offset + 1] = (byte) ((pixel >> 8) & 0xFF);
+            pixels[offset + 2] = (byte) (pixel & 0xFF);
+            pixels[offset + 3] = (byte) ((pixel >> 24) & 0xFF);
+        }
+
+        return pixels;
+    }
+
+    // 2x2 box filter, each channel rounded to nearest
+    private static byte[] downsample(byte[] pixels, int size) {
+        int half = Math.max(1, size >> 1);
+
+        if (half == size) {
+            return pixels;
+        }
+
+        byte[] result = new byte[half * half * TextureCache.CHANNELS];
+
+        for (int y = 0; y < half; y++) {
+            for (int x = 0; x < half; x++) {
+                for (int channel = 0; channel < TextureCache.CHANNELS; channel++) {
+                    int sum = TextureCache.getChannel(pixels, size, x * 2, y * 2, channel)
+                            + TextureCache.getChannel(pixels, size, x * 2 + 1, y * 2, channel)
+                            + TextureCache.getChannel(pixels, size, x * 2, y * 2 + 1, channel)
+                            + TextureCache.getChannel(pixels, size, x * 2 + 1, y * 2 + 1, channel);
+
+                    result[(y * half + x) * TextureCache.CHANNELS + channel] = (byte) ((sum + 2) >> 2);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static int getChannel(byte[] pixels, int size, int x, int y, int channel) {
+        return pixels[(y * size + x) * TextureCache.CHANNELS + channel] & 0xFF;
+    }
+
+    // Down to and including 1x1
+    public static int getLevelCount(int layerSize) {
+        return 32 - Integer.numberOfLeadingZeros(layerSize);
+    }
+
+    public static int getLevelSize(int layerSize, int level) {
+        return Math.max(1, layerSize >> level);
+    }
+
+    private static long getDataSize(int layerSize, int layerCount) {
+        long size = 0;
+
+        for (int level = 0; level < TextureCache.getLevelCount(layerSize); level++) {
+            int levelSize = TextureCache.getLevelSize(layerSize, level);
+
+            size += (long) levelSize * levelSize * TextureCache.CHANNELS * layerCount;
+        }
+
+        return size;
+    }
+
+    // Every layer of one level back to back, a view into the mapped file ready to hand to glTexImage3D
+    public ByteBuffer getLevel(int level) {
+        long offset = TextureCache.HEADER_SIZE;
+
+        for (int i = 0; i < level; i++) {
+            int levelSize = TextureCache.getLevelSize(this.layerSize, i);
+
+            offset += (long) levelSize * levelSize * TextureCache.CHANNELS * this.layerCount;
+        }
+
+        int levelSize = TextureCache.getLevelSize(this.layerSize, level);
+
+        int length = levelSize * levelSize * TextureCache.CHANNELS * this.layerCount;
+
+        return this.data.slice((int) offset, length).order(ByteOrder.nativeOrder());
+    }
+
+    public int getLayerSize() {
+        return this.layerSize;
+    }
+
+    public int getLayerCount() {
+        return this.layerCount;
+    }
+
+    public int getLevelCount() {
+        return this.levelCount;
+    }
+
+    public long getHash() {
+        return this.hash;
+    }
+}
@@ -1,38 +1,61 @@
 package com.duckyshine.app.physics;
 
-import static org.lwjgl.opengl.GL11.*;
-
 import org.joml.Vector3f;
 
-import com.duckyshine.app.buffer.AABBBuffer;
-import com.duckyshine.app.buffer.Buffer;
-import com.duckyshine.app.buffer.BufferData;
 import com.duckyshine.app.math.Axis;
 
+// Plain data box used by physics, drawing one is left to debug.AABBRenderer
 public class AABB {
-    private final int[] INDICES = {
-            0, 1, 1, 2, 2, 3, 3, 0,
-            4, 5, 5, 6, 6, 7, 7, 4,
-            0, 4, 1, 5, 2, 6, 3, 7
-    };
-
     private Vector3f min;
     private Vector3f max;
 
-    private Buffer aabbBuffer;
-
     public AABB(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
         this.min = new Vector3f(minX, minY, minZ);
         this.max = new Vector3f(maxX, maxY, maxZ);
-
-        this.aabbBuffer = new AABBBuffer();
     }
 
     public AABB(Vector3f min, Vector3f max) {
         this.min = min;
         this.max = max;
+    }
+
+    public AABB(AABB aabb) {
+        this.min = new Vector3f(aabb.min);
+        this.max = new Vector3f(aabb.max);
+    }
+
+    public void set(AABB aabb) {
+        this.min.set(aabb.min);
+        this.max.set(aabb.max);
+    }
 
-        this.aabbBuffer = new AABBBuffer();
+    public void translate(float x, float y, float z) {
+        this.min.add(x, y, z);
+        this.max.add(x, y, z);
+    }
+
+    public void translate(float offset, Axis axis) {
+        switch (axis) {
+            case X:
+                this.translate(offset, 0.0f, 0.0f);
+                break;
+            case Y:
+                this.translate(0.0f, offset, 0.0f);
+                break;
+            case Z:
+                this.translate(0.0f, 0.0f, offset);
+                break;
+            default:
+                break;
+        }
+    }
+
+    public float getMin(Axis axis) {
+        return this.min.get(axis.ordinal());
+    }
+
+    public float getMax(Axis axis) {
+        return this.max.get(axis.ordinal());
     }
 
     public float[] getVertices() {
@@ -50,37 +73,6 @@ public class AABB {
         return vertices;
     }
 
-    public AABB getOffset(float offset, Axis axis) {
-        switch (axis) {
-            case X:
-                return new AABB(
-                        this.min.x + offset,
-                        this.min.y,
-                        this.min.z,
-                        this.max.x + offset,
-                        this.max.y,
-                        this.max.z);
-            case Y:
-                return new AABB(
-                        this.min.x,
-                        this.min.y + offset,
-                        this.min.z,
-                        this.max.x,
-                        this.max.y + offset,
-                        this.max.z);
-            case Z:
-                return new AABB(
-                        this.min.x,
-                        this.min.y,
-                        this.min.z + offset,
-                        this.max.x,
-                        this.max.y,
-                        this.max.z + offset);
-            default:
-                return this;
-        }
-    }
-
     public float getCentre(Axis axis) {
         switch (axis) {
             case X:
@@ -94,18 +86,6 @@ public class AABB {
         }
     }
 
-    public void loadBuffer() {
-        BufferData bufferData = new BufferData(this.getVertices(), this.INDICES);
-
-        this.aabbBuffer.setup(bufferData);
-    }
-
-    public void render() {
-        glDrawElements(GL_LINES, this.INDICES.length, GL_UNSIGNED_INT, 0);
-
-        this.aabbBuffer.detachVertexArray();
-    }
-
     public Vector3f getMin() {
         return this.min;
     }
@@ -0,0 +1,46 @@
+package com.duckyshine.app.physics;
+
+// Turns variable frame times into whole physics ticks, leftover time becomes the render interpolation factor
+public class FixedTimestep {
+    public static final float STEP = 1.0f / 60.0f;
+
+    // A hitch longer than this many ticks is dropped instead of simulated, the world slows down rather than spirals
+    public static final int MAXIMUM_STEPS = 5;
+
+    private double accumulator;
+
+    private long tick;
+
+    public FixedTimestep() {
+        this.accumulator = 0.0d;
+
+        this.tick = 0;
+    }
+
+    public int advance(float frameTime) {
+        this.accumulator += Math.max(0.0f, frameTime);
+
+        int steps = (int) (this.accumulator / FixedTimestep.STEP);
+
+        if (steps > FixedTimestep.MAXIMUM_STEPS) {
+            steps = FixedTimestep.MAXIMUM_STEPS;
+
+            this.accumulator = 0.0d;
+        } else {
+            this.accumulator -= steps * (double) FixedTimestep.STEP;
+        }
+
+        this.tick += steps;
+
+        return steps;
+    }
+
+    // How far the render time is between the previous tick and the latest one
+    public float getAlpha() {
+        return (float) (this.accumulator / FixedTimestep.STEP);
+    }
+
+    public long getTick() {
+        return this.tick;
+    }
+}
@@ -0,0 +1,61 @@
+package com.duckyshine.app.physics;
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.List;
+import java.util.ArrayList;
+
+// One input per physics tick, written as plain text lines so regression runs can be checked in
+public class InputLog {
+    private List<PlayerInput> inputs;
+
+    public InputLog() {
+        this.inputs = new ArrayList<>();
+    }
+
+    public void record(PlayerInput input) {
+        this.inputs.add(input);
+    }
+
+    // Ticks past the end of the log see no input
+    public PlayerInput get(int tick) {
+        if (tick < 0 || tick >= this.inputs.size()) {
+            return PlayerInput.NONE;
+        }
+
+        return this.inputs.get(tick);
+    }
+
+    public int size() {
+        return this.inputs.size();
+    }
+
+    public void clear() {
+        this.inputs.clear();
+    }
+
+    public void write(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+
+        for (PlayerInput input : this.inputs) {
+            lines.add(input.toString());
+        }
+
+        Files.write(path, lines);
+    }
+
+    public static InputLog read(Path path) throws IOException {
+        InputLog inputLog = new InputLog();
+
+        for (String line : Files.readAllLines(path)) {
+            if (!line.isBlank()) {
+                inputLog.record(PlayerInput.parse(line));
+            }
+        }
+
+        return inputLog;
+    }
+}
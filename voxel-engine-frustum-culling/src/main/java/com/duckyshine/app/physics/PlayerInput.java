@@ -0,0 +1,96 @@
+package com.duckyshine.app.physics;
+
+import com.duckyshine.app.camera.Camera;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+// Everything one physics tick reads from the player, recorded as is so a run can be replayed exactly
+public class PlayerInput {
+    public static final int FORWARD = 1;
+    public static final int BACKWARD = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int JUMP = 1 << 4;
+    public static final int DESCEND = 1 << 5;
+    public static final int TOGGLE_GRAVITY = 1 << 6;
+    public static final int PLACE = 1 << 7;
+    public static final int BREAK = 1 << 8;
+
+    public static final PlayerInput NONE = new PlayerInput(0, -90.0f, 0.0f);
+
+    private final int keys;
+
+    private final float yaw;
+    private final float pitch;
+
+    public PlayerInput(int keys, float yaw, float pitch) {
+        this.keys = keys;
+
+        this.yaw = yaw;
+        this.pitch = pitch;
+    }
+
+    public static PlayerInput poll(long window, Camera camera) {
+        int keys = 0;
+
+        keys |= PlayerInput.getKey(window, GLFW_KEY_W, PlayerInput.FORWARD);
+        keys |= PlayerInput.getKey(window, GLFW_KEY_S, PlayerInput.BACKWARD);
+        keys |= PlayerInput.getKey(window, GLFW_KEY_A, PlayerInput.LEFT);
+        keys |= PlayerInput.getKey(window, GLFW_KEY_D, PlayerInput.RIGHT);
+        keys |= PlayerInput.getKey(window, GLFW_KEY_SPACE, PlayerInput.JUMP);
+        keys |= PlayerInput.getKey(window, GLFW_KEY_LEFT_SHIFT, PlayerInput.DESCEND);
+        keys |= PlayerInput.getKey(window, GLFW_KEY_G, PlayerInput.TOGGLE_GRAVITY);
+
+        keys |= PlayerInput.getMouseButton(window, GLFW_MOUSE_BUTTON_RIGHT, PlayerInput.PLACE);
+        keys |= PlayerInput.getMouseButton(window, GLFW_MOUSE_BUTTON_LEFT, PlayerInput.BREAK);
+
+        return new PlayerInput(keys, camera.getYaw(), camera.getPitch());
+    }
+
+    private static int getKey(long window, int key, int flag) {
+        return glfwGetKey(window, key) == GLFW_PRESS ? flag : 0;
+    }
+
+    private static int getMouseButton(long window, int button, int flag) {
+        return glfwGetMouseButton(window, button) == GLFW_PRESS ? flag : 0;
+    }
+
+    public boolean isPressed(int key) {
+        return (this.keys & key) != 0;
+    }
+
+    public PlayerInput without(int key) {
+        if (!this.isPressed(key)) {
+            return this;
+        }
+
+        return new PlayerInput(this.keys & ~key, this.yaw, this.pitch);
+    }
+
+    public int getKeys() {
+        return this.keys;
+    }
+
+    public float getYaw() {
+        return this.yaw;
+    }
+
+    public float getPitch() {
+        return this.pitch;
+    }
+
+    @Override
+    public String toString() {
+        return this.keys + " " + this.yaw + " " + this.pitch;
+    }
+
+    public static PlayerInput parse(String line) {
+        String[] parts = line.trim().split(" ");
+
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed input line: " + line);
+        }
+
+        return new PlayerInput(Integer.parseInt(parts[0]), Float.parseFloat(parts[1]), Float.parseFloat(parts[2]));
+    }
+}
@@ -0,0 +1,48 @@
+package com.duckyshine.app.physics;
+
+import org.joml.Vector3f;
+
+import com.duckyshine.app.physics.controller.Player;
+
+// One fixed tick of player movement, shared by the game loop and headless replays
+public class PlayerPhysics {
+    private VoxelCollider voxelCollider;
+
+    private Vector3f motion;
+
+    public PlayerPhysics(VoxelGrid voxelGrid) {
+        this.voxelCollider = new VoxelCollider(voxelGrid);
+
+        this.motion = new Vector3f();
+    }
+
+    public void step(Player player, PlayerInput input) {
+        float deltaTime = FixedTimestep.STEP;
+
+        player.savePreviousPosition();
+
+        player.updateVelocity(input, deltaTime);
+
+        player.getMotion(deltaTime, this.motion);
+
+        float requestedY = this.motion.y;
+
+        int collisions = this.voxelCollider.move(player.getAABB(), this.motion);
+
+        if ((collisions & VoxelCollider.Y) != 0) {
+            if (requestedY <= 0.0f) {
+                player.setIsGrounded(true);
+            } else {
+                player.resetVerticalVelocity();
+            }
+        } else {
+            player.setIsGrounded(false);
+        }
+
+        player.move(this.motion);
+    }
+
+    public VoxelCollider getVoxelCollider() {
+        return this.voxelCollider;
+    }
+}
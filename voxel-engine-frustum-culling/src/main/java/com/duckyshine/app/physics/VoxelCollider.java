@@ -0,0 +1,157 @@
+package com.duckyshine.app.physics;
+
+import org.joml.Vector3f;
+
+import com.duckyshine.app.math.Axis;
+
+// Sweeps a box through the voxel grid one axis at a time, Y first so landing wins over sliding, nothing is allocated
+public class VoxelCollider {
+    public static final int NONE = 0;
+
+    public static final int X = 1 << Axis.X.ordinal();
+    public static final int Y = 1 << Axis.Y.ordinal();
+    public static final int Z = 1 << Axis.Z.ordinal();
+
+    // Boxes stop this far short of a face, so resting contact never counts as overlap on the next sweep
+    private static final float EPSILON = 1e-3f;
+
+    private final VoxelGrid voxelGrid;
+
+    public VoxelCollider(VoxelGrid voxelGrid) {
+        this.voxelGrid = voxelGrid;
+    }
+
+    // Moves aabb by as much of motion as fits, motion is overwritten with the movement applied, returns the axes hit
+    public int move(AABB aabb, Vector3f motion) {
+        int collisions = VoxelCollider.NONE;
+
+        float y = this.sweep(aabb, motion.y, Axis.Y);
+
+        if (y != motion.y) {
+            collisions |= VoxelCollider.Y;
+        }
+
+        motion.y = y;
+
+        aabb.translate(y, Axis.Y);
+
+        float x = this.sweep(aabb, motion.x, Axis.X);
+
+        if (x != motion.x) {
+            collisions |= VoxelCollider.X;
+        }
+
+        motion.x = x;
+
+        aabb.translate(x, Axis.X);
+
+        float z = this.sweep(aabb, motion.z, Axis.Z);
+
+        if (z != motion.z) {
+            collisions |= VoxelCollider.Z;
+        }
+
+        motion.z = z;
+
+        aabb.translate(z, Axis.Z);
+
+        return collisions;
+    }
+
+    // Clamps a move along one axis to the nearest solid cell in the swept slab
+    private float sweep(AABB aabb, float offset, Axis axis) {
+        if (offset == 0.0f) {
+            return offset;
+        }
+
+        Axis first = (axis == Axis.X) ? Axis.Y : Axis.X;
+        Axis second = (axis == Axis.Z) ? Axis.Y : Axis.Z;
+
+        int firstStart = this.getStart(aabb.getMin(first));
+        int firstEnd = this.getEnd(aabb.getMax(first));
+
+        int secondStart = this.getStart(aabb.getMin(second));
+        int secondEnd = this.getEnd(aabb.getMax(second));
+
+        if (offset > 0.0f) {
+            float face = aabb.getMax(axis);
+
+            // Cells the box already reaches into are skipped, so a box stuck inside a block can still move out
+            int start = this.getEnd(face) + 1;
+            int end = this.getEnd(face + offset);
+
+            for (int cell = start; cell <= end; cell++) {
+                if (this.isSlabSolid(axis, cell, first, firstStart, firstEnd, second, secondStart, secondEnd)) {
+                    return Math.max(0.0f, Math.min(offset, cell - face - VoxelCollider.EPSILON));
+                }
+            }
+        } else {
+            float face = aabb.getMin(axis);
+
+            int start = this.getStart(face) - 1;
+            int end = this.getStart(face + offset);
+
+            for (int cell = start; cell >= end; cell--) {
+                if (this.isSlabSolid(axis, cell, first, firstStart, firstEnd, second, secondStart, secondEnd)) {
+                    return Math.min(0.0f, Math.max(offset, cell + 1 - face + VoxelCollider.EPSILON));
+                }
+            }
+        }
+
+        return offset;
+    }
+
+    // First cell the box reaches into from a minimum face
+    private int getStart(float value) {
+        return (int) Math.floor(value + VoxelCollider.EPSILON);
+    }
+
+    // Last cell the box reaches into from a maximum face
+    private int getEnd(float value) {
+        return (int) Math.floor(value - VoxelCollider.EPSILON);
+    }
+
+    private boolean isSlabSolid(Axis axis, int cell, Axis first, int firstStart, int firstEnd, Axis second,
+            int secondStart, int secondEnd) {
+        for (int a = firstStart; a <= firstEnd; a++) {
+            for (int b = secondStart; b <= secondEnd; b++) {
+                if (this.isSolid(axis, cell, first, a, second, b)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isSolid(Axis axis, int cell, Axis first, int a, Axis second, int b) {
+        int x = (axis == Axis.X) ? cell : (first == Axis.X) ? a : b;
+        int y = (axis == Axis.Y) ? cell : (first == Axis.Y) ? a : b;
+        int z = (axis == Axis.Z) ? cell : (second == Axis.Z) ? b : a;
+
+        return this.voxelGrid.isSolid(x, y, z);
+    }
+
+    // Whether the box overlaps any solid cell where it stands
+    public boolean isColliding(AABB aabb) {
+        int minimumX = this.getStart(aabb.getMin().x);
+        int minimumY = this.getStart(aabb.getMin().y);
+        int minimumZ = this.getStart(aabb.getMin().z);
+
+        int maximumX = this.getEnd(aabb.getMax().x);
+        int maximumY = this.getEnd(aabb.getMax().y);
+        int maximumZ = this.getEnd(aabb.getMax().z);
+
+        for (int x = minimumX; x <= maximumX; x++) {
+            for (int y = minimumY; y <= maximumY; y++) {
+                for (int z = minimumZ; z <= maximumZ; z++) {
+                    if (this.voxelGrid.isSolid(x, y, z)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,6 @@
+package com.duckyshine.app.physics;
+
+// Anything physics can collide against, queried in global block coordinates
+public interface VoxelGrid {
+    public boolean isSolid(int x, int y, int z);
+}
@@ -10,16 +10,15 @@ import com.duckyshine.app.model.BlockType;
 import com.duckyshine.app.camera.Camera;
 
 import com.duckyshine.app.physics.AABB;
+import com.duckyshine.app.physics.PlayerInput;
 import com.duckyshine.app.physics.ray.Ray;
 import com.duckyshine.app.physics.ray.RayResult;
 import com.duckyshine.app.scene.ChunkManager;
 import com.duckyshine.app.scene.Scene;
 import com.duckyshine.app.debug.Debug;
 
-import static org.lwjgl.glfw.GLFW.*;
-
 public class Player {
-    private final int RENDER_DISTANCE = 2;
+    private final int RENDER_DISTANCE = 8;
 
     private final float SPEED = 10.0f;
     private final float VERTICAL_SPEED = 5.0f; // I think 5 works fine, that should be ~ vertical speed as og mc
@@ -45,6 +44,8 @@ public class Player {
     private Vector3f position;
     private Vector3f velocity;
 
+    private Vector3f previousPosition;
+
     private Vector3f dimension;
 
     private AABB aabb;
@@ -72,6 +73,8 @@ public class Player {
     private void initialise() {
         this.isGravityOn = true;
 
+        this.previousPosition = new Vector3f(this.position);
+
         this.camera = new Camera(this.getCameraPosition());
 
         this.dimension = new Vector3f(this.WIDTH, this.HEIGHT, this.DEPTH);
@@ -104,7 +107,12 @@ public class Player {
     }
 
     private Vector3f getCameraPosition() {
-        Vector3f cameraPosition = new Vector3f(this.position);
+        return this.getCameraPosition(1.0f);
+    }
+
+    // Where the camera is alpha of the way from the start of the last tick to its end
+    public Vector3f getCameraPosition(float alpha) {
+        Vector3f cameraPosition = this.previousPosition.lerp(this.position, alpha, new Vector3f());
 
         cameraPosition.x += this.CAMERA_OFFSET_X;
         cameraPosition.y += this.CAMERA_OFFSET_Y;
@@ -118,26 +126,28 @@ public class Player {
         this.updateAABBMax();
     }
 
-    public void updateHorizontalVelocity(long window, float deltaTime) {
+    public void updateHorizontalVelocity(PlayerInput input) {
+        this.camera.setRotation(input.getYaw(), input.getPitch());
+
         Vector3f front = this.camera.getFront();
         Vector3f right = this.camera.getRight();
 
         Vector3f velocity = new Vector3f();
 
         // another issue is that forward and back vel are reliant on camera vector
-        if (glfwGetKey(window, GLFW_KEY_W) == GLFW_PRESS) {
+        if (input.isPressed(PlayerInput.FORWARD)) {
             velocity.add(front);
         }
 
-        if (glfwGetKey(window, GLFW_KEY_S) == GLFW_PRESS) {
+        if (input.isPressed(PlayerInput.BACKWARD)) {
             velocity.sub(front);
         }
 
-        if (glfwGetKey(window, GLFW_KEY_D) == GLFW_PRESS) {
+        if (input.isPressed(PlayerInput.RIGHT)) {
             velocity.add(right);
         }
 
-        if (glfwGetKey(window, GLFW_KEY_A) == GLFW_PRESS) {
+        if (input.isPressed(PlayerInput.LEFT)) {
             velocity.sub(right);
         }
 
@@ -149,16 +159,16 @@ public class Player {
         this.velocity.z = velocity.z;
     }
 
-    public void updateVerticalVelocity(long window, float deltaTime) {
-        if (glfwGetKey(window, GLFW_KEY_G) == GLFW_PRESS) {
+    public void updateVerticalVelocity(PlayerInput input, float deltaTime) {
+        if (input.isPressed(PlayerInput.TOGGLE_GRAVITY)) {
             this.isGravityOn ^= true;
         }
 
-        if (glfwGetKey(window, GLFW_KEY_SPACE) == GLFW_PRESS && (this.isGrounded || !this.isGravityOn)) {
+        if (input.isPressed(PlayerInput.JUMP) && (this.isGrounded || !this.isGravityOn)) {
             this.velocity.y = this.VERTICAL_SPEED;
         }
 
-        if (glfwGetKey(window, GLFW_KEY_LEFT_SHIFT) == GLFW_PRESS && !this.isGravityOn) {
+        if (input.isPressed(PlayerInput.DESCEND) && !this.isGravityOn) {
             this.velocity.y = -this.VERTICAL_SPEED;
         }
 
@@ -168,8 +178,12 @@ public class Player {
     }
 
     public void updateVelocity(long window, float deltaTime) {
-        this.updateHorizontalVelocity(window, deltaTime);
-        this.updateVerticalVelocity(window, deltaTime);
+        this.updateVelocity(PlayerInput.poll(window, this.camera), deltaTime);
+    }
+
+    public void updateVelocity(PlayerInput input, float deltaTime) {
+        this.updateHorizontalVelocity(input);
+        this.updateVerticalVelocity(input, deltaTime);
     }
 
     public Vector3f getNextPosition(float deltaTime) {
@@ -184,9 +198,38 @@ public class Player {
         return position;
     }
 
+    // Same step as getNextPosition, written into the caller's vector instead of a new one
+    public void getMotion(float deltaTime, Vector3f motion) {
+        motion.set(this.velocity).mul(deltaTime);
+
+        if (!this.isGravityOn) {
+            this.resetVerticalVelocity();
+        }
+    }
+
+    // The camera follows in interpolate, so a tick only moves the body
+    public void move(Vector3f motion) {
+        this.position.add(motion);
+
+        this.updateAABB();
+    }
+
+    public void savePreviousPosition() {
+        this.previousPosition.set(this.position);
+    }
+
+    // Renders between the last two ticks, so motion stays smooth when frames and ticks don't line up
+    public void interpolate(float alpha) {
+        this.camera.setPosition(this.getCameraPosition(alpha));
+
+        this.camera.updateMatrices();
+    }
+
     public void setPosition(Vector3f position) {
         this.position.set(position);
 
+        this.previousPosition.set(position);
+
         this.updateAABB();
 
         this.camera.setPosition(this.getCameraPosition());
@@ -194,23 +237,20 @@ public class Player {
         this.camera.updateMatrices();
     }
 
-    public void update(long window, Scene scene) {
-        this.addBlock(window, scene);
-        this.removeBlock(window, scene);
+    // Buttons come in with the input sampled on the window thread, a held button acts once until it is released
+    public void update(PlayerInput input, Scene scene) {
+        this.addBlock(input, scene);
+        this.removeBlock(input, scene);
     }
 
-    public void addBlock(long window, Scene scene) {
-        int clickState = glfwGetMouseButton(window, GLFW_MOUSE_BUTTON_RIGHT);
+    public void addBlock(PlayerInput input, Scene scene) {
+        boolean isPressed = input.isPressed(PlayerInput.PLACE);
 
-        if (clickState == GLFW_PRESS && !this.isRightMouseButtonClicked) {
+        if (isPressed && !this.isRightMouseButtonClicked) {
             this.addBlock(scene);
-
-            this.isRightMouseButtonClicked = true;
         }
 
-        if (clickState == GLFW_RELEASE && this.isRightMouseButtonClicked) {
-            this.isRightMouseButtonClicked = false;
-        }
+        this.isRightMouseButtonClicked = isPressed;
     }
 
     public void addBlock(Scene scene) {
@@ -228,18 +268,14 @@ public class Player {
         }
     }
 
-    public void removeBlock(long window, Scene scene) {
-        int clickState = glfwGetMouseButton(window, GLFW_MOUSE_BUTTON_LEFT);
+    public void removeBlock(PlayerInput input, Scene scene) {
+        boolean isPressed = input.isPressed(PlayerInput.BREAK);
 
-        if (clickState == GLFW_PRESS && !this.isLeftMouseButtonClicked) {
+        if (isPressed && !this.isLeftMouseButtonClicked) {
             this.removeBlock(scene);
-
-            this.isLeftMouseButtonClicked = true;
         }
 
-        if (clickState == GLFW_RELEASE && this.isLeftMouseButtonClicked) {
-            this.isLeftMouseButtonClicked = false;
-        }
+        this.isLeftMouseButtonClicked = isPressed;
     }
 
     public void removeBlock(Scene scene) {
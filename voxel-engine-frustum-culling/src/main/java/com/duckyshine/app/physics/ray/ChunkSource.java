@@ -0,0 +1,8 @@
+package com.duckyshine.app.physics.ray;
+
+import com.duckyshine.app.model.Chunk;
+
+// Looks up a loaded chunk by its origin in global block coordinates, null when there is none
+public interface ChunkSource {
+    public Chunk getChunk(int x, int y, int z);
+}
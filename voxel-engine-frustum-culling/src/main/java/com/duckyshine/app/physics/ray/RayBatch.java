@@ -0,0 +1,187 @@
+package com.duckyshine.app.physics.ray;
+
+import java.util.Arrays;
+
+// Rays in and hits out as parallel arrays, owned by the caller and reused between casts so casting never allocates
+public class RayBatch {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size;
+
+    private float[] originXs;
+    private float[] originYs;
+    private float[] originZs;
+
+    private float[] directionXs;
+    private float[] directionYs;
+    private float[] directionZs;
+
+    private float[] maximumDistances;
+
+    private boolean[] isHit;
+
+    private int[] blockXs;
+    private int[] blockYs;
+    private int[] blockZs;
+
+    // Outward normal of the face the ray entered through, zero when the ray starts inside a block
+    private int[] normalXs;
+    private int[] normalYs;
+    private int[] normalZs;
+
+    private float[] distances;
+
+    public RayBatch() {
+        this(RayBatch.INITIAL_CAPACITY);
+    }
+
+    public RayBatch(int capacity) {
+        this.size = 0;
+
+        this.allocate(Math.max(1, capacity));
+    }
+
+    private void allocate(int length) {
+        this.originXs = this.copy(this.originXs, length);
+        this.originYs = this.copy(this.originYs, length);
+        this.originZs = this.copy(this.originZs, length);
+
+        this.directionXs = this.copy(this.directionXs, length);
+        this.directionYs = this.copy(this.directionYs, length);
+        this.directionZs = this.copy(this.directionZs, length);
+
+        this.maximumDistances = this.copy(this.maximumDistances, length);
+
+        this.isHit = (this.isHit == null) ? new boolean[length] : Arrays.copyOf(this.isHit, length);
+
+        this.blockXs = this.copy(this.blockXs, length);
+        this.blockYs = this.copy(this.blockYs, length);
+        this.blockZs = this.copy(this.blockZs, length);
+
+        this.normalXs = this.copy(this.normalXs, length);
+        this.normalYs = this.copy(this.normalYs, length);
+        this.normalZs = this.copy(this.normalZs, length);
+
+        this.distances = this.copy(this.distances, length);
+    }
+
+    private float[] copy(float[] values, int length) {
+        return (values == null) ? new float[length] : Arrays.copyOf(values, length);
+    }
+
+    private int[] copy(int[] values, int length) {
+        return (values == null) ? new int[length] : Arrays.copyOf(values, length);
+    }
+
+    // Direction does not need to be normalised, distances are always in blocks
+    public int add(float originX, float originY, float originZ, float directionX, float directionY, float directionZ,
+            float maximumDistance) {
+        if (this.size == this.originXs.length) {
+            this.allocate(this.size << 1);
+        }
+
+        int index = this.size++;
+
+        this.originXs[index] = originX;
+        this.originYs[index] = originY;
+        this.originZs[index] = originZ;
+
+        this.directionXs[index] = directionX;
+        this.directionYs[index] = directionY;
+        this.directionZs[index] = directionZ;
+
+        this.maximumDistances[index] = maximumDistance;
+
+        this.setMiss(index);
+
+        return index;
+    }
+
+    public void clear() {
+        this.size = 0;
+    }
+
+    void setHit(int index, int x, int y, int z, int normalX, int normalY, int normalZ, float distance) {
+        this.isHit[index] = true;
+
+        this.blockXs[index] = x;
+        this.blockYs[index] = y;
+        this.blockZs[index] = z;
+
+        this.normalXs[index] = normalX;
+        this.normalYs[index] = normalY;
+        this.normalZs[index] = normalZ;
+
+        this.distances[index] = distance;
+    }
+
+    void setMiss(int index) {
+        this.isHit[index] = false;
+
+        this.distances[index] = Float.POSITIVE_INFINITY;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public float getOriginX(int index) {
+        return this.originXs[index];
+    }
+
+    public float getOriginY(int index) {
+        return this.originYs[index];
+    }
+
+    public float getOriginZ(int index) {
+        return this.originZs[index];
+    }
+
+    public float getDirectionX(int index) {
+        return this.directionXs[index];
+    }
+
+    public float getDirectionY(int index) {
+        return this.directionYs[index];
+    }
+
+    public float getDirectionZ(int index) {
+        return this.directionZs[index];
+    }
+
+    public float getMaximumDistance(int index) {
+        return this.maximumDistances[index];
+    }
+
+    public boolean getIsHit(int index) {
+        return this.isHit[index];
+    }
+
+    public int getBlockX(int index) {
+        return this.blockXs[index];
+    }
+
+    public int getBlockY(int index) {
+        return this.blockYs[index];
+    }
+
+    public int getBlockZ(int index) {
+        return this.blockZs[index];
+    }
+
+    public int getNormalX(int index) {
+        return this.normalXs[index];
+    }
+
+    public int getNormalY(int index) {
+        return this.normalYs[index];
+    }
+
+    public int getNormalZ(int index) {
+        return this.normalZs[index];
+    }
+
+    public float getDistance(int index) {
+        return this.distances[index];
+    }
+}
@@ -0,0 +1,380 @@
+package com.duckyshine.app.physics.ray;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.duckyshine.app.math.Voxel;
+
+import com.duckyshine.app.model.Chunk;
+
+// Casts whole batches of rays with an integer grid walk, the chunk under the ray is looked up once per chunk crossed
+// instead of once per block, empty chunks and bricks are crossed in one jump, and batches big enough to be worth it
+// are split across worker threads
+public class RaycastService {
+    // Below this many rays a batch is cast on the calling thread, handing off would cost more than it saves
+    public static final int PARALLEL_THRESHOLD = 512;
+
+    private static final int RANGE_SIZE = 256;
+
+    // How much empty space a ray may jump over at once, block by block, whole empty or unloaded chunks, or also
+    // empty bricks inside occupied chunks
+    public static final int SKIP_NONE = 0;
+    public static final int SKIP_CHUNKS = 1;
+    public static final int SKIP_BRICKS = 2;
+
+    private final int threadCount;
+
+    private final ChunkSource chunkSource;
+
+    private final ExecutorService executor;
+
+    private final List<Range> ranges;
+
+    // Walk state for casts on the calling thread, each range has its own
+    private final Walk walk;
+
+    private int skipping;
+
+    public RaycastService(ChunkSource chunkSource) {
+        this(chunkSource, 1);
+    }
+
+    public RaycastService(ChunkSource chunkSource, int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+
+        this.chunkSource = chunkSource;
+
+        this.executor = (this.threadCount > 1) ? Executors.newFixedThreadPool(this.threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "raycast-worker");
+
+            thread.setDaemon(true);
+
+            return thread;
+        }) : null;
+
+        this.ranges = new ArrayList<>();
+
+        this.walk = new Walk();
+
+        this.skipping = RaycastService.SKIP_BRICKS;
+    }
+
+    public void cast(RayBatch rayBatch) {
+        int size = rayBatch.size();
+
+        if (this.executor == null || size < RaycastService.PARALLEL_THRESHOLD) {
+            this.cast(rayBatch, 0, size, this.walk);
+
+            return;
+        }
+
+        int rangeCount = (size + RaycastService.RANGE_SIZE - 1) / RaycastService.RANGE_SIZE;
+
+        while (this.ranges.size() < rangeCount) {
+            this.ranges.add(new Range());
+        }
+
+        List<Range> ranges = this.ranges.subList(0, rangeCount);
+
+        for (int i = 0; i < rangeCount; i++) {
+            Range range = ranges.get(i);
+
+            range.rayBatch = rayBatch;
+
+            range.start = i * RaycastService.RANGE_SIZE;
+            range.end = Math.min(size, range.start + RaycastService.RANGE_SIZE);
+        }
+
+        try {
+            for (Future<Void> future : this.executor.invokeAll(ranges)) {
+                future.get();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Raycast range failed", exception.getCause());
+        }
+    }
+
+    private void cast(RayBatch rayBatch, int start, int end, Walk walk) {
+        for (int i = start; i < end; i++) {
+            this.cast(rayBatch, i, walk);
+        }
+    }
+
+    private void cast(RayBatch rayBatch, int index, Walk walk) {
+        if (!walk.start(rayBatch, index)) {
+            rayBatch.setMiss(index);
+
+            return;
+        }
+
+        float maximumDistance = rayBatch.getMaximumDistance(index);
+
+        Chunk chunk = null;
+
+        // Origin of the cached chunk, MIN_VALUE forces a lookup on the first block
+        int chunkX = Integer.MIN_VALUE;
+        int chunkY = Integer.MIN_VALUE;
+        int chunkZ = Integer.MIN_VALUE;
+
+        while (walk.distance <= maximumDistance) {
+            int blockX = Math.floorMod(walk.x, Voxel.CHUNK_WIDTH);
+            int blockY = Math.floorMod(walk.y, Voxel.CHUNK_HEIGHT);
+            int blockZ = Math.floorMod(walk.z, Voxel.CHUNK_DEPTH);
+
+            if (walk.x - blockX != chunkX || walk.y - blockY != chunkY || walk.z - blockZ != chunkZ) {
+                chunkX = walk.x - blockX;
+                chunkY = walk.y - blockY;
+                chunkZ = walk.z - blockZ;
+
+                chunk = this.chunkSource.getChunk(chunkX, chunkY, chunkZ);
+            }
+
+            boolean isChunkEmpty = chunk == null || chunk.isEmpty();
+
+            if (isChunkEmpty && this.skipping >= RaycastService.SKIP_CHUNKS) {
+                walk.skip(chunkX, chunkY, chunkZ, Voxel.CHUNK_WIDTH, Voxel.CHUNK_HEIGHT, Voxel.CHUNK_DEPTH);
+
+                continue;
+            }
+
+            if (isChunkEmpty) {
+                walk.step();
+
+                continue;
+            }
+
+            if (this.skipping == RaycastService.SKIP_BRICKS && chunk.isBrickEmpty(blockX, blockY, blockZ)) {
+                int size = Voxel.BRICK_SIZE;
+
+                walk.skip(walk.x - blockX % size, walk.y - blockY % size, walk.z - blockZ % size, size, size, size);
+
+                continue;
+            }
+
+            if (chunk.isBlockActive(blockX, blockY, blockZ)) {
+                rayBatch.setHit(index, walk.x, walk.y, walk.z, walk.normalX, walk.normalY, walk.normalZ, walk.distance);
+
+                return;
+            }
+
+            walk.step();
+        }
+
+        rayBatch.setMiss(index);
+    }
+
+    public void cleanup() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+
+    public void setSkipping(int skipping) {
+        this.skipping = skipping;
+    }
+
+    public int getSkipping() {
+        return this.skipping;
+    }
+
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    // One slice of a batch, every range walks with its own cached chunk so workers share nothing but the batch
+    private class Range implements Callable<Void> {
+        private RayBatch rayBatch;
+
+        private int start;
+        private int end;
+
+        private final Walk walk = new Walk();
+
+        @Override
+        public Void call() {
+            RaycastService.this.cast(this.rayBatch, this.start, this.end, this.walk);
+
+            return null;
+        }
+    }
+
+    // Grid walk state for one ray at a time, block coordinates are integers and every boundary distance is measured
+    // from the origin, so jumping over a region lands exactly where stepping block by block would
+    private static class Walk {
+        private float originX;
+        private float originY;
+        private float originZ;
+
+        private float directionX;
+        private float directionY;
+        private float directionZ;
+
+        private int stepX;
+        private int stepY;
+        private int stepZ;
+
+        private float deltaX;
+        private float deltaY;
+        private float deltaZ;
+
+        private int x;
+        private int y;
+        private int z;
+
+        // Distance along the ray to the next block boundary on each axis
+        private float nextX;
+        private float nextY;
+        private float nextZ;
+
+        // Outward normal of the face the walk last entered through, zero while still in the origin block
+        private int normalX;
+        private int normalY;
+        private int normalZ;
+
+        private float distance;
+
+        private boolean start(RayBatch rayBatch, int index) {
+            float directionX = rayBatch.getDirectionX(index);
+            float directionY = rayBatch.getDirectionY(index);
+            float directionZ = rayBatch.getDirectionZ(index);
+
+            float length = (float) Math.sqrt(directionX * directionX + directionY * directionY + directionZ * directionZ);
+
+            if (length == 0.0f) {
+                return false;
+            }
+
+            this.originX = rayBatch.getOriginX(index);
+            this.originY = rayBatch.getOriginY(index);
+            this.originZ = rayBatch.getOriginZ(index);
+
+            this.directionX = directionX / length;
+            this.directionY = directionY / length;
+            this.directionZ = directionZ / length;
+
+            this.stepX = (this.directionX > 0.0f) ? 1 : (this.directionX < 0.0f) ? -1 : 0;
+            this.stepY = (this.directionY > 0.0f) ? 1 : (this.directionY < 0.0f) ? -1 : 0;
+            this.stepZ = (this.directionZ > 0.0f) ? 1 : (this.directionZ < 0.0f) ? -1 : 0;
+
+            this.deltaX = (this.stepX != 0) ? Math.abs(1.0f / this.directionX) : Float.POSITIVE_INFINITY;
+            this.deltaY = (this.stepY != 0) ? Math.abs(1.0f / this.directionY) : Float.POSITIVE_INFINITY;
+            this.deltaZ = (this.stepZ != 0) ? Math.abs(1.0f / this.directionZ) : Float.POSITIVE_INFINITY;
+
+            this.x = (int) Math.floor(this.originX);
+            this.y = (int) Math.floor(this.originY);
+            this.z = (int) Math.floor(this.originZ);
+
+            this.nextX = Walk.getCrossing(this.originX, this.x, this.stepX, this.directionX);
+            this.nextY = Walk.getCrossing(this.originY, this.y, this.stepY, this.directionY);
+            this.nextZ = Walk.getCrossing(this.originZ, this.z, this.stepZ, this.directionZ);
+
+            this.normalX = 0;
+            this.normalY = 0;
+            this.normalZ = 0;
+
+            this.distance = 0.0f;
+
+            return true;
+        }
+
+        private void step() {
+            if (this.nextX < this.nextY && this.nextX < this.nextZ) {
+                this.x += this.stepX;
+                this.distance = this.nextX;
+                this.nextX += this.deltaX;
+
+                this.setNormal(-this.stepX, 0, 0);
+            } else if (this.nextY < this.nextZ) {
+                this.y += this.stepY;
+                this.distance = this.nextY;
+                this.nextY += this.deltaY;
+
+                this.setNormal(0, -this.stepY, 0);
+            } else {
+                this.z += this.stepZ;
+                this.distance = this.nextZ;
+                this.nextZ += this.deltaZ;
+
+                this.setNormal(0, 0, -this.stepZ);
+            }
+        }
+
+        // Moves to the first block past the box starting at (minimumX, minimumY, minimumZ) that the ray reaches
+        private void skip(int minimumX, int minimumY, int minimumZ, int width, int height, int depth) {
+            float exitX = Walk.getCrossing(this.originX, this.getLast(minimumX, width, this.stepX), this.stepX, this.directionX);
+            float exitY = Walk.getCrossing(this.originY, this.getLast(minimumY, height, this.stepY), this.stepY, this.directionY);
+            float exitZ = Walk.getCrossing(this.originZ, this.getLast(minimumZ, depth, this.stepZ), this.stepZ, this.directionZ);
+
+            float exit;
+
+            if (exitX < exitY && exitX < exitZ) {
+                exit = exitX;
+
+                this.x = this.getLast(minimumX, width, this.stepX) + this.stepX;
+                this.y = this.getInside(this.originY + this.directionY * exit, minimumY, height);
+                this.z = this.getInside(this.originZ + this.directionZ * exit, minimumZ, depth);
+
+                this.setNormal(-this.stepX, 0, 0);
+            } else if (exitY < exitZ) {
+                exit = exitY;
+
+                this.x = this.getInside(this.originX + this.directionX * exit, minimumX, width);
+                this.y = this.getLast(minimumY, height, this.stepY) + this.stepY;
+                this.z = this.getInside(this.originZ + this.directionZ * exit, minimumZ, depth);
+
+                this.setNormal(0, -this.stepY, 0);
+            } else {
+                exit = exitZ;
+
+                this.x = this.getInside(this.originX + this.directionX * exit, minimumX, width);
+                this.y = this.getInside(this.originY + this.directionY * exit, minimumY, height);
+                this.z = this.getLast(minimumZ, depth, this.stepZ) + this.stepZ;
+
+                this.setNormal(0, 0, -this.stepZ);
+            }
+
+            this.distance = exit;
+
+            this.nextX = Walk.getCrossing(this.originX, this.x, this.stepX, this.directionX);
+            this.nextY = Walk.getCrossing(this.originY, this.y, this.stepY, this.directionY);
+            this.nextZ = Walk.getCrossing(this.originZ, this.z, this.stepZ, this.directionZ);
+        }
+
+        // Last block of the box along the walk direction on one axis
+        private int getLast(int minimum, int size, int step) {
+            return (step > 0) ? minimum + size - 1 : minimum;
+        }
+
+        // The ray is still inside the box on the axes it did not leave through, rounding must not say otherwise
+        private int getInside(float position, int minimum, int size) {
+            return Math.max(minimum, Math.min(minimum + size - 1, (int) Math.floor(position)));
+        }
+
+        private void setNormal(int x, int y, int z) {
+            this.normalX = x;
+            this.normalY = y;
+            this.normalZ = z;
+        }
+
+        // Distance along the ray to where it leaves a block on one axis
+        private static float getCrossing(float origin, int block, int step, float direction) {
+            if (step > 0) {
+                return (block + 1.0f - origin) / direction;
+            }
+
+            if (step < 0) {
+                return (origin - block) / -direction;
+            }
+
+            return Float.POSITIVE_INFINITY;
+        }
+    }
+}
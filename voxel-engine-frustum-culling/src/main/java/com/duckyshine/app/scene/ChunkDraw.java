@@ -0,0 +1,27 @@
+package com.duckyshine.app.scene;
+
+import org.joml.Vector3i;
+
+import com.duckyshine.app.model.Mesh;
+
+// One visible chunk in a frame packet. The render thread only reads the mesh's GPU side, so the simulation may keep
+// rebuilding the mesh meanwhile
+public class ChunkDraw {
+    private final Mesh mesh;
+
+    private final Vector3i position;
+
+    public ChunkDraw(Mesh mesh, Vector3i position) {
+        this.mesh = mesh;
+
+        this.position = new Vector3i(position);
+    }
+
+    public Mesh getMesh() {
+        return this.mesh;
+    }
+
+    public Vector3i getPosition() {
+        return this.position;
+    }
+}
@@ -0,0 +1,113 @@
+package com.duckyshine.app.scene;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import org.joml.Vector3i;
+
+// Handle for one scheduled piece of work on one chunk. Only the scheduler changes it, always from the thread that
+// updates the scheduler
+public class ChunkJob<T> {
+    public enum State {
+        // Some dependency has not finished yet
+        WAITING,
+
+        // Queued by priority for the next free worker
+        READY,
+
+        RUNNING,
+
+        DONE,
+
+        CANCELLED;
+    }
+
+    private final Vector3i position;
+
+    private final JobType type;
+
+    private final ChunkTask<T> task;
+
+    // Lower runs first, ties go to whichever was scheduled first
+    private double priority;
+
+    private final long sequence;
+
+    private State state;
+
+    private int remainingDependencies;
+
+    private final List<ChunkJob<?>> dependents;
+
+    public ChunkJob(Vector3i position, JobType type, ChunkTask<T> task, double priority, long sequence) {
+        this.position = position;
+
+        this.type = type;
+
+        this.task = task;
+
+        this.priority = priority;
+
+        this.sequence = sequence;
+
+        this.state = State.WAITING;
+
+        this.remainingDependencies = 0;
+
+        this.dependents = new ArrayList<>();
+    }
+
+    public Vector3i getPosition() {
+        return this.position;
+    }
+
+    public JobType getType() {
+        return this.type;
+    }
+
+    public ChunkTask<T> getTask() {
+        return this.task;
+    }
+
+    public double getPriority() {
+        return this.priority;
+    }
+
+    public void setPriority(double priority) {
+        this.priority = priority;
+    }
+
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    public State getState() {
+        return this.state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    // Not started yet, so cancelling it costs nothing and its priority still matters
+    public boolean isPending() {
+        return this.state == State.WAITING || this.state == State.READY;
+    }
+
+    // Done or cancelled, dependents no longer wait on it
+    public boolean isFinished() {
+        return this.state == State.DONE || this.state == State.CANCELLED;
+    }
+
+    public int getRemainingDependencies() {
+        return this.remainingDependencies;
+    }
+
+    public void setRemainingDependencies(int remainingDependencies) {
+        this.remainingDependencies = remainingDependencies;
+    }
+
+    public List<ChunkJob<?>> getDependents() {
+        return this.dependents;
+    }
+}
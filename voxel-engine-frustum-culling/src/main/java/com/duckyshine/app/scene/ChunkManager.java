@@ -2,53 +2,155 @@ package com.duckyshine.app.scene;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.List;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.ArrayDeque;
 
+import java.util.concurrent.Callable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.joml.Matrix4f;
 import org.joml.Vector2i;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
+import org.joml.FrustumIntersection;
+
+import com.duckyshine.app.buffer.MeshPool;
+import com.duckyshine.app.buffer.DrawCommandList;
+import com.duckyshine.app.buffer.QuadIndexBuffer;
+
+import com.duckyshine.app.camera.Camera;
+
+import com.duckyshine.app.edit.BlockChange;
+import com.duckyshine.app.edit.RegionEdit;
+import com.duckyshine.app.edit.EditJournal;
+
+import com.duckyshine.app.culling.FaceCulling;
+import com.duckyshine.app.culling.OcclusionCuller;
 
 import com.duckyshine.app.math.Vector2;
 import com.duckyshine.app.math.Voxel;
+import com.duckyshine.app.math.Direction;
+import com.duckyshine.app.math.noise.Noise;
 
 import com.duckyshine.app.model.Mesh;
 import com.duckyshine.app.model.Block;
 import com.duckyshine.app.model.Chunk;
 import com.duckyshine.app.model.BlockType;
+import com.duckyshine.app.model.LevelOfDetail;
+import com.duckyshine.app.model.MeshCache;
+import com.duckyshine.app.model.MeshUpload;
+import com.duckyshine.app.physics.VoxelGrid;
 import com.duckyshine.app.physics.controller.Player;
 import com.duckyshine.app.physics.ray.RayResult;
+import com.duckyshine.app.physics.ray.ChunkSource;
 
 import com.duckyshine.app.debug.Debug;
 
 // MUST MULTITHREAD, MESH GENERATION AND NOISE IS SUPER SLOW
-public class ChunkManager {
+public class ChunkManager implements VoxelGrid, ChunkSource {
     public final int CHUNK_WIDTH = 16;
     public final int CHUNK_DEPTH = 16;
     public final int CHUNK_HEIGHT = 16;
 
+    // Blocks of slack around a column's terrain, sections further away are treated as air and never created
+    public final int VERTICAL_MARGIN = 4;
+
+    // Pending jobs are reordered once the camera has turned further than about 15 degrees
+    private static final float TURN_THRESHOLD = 0.966f;
+
+    // Degrees the culling view is widened by on each side. The render thread turns the view with the mouse while it
+    // draws a packet culled up to a tick earlier, chunks just off screen then are already in the draw list
+    private static final float CULLING_MARGIN = 10.0f;
+
+    // Entity batches and raycasts look chunks up from several threads at once, each gets its own reusable key
+    private static final ThreadLocal<Vector3i> LOOKUP_POSITION = ThreadLocal.withInitial(Vector3i::new);
+
     private Map<Vector3i, Chunk> chunks;
 
     private Map<Vector2i, HeightMap> heightMaps;
 
+    // Sections in range of the player that were synthesised as air on the last pass
+    private int skippedSectionCount;
+
     private Set<Vector3i> queuedChunks;
 
+    // Chunk the player was in on the last update, detail levels are picked by ring distance from here
+    private Vector3i centre;
+
     private Deque<Vector3i> chunkQueue;
 
+    private MeshPool meshPool;
+
+    private DrawCommandList drawCommandList;
+
+    private OcclusionCuller occlusionCuller;
+
+    private FrustumIntersection frustum;
+
+    private Matrix4f cullingProjectionView;
+
+    private MeshCache meshCache;
+
+    // Optional, every block write is appended to it before the frame ends
+    private EditJournal editJournal;
+
+    // Builds chunks entering the load radius and remeshes level changes off the main thread, edits stay synchronous
+    private ChunkScheduler chunkScheduler;
+
+    // Camera front the pending jobs were last prioritised for
+    private Vector3f viewDirection;
+
     public ChunkManager() {
         this.chunks = new HashMap<>();
 
         this.heightMaps = new HashMap<>();
 
+        this.skippedSectionCount = 0;
+
         this.queuedChunks = new HashSet<>();
 
+        this.centre = new Vector3i();
+
         this.chunkQueue = new ArrayDeque<>();
+
+        this.meshPool = null;
+
+        this.drawCommandList = null;
+
+        this.occlusionCuller = new OcclusionCuller(0);
+
+        this.frustum = new FrustumIntersection();
+
+        this.cullingProjectionView = new Matrix4f();
+
+        this.meshCache = null;
+
+        this.editJournal = null;
+
+        this.chunkScheduler = new ChunkScheduler(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+        this.viewDirection = new Vector3f(0.0f, 0.0f, -1.0f);
     }
 
     // Dynamically generate based on player's position
     public void initialise() {
+        QuadIndexBuffer.initialise();
+
+        // Without base vertex support every chunk keeps its own vertex array and is drawn one by one
+        if (MeshPool.isSupported()) {
+            this.meshPool = new MeshPool();
+
+            this.meshPool.initialise();
+
+            this.drawCommandList = new DrawCommandList(this.meshPool.getMaximumQuadsPerCommand());
+        }
+
         for (int x = 0; x < 1; x++) {
             for (int z = 0; z < 1; z++) {
                 Vector3i chunkPosition = new Vector3i(x * 16, 0, z * 16);
@@ -92,8 +194,29 @@ public class ChunkManager {
         return chunk.isBlockActive(blockPosition);
     }
 
+    // Called per voxel by the collision solver, so the key is the calling thread's scratch vector
+    @Override
+    public boolean isSolid(int x, int y, int z) {
+        Vector3i lookupPosition = ChunkManager.LOOKUP_POSITION.get().set(
+                Math.floorDiv(x, this.CHUNK_WIDTH) * this.CHUNK_WIDTH,
+                Math.floorDiv(y, this.CHUNK_HEIGHT) * this.CHUNK_HEIGHT,
+                Math.floorDiv(z, this.CHUNK_DEPTH) * this.CHUNK_DEPTH);
+
+        Chunk chunk = this.chunks.get(lookupPosition);
+
+        if (chunk == null) {
+            return false;
+        }
+
+        return chunk.isBlockActive(
+                Math.floorMod(x, this.CHUNK_WIDTH),
+                Math.floorMod(y, this.CHUNK_HEIGHT),
+                Math.floorMod(z, this.CHUNK_DEPTH));
+    }
+
+    @Override
     public Chunk getChunk(int x, int y, int z) {
-        Vector3i position = new Vector3i(x, y, z);
+        Vector3i position = ChunkManager.LOOKUP_POSITION.get().set(x, y, z);
 
         return this.getChunk(position);
     }
@@ -118,6 +241,24 @@ public class ChunkManager {
         return this.getChunk(chunkPosition);
     }
 
+    public Chunk getOrCreateChunkFromGlobalPosition(Vector3f position) {
+        return this.getOrCreateChunk(Voxel.getChunkPositionFromGlobalPosition(position));
+    }
+
+    // Sections away from the terrain are never generated, building into one generates it first, which leaves it
+    // empty unless the section was simply not reached yet
+    public Chunk getOrCreateChunk(Vector3i position) {
+        if (!this.isChunkActive(position)) {
+            if (!this.isHeightMapGenerated(position)) {
+                this.addHeightMap(position);
+            }
+
+            this.addChunk(position);
+        }
+
+        return this.getChunk(position);
+    }
+
     public Block getBlockFromGlobalPosition(float x, float y, float z) {
         Vector3f position = new Vector3f(x, y, z);
 
@@ -143,23 +284,182 @@ public class ChunkManager {
         Vector3f position = rayResult.getPosition();
         Vector3f delta = position.add(axes, new Vector3f());
 
-        Chunk chunk = this.getChunkFromGlobalPosition(delta);
-
-        if (chunk == null) {
-            return;
-        }
+        Chunk chunk = this.getOrCreateChunkFromGlobalPosition(delta);
 
         Vector3i blockPosition = Voxel.getBlockPositionFromGlobalPosition(delta);
 
         Debug.debug(chunk.getPosition(), blockPosition, delta);
 
+        this.journal(chunk, blockPosition.x, blockPosition.y, blockPosition.z, BlockType.GRASS);
+
         chunk.addBlock(blockPosition, BlockType.GRASS);
 
+        chunk.addEdit(blockPosition);
+
         chunk.setIsUpdate(true);
 
         this.queueChunk(chunk.getPosition());
     }
 
+    // Every chunk in the edit is written in one pass and queued once, so it is remeshed exactly once
+    public int applyEdit(RegionEdit regionEdit) {
+        int dirtyChunkCount = 0;
+
+        for (Map.Entry<Vector3i, List<BlockChange>> entry : regionEdit.getChanges().entrySet()) {
+            Vector3i chunkPosition = entry.getKey();
+
+            if (this.applyChanges(chunkPosition, entry.getValue())) {
+                Chunk chunk = this.getChunk(chunkPosition);
+
+                chunk.setIsUpdate(true);
+
+                this.queueChunk(chunkPosition);
+
+                dirtyChunkCount++;
+            }
+        }
+
+        return dirtyChunkCount;
+    }
+
+    private boolean applyChanges(Vector3i chunkPosition, List<BlockChange> changes) {
+        Chunk chunk = this.getChunk(chunkPosition);
+
+        boolean isChanged = false;
+
+        for (BlockChange change : changes) {
+            Block block = (chunk == null) ? null : chunk.getBlock(change.getX(), change.getY(), change.getZ());
+
+            BlockType currentType = (block == null) ? null : block.getBlockType();
+
+            if (!change.isApplicable(currentType)) {
+                continue;
+            }
+
+            if (chunk == null) {
+                chunk = this.getOrCreateChunk(chunkPosition);
+
+                // Generation may have filled the cell in, so the change is checked again
+                block = chunk.getBlock(change.getX(), change.getY(), change.getZ());
+
+                if (!change.isApplicable((block == null) ? null : block.getBlockType())) {
+                    continue;
+                }
+            }
+
+            this.journal(chunk, change.getX(), change.getY(), change.getZ(), change.getBlockType());
+
+            if (change.getBlockType() == null) {
+                chunk.removeBlock(change.getX(), change.getY(), change.getZ());
+            } else {
+                chunk.addBlock(change.getX(), change.getY(), change.getZ(), change.getBlockType());
+            }
+
+            chunk.addEdit(change.getX(), change.getY(), change.getZ());
+
+            isChanged = true;
+        }
+
+        return isChanged;
+    }
+
+    // Called before the write so the old type is still there, a write that changes nothing is not logged
+    private void journal(Chunk chunk, int x, int y, int z, BlockType blockType) {
+        if (this.editJournal == null) {
+            return;
+        }
+
+        Block block = chunk.getBlock(x, y, z);
+
+        BlockType oldType = (block == null) ? null : block.getBlockType();
+
+        if (oldType == blockType) {
+            return;
+        }
+
+        Vector3i position = chunk.getPosition();
+
+        this.editJournal.append(position.x + x, position.y + y, position.z + z, oldType, blockType);
+    }
+
+    // Puts back what the journal holds, the region file's chunks first and then the log over them, and only then
+    // starts logging so the replay is not written a second time. Returns how many chunks changed
+    public int restore(EditJournal editJournal) {
+        Set<Vector3i> positions = new HashSet<>();
+
+        for (Chunk storedChunk : editJournal.getStoredChunks()) {
+            Chunk chunk = this.getOrCreateChunk(storedChunk.getPosition());
+
+            this.copyBlocks(storedChunk, chunk);
+
+            chunk.setMeshCache(this.meshCache);
+
+            chunk.setIsUpdate(true);
+
+            this.queueChunk(chunk.getPosition());
+
+            positions.add(chunk.getPosition());
+        }
+
+        RegionEdit replayEdit = editJournal.getReplayEdit();
+
+        for (Map.Entry<Vector3i, List<BlockChange>> entry : replayEdit.getChanges().entrySet()) {
+            if (this.applyChanges(entry.getKey(), entry.getValue())) {
+                this.getChunk(entry.getKey()).setIsUpdate(true);
+
+                this.queueChunk(entry.getKey());
+
+                positions.add(entry.getKey());
+            }
+        }
+
+        this.editJournal = editJournal;
+
+        return positions.size();
+    }
+
+    // Whole contents, the mesh is rebuilt from scratch on the next update rather than slice by slice
+    private void copyBlocks(Chunk source, Chunk target) {
+        for (int x = 0; x < target.getWidth(); x++) {
+            for (int y = 0; y < target.getHeight(); y++) {
+                for (int z = 0; z < target.getDepth(); z++) {
+                    Block block = source.getBlock(x, y, z);
+
+                    if (block == null) {
+                        target.removeBlock(x, y, z);
+                    } else {
+                        target.addBlock(x, y, z, block.getBlockType());
+                    }
+                }
+            }
+        }
+    }
+
+    // Group commit, everything written this frame reaches disk in one forced write, then the log is folded into the
+    // region file once it is long enough. A failed write ends the simulation, edits past it were never acknowledged
+    public void commitEdits() {
+        if (this.editJournal == null) {
+            return;
+        }
+
+        try {
+            this.editJournal.commit();
+
+            if (this.editJournal.isCompactionDue()) {
+                this.editJournal.compact(Noise.getSeed(), this);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Unable to commit block edits", exception);
+        }
+    }
+
+    // Fixed tick the coming writes are stamped with
+    public void setTick(long tick) {
+        if (this.editJournal != null) {
+            this.editJournal.setTick(tick);
+        }
+    }
+
     public void addHeightMap(Vector3i position) {
         HeightMap heightMap = new HeightMap(this.CHUNK_WIDTH, this.CHUNK_HEIGHT);
 
@@ -181,8 +481,12 @@ public class ChunkManager {
 
         Vector3i blockPosition = Voxel.getBlockPositionFromGlobalPosition(position);
 
+        this.journal(chunk, blockPosition.x, blockPosition.y, blockPosition.z, null);
+
         chunk.removeBlock(blockPosition);
 
+        chunk.addEdit(blockPosition);
+
         chunk.setIsUpdate(true);
 
         this.queueChunk(chunk.getPosition());
@@ -196,12 +500,18 @@ public class ChunkManager {
         }
     }
 
+    // Built right here, e.g. for an edit, so a scheduled build of the same chunk would only be thrown away
     public void addChunk(Vector3i position) {
+        this.chunkScheduler.cancel(position, JobType.GENERATE);
+        this.chunkScheduler.cancel(position, JobType.MESH);
+
         Chunk chunk = new Chunk(position);
 
+        chunk.setLevel(this.getLevel(position));
+
         HeightMap heightMap = this.getHeightMap(position);
 
-        chunk.generate(this, heightMap);
+        chunk.generate(heightMap);
 
         this.chunks.put(position, chunk);
     }
@@ -217,6 +527,103 @@ public class ChunkManager {
         }
     }
 
+    // A change to one chunk can wall in or open up its neighbours, so all seven are re-evaluated
+    private void updateEnclosure(Vector3i position) {
+        this.updateEnclosure(this.getChunk(position));
+
+        for (Direction direction : Direction.values()) {
+            this.updateEnclosure(this.getChunk(this.getNeighbourPosition(position, direction)));
+        }
+    }
+
+    private void updateEnclosure(Chunk chunk) {
+        if (chunk == null) {
+            return;
+        }
+
+        boolean isEnclosed = this.isEnclosed(chunk);
+
+        if (chunk.getIsEnclosed() != isEnclosed) {
+            chunk.setIsEnclosed(isEnclosed);
+
+            chunk.update();
+        }
+    }
+
+    // Missing neighbours may still be air, so only fully loaded solid surroundings count
+    private boolean isEnclosed(Chunk chunk) {
+        if (!chunk.isFull()) {
+            return false;
+        }
+
+        for (Direction direction : Direction.values()) {
+            Chunk neighbour = this.getChunk(this.getNeighbourPosition(chunk.getPosition(), direction));
+
+            if (neighbour == null || !neighbour.isFull()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Vector3i getNeighbourPosition(Vector3i position, Direction direction) {
+        int x = position.x + direction.getX() * this.CHUNK_WIDTH;
+        int y = position.y + direction.getY() * this.CHUNK_HEIGHT;
+        int z = position.z + direction.getZ() * this.CHUNK_DEPTH;
+
+        return new Vector3i(x, y, z);
+    }
+
+    // Builds everything addSurroundingChunks would queue on a pool, so the spawn area exists before the first frame
+    // instead of appearing over the first updates while the player is already falling. Returns the chunk count
+    public int pregenerate(Player player, ChunkPregenerator chunkPregenerator, ProgressListener progressListener) {
+        int renderDistance = player.getRenderDistance();
+
+        Vector3i chunkPosition = Voxel.getChunkPositionFromGlobalPosition(player.getPosition());
+
+        // Levels are picked on the workers from this centre, so it is settled before any are submitted
+        this.centre.set(chunkPosition);
+
+        List<Vector3i> columns = new ArrayList<>();
+
+        for (int dx = -renderDistance; dx <= renderDistance; dx++) {
+            for (int dz = -renderDistance; dz <= renderDistance; dz++) {
+                Vector3i column = new Vector3i(chunkPosition.x + dx * this.CHUNK_WIDTH, 0,
+                        chunkPosition.z + dz * this.CHUNK_DEPTH);
+
+                if (!this.isHeightMapGenerated(column)) {
+                    columns.add(column);
+                }
+            }
+        }
+
+        int startY = chunkPosition.y - (this.CHUNK_HEIGHT * renderDistance);
+        int endY = chunkPosition.y + (this.CHUNK_HEIGHT * renderDistance);
+
+        List<ChunkPregenerator.Column> results = chunkPregenerator.generate(columns, startY, endY, this::getLevel,
+                progressListener);
+
+        List<Vector3i> positions = new ArrayList<>();
+
+        for (ChunkPregenerator.Column column : results) {
+            this.heightMaps.put(Vector2.getXZInteger(column.getPosition()), column.getHeightMap());
+
+            for (Chunk chunk : column.getChunks()) {
+                this.chunks.putIfAbsent(chunk.getPosition(), chunk);
+
+                positions.add(chunk.getPosition());
+            }
+        }
+
+        // Enclosure looks at neighbours, so it waits until every column is in
+        for (Vector3i position : positions) {
+            this.updateEnclosure(this.getChunk(position));
+        }
+
+        return positions.size();
+    }
+
     public void addSurroundingChunks(Player player) {
         int renderDistance = player.getRenderDistance();
 
@@ -230,52 +637,431 @@ public class ChunkManager {
         int endY = chunkPosition.y + (this.CHUNK_HEIGHT * renderDistance);
         int endZ = chunkPosition.z + (this.CHUNK_DEPTH * renderDistance);
 
+        this.skippedSectionCount = 0;
+
+        List<Vector3i> positions = new ArrayList<>();
+
         for (int x = startX; x <= endX; x += this.CHUNK_WIDTH) {
-            for (int y = startY; y <= endY; y += this.CHUNK_HEIGHT) {
-                for (int z = startZ; z <= endZ; z += this.CHUNK_DEPTH) {
-                    Vector3i position = new Vector3i(x, y, z);
+            for (int z = startZ; z <= endZ; z += this.CHUNK_DEPTH) {
+                this.queueColumn(x, z, startY, endY, positions);
+            }
+        }
 
-                    this.queueChunk(position);
-                }
+        this.scheduleChunks(positions);
+    }
+
+    // Height maps are cheap next to chunks, so the column's is made up front to decide which sections to build
+    private void queueColumn(int x, int z, int startY, int endY, List<Vector3i> positions) {
+        Vector3i columnPosition = new Vector3i(x, 0, z);
+
+        if (!this.isHeightMapGenerated(columnPosition)) {
+            this.addHeightMap(columnPosition);
+        }
+
+        HeightMap heightMap = this.getHeightMap(columnPosition);
+
+        for (int y = startY; y <= endY; y += this.CHUNK_HEIGHT) {
+            Vector3i position = new Vector3i(x, y, z);
+
+            if (!heightMap.isSectionInRange(y, this.CHUNK_HEIGHT, this.VERTICAL_MARGIN)) {
+                this.skippedSectionCount++;
+
+                continue;
+            }
+
+            if (!this.isChunkActive(position) && this.chunkScheduler.getJob(position, JobType.GENERATE) == null) {
+                positions.add(position);
+            }
+        }
+    }
+
+    // Every generate job goes in before any mesh job, so each mesh can wait on all of its neighbours being built
+    private void scheduleChunks(List<Vector3i> positions) {
+        for (Vector3i position : positions) {
+            this.chunkScheduler.schedule(position, JobType.GENERATE, this.getPriority(position),
+                    new GenerateTask(position), List.of());
+        }
+
+        for (Vector3i position : positions) {
+            this.scheduleMesh(position);
+        }
+    }
+
+    // A mesh job already running was planned for an older level, so it is replaced rather than waited for
+    private void scheduleMesh(Vector3i position) {
+        ChunkJob<?> job = this.chunkScheduler.getJob(position, JobType.MESH);
+
+        if (job != null && !job.isPending()) {
+            this.chunkScheduler.cancel(job);
+        }
+
+        List<ChunkJob<?>> dependencies = new ArrayList<>();
+
+        dependencies.add(this.chunkScheduler.getJob(position, JobType.GENERATE));
+
+        for (Direction direction : Direction.values()) {
+            dependencies.add(this.chunkScheduler.getJob(this.getNeighbourPosition(position, direction),
+                    JobType.GENERATE));
+        }
+
+        this.chunkScheduler.schedule(position, JobType.MESH, this.getPriority(position), new MeshTask(position),
+                dependencies);
+    }
+
+    // Distance in chunks, stretched up to twice as far for chunks behind the camera, so what is in view builds first
+    private double getPriority(Vector3i position) {
+        float dx = (position.x - this.centre.x) / (float) this.CHUNK_WIDTH;
+        float dy = (position.y - this.centre.y) / (float) this.CHUNK_HEIGHT;
+        float dz = (position.z - this.centre.z) / (float) this.CHUNK_DEPTH;
+
+        float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        if (distance == 0.0f) {
+            return 0.0d;
+        }
+
+        float facing = (dx * this.viewDirection.x + dy * this.viewDirection.y + dz * this.viewDirection.z) / distance;
+
+        return distance * (1.5d - 0.5d * facing);
+    }
+
+    private boolean isInLoadRange(Vector3i position, int renderDistance) {
+        return Math.abs(position.x - this.centre.x) <= this.CHUNK_WIDTH * renderDistance
+                && Math.abs(position.y - this.centre.y) <= this.CHUNK_HEIGHT * renderDistance
+                && Math.abs(position.z - this.centre.z) <= this.CHUNK_DEPTH * renderDistance;
+    }
+
+    // Builds of chunks that left the radius are dropped, remeshes of chunks that exist still run so their level is
+    // right when the player comes back
+    private void cancelOutOfRange(int renderDistance) {
+        this.chunkScheduler.cancelIf(job -> !this.isInLoadRange(job.getPosition(), renderDistance)
+                && (job.getType() == JobType.GENERATE || !this.isChunkActive(job.getPosition())));
+    }
+
+    // Enclosure of chunks with a mesh job coming is settled when that job starts, not here
+    private void updateNeighbourEnclosure(Vector3i position) {
+        for (Direction direction : Direction.values()) {
+            Vector3i neighbourPosition = this.getNeighbourPosition(position, direction);
+
+            if (this.chunkScheduler.getJob(neighbourPosition, JobType.MESH) == null) {
+                this.updateEnclosure(this.getChunk(neighbourPosition));
+            }
+        }
+    }
+
+    // Only chunks restored from the region file use it. Terrain is reseeded every launch, so generated chunks would
+    // only ever miss and grow the file, while stored ones come back with the same blocks every session
+    public void setMeshCache(MeshCache meshCache) {
+        this.meshCache = meshCache;
+    }
+
+    public MeshCache getMeshCache() {
+        return this.meshCache;
+    }
+
+    public EditJournal getEditJournal() {
+        return this.editJournal;
+    }
+
+    // A clean exit leaves every loaded chunk in the region file, the log keeps only edits to chunks already unloaded.
+    // The channel is closed whatever happens, a failure is still thrown so nobody takes the edits for saved
+    private void closeEditJournal() {
+        try {
+            try {
+                this.editJournal.compact(Noise.getSeed(), this);
+            } finally {
+                this.editJournal.close();
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Unable to save block edits", exception);
+        }
+
+        Debug.debug(String.format("Edit journal: %d commits in %.1f ms, %d compactions",
+                this.editJournal.getCommitCount(), this.editJournal.getCommitTime(),
+                this.editJournal.getCompactionCount()));
+    }
+
+    public ChunkScheduler getChunkScheduler() {
+        return this.chunkScheduler;
+    }
+
+    public int getSkippedSectionCount() {
+        return this.skippedSectionCount;
+    }
+
+    public ChunkStatistics getStatistics() {
+        return ChunkStatistics.collect(this.chunks.values(), this.meshPool != null);
+    }
+
+    private int getLevel(Vector3i position) {
+        int dx = Math.abs(position.x - this.centre.x) / this.CHUNK_WIDTH;
+        int dy = Math.abs(position.y - this.centre.y) / this.CHUNK_HEIGHT;
+        int dz = Math.abs(position.z - this.centre.z) / this.CHUNK_DEPTH;
+
+        return LevelOfDetail.getLevel(Math.max(dx, Math.max(dy, dz)));
+    }
+
+    // Rings only move when the player crosses into another chunk
+    private void updateLevels(Vector3i centre) {
+        if (this.centre.equals(centre)) {
+            return;
+        }
+
+        this.centre.set(centre);
+
+        // The old mesh stays on screen until the new level's arrives
+        for (Chunk chunk : this.chunks.values()) {
+            int level = this.getLevel(chunk.getPosition());
+
+            if (chunk.getLevel() != level) {
+                chunk.setLevel(level);
+
+                this.scheduleMesh(chunk.getPosition());
             }
         }
     }
 
     public void update(Player player) {
+        int renderDistance = player.getRenderDistance();
+
+        this.occlusionCuller.setMaximumDistance(renderDistance);
+
+        Vector3i chunkPosition = Voxel.getChunkPositionFromGlobalPosition(player.getPosition());
+
+        Vector3f front = player.getCamera().getFront();
+
+        boolean isMoved = !this.centre.equals(chunkPosition);
+        boolean isTurned = this.viewDirection.dot(front) < ChunkManager.TURN_THRESHOLD;
+
+        this.updateLevels(chunkPosition);
+
+        if (isMoved) {
+            this.cancelOutOfRange(renderDistance);
+        }
+
+        if (isMoved || isTurned) {
+            this.viewDirection.set(front);
+
+            this.chunkScheduler.reprioritise(this::getPriority);
+        }
+
         this.addSurroundingChunks(player);
 
+        int appliedCount = this.chunkScheduler.update();
+
+        if (appliedCount > 0 && this.chunkScheduler.isIdle()) {
+            Debug.debug(String.format("Chunk jobs: %d useful in %.1f ms, %d wasted in %.1f ms, %d cancelled unstarted",
+                    this.chunkScheduler.getUsefulCount(), this.chunkScheduler.getUsefulTime(),
+                    this.chunkScheduler.getWastedCount(), this.chunkScheduler.getWastedTime(),
+                    this.chunkScheduler.getAvoidedCount()));
+        }
+
+        boolean isProcessing = !this.chunkQueue.isEmpty();
+
+        // Edits, queued chunks are changed ones and are remeshed right away
         while (!this.chunkQueue.isEmpty()) {
             Debug.debug(this.chunkQueue.size());
-            Vector3i chunkPosition = this.chunkQueue.poll();
+            Vector3i queuedPosition = this.chunkQueue.poll();
 
-            if (!this.isHeightMapGenerated(chunkPosition)) {
-                this.addHeightMap(chunkPosition);
+            if (!this.isHeightMapGenerated(queuedPosition)) {
+                this.addHeightMap(queuedPosition);
             }
 
             // Current issue is that chunks are being updated not on purpose
-            if (!this.isChunkActive(chunkPosition)) {
-                this.addChunk(chunkPosition);
+            if (!this.isChunkActive(queuedPosition)) {
+                this.addChunk(queuedPosition);
             } else {
-                this.updateChunk(chunkPosition);
+                this.updateChunk(queuedPosition);
             }
 
-            this.queuedChunks.remove(chunkPosition);
+            this.updateEnclosure(queuedPosition);
+
+            this.queuedChunks.remove(queuedPosition);
+        }
+
+        if (isProcessing) {
+            Debug.debug(this.getStatistics(), "sections skipped: " + this.skippedSectionCount);
         }
     }
 
-    public void render() {
+    private int getVisibleFaces(Vector3i position, Vector3f cameraPosition) {
+        return FaceCulling.getVisibleFaces(cameraPosition, position, this.CHUNK_WIDTH, this.CHUNK_HEIGHT,
+                this.CHUNK_DEPTH);
+    }
+
+    public List<Chunk> getVisibleChunks(Camera camera) {
+        this.frustum.set(camera.getProjectionView());
+
+        return this.occlusionCuller.cull(this.chunks, camera.getPosition(), this.frustum);
+    }
+
+    // Visible chunks with something on the GPU or on its way there, for the render thread to draw until the next tick
+    public List<ChunkDraw> getChunkDraws(Camera camera) {
+        List<ChunkDraw> chunkDraws = new ArrayList<>();
+
+        this.frustum.set(camera.getProjectionView(ChunkManager.CULLING_MARGIN, this.cullingProjectionView));
+
+        for (Chunk chunk : this.occlusionCuller.cull(this.chunks, camera.getPosition(), this.frustum)) {
+            if (chunk.isRenderable()) {
+                chunkDraws.add(new ChunkDraw(chunk.getMesh(), chunk.getPosition()));
+            }
+        }
+
+        return chunkDraws;
+    }
+
+    // Every mesh built since the last call, the simulation thread's half of an upload
+    public List<MeshUpload> takeMeshUploads() {
+        List<MeshUpload> meshUploads = new ArrayList<>();
+
         for (Chunk chunk : this.chunks.values()) {
-            Mesh mesh = chunk.getMesh();
+            if (!chunk.hasMesh()) {
+                continue;
+            }
+
+            MeshUpload meshUpload = chunk.getMesh().takeUpload();
+
+            if (meshUpload != null) {
+                meshUploads.add(meshUpload);
+            }
+        }
+
+        return meshUploads;
+    }
+
+    // Render thread only, from here down to cleanup nothing reads the chunks themselves
+    public void upload(List<MeshUpload> meshUploads) {
+        for (MeshUpload meshUpload : meshUploads) {
+            Mesh mesh = meshUpload.getMesh();
+
+            mesh.upload(this.meshPool, meshUpload);
+        }
+    }
+
+    // Faces are culled against the interpolated camera, which can sit on another side of a chunk than the tick's
+    public void render(List<ChunkDraw> chunkDraws, Vector3f cameraPosition) {
+        if (this.meshPool == null) {
+            for (ChunkDraw chunkDraw : chunkDraws) {
+                Mesh mesh = chunkDraw.getMesh();
+
+                mesh.render(this.getVisibleFaces(chunkDraw.getPosition(), cameraPosition));
+            }
+
+            return;
+        }
+
+        this.drawCommandList.clear();
+
+        for (ChunkDraw chunkDraw : chunkDraws) {
+            Mesh mesh = chunkDraw.getMesh();
 
-            mesh.render();
+            mesh.addDrawCommands(this.drawCommandList, this.getVisibleFaces(chunkDraw.getPosition(), cameraPosition));
         }
+
+        this.meshPool.render(this.drawCommandList);
     }
 
     public void cleanup() {
         for (Chunk chunk : this.chunks.values()) {
-            Mesh mesh = chunk.getMesh();
+            if (chunk.hasMesh()) {
+                Mesh mesh = chunk.getMesh();
+
+                mesh.cleanup();
+            }
+        }
+
+        if (this.meshPool != null) {
+            this.meshPool.cleanup();
+        }
+
+        this.chunkScheduler.cleanup();
+
+        if (this.meshCache != null) {
+            Debug.debug(String.format("Mesh cache: %.1f%% hits, %.1f ms saved", this.meshCache.getHitRate() * 100.0d,
+                    this.meshCache.getSavedTime()));
+
+            this.meshCache.close();
+        }
+
+        QuadIndexBuffer.cleanup();
+
+        // Last, so a failure to save edits still leaves everything else released
+        if (this.editJournal != null) {
+            this.closeEditJournal();
+        }
+    }
+
+    // Blocks only, the height map was made on the main thread when the column was queued
+    private class GenerateTask implements ChunkTask<Chunk> {
+        private final Vector3i position;
+
+        private GenerateTask(Vector3i position) {
+            this.position = position;
+        }
+
+        @Override
+        public Callable<Chunk> prepare() {
+            HeightMap heightMap = ChunkManager.this.getHeightMap(this.position);
+
+            return () -> {
+                Chunk chunk = new Chunk(this.position);
+
+                chunk.generateSurface(heightMap.getHeights());
+
+                return chunk;
+            };
+        }
+
+        // Building into the section in the meantime already made it, this copy is then the wasted one
+        @Override
+        public boolean apply(Chunk chunk) {
+            if (ChunkManager.this.isChunkActive(this.position)) {
+                return false;
+            }
+
+            chunk.setLevel(ChunkManager.this.getLevel(this.position));
+
+            ChunkManager.this.chunks.put(this.position, chunk);
+
+            ChunkManager.this.updateNeighbourEnclosure(this.position);
+
+            return true;
+        }
+    }
+
+    // Meshes a snapshot, so edits made while it runs make the result stale instead of racing with it
+    private class MeshTask implements ChunkTask<Chunk> {
+        private final Vector3i position;
+
+        private MeshTask(Vector3i position) {
+            this.position = position;
+        }
+
+        @Override
+        public Callable<Chunk> prepare() {
+            Chunk chunk = ChunkManager.this.getChunk(this.position);
+
+            if (chunk == null) {
+                return null;
+            }
+
+            // Neighbours this waited on are in, so the chunk is not meshed only to be walled in right after
+            chunk.setIsEnclosed(ChunkManager.this.isEnclosed(chunk));
+
+            Chunk snapshot = chunk.getSnapshot();
+
+            return () -> {
+                snapshot.update();
+
+                return snapshot;
+            };
+        }
+
+        @Override
+        public boolean apply(Chunk snapshot) {
+            Chunk chunk = ChunkManager.this.getChunk(this.position);
 
-            mesh.cleanup();
+            return chunk != null && chunk.applySnapshot(snapshot);
         }
     }
 }
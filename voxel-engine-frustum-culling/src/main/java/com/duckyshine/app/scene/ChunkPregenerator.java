@@ -0,0 +1,139 @@
+package com.duckyshine.app.scene;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.util.function.ToIntFunction;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+
+import org.joml.Vector3i;
+
+import com.duckyshine.app.math.Voxel;
+
+import com.duckyshine.app.model.Chunk;
+
+// Generates and meshes whole columns on a pool, each task owns its height map and chunks until it hands them back,
+// so nothing is shared between workers and the caller inserts the results on its own thread
+public class ChunkPregenerator {
+    private final int threads;
+
+    private final int verticalMargin;
+
+    private final ExecutorService executorService;
+
+    public ChunkPregenerator(int threads, int verticalMargin) {
+        this.threads = Math.max(1, threads);
+
+        this.verticalMargin = verticalMargin;
+
+        this.executorService = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "chunk-pregenerator");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    // Columns are chunk origins with y ignored, only sections in [startY, endY] near the terrain are built
+    public List<Column> generate(List<Vector3i> columns, int startY, int endY, ToIntFunction<Vector3i> levels,
+            ProgressListener progressListener) {
+        ExecutorCompletionService<Column> completionService = new ExecutorCompletionService<>(this.executorService);
+
+        for (Vector3i column : columns) {
+            completionService.submit(() -> this.generateColumn(column, startY, endY, levels));
+        }
+
+        List<Column> results = new ArrayList<>(columns.size());
+
+        try {
+            // Taken in completion order, so progress moves as soon as any worker finishes
+            for (int i = 0; i < columns.size(); i++) {
+                results.add(completionService.take().get());
+
+                if (progressListener != null) {
+                    progressListener.onProgress(i + 1, columns.size());
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted while pregenerating chunks", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Unable to pregenerate chunks", exception.getCause());
+        }
+
+        return results;
+    }
+
+    private Column generateColumn(Vector3i position, int startY, int endY, ToIntFunction<Vector3i> levels) {
+        HeightMap heightMap = new HeightMap(Voxel.CHUNK_WIDTH, Voxel.CHUNK_DEPTH);
+
+        heightMap.generate(new Vector3i(position.x, 0, position.z));
+
+        // startY is a section origin, so clamping to it keeps every y below on the section grid
+        int lowestSection = Math.floorDiv(heightMap.getMinimumHeight() - this.verticalMargin, Voxel.CHUNK_HEIGHT)
+                * Voxel.CHUNK_HEIGHT;
+
+        int low = Math.max(startY, lowestSection);
+        int high = Math.min(endY, heightMap.getMaximumHeight() + this.verticalMargin);
+
+        List<Chunk> chunks = new ArrayList<>();
+
+        for (int y = low; y <= high; y += Voxel.CHUNK_HEIGHT) {
+            if (!heightMap.isSectionInRange(y, Voxel.CHUNK_HEIGHT, this.verticalMargin)) {
+                continue;
+            }
+
+            Chunk chunk = new Chunk(new Vector3i(position.x, y, position.z));
+
+            chunk.setLevel(levels.applyAsInt(chunk.getPosition()));
+
+            chunk.generate(heightMap);
+
+            chunks.add(chunk);
+        }
+
+        return new Column(new Vector3i(position.x, 0, position.z), heightMap, chunks);
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public void cleanup() {
+        this.executorService.shutdownNow();
+    }
+
+    public static class Column {
+        private final Vector3i position;
+
+        private final HeightMap heightMap;
+
+        private final List<Chunk> chunks;
+
+        private Column(Vector3i position, HeightMap heightMap, List<Chunk> chunks) {
+            this.position = position;
+
+            this.heightMap = heightMap;
+
+            this.chunks = chunks;
+        }
+
+        public Vector3i getPosition() {
+            return this.position;
+        }
+
+        public HeightMap getHeightMap() {
+            return this.heightMap;
+        }
+
+        public List<Chunk> getChunks() {
+            return this.chunks;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.duckyshine.app.scene;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Queue;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import java.util.function.Predicate;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToDoubleFunction;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.joml.Vector3i;
+
+// Generate, mesh and save jobs per chunk on a pool. Jobs wait for their dependencies, then queue by priority, and only
+// a few are handed to workers at a time, so whatever has not started can still be cancelled or reordered. Results come
+// back through update, on the thread that owns the world, which is the only thread that touches jobs.
+//
+// Work is counted as useful when its result was applied, wasted when it ran and was thrown away, and avoided when it
+// was cancelled before it started
+public class ChunkScheduler {
+    // Enough in flight to keep every worker busy while the next batch is picked, few enough to reorder the rest
+    private static final int JOBS_PER_THREAD = 2;
+
+    private final int threads;
+
+    private final int maximumRunning;
+
+    // Null runs every job inline during update, for tests and headless tools that want a deterministic order
+    private final ExecutorService executorService;
+
+    private final Map<JobType, Map<Vector3i, ChunkJob<?>>> jobs;
+
+    private PriorityQueue<ChunkJob<?>> readyJobs;
+
+    // Filled by workers, drained by update
+    private final Queue<Completion> completions;
+
+    private int runningCount;
+
+    private long sequence;
+
+    private long usefulCount;
+    private long wastedCount;
+    private long avoidedCount;
+    private long skippedCount;
+
+    private long usefulTime;
+    private long wastedTime;
+
+    public ChunkScheduler(int threads) {
+        this.threads = Math.max(0, threads);
+
+        this.maximumRunning = Math.max(1, this.threads * ChunkScheduler.JOBS_PER_THREAD);
+
+        this.executorService = (this.threads == 0) ? null
+                : Executors.newFixedThreadPool(this.threads, runnable -> {
+                    Thread thread = new Thread(runnable, "chunk-scheduler");
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                });
+
+        this.jobs = new EnumMap<>(JobType.class);
+
+        for (JobType type : JobType.values()) {
+            this.jobs.put(type, new HashMap<>());
+        }
+
+        this.readyJobs = new PriorityQueue<>(ChunkScheduler.getComparator());
+
+        this.completions = new ConcurrentLinkedQueue<>();
+
+        this.runningCount = 0;
+
+        this.sequence = 0;
+    }
+
+    private static Comparator<ChunkJob<?>> getComparator() {
+        return Comparator.<ChunkJob<?>>comparingDouble(ChunkJob::getPriority).thenComparingLong(ChunkJob::getSequence);
+    }
+
+    // A chunk has one live job per type, scheduling again returns that one untouched. Dependencies that are already
+    // finished are ignored, a cancelled dependency counts as finished so its dependents are never stranded
+    public <T> ChunkJob<?> schedule(Vector3i position, JobType type, double priority, ChunkTask<T> task,
+            Collection<ChunkJob<?>> dependencies) {
+        Map<Vector3i, ChunkJob<?>> live = this.jobs.get(type);
+
+        ChunkJob<?> existing = live.get(position);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        ChunkJob<T> job = new ChunkJob<>(new Vector3i(position), type, task, priority, this.sequence++);
+
+        int remainingDependencies = 0;
+
+        for (ChunkJob<?> dependency : dependencies) {
+            if (dependency != null && !dependency.isFinished()) {
+                dependency.getDependents().add(job);
+
+                remainingDependencies++;
+            }
+        }
+
+        job.setRemainingDependencies(remainingDependencies);
+
+        live.put(job.getPosition(), job);
+
+        if (remainingDependencies == 0) {
+            this.makeReady(job);
+        }
+
+        return job;
+    }
+
+    public ChunkJob<?> getJob(Vector3i position, JobType type) {
+        return this.jobs.get(type).get(position);
+    }
+
+    // A pending job is dropped outright, a running one finishes on its worker and its result is discarded on arrival
+    public boolean cancel(ChunkJob<?> job) {
+        if (job == null || job.isFinished()) {
+            return false;
+        }
+
+        if (job.getState() == ChunkJob.State.READY) {
+            this.readyJobs.remove(job);
+        }
+
+        if (job.isPending()) {
+            this.avoidedCount++;
+        }
+
+        job.setState(ChunkJob.State.CANCELLED);
+
+        this.finish(job);
+
+        return true;
+    }
+
+    public boolean cancel(Vector3i position, JobType type) {
+        return this.cancel(this.getJob(position, type));
+    }
+
+    // E.g. everything that left the load radius, returns how many were cancelled
+    public int cancelIf(Predicate<ChunkJob<?>> predicate) {
+        List<ChunkJob<?>> cancelled = new ArrayList<>();
+
+        for (Map<Vector3i, ChunkJob<?>> live : this.jobs.values()) {
+            for (ChunkJob<?> job : live.values()) {
+                if (predicate.test(job)) {
+                    cancelled.add(job);
+                }
+            }
+        }
+
+        for (ChunkJob<?> job : cancelled) {
+            this.cancel(job);
+        }
+
+        return cancelled.size();
+    }
+
+    // Only jobs that have not started can still move, running ones keep their place
+    public void reprioritise(ToDoubleFunction<Vector3i> priorities) {
+        for (Map<Vector3i, ChunkJob<?>> live : this.jobs.values()) {
+            for (ChunkJob<?> job : live.values()) {
+                if (job.isPending()) {
+                    job.setPriority(priorities.applyAsDouble(job.getPosition()));
+                }
+            }
+        }
+
+        PriorityQueue<ChunkJob<?>> readyJobs = new PriorityQueue<>(ChunkScheduler.getComparator());
+
+        readyJobs.addAll(this.readyJobs);
+
+        this.readyJobs = readyJobs;
+    }
+
+    // Applies whatever the workers finished, then hands out the highest priority ready jobs. Returns how many results
+    // were applied
+    public int update() {
+        int appliedCount = this.drain();
+
+        while (this.runningCount < this.maximumRunning && !this.readyJobs.isEmpty()) {
+            this.dispatch(this.readyJobs.poll());
+        }
+
+        // Inline jobs have already finished, so their results go in on this same call
+        if (this.executorService == null) {
+            appliedCount += this.drain();
+        }
+
+        return appliedCount;
+    }
+
+    private int drain() {
+        int appliedCount = 0;
+
+        Completion completion;
+
+        while ((completion = this.completions.poll()) != null) {
+            this.runningCount--;
+
+            ChunkJob<?> job = completion.job;
+
+            if (completion.exception != null) {
+                throw new IllegalStateException("Chunk job failed: " + job.getType() + " " + job.getPosition(),
+                        completion.exception);
+            }
+
+            if (job.getState() == ChunkJob.State.CANCELLED) {
+                this.wastedCount++;
+                this.wastedTime += completion.time;
+
+                continue;
+            }
+
+            job.setState(ChunkJob.State.DONE);
+
+            this.finish(job);
+
+            if (completion.apply.getAsBoolean()) {
+                this.usefulCount++;
+                this.usefulTime += completion.time;
+
+                appliedCount++;
+            } else {
+                this.wastedCount++;
+                this.wastedTime += completion.time;
+            }
+        }
+
+        return appliedCount;
+    }
+
+    private <T> void dispatch(ChunkJob<T> job) {
+        Callable<T> callable = job.getTask().prepare();
+
+        if (callable == null) {
+            this.skippedCount++;
+
+            job.setState(ChunkJob.State.DONE);
+
+            this.finish(job);
+
+            return;
+        }
+
+        job.setState(ChunkJob.State.RUNNING);
+
+        this.runningCount++;
+
+        Runnable runnable = () -> {
+            long start = System.nanoTime();
+
+            try {
+                T result = callable.call();
+
+                this.completions.add(new Completion(job, () -> job.getTask().apply(result),
+                        System.nanoTime() - start, null));
+            } catch (Throwable exception) {
+                this.completions.add(new Completion(job, null, System.nanoTime() - start, exception));
+            }
+        };
+
+        if (this.executorService == null) {
+            runnable.run();
+        } else {
+            this.executorService.execute(runnable);
+        }
+    }
+
+    private void makeReady(ChunkJob<?> job) {
+        job.setState(ChunkJob.State.READY);
+
+        this.readyJobs.add(job);
+    }
+
+    // The chunk may take a new job of this type from now on, and anything waiting on this one moves closer to ready
+    private void finish(ChunkJob<?> job) {
+        this.jobs.get(job.getType()).remove(job.getPosition(), job);
+
+        for (ChunkJob<?> dependent : job.getDependents()) {
+            if (dependent.getState() != ChunkJob.State.WAITING) {
+                continue;
+            }
+
+            dependent.setRemainingDependencies(dependent.getRemainingDependencies() - 1);
+
+            if (dependent.getRemainingDependencies() == 0) {
+                this.makeReady(dependent);
+            }
+        }
+
+        job.getDependents().clear();
+    }
+
+    // Nothing waiting, queued or running
+    public boolean isIdle() {
+        if (this.runningCount > 0) {
+            return false;
+        }
+
+        for (Map<Vector3i, ChunkJob<?>> live : this.jobs.values()) {
+            if (!live.isEmpty()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public int getPendingCount() {
+        int pendingCount = 0;
+
+        for (Map<Vector3i, ChunkJob<?>> live : this.jobs.values()) {
+            for (ChunkJob<?> job : live.values()) {
+                if (job.isPending()) {
+                    pendingCount++;
+                }
+            }
+        }
+
+        return pendingCount;
+    }
+
+    public int getRunningCount() {
+        return this.runningCount;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public long getUsefulCount() {
+        return this.usefulCount;
+    }
+
+    public long getWastedCount() {
+        return this.wastedCount;
+    }
+
+    public long getAvoidedCount() {
+        return this.avoidedCount;
+    }
+
+    // Dispatched, but prepare found nothing left to do, e.g. the chunk was already built another way
+    public long getSkippedCount() {
+        return this.skippedCount;
+    }
+
+    // Worker milliseconds behind applied results
+    public double getUsefulTime() {
+        return this.usefulTime / 1e6d;
+    }
+
+    // Worker milliseconds behind results that were cancelled mid run or stale on arrival
+    public double getWastedTime() {
+        return this.wastedTime / 1e6d;
+    }
+
+    public void cleanup() {
+        if (this.executorService != null) {
+            this.executorService.shutdownNow();
+        }
+    }
+
+    private static class Completion {
+        private final ChunkJob<?> job;
+
+        private final BooleanSupplier apply;
+
+        private final long time;
+
+        private final Throwable exception;
+
+        private Completion(ChunkJob<?> job, BooleanSupplier apply, long time, Throwable exception) {
+            this.job = job;
+
+            this.apply = apply;
+
+            this.time = time;
+
+            this.exception = exception;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.duckyshine.app.scene;
+
+import java.util.Collection;
+
+import com.duckyshine.app.model.Chunk;
+
+public class ChunkStatistics {
+    // Without skipping, every chunk owned a vertex array plus vertex, coordinate and texture buffers
+    private static final int OBJECTS_PER_MESH = 4;
+
+    private int chunkCount;
+
+    private int emptyChunkCount;
+    private int enclosedChunkCount;
+    private int pendingChunkCount;
+    private int renderableChunkCount;
+
+    private boolean isPooled;
+
+    private ChunkStatistics(boolean isPooled) {
+        this.chunkCount = 0;
+
+        this.emptyChunkCount = 0;
+        this.enclosedChunkCount = 0;
+        this.pendingChunkCount = 0;
+        this.renderableChunkCount = 0;
+
+        this.isPooled = isPooled;
+    }
+
+    public static ChunkStatistics collect(Collection<Chunk> chunks, boolean isPooled) {
+        ChunkStatistics statistics = new ChunkStatistics(isPooled);
+
+        for (Chunk chunk : chunks) {
+            statistics.chunkCount++;
+
+            if (chunk.isRenderable()) {
+                statistics.renderableChunkCount++;
+            } else if (chunk.isEmpty()) {
+                statistics.emptyChunkCount++;
+            } else if (chunk.getIsEnclosed()) {
+                statistics.enclosedChunkCount++;
+            } else {
+                // Has blocks but no mesh yet, it will reach the GPU once built so it is not skipped
+                statistics.pendingChunkCount++;
+            }
+        }
+
+        return statistics;
+    }
+
+    public int getSkippedChunkCount() {
+        return this.emptyChunkCount + this.enclosedChunkCount;
+    }
+
+    public int getSavedObjectCount() {
+        return this.getSkippedChunkCount() * ChunkStatistics.OBJECTS_PER_MESH;
+    }
+
+    // Pooled meshes share one set of objects, so the only per chunk objects left are the fallback ones
+    public int getObjectCount() {
+        return this.isPooled ? 0 : this.renderableChunkCount * ChunkStatistics.OBJECTS_PER_MESH;
+    }
+
+    public int getChunkCount() {
+        return this.chunkCount;
+    }
+
+    public int getEmptyChunkCount() {
+        return this.emptyChunkCount;
+    }
+
+    public int getEnclosedChunkCount() {
+        return this.enclosedChunkCount;
+    }
+
+    public int getPendingChunkCount() {
+        return this.pendingChunkCount;
+    }
+
+    public int getRenderableChunkCount() {
+        return this.renderableChunkCount;
+    }
+
+    @Override
+    public String toString() {
+        return "chunks: " + this.chunkCount
+                + ", renderable: " + this.renderableChunkCount
+                + ", empty: " + this.emptyChunkCount
+                + ", enclosed: " + this.enclosedChunkCount
+                + ", pending: " + this.pendingChunkCount
+                + ", gl objects: " + this.getObjectCount()
+                + ", gl objects saved: " + this.getSavedObjectCount();
+    }
+}
@@ -0,0 +1,13 @@
+package com.duckyshine.app.scene;
+
+import java.util.concurrent.Callable;
+
+// The work behind a chunk job. Only the callable runs on a worker, the other two run on the thread that updates the
+// scheduler, so they may read and change the world freely
+public interface ChunkTask<T> {
+    // Right before dispatch, captures what the worker needs, e.g. a snapshot. Null when there is nothing left to do
+    public Callable<T> prepare();
+
+    // With the worker's result, false when it turned out stale and was thrown away
+    public boolean apply(T result);
+}
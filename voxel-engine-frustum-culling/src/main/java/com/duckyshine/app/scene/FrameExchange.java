@@ -0,0 +1,48 @@
+package com.duckyshine.app.scene;
+
+// Double buffer between the simulation and the render thread. The simulation fills the back slot, the render thread
+// takes it as its front packet whenever it starts a frame, and draws its previous front again while nothing is new
+public class FrameExchange {
+    private FramePacket pendingPacket;
+
+    private long publishedCount;
+    private long skippedCount;
+
+    public FrameExchange() {
+        this.pendingPacket = null;
+
+        this.publishedCount = 0;
+        this.skippedCount = 0;
+    }
+
+    // A packet the render thread never took is replaced, but its uploads are carried into the new one
+    public synchronized void publish(FramePacket framePacket) {
+        if (this.pendingPacket != null) {
+            framePacket = framePacket.withEarlierUploads(this.pendingPacket);
+
+            this.skippedCount++;
+        }
+
+        this.pendingPacket = framePacket;
+
+        this.publishedCount++;
+    }
+
+    // The newest packet, or null when nothing was published since the last call
+    public synchronized FramePacket take() {
+        FramePacket framePacket = this.pendingPacket;
+
+        this.pendingPacket = null;
+
+        return framePacket;
+    }
+
+    public synchronized long getPublishedCount() {
+        return this.publishedCount;
+    }
+
+    // Published, then replaced before the render thread got to it
+    public synchronized long getSkippedCount() {
+        return this.skippedCount;
+    }
+}
@@ -0,0 +1,138 @@
+package com.duckyshine.app.scene;
+
+import java.util.Set;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+
+import org.joml.Vector3f;
+
+import com.duckyshine.app.buffer.BufferData;
+
+import com.duckyshine.app.model.Mesh;
+import com.duckyshine.app.model.MeshUpload;
+
+import com.duckyshine.app.physics.AABB;
+import com.duckyshine.app.physics.FixedTimestep;
+
+// Everything the render thread needs from one simulation tick, copied out so the simulation can carry on with the
+// next one. The camera comes as the positions before and after the tick, the render thread draws between the two
+// and turns the view with the newest mouse input itself
+public class FramePacket {
+    private static final double STEP_NANOSECONDS = FixedTimestep.STEP * 1e9d;
+
+    private final long tick;
+
+    // System.nanoTime when the packet was published
+    private final long time;
+
+    private final Vector3f previousCameraPosition;
+    private final Vector3f cameraPosition;
+
+    private final AABB aabb;
+
+    // Culled with the camera at the end of the tick, through a frustum wide enough for the view to turn meanwhile
+    private final List<ChunkDraw> chunkDraws;
+
+    private final List<MeshUpload> meshUploads;
+
+    // Indexed by far terrain level, null when no level changed
+    private final BufferData[] farTerrainUploads;
+
+    public FramePacket(long tick, long time, Vector3f previousCameraPosition, Vector3f cameraPosition, AABB aabb,
+            List<ChunkDraw> chunkDraws, List<MeshUpload> meshUploads, BufferData[] farTerrainUploads) {
+        this.tick = tick;
+
+        this.time = time;
+
+        this.previousCameraPosition = new Vector3f(previousCameraPosition);
+        this.cameraPosition = new Vector3f(cameraPosition);
+
+        this.aabb = new AABB(aabb);
+
+        this.chunkDraws = Collections.unmodifiableList(chunkDraws);
+
+        this.meshUploads = Collections.unmodifiableList(meshUploads);
+
+        this.farTerrainUploads = farTerrainUploads;
+    }
+
+    // This packet's view with the uploads of an earlier one the render thread never took, so skipping a packet never
+    // loses a mesh. Where both uploaded the same mesh only this packet's data is kept
+    public FramePacket withEarlierUploads(FramePacket earlier) {
+        Set<Mesh> meshes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (MeshUpload meshUpload : this.meshUploads) {
+            meshes.add(meshUpload.getMesh());
+        }
+
+        List<MeshUpload> meshUploads = new ArrayList<>();
+
+        for (MeshUpload meshUpload : earlier.meshUploads) {
+            if (!meshes.contains(meshUpload.getMesh())) {
+                meshUploads.add(meshUpload);
+            }
+        }
+
+        meshUploads.addAll(this.meshUploads);
+
+        return new FramePacket(this.tick, this.time, this.previousCameraPosition, this.cameraPosition, this.aabb,
+                this.chunkDraws, meshUploads, this.mergeFarTerrainUploads(earlier));
+    }
+
+    private BufferData[] mergeFarTerrainUploads(FramePacket earlier) {
+        if (earlier.farTerrainUploads == null) {
+            return this.farTerrainUploads;
+        }
+
+        BufferData[] farTerrainUploads = earlier.farTerrainUploads.clone();
+
+        if (this.farTerrainUploads == null) {
+            return farTerrainUploads;
+        }
+
+        for (int level = 0; level < farTerrainUploads.length; level++) {
+            if (this.farTerrainUploads[level] != null) {
+                farTerrainUploads[level] = this.farTerrainUploads[level];
+            }
+        }
+
+        return farTerrainUploads;
+    }
+
+    // How far a frame drawn at time is towards this tick's camera, frames arriving a whole tick late stop at it
+    public float getAlpha(long time) {
+        double alpha = (time - this.time) / FramePacket.STEP_NANOSECONDS;
+
+        return (float) Math.max(0.0d, Math.min(1.0d, alpha));
+    }
+
+    public Vector3f getCameraPosition(float alpha, Vector3f cameraPosition) {
+        return this.previousCameraPosition.lerp(this.cameraPosition, alpha, cameraPosition);
+    }
+
+    public long getTick() {
+        return this.tick;
+    }
+
+    public long getTime() {
+        return this.time;
+    }
+
+    public AABB getAABB() {
+        return this.aabb;
+    }
+
+    public List<ChunkDraw> getChunkDraws() {
+        return this.chunkDraws;
+    }
+
+    public List<MeshUpload> getMeshUploads() {
+        return this.meshUploads;
+    }
+
+    public BufferData[] getFarTerrainUploads() {
+        return this.farTerrainUploads;
+    }
+}
@@ -10,22 +10,63 @@ public class HeightMap {
 
     int[][] heights;
 
+    int minimumHeight;
+    int maximumHeight;
+
     public HeightMap(int width, int depth) {
         this.width = width;
         this.depth = depth;
 
         this.heights = new int[depth][width];
+
+        this.minimumHeight = 0;
+        this.maximumHeight = 0;
     }
 
     public void generate(Vector3i chunkPosition) {
         for (int dz = 0; dz < this.depth; dz++) {
             for (int dx = 0; dx < this.width; dx++) {
-                double offsetX = (double) (chunkPosition.x + dx) / this.width - 0.5d;
-                double offsetZ = (double) (chunkPosition.z + dz) / this.depth - 0.5d;
+                int x = chunkPosition.x + dx;
+                int z = chunkPosition.z + dz;
 
-                this.heights[dz][dx] = Noise.getNoise2d(offsetX, offsetZ);
+                this.heights[dz][dx] = HeightMap.getHeight(x, z, this.width, this.depth);
             }
         }
+
+        this.updateRange();
+    }
+
+    // Terrain height at any global column, shared with anything that needs the surface without building chunks
+    public static int getHeight(int x, int z, int width, int depth) {
+        double offsetX = (double) x / width - 0.5d;
+        double offsetZ = (double) z / depth - 0.5d;
+
+        return Noise.getNoise2d(offsetX, offsetZ);
+    }
+
+    public void updateRange() {
+        this.minimumHeight = Integer.MAX_VALUE;
+        this.maximumHeight = Integer.MIN_VALUE;
+
+        for (int dz = 0; dz < this.depth; dz++) {
+            for (int dx = 0; dx < this.width; dx++) {
+                this.minimumHeight = Math.min(this.minimumHeight, this.heights[dz][dx]);
+                this.maximumHeight = Math.max(this.maximumHeight, this.heights[dz][dx]);
+            }
+        }
+    }
+
+    // Whether a vertical section [y, y + height) touches the column's terrain, padded by margin blocks either way
+    public boolean isSectionInRange(int y, int height, int margin) {
+        return y + height > this.minimumHeight - margin && y <= this.maximumHeight + margin;
+    }
+
+    public int getMinimumHeight() {
+        return this.minimumHeight;
+    }
+
+    public int getMaximumHeight() {
+        return this.maximumHeight;
     }
 
     public int[][] getHeights() {
@@ -0,0 +1,8 @@
+package com.duckyshine.app.scene;
+
+// What a chunk job does, a chunk has at most one live job of each type
+public enum JobType {
+    GENERATE,
+    MESH,
+    SAVE;
+}
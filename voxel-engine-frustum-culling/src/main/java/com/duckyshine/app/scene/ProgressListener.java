@@ -0,0 +1,6 @@
+package com.duckyshine.app.scene;
+
+// Called on the thread that collects results, after each finished unit of work
+public interface ProgressListener {
+    public void onProgress(int completed, int total);
+}
@@ -0,0 +1,180 @@
+package com.duckyshine.app.scene;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import java.io.IOException;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+
+import java.nio.ByteBuffer;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+
+import org.joml.Vector3i;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.Block;
+import com.duckyshine.app.model.BlockType;
+
+import com.duckyshine.app.utility.FileUtility;
+
+// Block data for any number of generated chunks in one file, meshes are rebuilt on load.
+//
+// Layout, big endian: magic, version, noise seed, chunk count, then per chunk its origin, run count and runs of
+// (length, block type index) over x, y, z order with AIR for empty cells
+public class RegionFile {
+    private static final int MAGIC = 0x56585247;
+
+    private static final int VERSION = 1;
+
+    private static final int AIR = -1;
+
+    private final long seed;
+
+    private final List<Chunk> chunks;
+
+    private RegionFile(long seed, List<Chunk> chunks) {
+        this.seed = seed;
+
+        this.chunks = chunks;
+    }
+
+    // Durable once this returns, callers may drop any other copy of the chunks' edits
+    public static void write(Path path, long seed, Collection<Chunk> chunks) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(RegionFile.MAGIC);
+            output.writeInt(RegionFile.VERSION);
+            output.writeLong(seed);
+            output.writeInt(chunks.size());
+
+            for (Chunk chunk : chunks) {
+                RegionFile.writeChunk(output, chunk);
+            }
+        }
+
+        FileUtility.replaceDurably(path, ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    private static void writeChunk(DataOutputStream output, Chunk chunk) throws IOException {
+        Vector3i position = chunk.getPosition();
+
+        output.writeInt(position.x);
+        output.writeInt(position.y);
+        output.writeInt(position.z);
+
+        int[] types = RegionFile.getTypes(chunk);
+
+        List<int[]> runs = new ArrayList<>();
+
+        int start = 0;
+
+        for (int i = 1; i <= types.length; i++) {
+            if (i == types.length || types[i] != types[start]) {
+                runs.add(new int[] { i - start, types[start] });
+
+                start = i;
+            }
+        }
+
+        output.writeInt(runs.size());
+
+        for (int[] run : runs) {
+            output.writeShort(run[0]);
+            output.writeByte(run[1]);
+        }
+    }
+
+    private static int[] getTypes(Chunk chunk) {
+        int[] types = new int[chunk.getWidth() * chunk.getHeight() * chunk.getDepth()];
+
+        int index = 0;
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int y = 0; y < chunk.getHeight(); y++) {
+                for (int z = 0; z < chunk.getDepth(); z++) {
+                    Block block = chunk.getBlock(x, y, z);
+
+                    types[index++] = (block == null) ? RegionFile.AIR : block.getBlockType().getIndex();
+                }
+            }
+        }
+
+        return types;
+    }
+
+    // Chunks come back with blocks only, callers mesh them with update once levels and neighbours are known
+    public static RegionFile read(Path path) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != RegionFile.MAGIC || input.readInt() != RegionFile.VERSION) {
+                throw new IOException("Not a region file or an unsupported version: " + path);
+            }
+
+            long seed = input.readLong();
+
+            int count = input.readInt();
+
+            List<Chunk> chunks = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                chunks.add(RegionFile.readChunk(input));
+            }
+
+            return new RegionFile(seed, chunks);
+        }
+    }
+
+    private static Chunk readChunk(DataInputStream input) throws IOException {
+        Chunk chunk = new Chunk(input.readInt(), input.readInt(), input.readInt());
+
+        int height = chunk.getHeight();
+        int depth = chunk.getDepth();
+
+        int runCount = input.readInt();
+
+        int index = 0;
+
+        for (int i = 0; i < runCount; i++) {
+            int length = input.readUnsignedShort();
+            int type = input.readByte();
+
+            if (type == RegionFile.AIR) {
+                index += length;
+
+                continue;
+            }
+
+            BlockType blockType = RegionFile.getBlockType(type);
+
+            for (int j = 0; j < length; j++, index++) {
+                chunk.addBlock(index / (height * depth), (index / depth) % height, index % depth, blockType);
+            }
+        }
+
+        return chunk;
+    }
+
+    private static BlockType getBlockType(int index) throws IOException {
+        for (BlockType blockType : BlockType.values()) {
+            if (blockType.getIndex() == index) {
+                return blockType;
+            }
+        }
+
+        throw new IOException("Unknown block type " + index);
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public List<Chunk> getChunks() {
+        return this.chunks;
+    }
+}
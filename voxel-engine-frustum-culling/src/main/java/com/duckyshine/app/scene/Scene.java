@@ -1,6 +1,7 @@
 package com.duckyshine.app.scene;
 
 import java.util.Map;
+import java.util.List;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
@@ -8,10 +9,21 @@ import java.util.HashMap;
 import org.joml.Vector3f;
 import org.joml.Vector3i;
 
+import com.duckyshine.app.buffer.BufferData;
+
+import com.duckyshine.app.entity.EntitySystem;
+
+import com.duckyshine.app.edit.EditJournal;
+
 import com.duckyshine.app.physics.AABB;
+import com.duckyshine.app.physics.InputLog;
+import com.duckyshine.app.physics.PlayerInput;
+import com.duckyshine.app.physics.FixedTimestep;
+import com.duckyshine.app.physics.PlayerPhysics;
 
 import com.duckyshine.app.physics.controller.Player;
 import com.duckyshine.app.physics.ray.RayResult;
+import com.duckyshine.app.physics.ray.RaycastService;
 import com.duckyshine.app.asset.AssetPool;
 
 import com.duckyshine.app.camera.Camera;
@@ -23,78 +35,127 @@ import com.duckyshine.app.model.Mesh;
 import com.duckyshine.app.model.Block;
 import com.duckyshine.app.model.BlockType;
 import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.MeshUpload;
 
 import com.duckyshine.app.shader.Shader;
 import com.duckyshine.app.shader.ShaderType;
 
+import com.duckyshine.app.terrain.FarTerrain;
+
 import com.duckyshine.app.debug.Debug;
+import com.duckyshine.app.debug.AABBRenderer;
 
 // Only two places where I need to change the constants, here and Chunk
+//
+// Split between two threads once a Simulation runs it: step, update and getFramePacket belong to the simulation
+// thread, upload, render and cleanup to the GL thread, which only sees the world through frame packets
 public class Scene {
     private Shader shader;
 
     private Player player;
 
+    // Render thread's view, placed between the last two ticks every frame
+    private Camera renderCamera;
+
     private ChunkManager chunkManager;
 
+    private FarTerrain farTerrain;
+
+    private PlayerPhysics playerPhysics;
+
+    private InputLog inputLog;
+
+    private EntitySystem entitySystem;
+
+    private RaycastService raycastService;
+
+    private AABBRenderer aabbRenderer;
+
     public Scene() {
         this.player = new Player(0.0f, 20.0f, 0.0f);
 
+        this.renderCamera = new Camera();
+
         this.shader = AssetPool.getShader(ShaderType.WORLD.getName());
 
         this.chunkManager = new ChunkManager();
+
+        this.farTerrain = new FarTerrain();
+
+        this.playerPhysics = new PlayerPhysics(this.chunkManager);
+
+        this.inputLog = null;
+
+        this.entitySystem = new EntitySystem(this.chunkManager);
+
+        this.raycastService = new RaycastService(this.chunkManager, Runtime.getRuntime().availableProcessors());
+
+        this.aabbRenderer = new AABBRenderer();
     }
 
     public Scene(Shader shader) {
         this.player = new Player();
 
+        this.renderCamera = new Camera();
+
         this.shader = shader;
 
         this.chunkManager = new ChunkManager();
+
+        this.farTerrain = new FarTerrain();
+
+        this.playerPhysics = new PlayerPhysics(this.chunkManager);
+
+        this.inputLog = null;
+
+        this.entitySystem = new EntitySystem(this.chunkManager);
+
+        this.raycastService = new RaycastService(this.chunkManager, Runtime.getRuntime().availableProcessors());
+
+        this.aabbRenderer = new AABBRenderer();
     }
 
     public void initialise() {
         this.chunkManager.initialise();
     }
 
+    public int pregenerate(ProgressListener progressListener) {
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        ChunkPregenerator chunkPregenerator = new ChunkPregenerator(threads, this.chunkManager.VERTICAL_MARGIN);
+
+        int chunkCount = this.chunkManager.pregenerate(this.player, chunkPregenerator, progressListener);
+
+        chunkPregenerator.cleanup();
+
+        return chunkCount;
+    }
+
     public boolean isColliding(AABB aabb) {
-        Vector3f min = aabb.getMin();
-        Vector3f max = aabb.getMax();
-
-        int minX = (int) Math.floor(min.x);
-        int minY = (int) Math.floor(min.y);
-        int minZ = (int) Math.floor(min.z);
-
-        int maxX = (int) Math.floor(max.x);
-        int maxY = (int) Math.floor(max.y);
-        int maxZ = (int) Math.floor(max.z);
-
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    Vector3f position = new Vector3f(x, y, z);
-
-                    if (this.chunkManager.isBlockActiveAtGlobalPosition(position)) {
-                        return true;
-                    }
-                }
-            }
+        return this.playerPhysics.getVoxelCollider().isColliding(aabb);
+    }
+
+    // One fixed tick of the player and entities, edits included
+    public void step(long tick, PlayerInput input) {
+        if (this.inputLog != null) {
+            this.inputLog.record(input);
         }
 
-        return false;
-    }
+        this.playerPhysics.step(this.player, input);
 
-    public void checkCollisions(long window, float deltaTime) {
-        this.player.updateVelocity(window, deltaTime);
+        this.entitySystem.step(FixedTimestep.STEP);
 
-        Vector3f position = this.player.getPosition();
-        Vector3f target = this.player.getNextPosition(deltaTime);
+        // Edit rays start from the camera, so it follows the body every tick
+        this.player.interpolate(1.0f);
 
-        target.x = this.getAxisCollision(position.x, target.x, Axis.X);
-        target.y = this.getAxisCollision(position.y, target.y, Axis.Y);
-        target.z = this.getAxisCollision(position.z, target.z, Axis.Z);
+        this.chunkManager.setTick(tick);
 
-        this.player.setPosition(target);
+        this.player.update(input, this);
+    }
+
+    // Every tick from now on is appended to inputLog, null stops recording
+    public void setInputLog(InputLog inputLog) {
+        this.inputLog = inputLog;
     }
 
     // Refactor to controller for other dynamic entities
@@ -102,66 +163,114 @@ public class Scene {
 
     }
 
-    public float getAxisCollision(float position, float target, Axis axis) {
-        AABB aabb = this.player.getAABB();
+    // Once per batch of ticks, chunk loading and far terrain only need the latest position
+    public void update() {
+        this.player.interpolate(1.0f);
 
-        AABB offsetAABB = aabb.getOffset(target - position, axis);
+        this.chunkManager.update(this.player);
 
-        boolean isColliding = this.isColliding(offsetAABB);
+        // Edits made this tick are durable before the next one starts
+        this.chunkManager.commitEdits();
 
-        if (axis == Axis.Y) {
-            if (isColliding) {
-                if (target <= position) {
-                    this.player.setIsGrounded(true);
-                } else {
-                    this.player.resetVerticalVelocity();
-                }
-            } else {
-                this.player.setIsGrounded(false);
-            }
-        }
+        this.updateFarTerrain();
+    }
+
+    // Culls with the camera at the end of the tick and takes every mesh built since the last packet
+    public FramePacket getFramePacket(long tick, long time) {
+        Camera camera = this.player.getCamera();
+
+        List<ChunkDraw> chunkDraws = this.chunkManager.getChunkDraws(camera);
+
+        List<MeshUpload> meshUploads = this.chunkManager.takeMeshUploads();
 
-        return isColliding ? position : target;
+        return new FramePacket(tick, time, this.player.getCameraPosition(0.0f), this.player.getCameraPosition(1.0f),
+                this.player.getAABB(), chunkDraws, meshUploads, this.farTerrain.takeUploads());
     }
 
-    public void update(long window, float deltaTime) {
-        this.checkCollisions(window, deltaTime);
+    // Restores saved edits onto whatever is loaded and logs every edit from now on, returns the chunks restored
+    public int restoreEdits(EditJournal editJournal) {
+        return this.chunkManager.restore(editJournal);
+    }
 
-        this.player.update(window, this);
+    private void updateFarTerrain() {
+        Vector3f position = this.player.getPosition();
 
-        this.chunkManager.update(this.player);
+        Vector3i chunkPosition = Voxel.getChunkPositionFromGlobalPosition(position);
+
+        int voxelRadius = this.player.getRenderDistance() * Voxel.CHUNK_WIDTH;
+
+        this.farTerrain.update(position, chunkPosition.x, chunkPosition.z, voxelRadius);
     }
 
     public void setShader(ShaderType shaderType) {
-        Camera camera = this.player.getCamera();
-
         this.shader = AssetPool.getShader(shaderType.getName());
 
         this.shader.use();
 
-        this.shader.setMatrix4f("projectionViewMatrix", camera.getProjectionView());
+        this.shader.setMatrix4f("projectionViewMatrix", this.renderCamera.getProjectionView());
     }
 
-    public void render() {
+    // Once per packet, a packet drawn again on the next frame has nothing left to upload
+    public void upload(FramePacket framePacket) {
+        this.chunkManager.upload(framePacket.getMeshUploads());
+
+        BufferData[] farTerrainUploads = framePacket.getFarTerrainUploads();
+
+        if (farTerrainUploads != null) {
+            this.farTerrain.upload(farTerrainUploads);
+        }
+    }
+
+    // Positioned from the packet but turned to the window thread's newest angles, mouse look waits on no tick. The
+    // packet's angles only ever pick what is drawn
+    public void render(FramePacket framePacket, float alpha, float yaw, float pitch) {
+        Camera camera = this.renderCamera;
+
+        camera.setPosition(framePacket.getCameraPosition(alpha, new Vector3f()));
+
+        camera.setRotation(yaw, pitch);
+
+        camera.updateMatrices();
+
         this.setShader(ShaderType.WORLD);
 
-        this.chunkManager.render();
+        this.farTerrain.render();
 
-        AABB aabb = this.player.getAABB();
+        this.chunkManager.render(framePacket.getChunkDraws(), camera.getPosition());
 
-        aabb.loadBuffer();
         this.setShader(ShaderType.AABB);
-        aabb.render();
+        this.aabbRenderer.render(framePacket.getAABB());
     }
 
     public void cleanup() {
+        this.entitySystem.cleanup();
+
+        this.raycastService.cleanup();
+
+        this.aabbRenderer.cleanup();
+
+        this.farTerrain.cleanup();
+
         this.chunkManager.cleanup();
     }
 
+    // The player's camera, simulation thread only
     public Camera getCamera() {
         return this.player.getCamera();
     }
 
+    public Camera getRenderCamera() {
+        return this.renderCamera;
+    }
+
+    public EntitySystem getEntitySystem() {
+        return this.entitySystem;
+    }
+
+    public RaycastService getRaycastService() {
+        return this.raycastService;
+    }
+
     public ChunkManager getChunkManager() {
         return this.chunkManager;
     }
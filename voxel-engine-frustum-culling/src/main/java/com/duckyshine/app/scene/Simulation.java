@@ -0,0 +1,159 @@
+package com.duckyshine.app.scene;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.duckyshine.app.camera.Camera;
+
+import com.duckyshine.app.physics.PlayerInput;
+import com.duckyshine.app.physics.FixedTimestep;
+
+// Runs the scene at a fixed tick rate on its own thread, so a slow tick delays the next packet but never a frame.
+// Input comes in as the latest sample from the window thread, frame packets go out through a FrameExchange
+public class Simulation implements Runnable {
+    private final Scene scene;
+
+    private final FrameExchange frameExchange;
+
+    private final FixedTimestep fixedTimestep;
+
+    private final AtomicReference<PlayerInput> input;
+
+    // Culling follows the window's shape, which only the window thread sees change
+    private volatile float aspectRatio;
+
+    private volatile boolean isRunning;
+
+    private volatile Throwable failure;
+
+    private Thread thread;
+
+    public Simulation(Scene scene) {
+        this.scene = scene;
+
+        this.frameExchange = new FrameExchange();
+
+        this.fixedTimestep = new FixedTimestep();
+
+        this.input = new AtomicReference<>(PlayerInput.NONE);
+
+        this.aspectRatio = scene.getCamera().getAspectRatio();
+
+        this.isRunning = false;
+
+        this.failure = null;
+
+        this.thread = null;
+    }
+
+    // The first packet is built on the calling thread, so the first frame already has the loaded world to draw
+    public void start() {
+        this.scene.update();
+
+        this.frameExchange.publish(this.scene.getFramePacket(this.fixedTimestep.getTick(), System.nanoTime()));
+
+        this.isRunning = true;
+
+        this.thread = new Thread(this, "simulation");
+
+        this.thread.setDaemon(true);
+
+        this.thread.start();
+    }
+
+    @Override
+    public void run() {
+        long lastTime = System.nanoTime();
+
+        try {
+            while (this.isRunning) {
+                long time = System.nanoTime();
+
+                int steps = this.fixedTimestep.advance((time - lastTime) / 1e9f);
+
+                lastTime = time;
+
+                if (steps > 0) {
+                    this.tick(steps);
+                }
+
+                this.waitForNextTick(time);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable exception) {
+            this.failure = exception;
+        }
+
+        this.isRunning = false;
+    }
+
+    // Every step sees the newest input, the world is only culled and published once they have all run
+    private void tick(int steps) {
+        Camera camera = this.scene.getCamera();
+
+        camera.setAspectRatio(this.aspectRatio);
+
+        long tick = this.fixedTimestep.getTick() - steps;
+
+        for (int i = 0; i < steps; i++) {
+            // Toggles act once per sample from the window thread, not once per tick
+            PlayerInput input = this.input.getAndUpdate(sample -> sample.without(PlayerInput.TOGGLE_GRAVITY));
+
+            this.scene.step(++tick, input);
+        }
+
+        this.scene.update();
+
+        this.frameExchange.publish(this.scene.getFramePacket(tick, System.nanoTime()));
+    }
+
+    private void waitForNextTick(long time) throws InterruptedException {
+        double remaining = (1.0d - this.fixedTimestep.getAlpha()) * FixedTimestep.STEP * 1e9d;
+
+        long wait = time + (long) remaining - System.nanoTime();
+
+        if (wait > 0) {
+            Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+        }
+    }
+
+    // Called from the window thread every frame
+    public void setInput(PlayerInput input) {
+        this.input.set(input);
+    }
+
+    public void setAspectRatio(float aspectRatio) {
+        this.aspectRatio = aspectRatio;
+    }
+
+    // The newest packet, or null when no tick finished since the last call
+    public FramePacket takeFrame() {
+        return this.frameExchange.take();
+    }
+
+    public FrameExchange getFrameExchange() {
+        return this.frameExchange;
+    }
+
+    // Whatever ended the thread, null while it runs or after a clean stop
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+    // Waits out the current tick. Not interrupted, an interrupt would close the edit journal's channel mid write
+    public void stop() {
+        if (this.thread == null) {
+            return;
+        }
+
+        this.isRunning = false;
+
+        try {
+            this.thread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.thread = null;
+    }
+}
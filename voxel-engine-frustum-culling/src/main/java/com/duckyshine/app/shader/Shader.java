@@ -30,6 +30,15 @@ public class Shader {
         this.attachShadersAndLinkProgram();
     }
 
+    // Sources read elsewhere, only compiling and linking happen here on the GL thread
+    public Shader(ShaderSource shaderSource) {
+        this.vertexShaderSource = shaderSource.getVertexSource();
+        this.fragmentShaderSource = shaderSource.getFragmentSource();
+
+        this.createAndCompileShaders();
+        this.attachShadersAndLinkProgram();
+    }
+
     private void checkShaderCompilationStatus(int shader) {
         int status = glGetShaderi(shader, GL_COMPILE_STATUS);
 
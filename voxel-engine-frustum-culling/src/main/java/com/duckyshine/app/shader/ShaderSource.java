@@ -0,0 +1,41 @@
+package com.duckyshine.app.shader;
+
+import com.duckyshine.app.utility.FileUtility;
+import com.duckyshine.app.utility.ResourceFinder;
+
+// Shader text read ahead of compilation, safe to build on any thread since it never touches GL
+public class ShaderSource {
+    private final String key;
+
+    private final String vertexSource;
+    private final String fragmentSource;
+
+    public ShaderSource(String key, String vertexSource, String fragmentSource) {
+        this.key = key;
+
+        this.vertexSource = vertexSource;
+        this.fragmentSource = fragmentSource;
+    }
+
+    public static ShaderSource read(String key, String vertexShaderPath, String fragmentShaderPath) {
+        String vertexShaderFile = ResourceFinder.getFile(vertexShaderPath);
+        String fragmentShaderFile = ResourceFinder.getFile(fragmentShaderPath);
+
+        String vertexSource = FileUtility.getFileToString(vertexShaderFile);
+        String fragmentSource = FileUtility.getFileToString(fragmentShaderFile);
+
+        return new ShaderSource(key, vertexSource, fragmentSource);
+    }
+
+    public String getKey() {
+        return this.key;
+    }
+
+    public String getVertexSource() {
+        return this.vertexSource;
+    }
+
+    public String getFragmentSource() {
+        return this.fragmentSource;
+    }
+}
@@ -0,0 +1,26 @@
+package com.duckyshine.app.sound;
+
+// Everything the voice pool asks of the audio library, kept narrow so scheduling can be tested without a device
+public interface AudioBackend {
+    // Decodes a whole file into a new buffer, 0 when it cannot be read
+    public int loadBuffer(String filepath);
+
+    public float getDuration(int bufferId);
+
+    public void deleteBuffer(int bufferId);
+
+    // 0 once the library has no more sources to give
+    public int createSource();
+
+    public void deleteSource(int sourceId);
+
+    public void play(int sourceId, int bufferId, float offset, boolean isLooping);
+
+    public void stop(int sourceId);
+
+    public void setPosition(int sourceId, float x, float y, float z);
+
+    public void setGain(int sourceId, float gain);
+
+    public void setListenerPosition(float x, float y, float z);
+}
@@ -0,0 +1,245 @@
+package com.duckyshine.app.sound;
+
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import org.lwjgl.stb.STBVorbisInfo;
+
+import org.lwjgl.system.MemoryStack;
+
+import com.duckyshine.app.debug.Debug;
+
+import static org.lwjgl.system.MemoryStack.*;
+
+import static org.lwjgl.system.MemoryUtil.*;
+
+import static org.lwjgl.stb.STBVorbis.*;
+
+import static org.lwjgl.openal.AL11.*;
+
+// Plays one Ogg track by decoding a little at a time into a short ring of queued buffers, so only a fraction of a
+// second of PCM is ever held instead of the whole track
+public class MusicStream {
+    private static final float GAIN = 0.3f;
+
+    private static final int BUFFER_COUNT = 4;
+
+    // Per channel, 8192 frames is about 0.19 s at 44.1 kHz, the ring holds under a second
+    private static final int BUFFER_FRAMES = 8192;
+
+    private int sourceId;
+    private int audioFormat;
+
+    private int channels;
+    private int sampleRate;
+
+    private int[] bufferIds;
+
+    private long decoder;
+
+    private boolean isDecoded;
+
+    private String filepath;
+
+    private ShortBuffer pcm;
+
+    public MusicStream(String filepath) {
+        this.sourceId = 0;
+        this.audioFormat = -1;
+
+        this.bufferIds = new int[MusicStream.BUFFER_COUNT];
+
+        this.decoder = NULL;
+
+        this.isDecoded = false;
+
+        this.filepath = filepath;
+
+        this.pcm = null;
+    }
+
+    // Returns false when the track cannot be opened, nothing needs cleaning up in that case
+    public boolean open() {
+        try (MemoryStack stack = stackPush()) {
+            IntBuffer error = stack.mallocInt(1);
+
+            this.decoder = stb_vorbis_open_filename(this.filepath, error, null);
+
+            if (this.decoder == NULL) {
+                Debug.debug("Unable to open " + this.filepath + ", error " + error.get(0));
+
+                return false;
+            }
+
+            STBVorbisInfo info = STBVorbisInfo.malloc(stack);
+
+            stb_vorbis_get_info(this.decoder, info);
+
+            this.channels = info.channels();
+            this.sampleRate = info.sample_rate();
+        }
+
+        this.setAudioFormat(this.channels);
+
+        if (this.audioFormat == -1) {
+            stb_vorbis_close(this.decoder);
+
+            this.decoder = NULL;
+
+            return false;
+        }
+
+        this.pcm = memAllocShort(MusicStream.BUFFER_FRAMES * this.channels);
+
+        this.sourceId = alGenSources();
+
+        alSourcef(this.sourceId, AL_GAIN, MusicStream.GAIN);
+
+        alGenBuffers(this.bufferIds);
+
+        return true;
+    }
+
+    // Reads only the Ogg headers, no OpenAL calls, so a playlist can be checked from any thread
+    public static boolean isPlayable(String filepath) {
+        try (MemoryStack stack = stackPush()) {
+            IntBuffer error = stack.mallocInt(1);
+
+            long decoder = stb_vorbis_open_filename(filepath, error, null);
+
+            if (decoder == NULL) {
+                return false;
+            }
+
+            STBVorbisInfo info = STBVorbisInfo.malloc(stack);
+
+            stb_vorbis_get_info(decoder, info);
+
+            stb_vorbis_close(decoder);
+
+            return info.channels() == 1 || info.channels() == 2;
+        }
+    }
+
+    private void setAudioFormat(int channels) {
+        switch (channels) {
+            case 1:
+                this.audioFormat = AL_FORMAT_MONO16;
+                break;
+            case 2:
+                this.audioFormat = AL_FORMAT_STEREO16;
+                break;
+            default:
+                break;
+        }
+    }
+
+    public void play() {
+        for (int bufferId : this.bufferIds) {
+            if (!this.fill(bufferId)) {
+                break;
+            }
+
+            alSourceQueueBuffers(this.sourceId, bufferId);
+        }
+
+        alSourcePlay(this.sourceId);
+    }
+
+    // Refills every buffer the source has finished with, called from the audio thread
+    public void update() {
+        int processed = alGetSourcei(this.sourceId, AL_BUFFERS_PROCESSED);
+
+        for (int i = 0; i < processed; i++) {
+            int bufferId = alSourceUnqueueBuffers(this.sourceId);
+
+            if (this.fill(bufferId)) {
+                alSourceQueueBuffers(this.sourceId, bufferId);
+            }
+        }
+
+        // A refill that came too late lets the source run dry and stop, it has to be restarted by hand
+        if (processed > 0 && !this.isDecoded && alGetSourcei(this.sourceId, AL_SOURCE_STATE) == AL_STOPPED) {
+            alSourcePlay(this.sourceId);
+        }
+    }
+
+    private boolean fill(int bufferId) {
+        if (this.isDecoded) {
+            return false;
+        }
+
+        this.pcm.clear();
+
+        int frames = 0;
+
+        while (frames < MusicStream.BUFFER_FRAMES) {
+            this.pcm.position(frames * this.channels);
+
+            int decoded = stb_vorbis_get_samples_short_interleaved(this.decoder, this.channels, this.pcm);
+
+            if (decoded == 0) {
+                this.isDecoded = true;
+
+                break;
+            }
+
+            frames += decoded;
+        }
+
+        if (frames == 0) {
+            return false;
+        }
+
+        this.pcm.position(0);
+        this.pcm.limit(frames * this.channels);
+
+        alBufferData(bufferId, this.audioFormat, this.pcm, this.sampleRate);
+
+        return true;
+    }
+
+    public boolean isFinished() {
+        return this.isDecoded && alGetSourcei(this.sourceId, AL_SOURCE_STATE) == AL_STOPPED;
+    }
+
+    public void stop() {
+        alSourceStop(this.sourceId);
+    }
+
+    public void delete() {
+        if (this.sourceId != 0) {
+            alSourceStop(this.sourceId);
+
+            // Stopping marks every queued buffer processed, they must leave the queue before they can be deleted
+            alSourcei(this.sourceId, AL_BUFFER, 0);
+
+            alDeleteSources(this.sourceId);
+
+            alDeleteBuffers(this.bufferIds);
+
+            this.sourceId = 0;
+        }
+
+        if (this.decoder != NULL) {
+            stb_vorbis_close(this.decoder);
+
+            this.decoder = NULL;
+        }
+
+        if (this.pcm != null) {
+            memFree(this.pcm);
+
+            this.pcm = null;
+        }
+    }
+
+    public String getFilepath() {
+        return this.filepath;
+    }
+
+    // PCM held by this stream, the decoder's own state comes on top
+    public int getBufferedBytes() {
+        return (MusicStream.BUFFER_COUNT + 1) * MusicStream.BUFFER_FRAMES * this.channels * Short.BYTES;
+    }
+}
@@ -0,0 +1,83 @@
+package com.duckyshine.app.sound;
+
+import java.util.List;
+
+import com.duckyshine.app.math.RandomNumber;
+
+import com.duckyshine.app.utility.FileUtility;
+
+import com.duckyshine.app.debug.Debug;
+
+// Runs on its own thread, keeps the current track's buffers topped up and opens the next track when one ends, so
+// neither decoding nor switching tracks ever happens on the main thread
+public class MusicStreamer implements Runnable {
+    // A 0.19 s buffer refilled every 20 ms leaves plenty of margin before the ring runs dry
+    private static final long REFILL_INTERVAL = 20L;
+
+    private volatile boolean isRunning;
+
+    private List<String> playlist;
+
+    private MusicStream music;
+
+    public MusicStreamer(List<String> playlist) {
+        this.isRunning = true;
+
+        this.playlist = playlist;
+
+        this.music = null;
+    }
+
+    @Override
+    public void run() {
+        while (this.isRunning) {
+            if (this.music == null || this.music.isFinished()) {
+                this.playNext();
+            } else {
+                this.music.update();
+            }
+
+            try {
+                Thread.sleep(MusicStreamer.REFILL_INTERVAL);
+            } catch (InterruptedException exception) {
+                break;
+            }
+        }
+
+        if (this.music != null) {
+            this.music.delete();
+
+            this.music = null;
+        }
+    }
+
+    private void playNext() {
+        if (this.music != null) {
+            this.music.delete();
+
+            this.music = null;
+        }
+
+        if (this.playlist.isEmpty()) {
+            return;
+        }
+
+        int index = RandomNumber.getRandomInteger(this.playlist.size());
+
+        MusicStream music = new MusicStream(this.playlist.get(index));
+
+        if (!music.open()) {
+            return;
+        }
+
+        Debug.debug("Now playing: " + FileUtility.getFilename(music.getFilepath()));
+
+        music.play();
+
+        this.music = music;
+    }
+
+    public void stop() {
+        this.isRunning = false;
+    }
+}
@@ -0,0 +1,122 @@
+package com.duckyshine.app.sound;
+
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import org.lwjgl.system.MemoryStack;
+
+import static org.lwjgl.system.MemoryStack.*;
+
+import static org.lwjgl.system.MemoryUtil.*;
+
+import static org.lwjgl.stb.STBVorbis.*;
+
+import static org.lwjgl.openal.AL11.*;
+
+public class OpenALBackend implements AudioBackend {
+    @Override
+    public int loadBuffer(String filepath) {
+        try (MemoryStack stack = stackPush()) {
+            IntBuffer channelsBuffer = stack.mallocInt(1);
+            IntBuffer sampleRateBuffer = stack.mallocInt(1);
+
+            ShortBuffer audioBuffer = stb_vorbis_decode_filename(filepath, channelsBuffer, sampleRateBuffer);
+
+            if (audioBuffer == null) {
+                return 0;
+            }
+
+            int audioFormat = this.getAudioFormat(channelsBuffer.get(0));
+
+            if (audioFormat == -1) {
+                memFree(audioBuffer);
+
+                return 0;
+            }
+
+            int bufferId = alGenBuffers();
+
+            alBufferData(bufferId, audioFormat, audioBuffer, sampleRateBuffer.get(0));
+
+            memFree(audioBuffer);
+
+            return bufferId;
+        }
+    }
+
+    private int getAudioFormat(int channels) {
+        switch (channels) {
+            case 1:
+                return AL_FORMAT_MONO16;
+            case 2:
+                return AL_FORMAT_STEREO16;
+            default:
+                return -1;
+        }
+    }
+
+    @Override
+    public float getDuration(int bufferId) {
+        int size = alGetBufferi(bufferId, AL_SIZE);
+        int bits = alGetBufferi(bufferId, AL_BITS);
+        int channels = alGetBufferi(bufferId, AL_CHANNELS);
+        int frequency = alGetBufferi(bufferId, AL_FREQUENCY);
+
+        return (float) size / (bits / 8 * channels) / frequency;
+    }
+
+    @Override
+    public void deleteBuffer(int bufferId) {
+        alDeleteBuffers(bufferId);
+    }
+
+    @Override
+    public int createSource() {
+        int sourceId = alGenSources();
+
+        if (alGetError() != AL_NO_ERROR) {
+            return 0;
+        }
+
+        alSourcef(sourceId, AL_REFERENCE_DISTANCE, VoicePool.REFERENCE_DISTANCE);
+        alSourcef(sourceId, AL_MAX_DISTANCE, VoicePool.MAXIMUM_DISTANCE);
+
+        return sourceId;
+    }
+
+    @Override
+    public void deleteSource(int sourceId) {
+        alDeleteSources(sourceId);
+    }
+
+    @Override
+    public void play(int sourceId, int bufferId, float offset, boolean isLooping) {
+        alSourcei(sourceId, AL_BUFFER, bufferId);
+        alSourcei(sourceId, AL_LOOPING, isLooping ? AL_TRUE : AL_FALSE);
+        alSourcef(sourceId, AL_SEC_OFFSET, offset);
+
+        alSourcePlay(sourceId);
+    }
+
+    @Override
+    public void stop(int sourceId) {
+        alSourceStop(sourceId);
+
+        alSourcei(sourceId, AL_BUFFER, 0);
+    }
+
+    @Override
+    public void setPosition(int sourceId, float x, float y, float z) {
+        alSource3f(sourceId, AL_POSITION, x, y, z);
+    }
+
+    @Override
+    public void setGain(int sourceId, float gain) {
+        alSourcef(sourceId, AL_GAIN, gain);
+    }
+
+    @Override
+    public void setListenerPosition(float x, float y, float z) {
+        alListener3f(AL_POSITION, x, y, z);
+    }
+}
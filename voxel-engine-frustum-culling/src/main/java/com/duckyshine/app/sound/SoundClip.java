@@ -0,0 +1,30 @@
+package com.duckyshine.app.sound;
+
+// A short effect decoded once into a buffer that every voice playing it shares
+public class SoundClip {
+    private final int bufferId;
+
+    private final float duration;
+
+    private final String filepath;
+
+    public SoundClip(String filepath, int bufferId, float duration) {
+        this.bufferId = bufferId;
+
+        this.duration = duration;
+
+        this.filepath = filepath;
+    }
+
+    public int getBufferId() {
+        return this.bufferId;
+    }
+
+    public float getDuration() {
+        return this.duration;
+    }
+
+    public String getFilepath() {
+        return this.filepath;
+    }
+}
@@ -1,40 +1,43 @@
 package com.duckyshine.app.sound;
 
-import java.util.Map;
 import java.util.List;
-import java.util.HashMap;
 import java.util.ArrayList;
 
-import org.lwjgl.openal.*;
+import org.joml.Vector3f;
 
-import com.duckyshine.app.math.RandomNumber;
+import org.lwjgl.openal.*;
 
-import com.duckyshine.app.utility.FileUtility;
 import com.duckyshine.app.utility.ResourceFinder;
 
-import com.duckyshine.app.debug.Debug;
-
+import static org.lwjgl.openal.AL11.*;
 import static org.lwjgl.openal.ALC11.*;
 
 public class SoundPlayer {
+    // Kept well under the usual driver limit, leaving room for the music source
+    private static final int EFFECT_SOURCES = 32;
+
+    private static final String MUSIC_DIRECTORY = "sound/music/";
+
     private long audioDevice;
     private long audioContext;
 
     private String deviceName;
 
-    private Sound music;
-
     private List<String> playlist;
 
-    private Map<String, Sound> cache;
+    private MusicStreamer musicStreamer;
 
-    public SoundPlayer() {
-        this.music = null;
+    private Thread musicThread;
 
-        this.cache = new HashMap<>();
+    private VoicePool voicePool;
 
+    public SoundPlayer() {
         this.playlist = new ArrayList<>();
 
+        this.musicStreamer = null;
+
+        this.musicThread = null;
+
         this.initialise();
     }
 
@@ -54,45 +57,78 @@ public class SoundPlayer {
             assert false : "Audio library is not supported";
         }
 
-        this.initialisePlaylist();
+        // Inverse distance clamped, the same curve VoicePool uses to decide which voices are audible
+        alDistanceModel(AL_INVERSE_DISTANCE_CLAMPED);
+
+        this.voicePool = new VoicePool(new OpenALBackend(), SoundPlayer.EFFECT_SOURCES);
+    }
+
+    // Only the file listing, headers are checked separately so they can be read in parallel
+    public static List<String> getMusicFiles() {
+        List<String> files = ResourceFinder.getFiles(SoundPlayer.MUSIC_DIRECTORY);
+
+        return files == null ? List.of() : files;
     }
 
-    private void initialisePlaylist() {
-        List<String> files = ResourceFinder.getFiles("sound/music/");
+    // Music is left silent until a playlist is given, the device itself is ready once constructed
+    public void setPlaylist(List<String> playlist) {
+        this.playlist.clear();
 
-        if (files != null) {
-            this.playlist.addAll(files);
+        this.playlist.addAll(playlist);
+    }
+
+    // Plays a shared, pre-decoded effect at a world position, null when the file cannot be loaded
+    public Voice playEffect(String filepath, SoundPriority priority, Vector3f position) {
+        SoundClip soundClip = this.voicePool.getClip(filepath);
+
+        if (soundClip == null) {
+            return null;
         }
+
+        return this.voicePool.play(soundClip, priority, position.x, position.y, position.z);
     }
 
+    public void update(Vector3f listenerPosition, float deltaTime) {
+        this.voicePool.update(listenerPosition.x, listenerPosition.y, listenerPosition.z, deltaTime);
+    }
+
+    // Starts the streaming thread the first time, after that music keeps itself going
     public void playMusic() {
-        if (this.music == null || !this.music.isPlaying()) {
-            this.music = this.getRandomMusic();
-            Debug.debug("Now playing: " + FileUtility.getFilename(this.music.getFilepath()));
-            this.music.play();
+        if (this.musicThread != null) {
+            return;
         }
-    }
 
-    private Sound getRandomMusic() {
-        int index = RandomNumber.getRandomInteger(this.playlist.size());
+        this.musicStreamer = new MusicStreamer(this.playlist);
 
-        String filepath = this.playlist.get(index);
+        this.musicThread = new Thread(this.musicStreamer, "music-streamer");
 
-        if (cache.containsKey(filepath)) {
-            return cache.get(filepath);
+        this.musicThread.setDaemon(true);
+
+        this.musicThread.start();
+    }
+
+    private void stopMusic() {
+        if (this.musicThread == null) {
+            return;
         }
 
-        Sound music = new Sound(filepath);
+        this.musicStreamer.stop();
 
-        this.cache.put(filepath, music);
+        this.musicThread.interrupt();
 
-        return music;
+        try {
+            this.musicThread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.musicThread = null;
     }
 
     public void cleanup() {
-        for (Sound sound : cache.values()) {
-            sound.delete();
-        }
+        this.stopMusic();
+
+        this.voicePool.cleanup();
 
         alcDestroyContext(this.audioContext);
 
@@ -0,0 +1,9 @@
+package com.duckyshine.app.sound;
+
+// A voice of higher priority always takes a source before any audible voice of lower priority
+public enum SoundPriority {
+    LOW,
+    NORMAL,
+    HIGH,
+    CRITICAL
+}
@@ -0,0 +1,123 @@
+package com.duckyshine.app.sound;
+
+// One playing sound as the game sees it, it keeps its position and play time whether or not it holds a source
+public class Voice {
+    public static final int VIRTUAL = 0;
+
+    private final SoundClip soundClip;
+
+    private final SoundPriority priority;
+
+    private final boolean isLooping;
+
+    private float x;
+    private float y;
+    private float z;
+
+    private float gain;
+
+    private float elapsed;
+
+    private float audibility;
+
+    private int sourceId;
+
+    private boolean isStopped;
+
+    public Voice(SoundClip soundClip, SoundPriority priority, float x, float y, float z, float gain, boolean isLooping) {
+        this.soundClip = soundClip;
+
+        this.priority = priority;
+
+        this.isLooping = isLooping;
+
+        this.x = x;
+        this.y = y;
+        this.z = z;
+
+        this.gain = gain;
+
+        this.elapsed = 0.0f;
+
+        this.audibility = 0.0f;
+
+        this.sourceId = Voice.VIRTUAL;
+
+        this.isStopped = false;
+    }
+
+    public void advance(float deltaTime) {
+        this.elapsed += deltaTime;
+
+        if (this.isLooping && this.soundClip.getDuration() > 0.0f) {
+            this.elapsed %= this.soundClip.getDuration();
+        }
+    }
+
+    public boolean isFinished() {
+        return this.isStopped || (!this.isLooping && this.elapsed >= this.soundClip.getDuration());
+    }
+
+    // Stops for good, the pool frees its source on the next update
+    public void stop() {
+        this.isStopped = true;
+    }
+
+    public boolean isVirtual() {
+        return this.sourceId == Voice.VIRTUAL;
+    }
+
+    public void setPosition(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public void setSourceId(int sourceId) {
+        this.sourceId = sourceId;
+    }
+
+    public void setAudibility(float audibility) {
+        this.audibility = audibility;
+    }
+
+    public SoundClip getSoundClip() {
+        return this.soundClip;
+    }
+
+    public SoundPriority getPriority() {
+        return this.priority;
+    }
+
+    public boolean getIsLooping() {
+        return this.isLooping;
+    }
+
+    public float getX() {
+        return this.x;
+    }
+
+    public float getY() {
+        return this.y;
+    }
+
+    public float getZ() {
+        return this.z;
+    }
+
+    public float getGain() {
+        return this.gain;
+    }
+
+    public float getElapsed() {
+        return this.elapsed;
+    }
+
+    public float getAudibility() {
+        return this.audibility;
+    }
+
+    public int getSourceId() {
+        return this.sourceId;
+    }
+}
@@ -0,0 +1,234 @@
+package com.duckyshine.app.sound;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+
+// A fixed set of sources shared by any number of voices, every update the most important audible voices hold the
+// sources and the rest carry on virtually, keeping their position and play time until they can be heard again
+public class VoicePool {
+    // Distance at which a voice is silent and gives up its source regardless of how few voices are playing
+    public static final float MAXIMUM_DISTANCE = 48.0f;
+
+    // Below this distance nothing is attenuated, matching the reference distance given to the library
+    public static final float REFERENCE_DISTANCE = 4.0f;
+
+    // Audible voices first, so the ones that get sources are always a prefix of the sorted list
+    private static final Comparator<Voice> ORDER = Comparator
+            .comparing((Voice voice) -> voice.getAudibility() > 0.0f, Comparator.reverseOrder())
+            .thenComparing(Voice::getPriority, Comparator.reverseOrder())
+            .thenComparing(Voice::getAudibility, Comparator.reverseOrder());
+
+    private final AudioBackend audioBackend;
+
+    private final Deque<Integer> freeSources;
+
+    private final List<Integer> sources;
+
+    private final List<Voice> voices;
+
+    private final Map<String, SoundClip> clips;
+
+    private float listenerX;
+    private float listenerY;
+    private float listenerZ;
+
+    public VoicePool(AudioBackend audioBackend, int sourceCount) {
+        this.audioBackend = audioBackend;
+
+        this.freeSources = new ArrayDeque<>();
+
+        this.sources = new ArrayList<>();
+
+        this.voices = new ArrayList<>();
+
+        this.clips = new HashMap<>();
+
+        for (int i = 0; i < sourceCount; i++) {
+            int sourceId = audioBackend.createSource();
+
+            // Drivers may give out fewer sources than asked for, the pool is simply smaller then
+            if (sourceId == Voice.VIRTUAL) {
+                break;
+            }
+
+            this.sources.add(sourceId);
+
+            this.freeSources.add(sourceId);
+        }
+    }
+
+    // Each file is decoded once, later requests share the same buffer
+    public SoundClip getClip(String filepath) {
+        SoundClip soundClip = this.clips.get(filepath);
+
+        if (soundClip != null) {
+            return soundClip;
+        }
+
+        int bufferId = this.audioBackend.loadBuffer(filepath);
+
+        if (bufferId == 0) {
+            return null;
+        }
+
+        soundClip = new SoundClip(filepath, bufferId, this.audioBackend.getDuration(bufferId));
+
+        this.clips.put(filepath, soundClip);
+
+        return soundClip;
+    }
+
+    // Starts virtual, the next update decides whether it gets a source
+    public Voice play(SoundClip soundClip, SoundPriority priority, float x, float y, float z) {
+        return this.play(soundClip, priority, x, y, z, 1.0f, false);
+    }
+
+    public Voice play(SoundClip soundClip, SoundPriority priority, float x, float y, float z, float gain, boolean isLooping) {
+        Voice voice = new Voice(soundClip, priority, x, y, z, gain, isLooping);
+
+        this.voices.add(voice);
+
+        return voice;
+    }
+
+    public void update(float listenerX, float listenerY, float listenerZ, float deltaTime) {
+        this.listenerX = listenerX;
+        this.listenerY = listenerY;
+        this.listenerZ = listenerZ;
+
+        this.audioBackend.setListenerPosition(listenerX, listenerY, listenerZ);
+
+        this.removeFinished(deltaTime);
+
+        for (Voice voice : this.voices) {
+            voice.setAudibility(this.getAudibility(voice));
+        }
+
+        this.voices.sort(VoicePool.ORDER);
+
+        int realCount = Math.min(this.sources.size(), this.getAudibleCount());
+
+        // Sources come back from the voices that lost their place first, so the winners can take them
+        for (int i = realCount; i < this.voices.size(); i++) {
+            this.virtualise(this.voices.get(i));
+        }
+
+        for (int i = 0; i < realCount; i++) {
+            this.realise(this.voices.get(i));
+        }
+    }
+
+    private void removeFinished(float deltaTime) {
+        for (int i = this.voices.size() - 1; i >= 0; i--) {
+            Voice voice = this.voices.get(i);
+
+            voice.advance(deltaTime);
+
+            if (voice.isFinished()) {
+                this.virtualise(voice);
+
+                this.voices.remove(i);
+            }
+        }
+    }
+
+    private int getAudibleCount() {
+        int count = 0;
+
+        for (Voice voice : this.voices) {
+            if (voice.getAudibility() > 0.0f) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    // Same inverse distance clamped curve the library uses, zero past the maximum distance
+    private float getAudibility(Voice voice) {
+        float dx = voice.getX() - this.listenerX;
+        float dy = voice.getY() - this.listenerY;
+        float dz = voice.getZ() - this.listenerZ;
+
+        float distance = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        if (distance >= VoicePool.MAXIMUM_DISTANCE) {
+            return 0.0f;
+        }
+
+        float clamped = Math.max(distance, VoicePool.REFERENCE_DISTANCE);
+
+        return voice.getGain() * VoicePool.REFERENCE_DISTANCE / clamped;
+    }
+
+    private void virtualise(Voice voice) {
+        if (voice.isVirtual()) {
+            return;
+        }
+
+        this.audioBackend.stop(voice.getSourceId());
+
+        this.freeSources.add(voice.getSourceId());
+
+        voice.setSourceId(Voice.VIRTUAL);
+    }
+
+    // A voice that was virtual resumes where its play time says it would be, not from the start
+    private void realise(Voice voice) {
+        if (voice.isVirtual()) {
+            int sourceId = this.freeSources.poll();
+
+            voice.setSourceId(sourceId);
+
+            this.audioBackend.setGain(sourceId, voice.getGain());
+            this.audioBackend.setPosition(sourceId, voice.getX(), voice.getY(), voice.getZ());
+
+            this.audioBackend.play(sourceId, voice.getSoundClip().getBufferId(), voice.getElapsed(), voice.getIsLooping());
+        } else {
+            this.audioBackend.setPosition(voice.getSourceId(), voice.getX(), voice.getY(), voice.getZ());
+        }
+    }
+
+    public void cleanup() {
+        for (Voice voice : this.voices) {
+            this.virtualise(voice);
+        }
+
+        this.voices.clear();
+
+        for (int sourceId : this.sources) {
+            this.audioBackend.deleteSource(sourceId);
+        }
+
+        this.sources.clear();
+
+        this.freeSources.clear();
+
+        for (SoundClip soundClip : this.clips.values()) {
+            this.audioBackend.deleteBuffer(soundClip.getBufferId());
+        }
+
+        this.clips.clear();
+    }
+
+    public int getSourceCount() {
+        return this.sources.size();
+    }
+
+    public int getVoiceCount() {
+        return this.voices.size();
+    }
+
+    public int getRealCount() {
+        return this.sources.size() - this.freeSources.size();
+    }
+
+    public int getVirtualCount() {
+        return this.voices.size() - this.getRealCount();
+    }
+}
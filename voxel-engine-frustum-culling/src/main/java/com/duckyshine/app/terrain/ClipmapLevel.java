@@ -0,0 +1,131 @@
+package com.duckyshine.app.terrain;
+
+import com.duckyshine.app.math.Voxel;
+
+import com.duckyshine.app.scene.HeightMap;
+
+// One square ring of the far terrain, heights are kept in a wrapping grid so moving only samples the new edge
+public class ClipmapLevel {
+    private final int size;
+    private final int spacing;
+
+    private int originX;
+    private int originZ;
+
+    private boolean isInitialised;
+
+    private int sampleCount;
+
+    private int[] heights;
+
+    public ClipmapLevel(int size, int spacing) {
+        this.size = size;
+        this.spacing = spacing;
+
+        this.originX = 0;
+        this.originZ = 0;
+
+        this.isInitialised = false;
+
+        this.sampleCount = 0;
+
+        this.heights = new int[(size + 1) * (size + 1)];
+    }
+
+    // Returns whether the level moved, centre is in blocks
+    public boolean update(int centreX, int centreZ) {
+        int originX = Math.floorDiv(centreX, this.spacing) - this.size / 2;
+        int originZ = Math.floorDiv(centreZ, this.spacing) - this.size / 2;
+
+        this.sampleCount = 0;
+
+        if (this.isInitialised && originX == this.originX && originZ == this.originZ) {
+            return false;
+        }
+
+        boolean isOverlapping = this.isInitialised
+                && Math.abs(originX - this.originX) <= this.size
+                && Math.abs(originZ - this.originZ) <= this.size;
+
+        for (int gridX = originX; gridX <= originX + this.size; gridX++) {
+            for (int gridZ = originZ; gridZ <= originZ + this.size; gridZ++) {
+                if (isOverlapping && this.isSampled(gridX, gridZ)) {
+                    continue;
+                }
+
+                this.sample(gridX, gridZ);
+            }
+        }
+
+        this.originX = originX;
+        this.originZ = originZ;
+
+        this.isInitialised = true;
+
+        return true;
+    }
+
+    private boolean isSampled(int gridX, int gridZ) {
+        boolean isInsideX = gridX >= this.originX && gridX <= this.originX + this.size;
+        boolean isInsideZ = gridZ >= this.originZ && gridZ <= this.originZ + this.size;
+
+        return isInsideX && isInsideZ;
+    }
+
+    private void sample(int gridX, int gridZ) {
+        int height = HeightMap.getHeight(gridX * this.spacing, gridZ * this.spacing, Voxel.CHUNK_WIDTH,
+                Voxel.CHUNK_DEPTH);
+
+        this.heights[this.getIndex(gridX, gridZ)] = height;
+
+        this.sampleCount++;
+    }
+
+    private int getIndex(int gridX, int gridZ) {
+        int x = Math.floorMod(gridX, this.size + 1);
+        int z = Math.floorMod(gridZ, this.size + 1);
+
+        return x * (this.size + 1) + z;
+    }
+
+    public int getHeight(int gridX, int gridZ) {
+        return this.heights[this.getIndex(gridX, gridZ)];
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getSpacing() {
+        return this.spacing;
+    }
+
+    public int getOriginX() {
+        return this.originX;
+    }
+
+    public int getOriginZ() {
+        return this.originZ;
+    }
+
+    public int getMinimumX() {
+        return this.originX * this.spacing;
+    }
+
+    public int getMinimumZ() {
+        return this.originZ * this.spacing;
+    }
+
+    public int getMaximumX() {
+        return (this.originX + this.size) * this.spacing;
+    }
+
+    public int getMaximumZ() {
+        return (this.originZ + this.size) * this.spacing;
+    }
+
+    // Heights sampled on the last update, the whole grid the first time and a thin edge after that
+    public int getSampleCount() {
+        return this.sampleCount;
+    }
+}
@@ -0,0 +1,300 @@
+package com.duckyshine.app.terrain;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import org.joml.Vector3f;
+
+import com.duckyshine.app.buffer.BufferData;
+import com.duckyshine.app.buffer.MeshBuffer;
+import com.duckyshine.app.buffer.QuadIndexBuffer;
+
+import com.duckyshine.app.math.Voxel;
+import com.duckyshine.app.math.Direction;
+
+import com.duckyshine.app.model.BlockType;
+
+import static org.lwjgl.opengl.GL30.*;
+
+// Heightfield straight from the terrain noise in nested clipmap rings, fills the view past the voxel chunks
+public class FarTerrain {
+    private static final int LEVELS = 3;
+
+    private static final int SIZE = 32;
+
+    private static final int BASE_SPACING = 16;
+
+    private static final int TEXTURE_ID = BlockType.GRASS.getIndex() * 6 + Direction.TOP.getIndex();
+
+    private List<ClipmapLevel> levels;
+
+    private BufferData[] bufferData;
+
+    private int[] quadCounts;
+
+    private boolean[] isDirty;
+
+    // Render thread only, filled from whatever takeUploads handed over
+    private List<MeshBuffer> buffers;
+
+    private int[] uploadedQuadCounts;
+
+    private int holeMinimumX;
+    private int holeMinimumZ;
+    private int holeMaximumX;
+    private int holeMaximumZ;
+
+    private int sampleCount;
+
+    public FarTerrain() {
+        this.levels = new ArrayList<>();
+
+        this.buffers = new ArrayList<>();
+
+        for (int level = 0; level < FarTerrain.LEVELS; level++) {
+            this.levels.add(new ClipmapLevel(FarTerrain.SIZE, FarTerrain.BASE_SPACING << level));
+
+            this.buffers.add(new MeshBuffer());
+        }
+
+        this.bufferData = new BufferData[FarTerrain.LEVELS];
+
+        this.quadCounts = new int[FarTerrain.LEVELS];
+
+        this.isDirty = new boolean[FarTerrain.LEVELS];
+
+        this.uploadedQuadCounts = new int[FarTerrain.LEVELS];
+
+        this.sampleCount = 0;
+    }
+
+    // Anything within voxelRadius blocks of the player's chunk is left to the chunks
+    public void update(Vector3f position, int chunkX, int chunkZ, int voxelRadius) {
+        int centreX = (int) Math.floor(position.x);
+        int centreZ = (int) Math.floor(position.z);
+
+        boolean isHoleMoved = this.updateHole(chunkX, chunkZ, voxelRadius);
+
+        boolean isInnerMoved = false;
+
+        this.sampleCount = 0;
+
+        for (int level = 0; level < FarTerrain.LEVELS; level++) {
+            ClipmapLevel clipmapLevel = this.levels.get(level);
+
+            boolean isMoved = clipmapLevel.update(centreX, centreZ);
+
+            this.sampleCount += clipmapLevel.getSampleCount();
+
+            // A level's hole is the one inside it, so it is rebuilt when either moved
+            if (isMoved || isInnerMoved || isHoleMoved) {
+                this.build(level);
+            }
+
+            isInnerMoved = isMoved;
+        }
+    }
+
+    private boolean updateHole(int chunkX, int chunkZ, int voxelRadius) {
+        int minimumX = chunkX - voxelRadius;
+        int minimumZ = chunkZ - voxelRadius;
+
+        int maximumX = chunkX + Voxel.CHUNK_WIDTH + voxelRadius;
+        int maximumZ = chunkZ + Voxel.CHUNK_DEPTH + voxelRadius;
+
+        if (minimumX == this.holeMinimumX && minimumZ == this.holeMinimumZ
+                && maximumX == this.holeMaximumX && maximumZ == this.holeMaximumZ) {
+            return false;
+        }
+
+        this.holeMinimumX = minimumX;
+        this.holeMinimumZ = minimumZ;
+
+        this.holeMaximumX = maximumX;
+        this.holeMaximumZ = maximumZ;
+
+        return true;
+    }
+
+    // Arrays are sized from a first pass over the cells and filled on the second, no boxed intermediate lists
+    private void build(int level) {
+        ClipmapLevel clipmapLevel = this.levels.get(level);
+
+        ClipmapLevel innerLevel = (level > 0) ? this.levels.get(level - 1) : null;
+
+        int spacing = clipmapLevel.getSpacing();
+
+        int quadCount = 0;
+
+        for (int cellX = 0; cellX < clipmapLevel.getSize(); cellX++) {
+            for (int cellZ = 0; cellZ < clipmapLevel.getSize(); cellZ++) {
+                if (this.isCellDrawn(clipmapLevel, innerLevel, cellX, cellZ)) {
+                    quadCount++;
+                }
+            }
+        }
+
+        float[] vertices = new float[quadCount * 3 * QuadIndexBuffer.VERTICES_PER_QUAD];
+        float[] coordinates = new float[quadCount * 2 * QuadIndexBuffer.VERTICES_PER_QUAD];
+
+        int vertex = 0;
+
+        for (int cellX = 0; cellX < clipmapLevel.getSize(); cellX++) {
+            for (int cellZ = 0; cellZ < clipmapLevel.getSize(); cellZ++) {
+                if (!this.isCellDrawn(clipmapLevel, innerLevel, cellX, cellZ)) {
+                    continue;
+                }
+
+                int gridX = clipmapLevel.getOriginX() + cellX;
+                int gridZ = clipmapLevel.getOriginZ() + cellZ;
+
+                // Same corner order as a block's top face, so the shared quad indices wind it the same way
+                this.setVertex(vertices, coordinates, vertex++, clipmapLevel, gridX, gridZ, 0.0f, 0.0f);
+                this.setVertex(vertices, coordinates, vertex++, clipmapLevel, gridX, gridZ + 1, 0.0f, spacing);
+                this.setVertex(vertices, coordinates, vertex++, clipmapLevel, gridX + 1, gridZ + 1, spacing, spacing);
+                this.setVertex(vertices, coordinates, vertex++, clipmapLevel, gridX + 1, gridZ, spacing, 0.0f);
+            }
+        }
+
+        int[] textures = new int[quadCount * QuadIndexBuffer.VERTICES_PER_QUAD];
+
+        for (int i = 0; i < textures.length; i++) {
+            textures[i] = FarTerrain.TEXTURE_ID;
+        }
+
+        this.bufferData[level] = new BufferData(vertices, coordinates, textures);
+
+        this.quadCounts[level] = quadCount;
+
+        this.isDirty[level] = true;
+    }
+
+    private boolean isCellDrawn(ClipmapLevel clipmapLevel, ClipmapLevel innerLevel, int cellX, int cellZ) {
+        int spacing = clipmapLevel.getSpacing();
+
+        int x = (clipmapLevel.getOriginX() + cellX) * spacing;
+        int z = (clipmapLevel.getOriginZ() + cellZ) * spacing;
+
+        return !this.isInsideHole(x, z, spacing) && !this.isInsideLevel(innerLevel, x, z, spacing);
+    }
+
+    private void setVertex(float[] vertices, float[] coordinates, int vertex, ClipmapLevel clipmapLevel, int gridX,
+            int gridZ, float u, float v) {
+        int spacing = clipmapLevel.getSpacing();
+
+        vertices[vertex * 3] = gridX * spacing;
+        vertices[vertex * 3 + 1] = clipmapLevel.getHeight(gridX, gridZ);
+        vertices[vertex * 3 + 2] = gridZ * spacing;
+
+        coordinates[vertex * 2] = u;
+        coordinates[vertex * 2 + 1] = v;
+    }
+
+    private boolean isInsideHole(int x, int z, int spacing) {
+        return x >= this.holeMinimumX && x + spacing <= this.holeMaximumX
+                && z >= this.holeMinimumZ && z + spacing <= this.holeMaximumZ;
+    }
+
+    // The inner level is shrunk by one of this level's cells, so neighbouring rings overlap instead of cracking
+    private boolean isInsideLevel(ClipmapLevel innerLevel, int x, int z, int spacing) {
+        if (innerLevel == null) {
+            return false;
+        }
+
+        return x >= innerLevel.getMinimumX() + spacing && x + spacing <= innerLevel.getMaximumX() - spacing
+                && z >= innerLevel.getMinimumZ() + spacing && z + spacing <= innerLevel.getMaximumZ() - spacing;
+    }
+
+    // Levels rebuilt since the last call, indexed by level and null where nothing changed. Null when no level did
+    public BufferData[] takeUploads() {
+        BufferData[] uploads = null;
+
+        for (int level = 0; level < FarTerrain.LEVELS; level++) {
+            if (!this.isDirty[level]) {
+                continue;
+            }
+
+            if (uploads == null) {
+                uploads = new BufferData[FarTerrain.LEVELS];
+            }
+
+            uploads[level] = this.bufferData[level];
+
+            this.bufferData[level] = null;
+
+            this.isDirty[level] = false;
+        }
+
+        return uploads;
+    }
+
+    // Render thread only
+    public void upload(BufferData[] uploads) {
+        for (int level = 0; level < FarTerrain.LEVELS; level++) {
+            BufferData bufferData = uploads[level];
+
+            if (bufferData == null) {
+                continue;
+            }
+
+            MeshBuffer buffer = this.buffers.get(level);
+
+            buffer.cleanup();
+
+            this.uploadedQuadCounts[level] = bufferData.getVertices().length / (3 * QuadIndexBuffer.VERTICES_PER_QUAD);
+
+            if (this.uploadedQuadCounts[level] > 0) {
+                buffer.setup(bufferData);
+            }
+        }
+    }
+
+    // Drawn before the chunks, the heightfield sits a block under the voxel surface so chunks win any overlap
+    public void render() {
+        for (int level = 0; level < FarTerrain.LEVELS; level++) {
+            MeshBuffer buffer = this.buffers.get(level);
+
+            int quadCount = this.uploadedQuadCounts[level];
+
+            if (quadCount == 0) {
+                continue;
+            }
+
+            buffer.bindVertexArray();
+
+            int indexCount = QuadIndexBuffer.getIndexCount(quadCount);
+
+            glDrawElements(GL_TRIANGLES, indexCount, QuadIndexBuffer.getType(quadCount), 0);
+
+            buffer.detachVertexArray();
+        }
+    }
+
+    public int getQuadCount() {
+        int quadCount = 0;
+
+        for (int count : this.quadCounts) {
+            quadCount += count;
+        }
+
+        return quadCount;
+    }
+
+    // Noise samples taken by the last update across every level
+    public int getSampleCount() {
+        return this.sampleCount;
+    }
+
+    // Width in blocks covered by the outermost ring
+    public int getExtent() {
+        ClipmapLevel outerLevel = this.levels.get(FarTerrain.LEVELS - 1);
+
+        return outerLevel.getMaximumX() - outerLevel.getMinimumX();
+    }
+
+    public void cleanup() {
+        for (MeshBuffer buffer : this.buffers) {
+            buffer.cleanup();
+        }
+    }
+}
@@ -3,15 +3,28 @@ package com.duckyshine.app.utility;
 import java.io.File;
 import java.io.IOException;
 
+import java.nio.ByteBuffer;
+
+import java.nio.channels.FileChannel;
+
 import java.nio.file.Path;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
 
 import org.json.JSONObject;
 
 import org.apache.commons.io.FileUtils;
 
 public class FileUtility {
+    // Generated files that can always be rebuilt from resources, relative to the working directory
+    public static final String CACHE_DIRECTORY = "cache";
+
+    public static Path getCachePath(String filename) {
+        return Paths.get(FileUtility.CACHE_DIRECTORY, filename);
+    }
+
     public static String getFilename(String filepath) {
         return Paths.get(filepath).getFileName().toString();
     }
@@ -22,6 +35,49 @@ public class FileUtility {
         return (path != null) ? path.toString() : null;
     }
 
+    // Writes contents beside path, forces them, then atomically moves them over path and forces the directory entry.
+    // A crash leaves either the old file or the whole new one, and once this returns the new one survives power loss
+    public static void replaceDurably(Path path, ByteBuffer contents) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (parent != null) {
+            FileUtility.forceDirectory(parent);
+        }
+    }
+
+    // Makes renames and creations in directory durable
+    public static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException exception) {
+            // Windows cannot open a directory, its filesystem journals the rename itself
+            return;
+        }
+
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
     public static String getFileToString(String filepath) {
         File file = new File(filepath);
 
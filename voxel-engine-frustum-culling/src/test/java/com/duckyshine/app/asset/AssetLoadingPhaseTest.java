@@ -0,0 +1,73 @@
+package com.duckyshine.app.asset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+
+import org.json.JSONArray;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.duckyshine.app.shader.ShaderSource;
+
+import com.duckyshine.app.sound.SoundPlayer;
+
+import com.duckyshine.app.model.BlockType;
+import com.duckyshine.app.model.texture.TextureCache;
+
+public class AssetLoadingPhaseTest {
+    private void assertMatchesSerialLoad(int threads, Path directory) {
+        Path textureCachePath = directory.resolve("textures.bin");
+
+        AssetLoadingPhase assetLoadingPhase = new AssetLoadingPhase(threads, textureCachePath);
+
+        assetLoadingPhase.start();
+
+        List<ShaderSource> shaderSources = assetLoadingPhase.getShaderSources();
+
+        JSONArray shaders = AssetLoader.getShaderEntries();
+
+        assertEquals(shaders.length(), shaderSources.size());
+
+        // Manifest order is kept even though the files are read out of order
+        for (int i = 0; i < shaders.length(); i++) {
+            ShaderSource expected = AssetLoader.readShader(shaders.getJSONObject(i));
+
+            ShaderSource actual = shaderSources.get(i);
+
+            assertEquals(expected.getKey(), actual.getKey());
+            assertEquals(expected.getVertexSource(), actual.getVertexSource());
+            assertEquals(expected.getFragmentSource(), actual.getFragmentSource());
+        }
+
+        TextureCache textureCache = assetLoadingPhase.getTextureCache();
+
+        assertNotNull(textureCache);
+        assertEquals(BlockType.values().length * 6, textureCache.getLayerCount());
+        assertTrue(Files.exists(textureCachePath));
+
+        List<String> playlist = assetLoadingPhase.getPlaylist();
+
+        assertFalse(playlist.isEmpty());
+        assertEquals(SoundPlayer.getMusicFiles(), playlist);
+
+        assetLoadingPhase.cleanup();
+    }
+
+    @Test
+    public void shouldLoadEverythingOnSingleThread(@TempDir Path directory) {
+        this.assertMatchesSerialLoad(1, directory);
+    }
+
+    @Test
+    public void shouldLoadEverythingOnPool(@TempDir Path directory) {
+        this.assertMatchesSerialLoad(4, directory);
+    }
+}
@@ -0,0 +1,72 @@
+package com.duckyshine.app.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class DrawCommandListTest {
+    @Test
+    public void shouldStartEmpty() {
+        DrawCommandList drawCommandList = new DrawCommandList(100);
+
+        assertTrue(drawCommandList.isEmpty());
+        assertEquals(0, drawCommandList.getTotalQuadCount());
+    }
+
+    @Test
+    public void shouldConvertQuadRangeToCountAndBaseVertex() {
+        DrawCommandList drawCommandList = new DrawCommandList(100);
+
+        drawCommandList.add(10, 3);
+
+        assertEquals(1, drawCommandList.size());
+        assertEquals(18, drawCommandList.getCount(0));
+        assertEquals(40, drawCommandList.getBaseVertex(0));
+    }
+
+    @Test
+    public void shouldMergeContiguousRanges() {
+        DrawCommandList drawCommandList = new DrawCommandList(100);
+
+        drawCommandList.add(0, 5);
+        drawCommandList.add(5, 5);
+        drawCommandList.add(20, 1);
+
+        assertEquals(2, drawCommandList.size());
+        assertEquals(60, drawCommandList.getCount(0));
+        assertEquals(0, drawCommandList.getBaseVertex(0));
+        assertEquals(6, drawCommandList.getCount(1));
+        assertEquals(80, drawCommandList.getBaseVertex(1));
+    }
+
+    @Test
+    public void shouldSplitRangesLargerThanCommandLimit() {
+        DrawCommandList drawCommandList = new DrawCommandList(4);
+
+        drawCommandList.add(0, 10);
+
+        assertEquals(3, drawCommandList.size());
+        assertEquals(24, drawCommandList.getCount(0));
+        assertEquals(16, drawCommandList.getBaseVertex(1));
+        assertEquals(12, drawCommandList.getCount(2));
+        assertEquals(32, drawCommandList.getBaseVertex(2));
+        assertEquals(10, drawCommandList.getTotalQuadCount());
+    }
+
+    @Test
+    public void shouldGrowBeyondInitialCapacity() {
+        DrawCommandList drawCommandList = new DrawCommandList(100);
+
+        for (int i = 0; i < 5000; i++) {
+            drawCommandList.add(i * 2, 1);
+        }
+
+        assertEquals(5000, drawCommandList.size());
+        assertEquals(4 * 2 * 4999, drawCommandList.getBaseVertex(4999));
+
+        drawCommandList.clear();
+
+        assertTrue(drawCommandList.isEmpty());
+    }
+}
@@ -0,0 +1,51 @@
+package com.duckyshine.app.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class RangeAllocatorTest {
+    @Test
+    public void shouldAllocateFirstFit() {
+        RangeAllocator allocator = new RangeAllocator(100);
+
+        assertEquals(0, allocator.allocate(10));
+        assertEquals(10, allocator.allocate(20));
+        assertEquals(30, allocator.getAllocated());
+    }
+
+    @Test
+    public void shouldFailWhenFull() {
+        RangeAllocator allocator = new RangeAllocator(10);
+
+        assertEquals(0, allocator.allocate(10));
+        assertEquals(RangeAllocator.INVALID_OFFSET, allocator.allocate(1));
+    }
+
+    @Test
+    public void shouldCoalesceFreedNeighbours() {
+        RangeAllocator allocator = new RangeAllocator(30);
+
+        int first = allocator.allocate(10);
+        int second = allocator.allocate(10);
+        int third = allocator.allocate(10);
+
+        allocator.free(first, 10);
+        allocator.free(third, 10);
+        allocator.free(second, 10);
+
+        assertEquals(1, allocator.getFreeRangeCount());
+        assertEquals(0, allocator.allocate(30));
+    }
+
+    @Test
+    public void shouldAppendFreeSpaceWhenGrowing() {
+        RangeAllocator allocator = new RangeAllocator(10);
+
+        allocator.allocate(5);
+        allocator.grow(20);
+
+        assertEquals(5, allocator.allocate(15));
+        assertEquals(20, allocator.getAllocated());
+    }
+}
@@ -0,0 +1,59 @@
+package com.duckyshine.app.culling;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.math.Direction;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+
+public class ChunkConnectivityTest {
+    @Test
+    public void shouldConnectEveryFaceOfEmptyChunk() {
+        ChunkConnectivity connectivity = ChunkConnectivity.compute(new Chunk(0, 0, 0));
+
+        for (Direction from : Direction.values()) {
+            for (Direction to : Direction.values()) {
+                assertTrue(connectivity.isConnected(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void shouldSeparateFacesAcrossSolidFloor() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int z = 0; z < chunk.getDepth(); z++) {
+                chunk.addBlock(x, 8, z, BlockType.GRASS);
+            }
+        }
+
+        ChunkConnectivity connectivity = ChunkConnectivity.compute(chunk);
+
+        assertFalse(connectivity.isConnected(Direction.TOP, Direction.BOTTOM));
+        assertTrue(connectivity.isConnected(Direction.TOP, Direction.LEFT));
+        assertTrue(connectivity.isConnected(Direction.BOTTOM, Direction.FRONT));
+    }
+
+    @Test
+    public void shouldCloseFullySolidChunk() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int y = 0; y < chunk.getHeight(); y++) {
+                for (int z = 0; z < chunk.getDepth(); z++) {
+                    chunk.addBlock(x, y, z, BlockType.GRASS);
+                }
+            }
+        }
+
+        ChunkConnectivity connectivity = ChunkConnectivity.compute(chunk);
+
+        assertFalse(connectivity.isOpen(Direction.TOP));
+        assertFalse(connectivity.isConnected(Direction.LEFT, Direction.RIGHT));
+    }
+}
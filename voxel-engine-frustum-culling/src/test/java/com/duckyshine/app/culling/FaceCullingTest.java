@@ -0,0 +1,66 @@
+package com.duckyshine.app.culling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.math.Direction;
+
+public class FaceCullingTest {
+    private static final Vector3i CHUNK = new Vector3i(16, 16, 16);
+
+    // Camera position, then expected visibility for TOP, BOTTOM, LEFT, RIGHT, FRONT, BACK
+    private static final Object[][] DECISION_TABLE = {
+            { new Vector3f(24.0f, 40.0f, 24.0f), true, false, true, true, true, true },
+            { new Vector3f(24.0f, 0.0f, 24.0f), false, true, true, true, true, true },
+            { new Vector3f(0.0f, 24.0f, 24.0f), true, true, true, false, true, true },
+            { new Vector3f(40.0f, 24.0f, 24.0f), true, true, false, true, true, true },
+            { new Vector3f(24.0f, 24.0f, 0.0f), true, true, true, true, false, true },
+            { new Vector3f(24.0f, 24.0f, 40.0f), true, true, true, true, true, false },
+            { new Vector3f(24.0f, 24.0f, 24.0f), true, true, true, true, true, true },
+            { new Vector3f(0.0f, 0.0f, 0.0f), false, true, true, false, false, true },
+            { new Vector3f(40.0f, 40.0f, 40.0f), true, false, false, true, true, false },
+    };
+
+    @Test
+    public void shouldMatchDecisionTable() {
+        for (Object[] row : FaceCullingTest.DECISION_TABLE) {
+            Vector3f cameraPosition = (Vector3f) row[0];
+
+            for (Direction direction : Direction.values()) {
+                boolean expected = (boolean) row[direction.getIndex() + 1];
+
+                boolean actual = FaceCulling.isFaceVisible(direction, cameraPosition, FaceCullingTest.CHUNK, 16, 16, 16);
+
+                assertEquals(expected, actual, direction + " from " + cameraPosition);
+            }
+        }
+    }
+
+    @Test
+    public void shouldTreatBoundaryPlanesAsHidden() {
+        Vector3f cameraPosition = new Vector3f(24.0f, 16.0f, 24.0f);
+
+        assertFalse(FaceCulling.isFaceVisible(Direction.TOP, cameraPosition, FaceCullingTest.CHUNK, 16, 16, 16));
+        assertTrue(FaceCulling.isFaceVisible(Direction.BOTTOM, cameraPosition, FaceCullingTest.CHUNK, 16, 16, 16));
+    }
+
+    @Test
+    public void shouldBuildMaskFromVisibleFaces() {
+        Vector3f cameraPosition = new Vector3f(24.0f, 24.0f, 24.0f);
+
+        int visibleFaces = FaceCulling.getVisibleFaces(cameraPosition, FaceCullingTest.CHUNK, 16, 16, 16);
+
+        assertEquals(FaceCulling.ALL_FACES, visibleFaces);
+
+        visibleFaces = FaceCulling.getVisibleFaces(new Vector3f(24.0f, 0.0f, 24.0f), FaceCullingTest.CHUNK, 16, 16, 16);
+
+        assertFalse(FaceCulling.isVisible(visibleFaces, Direction.TOP));
+        assertTrue(FaceCulling.isVisible(visibleFaces, Direction.BOTTOM));
+    }
+}
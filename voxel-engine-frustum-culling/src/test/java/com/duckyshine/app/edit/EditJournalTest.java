@@ -0,0 +1,247 @@
+package com.duckyshine.app.edit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.joml.Vector3i;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.duckyshine.app.model.BlockType;
+
+import com.duckyshine.app.scene.ChunkManager;
+
+public class EditJournalTest {
+    private EditJournal open(Path directory, long commitInterval) throws IOException {
+        return EditJournal.open(directory.resolve("edits.log"), directory.resolve("edits.bin"), commitInterval);
+    }
+
+    @Test
+    public void shouldReplayCommittedEditsInNextSession(@TempDir Path directory) throws IOException {
+        EditJournal first = this.open(directory, 0);
+
+        ChunkManager chunkManager = new ChunkManager();
+
+        chunkManager.restore(first);
+
+        chunkManager.applyEdit(new RegionEdit().fillBox(new Vector3i(-2, 200, 0), new Vector3i(1, 200, 0),
+                BlockType.GRASS));
+        chunkManager.applyEdit(new RegionEdit().set(-2, 200, 0, null));
+
+        assertEquals(5, first.getPendingCount());
+
+        chunkManager.commitEdits();
+
+        assertEquals(0, first.getPendingCount());
+        assertEquals(1, first.getCommitCount());
+
+        first.close();
+
+        EditJournal second = this.open(directory, 0);
+
+        assertEquals(5, second.getReplayEdit().getChangeCount());
+
+        ChunkManager restored = new ChunkManager();
+
+        assertEquals(2, restored.restore(second));
+
+        assertTrue(restored.isBlockActiveAtGlobalPosition(-1.5f, 200.5f, 0.5f));
+        assertFalse(restored.isBlockActiveAtGlobalPosition(-2.5f, 200.5f, 0.5f));
+        assertTrue(restored.isBlockActiveAtGlobalPosition(1.5f, 200.5f, 0.5f));
+
+        // Replaying is not logged again
+        assertEquals(0, second.getPendingCount());
+
+        second.close();
+    }
+
+    @Test
+    public void shouldBatchCommitsWithinInterval(@TempDir Path directory) throws IOException {
+        EditJournal editJournal = this.open(directory, 60_000);
+
+        editJournal.append(0, 0, 0, null, BlockType.GRASS);
+
+        assertFalse(editJournal.commit());
+        assertEquals(1, editJournal.getPendingCount());
+
+        editJournal.append(1, 0, 0, null, BlockType.GRASS);
+
+        editJournal.sync();
+
+        assertEquals(1, editJournal.getCommitCount());
+        assertEquals(2, editJournal.getRecordCount());
+
+        editJournal.close();
+    }
+
+    @Test
+    public void shouldDropTornFrame(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("edits.log");
+
+        EditJournal first = this.open(directory, 0);
+
+        first.append(0, 200, 0, null, BlockType.GRASS);
+
+        first.sync();
+
+        long firstSize = Files.size(path);
+
+        first.append(1, 200, 0, null, BlockType.GRASS);
+        first.append(2, 200, 0, null, BlockType.GRASS);
+
+        first.close();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(path) - 3);
+        }
+
+        EditJournal second = this.open(directory, 0);
+
+        assertEquals(firstSize, Files.size(path));
+        assertEquals(1, second.getReplayEdit().getChangeCount());
+
+        second.close();
+    }
+
+    @Test
+    public void shouldDropCorruptFrame(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("edits.log");
+
+        EditJournal first = this.open(directory, 0);
+
+        first.append(0, 200, 0, null, BlockType.GRASS);
+
+        first.close();
+
+        byte[] bytes = Files.readAllBytes(path);
+
+        bytes[bytes.length - 8] ^= 1;
+
+        Files.write(path, bytes);
+
+        EditJournal second = this.open(directory, 0);
+
+        assertEquals(0, second.getReplayEdit().getChangeCount());
+
+        second.close();
+    }
+
+    @Test
+    public void shouldCompactIntoRegionFile(@TempDir Path directory) throws IOException {
+        EditJournal first = this.open(directory, 0);
+
+        ChunkManager chunkManager = new ChunkManager();
+
+        chunkManager.restore(first);
+
+        chunkManager.applyEdit(new RegionEdit().fillBox(new Vector3i(0, 200, 0), new Vector3i(17, 200, 0),
+                BlockType.GRASS));
+
+        assertTrue(first.compact(42L, chunkManager));
+
+        assertEquals(0, first.getRecordCount());
+        assertEquals(1, first.getCompactionCount());
+
+        // Written after the compaction, so only this one is in the log
+        chunkManager.applyEdit(new RegionEdit().set(3, 200, 0, null));
+
+        first.close();
+
+        EditJournal second = this.open(directory, 0);
+
+        assertEquals(2, second.getStoredChunks().size());
+        assertEquals(1, second.getReplayEdit().getChangeCount());
+
+        ChunkManager restored = new ChunkManager();
+
+        restored.restore(second);
+
+        assertTrue(restored.isBlockActiveAtGlobalPosition(17.5f, 200.5f, 0.5f));
+        assertTrue(restored.isBlockActiveAtGlobalPosition(2.5f, 200.5f, 0.5f));
+        assertFalse(restored.isBlockActiveAtGlobalPosition(3.5f, 200.5f, 0.5f));
+
+        second.close();
+    }
+
+    // Edits to a chunk that is not loaded have no other copy, compaction keeps them in the log
+    @Test
+    public void shouldKeepRecordsOfUnloadedChunks(@TempDir Path directory) throws IOException {
+        EditJournal first = this.open(directory, 0);
+
+        ChunkManager chunkManager = new ChunkManager();
+
+        chunkManager.restore(first);
+
+        chunkManager.applyEdit(new RegionEdit().set(0, 200, 0, BlockType.GRASS));
+
+        first.append(4000, 200, 4000, null, BlockType.GRASS);
+        first.append(4001, 200, 4000, null, BlockType.GRASS);
+
+        assertTrue(first.compact(42L, chunkManager));
+
+        assertEquals(2, first.getRecordCount());
+        assertFalse(first.isCompactionDue());
+
+        // Only the unloaded chunk is left, there is nothing to store
+        assertFalse(first.compact(42L, chunkManager));
+
+        assertEquals(1, first.getCompactionCount());
+
+        first.append(4002, 200, 4000, null, BlockType.GRASS);
+
+        first.close();
+
+        assertFalse(Files.exists(directory.resolve("edits.log.tmp")));
+        assertFalse(Files.exists(directory.resolve("edits.bin.tmp")));
+
+        EditJournal second = this.open(directory, 0);
+
+        assertEquals(1, second.getStoredChunks().size());
+        assertEquals(3, second.getReplayEdit().getChangeCount());
+
+        second.close();
+    }
+
+    // Once a write failed nothing later may look committed
+    @Test
+    public void shouldStopAcknowledgingAfterFailure(@TempDir Path directory) throws IOException {
+        EditJournal editJournal = this.open(directory, 0);
+
+        // A directory in the region file's place makes every compaction fail
+        Files.createDirectories(directory.resolve("edits.bin").resolve("blocked"));
+
+        ChunkManager chunkManager = new ChunkManager();
+
+        chunkManager.restore(editJournal);
+
+        chunkManager.applyEdit(new RegionEdit().set(0, 200, 0, BlockType.GRASS));
+
+        assertThrows(IOException.class, () -> editJournal.compact(42L, chunkManager));
+
+        assertTrue(editJournal.isFailed());
+
+        chunkManager.applyEdit(new RegionEdit().set(1, 200, 0, BlockType.GRASS));
+
+        assertThrows(UncheckedIOException.class, chunkManager::commitEdits);
+        assertThrows(IOException.class, editJournal::close);
+    }
+
+    @Test
+    public void shouldRefuseForeignFile(@TempDir Path directory) throws IOException {
+        Files.write(directory.resolve("edits.log"), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 });
+
+        assertThrows(IOException.class, () -> this.open(directory, 0));
+    }
+}
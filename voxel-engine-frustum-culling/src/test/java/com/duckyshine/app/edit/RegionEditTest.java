@@ -0,0 +1,69 @@
+package com.duckyshine.app.edit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.model.BlockType;
+
+import com.duckyshine.app.scene.ChunkManager;
+
+public class RegionEditTest {
+    @Test
+    public void shouldGroupBoxByChunk() {
+        RegionEdit regionEdit = new RegionEdit();
+
+        // Straddles the x = 0 and z = 0 chunk borders
+        regionEdit.fillBox(new Vector3i(-2, 100, -2), new Vector3i(1, 101, 1), BlockType.GRASS);
+
+        assertEquals(32, regionEdit.getChangeCount());
+        assertEquals(4, regionEdit.getChunkCount());
+    }
+
+    @Test
+    public void shouldOnlyIncludeBlocksInsideSphere() {
+        RegionEdit regionEdit = new RegionEdit();
+
+        regionEdit.fillSphere(new Vector3f(0.5f, 100.5f, 0.5f), 1.0f, BlockType.GRASS);
+
+        // The centre block and its six face neighbours
+        assertEquals(7, regionEdit.getChangeCount());
+    }
+
+    @Test
+    public void shouldApplyEachChunkOnce() {
+        ChunkManager chunkManager = new ChunkManager();
+
+        RegionEdit regionEdit = new RegionEdit();
+
+        regionEdit.fillBox(new Vector3i(-4, 200, 0), new Vector3i(3, 203, 3), BlockType.GRASS);
+
+        assertEquals(2, chunkManager.applyEdit(regionEdit));
+
+        assertTrue(chunkManager.isBlockActiveAtGlobalPosition(-4.5f, 200.5f, 0.5f));
+        assertTrue(chunkManager.isBlockActiveAtGlobalPosition(3.5f, 203.5f, 3.5f));
+
+        // Applying the same edit again writes nothing, so nothing is remeshed
+        assertEquals(0, chunkManager.applyEdit(regionEdit));
+    }
+
+    @Test
+    public void shouldOnlyReplaceMatchingType() {
+        ChunkManager chunkManager = new ChunkManager();
+
+        chunkManager.applyEdit(new RegionEdit().set(0, 200, 0, BlockType.GRASS));
+
+        RegionEdit regionEdit = new RegionEdit()
+                .replace(new Vector3i(0, 200, 0), new Vector3i(1, 200, 0), BlockType.GRASS, null);
+
+        assertEquals(1, chunkManager.applyEdit(regionEdit));
+
+        assertFalse(chunkManager.isBlockActiveAtGlobalPosition(0.5f, 200.5f, 0.5f));
+        assertFalse(chunkManager.isBlockActiveAtGlobalPosition(1.5f, 200.5f, 0.5f));
+    }
+}
@@ -0,0 +1,93 @@
+package com.duckyshine.app.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.physics.VoxelGrid;
+import com.duckyshine.app.physics.FixedTimestep;
+
+public class EntitySystemTest {
+    private static final float DELTA = 1e-2f;
+
+    // Solid floor filling y < 0
+    private final VoxelGrid voxelGrid = (x, y, z) -> y < 0;
+
+    private void fill(EntitySystem entitySystem, int count) {
+        for (int i = 0; i < count; i++) {
+            entitySystem.add((i % 64) * 0.7f, 2.0f + (i / 64) % 4, (i / 256) * 0.7f, 0.6f, 1.8f);
+        }
+    }
+
+    @Test
+    public void shouldLandOnFloor() {
+        EntitySystem entitySystem = new EntitySystem(this.voxelGrid, 1);
+
+        int index = entitySystem.add(0.5f, 3.0f, 0.5f, 0.6f, 1.8f);
+
+        for (int i = 0; i < 120; i++) {
+            entitySystem.step(FixedTimestep.STEP);
+        }
+
+        EntityStore entityStore = entitySystem.getEntityStore();
+
+        assertTrue(entityStore.getIsGrounded(index));
+        assertEquals(0.0f, entityStore.getY(index), EntitySystemTest.DELTA);
+    }
+
+    @Test
+    public void shouldSeparateOverlappingEntities() {
+        EntitySystem entitySystem = new EntitySystem(this.voxelGrid, 1);
+
+        int first = entitySystem.add(0.5f, 0.0f, 0.5f, 0.6f, 1.8f);
+        int second = entitySystem.add(0.7f, 0.0f, 0.5f, 0.6f, 1.8f);
+
+        EntityStore entityStore = entitySystem.getEntityStore();
+
+        assertTrue(entityStore.isOverlapping(first, second));
+
+        for (int i = 0; i < 60; i++) {
+            entitySystem.step(FixedTimestep.STEP);
+        }
+
+        assertFalse(entityStore.isOverlapping(first, second));
+        assertTrue(entityStore.getX(first) < entityStore.getX(second));
+    }
+
+    @Test
+    public void shouldMatchSerialResultWhenParallel() {
+        EntitySystem serial = new EntitySystem(this.voxelGrid, 1);
+        EntitySystem parallel = new EntitySystem(this.voxelGrid, 4);
+
+        this.fill(serial, 5000);
+        this.fill(parallel, 5000);
+
+        for (int i = 0; i < 30; i++) {
+            serial.step(FixedTimestep.STEP);
+            parallel.step(FixedTimestep.STEP);
+        }
+
+        EntityStore serialStore = serial.getEntityStore();
+        EntityStore parallelStore = parallel.getEntityStore();
+
+        for (int i = 0; i < serialStore.size(); i++) {
+            assertEquals(serialStore.getX(i), parallelStore.getX(i));
+            assertEquals(serialStore.getY(i), parallelStore.getY(i));
+            assertEquals(serialStore.getZ(i), parallelStore.getZ(i));
+        }
+
+        assertEquals(serial.getContactCount(), parallel.getContactCount());
+
+        parallel.cleanup();
+    }
+
+    @Test
+    public void shouldRejectOversizedEntity() {
+        EntitySystem entitySystem = new EntitySystem(this.voxelGrid, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> entitySystem.add(0.0f, 0.0f, 0.0f, 3.0f, 1.0f));
+    }
+}
@@ -0,0 +1,75 @@
+package com.duckyshine.app.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SpatialHashTest {
+    private EntityStore getCrowd(int count, long seed) {
+        EntityStore entityStore = new EntityStore();
+
+        Random random = new Random(seed);
+
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * 20.0f - 10.0f;
+            float y = random.nextFloat() * 6.0f - 3.0f;
+            float z = random.nextFloat() * 20.0f - 10.0f;
+
+            entityStore.add(x, y, z, 0.25f + random.nextFloat() * 1.75f, 0.25f + random.nextFloat() * 1.75f);
+        }
+
+        return entityStore;
+    }
+
+    @Test
+    public void shouldFindSameContactsAsBruteForce() {
+        EntityStore entityStore = this.getCrowd(400, 7L);
+
+        SpatialHash spatialHash = new SpatialHash(EntitySystem.MAXIMUM_SIZE);
+
+        spatialHash.build(entityStore);
+
+        int[] contacts = new int[entityStore.size()];
+        int[] visited = new int[27];
+
+        for (int i = 0; i < entityStore.size(); i++) {
+            Set<Integer> expected = new HashSet<>();
+
+            for (int j = 0; j < entityStore.size(); j++) {
+                if (i != j && entityStore.isOverlapping(i, j)) {
+                    expected.add(j);
+                }
+            }
+
+            int count = spatialHash.query(entityStore, i, contacts, visited);
+
+            Set<Integer> found = new HashSet<>();
+
+            for (int k = 0; k < count; k++) {
+                found.add(contacts[k]);
+            }
+
+            assertEquals(expected.size(), count);
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void shouldStopAtContactLimit() {
+        EntityStore entityStore = new EntityStore();
+
+        for (int i = 0; i < 10; i++) {
+            entityStore.add(0.5f, 0.0f, 0.5f, 1.0f, 1.0f);
+        }
+
+        SpatialHash spatialHash = new SpatialHash(EntitySystem.MAXIMUM_SIZE);
+
+        spatialHash.build(entityStore);
+
+        assertEquals(4, spatialHash.query(entityStore, 0, new int[4], new int[27]));
+    }
+}
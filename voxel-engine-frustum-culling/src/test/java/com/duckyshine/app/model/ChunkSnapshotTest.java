@@ -0,0 +1,179 @@
+package com.duckyshine.app.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.buffer.BufferData;
+
+public class ChunkSnapshotTest {
+    private Chunk getTerrain() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int z = 0; z < chunk.getDepth(); z++) {
+                for (int y = 0; y <= (x + z) / 4; y++) {
+                    chunk.addBlock(x, y, z, BlockType.GRASS);
+                }
+            }
+        }
+
+        return chunk;
+    }
+
+    private Chunk mesh(Chunk snapshot) {
+        snapshot.update();
+
+        return snapshot;
+    }
+
+    private void assertSameMesh(Chunk chunk) {
+        Mesh expected = new Mesh();
+
+        expected.update(chunk);
+
+        BufferData expectedData = expected.getBufferData();
+        BufferData actualData = chunk.getMesh().getBufferData();
+
+        assertEquals(expected.getQuadCount(), chunk.getMesh().getQuadCount());
+
+        assertArrayEquals(expectedData.getVertices(), actualData.getVertices());
+        assertArrayEquals(expectedData.getTextures(), actualData.getTextures());
+    }
+
+    @Test
+    public void shouldKeepContentsAfterSourceIsEdited() {
+        Chunk chunk = this.getTerrain();
+
+        Chunk snapshot = chunk.getSnapshot();
+
+        int solidCount = snapshot.getSolidCount();
+
+        chunk.addBlock(8, 15, 8, BlockType.GRASS);
+        chunk.removeBlock(0, 0, 0);
+
+        assertTrue(chunk.isBlockActive(8, 15, 8));
+        assertFalse(chunk.isBlockActive(0, 0, 0));
+
+        assertFalse(snapshot.isBlockActive(8, 15, 8));
+        assertTrue(snapshot.isBlockActive(0, 0, 0));
+        assertEquals(solidCount, snapshot.getSolidCount());
+
+        assertEquals(chunk.getVersion() - 2, snapshot.getVersion());
+    }
+
+    @Test
+    public void shouldRefuseWrites() {
+        Chunk snapshot = this.getTerrain().getSnapshot();
+
+        assertTrue(snapshot.isSnapshot());
+        assertSame(snapshot, snapshot.getSnapshot());
+
+        assertThrows(IllegalStateException.class, () -> snapshot.addBlock(1, 15, 1, BlockType.GRASS));
+        assertThrows(IllegalStateException.class, () -> snapshot.removeBlock(0, 0, 0));
+    }
+
+    @Test
+    public void shouldApplyMeshBuiltOnWorker() throws Exception {
+        Chunk chunk = this.getTerrain();
+
+        chunk.update();
+
+        chunk.addBlock(4, 12, 4, BlockType.GRASS);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        Chunk snapshot = executorService.submit(() -> this.mesh(chunk.getSnapshot())).get();
+
+        executorService.shutdownNow();
+
+        assertTrue(chunk.applySnapshot(snapshot));
+
+        this.assertSameMesh(chunk);
+
+        // The adopted mesh still takes incremental edits
+        chunk.addBlock(5, 12, 4, BlockType.GRASS);
+        chunk.addEdit(5, 12, 4);
+
+        chunk.update();
+
+        this.assertSameMesh(chunk);
+    }
+
+    @Test
+    public void shouldDiscardStaleMesh() {
+        Chunk chunk = this.getTerrain();
+
+        chunk.update();
+
+        Mesh mesh = chunk.getMesh();
+
+        Chunk snapshot = chunk.getSnapshot();
+
+        chunk.removeBlock(15, 7, 15);
+
+        assertFalse(chunk.applySnapshot(this.mesh(snapshot)));
+
+        Chunk coarse = chunk.getSnapshot();
+
+        chunk.setLevel(1);
+
+        assertFalse(chunk.applySnapshot(this.mesh(coarse)));
+
+        // Taken but never meshed
+        chunk.setLevel(LevelOfDetail.FULL);
+
+        assertFalse(chunk.applySnapshot(chunk.getSnapshot()));
+
+        assertSame(mesh, chunk.getMesh());
+    }
+
+    // Every edit hands a snapshot to the worker, only the result for the final version may be applied
+    @Test
+    public void shouldOnlyApplyCurrentResultWhileEditing() throws Exception {
+        Chunk chunk = this.getTerrain();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        List<Future<Chunk>> results = new ArrayList<>();
+
+        for (int i = 0; i < 64; i++) {
+            chunk.addBlock(i % 16, 10 + i / 16, (i * 7) % 16, BlockType.GRASS);
+
+            Chunk snapshot = chunk.getSnapshot();
+
+            results.add(executorService.submit(() -> this.mesh(snapshot)));
+        }
+
+        int appliedCount = 0;
+
+        for (Future<Chunk> result : results) {
+            Chunk snapshot = result.get();
+
+            assertNotEquals(0, snapshot.getMesh().getQuadCount());
+
+            if (chunk.applySnapshot(snapshot)) {
+                appliedCount++;
+            }
+        }
+
+        executorService.shutdownNow();
+
+        assertEquals(1, appliedCount);
+
+        this.assertSameMesh(chunk);
+    }
+}
@@ -0,0 +1,101 @@
+package com.duckyshine.app.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.math.Direction;
+
+import com.duckyshine.app.physics.controller.Player;
+
+public class LevelOfDetailTest {
+    // Surface one block thick that climbs one block every column along x
+    private Chunk getRamp() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int z = 0; z < chunk.getDepth(); z++) {
+                chunk.addBlock(x, x, z, BlockType.GRASS);
+            }
+        }
+
+        return chunk;
+    }
+
+    @Test
+    public void shouldPickLevelByRing() {
+        assertEquals(0, LevelOfDetail.getLevel(0));
+        assertEquals(0, LevelOfDetail.getLevel(1));
+        assertEquals(1, LevelOfDetail.getLevel(2));
+        assertEquals(2, LevelOfDetail.getLevel(5));
+        assertEquals(LevelOfDetail.MAXIMUM_LEVEL, LevelOfDetail.getLevel(6));
+        assertEquals(LevelOfDetail.MAXIMUM_LEVEL, LevelOfDetail.getLevel(20));
+    }
+
+    // A level past the load radius would never be meshed, nor would its skirts
+    @Test
+    public void shouldUseEveryLevelWithinRenderDistance() {
+        int renderDistance = new Player().getRenderDistance();
+
+        Set<Integer> levels = new HashSet<>();
+
+        for (int distance = 0; distance <= renderDistance; distance++) {
+            levels.add(LevelOfDetail.getLevel(distance));
+        }
+
+        assertEquals(LevelOfDetail.MAXIMUM_LEVEL + 1, levels.size());
+    }
+
+    @Test
+    public void shouldKeepThinSurfaceWhenDownsampling() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        chunk.addBlock(5, 6, 7, BlockType.GRASS);
+
+        BlockType[][][] cells = LevelOfDetail.downsample(chunk, 4);
+
+        assertEquals(4, cells.length);
+        assertNotNull(cells[1][1][1]);
+        assertNull(cells[0][0][0]);
+    }
+
+    @Test
+    public void shouldBuildFewerTopQuadsAtCoarserLevels() {
+        Chunk chunk = this.getRamp();
+
+        Mesh mesh = new Mesh();
+
+        mesh.update(chunk, LevelOfDetail.FULL);
+
+        int fullTopQuads = mesh.getBucketQuadCount(Direction.TOP);
+
+        mesh.update(chunk, 2);
+
+        assertEquals(16, fullTopQuads);
+        assertEquals(4, mesh.getBucketQuadCount(Direction.TOP));
+        assertEquals(2, mesh.getLevel());
+    }
+
+    @Test
+    public void shouldAddSkirtsOnlyBelowCoarseMeshes() {
+        Chunk chunk = this.getRamp();
+
+        Mesh mesh = new Mesh();
+
+        mesh.update(chunk, LevelOfDetail.FULL);
+
+        int fullFrontQuads = mesh.getBucketQuadCount(Direction.FRONT);
+
+        mesh.update(chunk, 1);
+
+        // Every raised cell on the front edge hangs a skirt below it
+        assertTrue(mesh.getBucketQuadCount(Direction.FRONT) > 8);
+        assertEquals(16, fullFrontQuads);
+    }
+}
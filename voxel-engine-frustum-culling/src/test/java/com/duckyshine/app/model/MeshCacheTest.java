@@ -0,0 +1,235 @@
+package com.duckyshine.app.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import java.nio.channels.FileChannel;
+
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.duckyshine.app.math.Direction;
+
+import com.duckyshine.app.buffer.BufferData;
+
+public class MeshCacheTest {
+    private Chunk getTerrain(int x, int z, int level) {
+        Chunk chunk = new Chunk(x, 32, z);
+
+        for (int dx = 0; dx < chunk.getWidth(); dx++) {
+            for (int dz = 0; dz < chunk.getDepth(); dz++) {
+                for (int y = 0; y <= (dx + 2 * dz) / 5; y++) {
+                    chunk.addBlock(dx, y, dz, BlockType.GRASS);
+                }
+            }
+        }
+
+        chunk.setLevel(level);
+
+        return chunk;
+    }
+
+    private Chunk update(Chunk chunk, MeshCache meshCache) {
+        chunk.setMeshCache(meshCache);
+
+        chunk.update();
+
+        return chunk;
+    }
+
+    private void assertSameMesh(Chunk chunk, int level, Mesh mesh) {
+        Mesh expected = new Mesh();
+
+        expected.update(chunk, level);
+
+        BufferData expectedData = expected.getBufferData();
+        BufferData actualData = mesh.getBufferData();
+
+        assertEquals(expected.getQuadCount(), mesh.getQuadCount());
+        assertEquals(level, mesh.getLevel());
+
+        for (Direction direction : Direction.values()) {
+            assertEquals(expected.getBucketOffset(direction), mesh.getBucketOffset(direction));
+            assertEquals(expected.getBucketQuadCount(direction), mesh.getBucketQuadCount(direction));
+        }
+
+        assertArrayEquals(expectedData.getVertices(), actualData.getVertices());
+        assertArrayEquals(expectedData.getCoordinates(), actualData.getCoordinates());
+        assertArrayEquals(expectedData.getTextures(), actualData.getTextures());
+    }
+
+    @Test
+    public void shouldDecodeSameMeshInNextSession(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("meshes.bin");
+
+        MeshCache first = MeshCache.open(path);
+
+        this.update(this.getTerrain(-16, 48, LevelOfDetail.FULL), first);
+        this.update(this.getTerrain(0, 48, 1), first);
+
+        assertEquals(2, first.getMissCount());
+        assertEquals(0, first.getHitCount());
+
+        first.close();
+
+        MeshCache second = MeshCache.open(path);
+
+        Chunk full = this.update(this.getTerrain(-16, 48, LevelOfDetail.FULL), second);
+        Chunk coarse = this.update(this.getTerrain(0, 48, 1), second);
+
+        assertEquals(2, second.getHitCount());
+        assertEquals(1.0d, second.getHitRate());
+
+        this.assertSameMesh(full, LevelOfDetail.FULL, full.getMesh());
+        this.assertSameMesh(coarse, 1, coarse.getMesh());
+
+        second.close();
+    }
+
+    // Coarse levels carry skirts, none of them may fall outside what a record can hold
+    @Test
+    public void shouldDecodeSkirtedLevels(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("meshes.bin");
+
+        MeshCache first = MeshCache.open(path);
+
+        for (int level = 1; level <= LevelOfDetail.MAXIMUM_LEVEL; level++) {
+            this.update(this.getTerrain(level * 16, 0, level), first);
+        }
+
+        first.close();
+
+        MeshCache second = MeshCache.open(path);
+
+        for (int level = 1; level <= LevelOfDetail.MAXIMUM_LEVEL; level++) {
+            Chunk chunk = this.update(this.getTerrain(level * 16, 0, level), second);
+
+            this.assertSameMesh(chunk, level, chunk.getMesh());
+        }
+
+        assertEquals(LevelOfDetail.MAXIMUM_LEVEL, second.getHitCount());
+        assertEquals(0, second.getMissCount());
+
+        second.close();
+    }
+
+    @Test
+    public void shouldMissWhenContentsOrLevelChange(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("meshes.bin");
+
+        MeshCache first = MeshCache.open(path);
+
+        this.update(this.getTerrain(0, 0, LevelOfDetail.FULL), first);
+
+        first.close();
+
+        MeshCache second = MeshCache.open(path);
+
+        Chunk edited = this.getTerrain(0, 0, LevelOfDetail.FULL);
+
+        edited.addBlock(3, 12, 3, BlockType.GRASS);
+
+        this.update(edited, second);
+
+        this.update(this.getTerrain(0, 0, 1), second);
+
+        // Same blocks somewhere else place their vertices elsewhere
+        this.update(this.getTerrain(16, 0, LevelOfDetail.FULL), second);
+
+        assertEquals(0, second.getHitCount());
+        assertEquals(3, second.getMissCount());
+
+        this.assertSameMesh(edited, LevelOfDetail.FULL, edited.getMesh());
+
+        second.close();
+    }
+
+    @Test
+    public void shouldRemeshFullyAfterEditingCachedMesh(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("meshes.bin");
+
+        MeshCache first = MeshCache.open(path);
+
+        this.update(this.getTerrain(0, 0, LevelOfDetail.FULL), first);
+
+        first.close();
+
+        MeshCache second = MeshCache.open(path);
+
+        Chunk chunk = this.update(this.getTerrain(0, 0, LevelOfDetail.FULL), second);
+
+        assertFalse(chunk.getMesh().canUpdateBlocks());
+
+        chunk.addBlock(8, 14, 8, BlockType.GRASS);
+        chunk.addEdit(8, 14, 8);
+
+        chunk.update();
+
+        this.assertSameMesh(chunk, LevelOfDetail.FULL, chunk.getMesh());
+
+        second.close();
+    }
+
+    @Test
+    public void shouldDropTornRecord(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("meshes.bin");
+
+        MeshCache first = MeshCache.open(path);
+
+        this.update(this.getTerrain(0, 0, LevelOfDetail.FULL), first);
+
+        long firstSize = Files.size(path);
+
+        this.update(this.getTerrain(16, 0, LevelOfDetail.FULL), first);
+
+        first.close();
+
+        long size = Files.size(path);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 7);
+        }
+
+        MeshCache second = MeshCache.open(path);
+
+        assertEquals(firstSize, Files.size(path));
+
+        this.update(this.getTerrain(0, 0, LevelOfDetail.FULL), second);
+        this.update(this.getTerrain(16, 0, LevelOfDetail.FULL), second);
+
+        assertEquals(1, second.getHitCount());
+        assertEquals(1, second.getMissCount());
+
+        second.close();
+
+        // The torn record was written again whole
+        assertEquals(size, Files.size(path));
+    }
+
+    @Test
+    public void shouldStartOverOnForeignFile(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("meshes.bin");
+
+        Files.write(path, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 });
+
+        MeshCache meshCache = MeshCache.open(path);
+
+        Chunk chunk = this.update(this.getTerrain(0, 0, LevelOfDetail.FULL), meshCache);
+
+        assertEquals(1, meshCache.getMissCount());
+        assertTrue(chunk.isRenderable());
+
+        meshCache.close();
+
+        assertNotEquals(16L, Files.size(path));
+    }
+}
@@ -0,0 +1,103 @@
+package com.duckyshine.app.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.joml.Vector3i;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.math.Direction;
+
+import com.duckyshine.app.buffer.BufferData;
+
+public class MeshTest {
+    private Chunk getTerrain() {
+        Chunk chunk = new Chunk(16, 0, -16);
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int z = 0; z < chunk.getDepth(); z++) {
+                for (int y = 0; y <= (x + z) / 4; y++) {
+                    chunk.addBlock(x, y, z, BlockType.GRASS);
+                }
+            }
+        }
+
+        return chunk;
+    }
+
+    private void assertSameMesh(Chunk chunk, Mesh mesh) {
+        Mesh expected = new Mesh();
+
+        expected.update(chunk);
+
+        BufferData expectedData = expected.getBufferData();
+        BufferData actualData = mesh.getBufferData();
+
+        assertEquals(expected.getQuadCount(), mesh.getQuadCount());
+
+        for (Direction direction : Direction.values()) {
+            assertEquals(expected.getBucketQuadCount(direction), mesh.getBucketQuadCount(direction));
+        }
+
+        assertArrayEquals(expectedData.getVertices(), actualData.getVertices());
+        assertArrayEquals(expectedData.getCoordinates(), actualData.getCoordinates());
+        assertArrayEquals(expectedData.getTextures(), actualData.getTextures());
+    }
+
+    @Test
+    public void shouldMatchFullRebuildAfterPlacingBlock() {
+        Chunk chunk = this.getTerrain();
+
+        Mesh mesh = new Mesh();
+
+        mesh.update(chunk);
+
+        Vector3i position = new Vector3i(5, 9, 7);
+
+        chunk.addBlock(position, BlockType.GRASS);
+
+        mesh.updateBlocks(chunk, List.of(position));
+
+        this.assertSameMesh(chunk, mesh);
+    }
+
+    @Test
+    public void shouldMatchFullRebuildAfterRemovingBlocks() {
+        Chunk chunk = this.getTerrain();
+
+        Mesh mesh = new Mesh();
+
+        mesh.update(chunk);
+
+        // One block inside the terrain and one on the chunk boundary
+        Vector3i inner = new Vector3i(8, 2, 8);
+        Vector3i boundary = new Vector3i(0, 0, 15);
+
+        chunk.removeBlock(inner);
+        chunk.removeBlock(boundary);
+
+        mesh.updateBlocks(chunk, List.of(inner, boundary));
+
+        this.assertSameMesh(chunk, mesh);
+    }
+
+    @Test
+    public void shouldOnlyUpdateBlocksAtFullDetail() {
+        Chunk chunk = this.getTerrain();
+
+        Mesh mesh = new Mesh();
+
+        mesh.update(chunk, 1);
+
+        assertFalse(mesh.canUpdateBlocks());
+
+        mesh.update(chunk);
+
+        assertTrue(mesh.canUpdateBlocks());
+    }
+}
@@ -0,0 +1,121 @@
+package com.duckyshine.app.model.texture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.nio.file.Path;
+
+import java.awt.image.BufferedImage;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TextureCacheTest {
+    private static final int SIZE = 4;
+
+    private Path writeImage(Path directory, String name, int argb) throws IOException {
+        BufferedImage image = new BufferedImage(TextureCacheTest.SIZE, TextureCacheTest.SIZE, BufferedImage.TYPE_INT_ARGB);
+
+        for (int y = 0; y < TextureCacheTest.SIZE; y++) {
+            for (int x = 0; x < TextureCacheTest.SIZE; x++) {
+                // Left half black, right half the given colour, so each mip level has a known average
+                image.setRGB(x, y, (x < TextureCacheTest.SIZE / 2) ? 0xFF000000 : argb);
+            }
+        }
+
+        Path path = directory.resolve(name + ".png");
+
+        ImageIO.write(image, "png", path.toFile());
+
+        return path;
+    }
+
+    private List<Path> writeImages(Path directory) throws IOException {
+        List<Path> sources = new ArrayList<>();
+
+        sources.add(this.writeImage(directory, "first", 0xFFFF0000));
+        sources.add(this.writeImage(directory, "second", 0xFF00FF00));
+
+        return sources;
+    }
+
+    @Test
+    public void shouldBuildAllMipLevels(@TempDir Path directory) throws IOException {
+        List<Path> sources = this.writeImages(directory);
+
+        TextureCache textureCache = TextureCache.getOrBuild(directory.resolve("textures.bin"), sources, TextureCacheTest.SIZE);
+
+        assertNotNull(textureCache);
+        assertEquals(3, textureCache.getLevelCount());
+        assertEquals(2, textureCache.getLayerCount());
+
+        ByteBuffer base = textureCache.getLevel(0);
+
+        assertEquals(TextureCacheTest.SIZE * TextureCacheTest.SIZE * 4 * 2, base.remaining());
+
+        // Top right pixel of the first layer is red
+        assertEquals((byte) 0xFF, base.get(3 * 4));
+        assertEquals((byte) 0x00, base.get(3 * 4 + 1));
+
+        ByteBuffer last = textureCache.getLevel(2);
+
+        assertEquals(4 * 2, last.remaining());
+
+        // 1x1 of the second layer averages black and green
+        assertEquals(0, last.get(4) & 0xFF);
+        assertEquals(128, last.get(5) & 0xFF);
+        assertEquals(255, last.get(7) & 0xFF);
+    }
+
+    @Test
+    public void shouldReuseValidCache(@TempDir Path directory) throws IOException {
+        List<Path> sources = this.writeImages(directory);
+
+        Path path = directory.resolve("textures.bin");
+
+        long hash = TextureCache.hash(sources);
+
+        assertNull(TextureCache.load(path, hash, TextureCacheTest.SIZE, sources.size()));
+
+        TextureCache.build(path, sources, TextureCacheTest.SIZE, hash);
+
+        assertNotNull(TextureCache.load(path, hash, TextureCacheTest.SIZE, sources.size()));
+        assertNull(TextureCache.load(path, hash, TextureCacheTest.SIZE * 2, sources.size()));
+    }
+
+    @Test
+    public void shouldInvalidateWhenSourceChanges(@TempDir Path directory) throws IOException {
+        List<Path> sources = this.writeImages(directory);
+
+        Path path = directory.resolve("textures.bin");
+
+        TextureCache before = TextureCache.getOrBuild(path, sources, TextureCacheTest.SIZE);
+
+        this.writeImage(directory, "second", 0xFF0000FF);
+
+        assertNull(TextureCache.load(path, TextureCache.hash(sources), TextureCacheTest.SIZE, sources.size()));
+
+        TextureCache after = TextureCache.getOrBuild(path, sources, TextureCacheTest.SIZE);
+
+        assertNotEquals(before.getHash(), after.getHash());
+
+        // Top right pixel of the second layer is now blue
+        ByteBuffer base = after.getLevel(0);
+
+        int offset = TextureCacheTest.SIZE * TextureCacheTest.SIZE * 4 + 3 * 4;
+
+        assertEquals(0, base.get(offset + 1) & 0xFF);
+        assertEquals(255, base.get(offset + 2) & 0xFF);
+    }
+}
@@ -0,0 +1,42 @@
+package com.duckyshine.app.physics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class FixedTimestepTest {
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void shouldAccumulateShortFrames() {
+        FixedTimestep fixedTimestep = new FixedTimestep();
+
+        float halfStep = FixedTimestep.STEP * 0.5f;
+
+        assertEquals(0, fixedTimestep.advance(halfStep));
+        assertEquals(0.5f, fixedTimestep.getAlpha(), FixedTimestepTest.DELTA);
+
+        assertEquals(1, fixedTimestep.advance(halfStep * 1.2f));
+        assertEquals(0.1f, fixedTimestep.getAlpha(), FixedTimestepTest.DELTA);
+
+        assertEquals(1, fixedTimestep.getTick());
+    }
+
+    @Test
+    public void shouldRunSeveralStepsForLongFrame() {
+        FixedTimestep fixedTimestep = new FixedTimestep();
+
+        assertEquals(3, fixedTimestep.advance(FixedTimestep.STEP * 3.25f));
+        assertEquals(0.25f, fixedTimestep.getAlpha(), FixedTimestepTest.DELTA);
+    }
+
+    @Test
+    public void shouldCapHugeFrame() {
+        FixedTimestep fixedTimestep = new FixedTimestep();
+
+        assertEquals(FixedTimestep.MAXIMUM_STEPS, fixedTimestep.advance(10.0f));
+        assertEquals(0.0f, fixedTimestep.getAlpha(), FixedTimestepTest.DELTA);
+
+        assertEquals(0, fixedTimestep.advance(-1.0f));
+    }
+}
@@ -0,0 +1,88 @@
+package com.duckyshine.app.physics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import java.nio.file.Path;
+
+import org.joml.Vector3f;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.duckyshine.app.physics.controller.Player;
+
+public class PlayerPhysicsTest {
+    private static final float DELTA = 1e-3f;
+
+    // Solid floor filling y < 0 with a wall at x = 6
+    private final VoxelGrid voxelGrid = (x, y, z) -> y < 0 || x == 6;
+
+    private InputLog getScript() {
+        InputLog inputLog = new InputLog();
+
+        for (int i = 0; i < 120; i++) {
+            int keys = PlayerInput.FORWARD;
+
+            if (i % 40 == 0) {
+                keys |= PlayerInput.JUMP;
+            }
+
+            inputLog.record(new PlayerInput(keys, 10.0f + i * 0.5f, -5.0f));
+        }
+
+        return inputLog;
+    }
+
+    private Vector3f replay(InputLog inputLog) {
+        Player player = new Player(0.5f, 3.0f, 0.5f);
+
+        PlayerPhysics playerPhysics = new PlayerPhysics(this.voxelGrid);
+
+        for (int i = 0; i < inputLog.size(); i++) {
+            playerPhysics.step(player, inputLog.get(i));
+        }
+
+        return new Vector3f(player.getPosition());
+    }
+
+    @Test
+    public void shouldReplayIdentically() {
+        InputLog inputLog = this.getScript();
+
+        Vector3f first = this.replay(inputLog);
+        Vector3f second = this.replay(inputLog);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void shouldLandOnFloor() {
+        Player player = new Player(0.5f, 3.0f, 0.5f);
+
+        PlayerPhysics playerPhysics = new PlayerPhysics(this.voxelGrid);
+
+        for (int i = 0; i < 120; i++) {
+            playerPhysics.step(player, PlayerInput.NONE);
+        }
+
+        assertTrue(player.getIsGrounded());
+        assertEquals(0.0f, player.getAABB().getMin().y, PlayerPhysicsTest.DELTA);
+    }
+
+    @Test
+    public void shouldRoundTripLog(@TempDir Path directory) throws IOException {
+        InputLog inputLog = this.getScript();
+
+        Path path = directory.resolve("input.log");
+
+        inputLog.write(path);
+
+        InputLog readLog = InputLog.read(path);
+
+        assertEquals(inputLog.size(), readLog.size());
+        assertEquals(this.replay(inputLog), this.replay(readLog));
+    }
+}
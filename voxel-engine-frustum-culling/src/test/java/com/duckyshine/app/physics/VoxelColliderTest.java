@@ -0,0 +1,76 @@
+package com.duckyshine.app.physics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.joml.Vector3f;
+
+import org.junit.jupiter.api.Test;
+
+public class VoxelColliderTest {
+    private static final float DELTA = 1e-2f;
+
+    // Solid floor filling y < 0 with a one block thick wall at x = 3
+    private final VoxelGrid voxelGrid = (x, y, z) -> y < 0 || x == 3;
+
+    private AABB getBox(float x, float y, float z) {
+        return new AABB(x - 0.4f, y, z - 0.4f, x + 0.4f, y + 1.8f, z + 0.4f);
+    }
+
+    @Test
+    public void shouldLandOnFloor() {
+        VoxelCollider voxelCollider = new VoxelCollider(this.voxelGrid);
+
+        AABB aabb = this.getBox(0.5f, 0.5f, 0.5f);
+
+        Vector3f motion = new Vector3f(0.0f, -2.0f, 0.0f);
+
+        int collisions = voxelCollider.move(aabb, motion);
+
+        assertEquals(VoxelCollider.Y, collisions);
+        assertEquals(0.0f, aabb.getMin().y, VoxelColliderTest.DELTA);
+        assertEquals(-0.5f, motion.y, VoxelColliderTest.DELTA);
+    }
+
+    @Test
+    public void shouldStopAtWallWithoutTunnelling() {
+        VoxelCollider voxelCollider = new VoxelCollider(this.voxelGrid);
+
+        AABB aabb = this.getBox(0.5f, 0.0f, 0.5f);
+
+        Vector3f motion = new Vector3f(50.0f, 0.0f, 1.0f);
+
+        int collisions = voxelCollider.move(aabb, motion);
+
+        assertEquals(VoxelCollider.X, collisions);
+        assertEquals(3.0f, aabb.getMax().x, VoxelColliderTest.DELTA);
+        assertEquals(1.0f, motion.z, VoxelColliderTest.DELTA);
+    }
+
+    @Test
+    public void shouldRestOnFloorUnderGravity() {
+        VoxelCollider voxelCollider = new VoxelCollider(this.voxelGrid);
+
+        AABB aabb = this.getBox(0.5f, 0.0f, 0.5f);
+
+        Vector3f motion = new Vector3f();
+
+        for (int i = 0; i < 10; i++) {
+            motion.set(0.0f, -0.1f, 0.0f);
+
+            assertEquals(VoxelCollider.Y, voxelCollider.move(aabb, motion));
+        }
+
+        assertEquals(0.0f, aabb.getMin().y, VoxelColliderTest.DELTA);
+        assertFalse(voxelCollider.isColliding(aabb));
+    }
+
+    @Test
+    public void shouldDetectOverlap() {
+        VoxelCollider voxelCollider = new VoxelCollider(this.voxelGrid);
+
+        assertTrue(voxelCollider.isColliding(this.getBox(3.2f, 0.0f, 0.5f)));
+        assertFalse(voxelCollider.isColliding(this.getBox(1.5f, 0.5f, 0.5f)));
+    }
+}
@@ -0,0 +1,204 @@
+package com.duckyshine.app.physics.ray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.joml.Vector3i;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.math.Voxel;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+
+public class RaycastServiceTest {
+    private static final float DELTA = 1e-4f;
+
+    private final Map<Vector3i, Chunk> chunks = new HashMap<>();
+
+    private final ChunkSource chunkSource = (x, y, z) -> this.chunks.get(new Vector3i(x, y, z));
+
+    private void addBlock(int x, int y, int z) {
+        Vector3i chunkPosition = Voxel.getChunkPositionFromGlobalPosition(x, y, z);
+
+        Chunk chunk = this.chunks.computeIfAbsent(chunkPosition, Chunk::new);
+
+        Vector3i blockPosition = Voxel.getBlockPositionFromGlobalPosition(x, y, z);
+
+        chunk.addBlock(blockPosition, BlockType.GRASS);
+    }
+
+    // One block thick floor at y = -1 spanning four chunks around the origin
+    private void addFloor() {
+        for (int x = -16; x < 16; x++) {
+            for (int z = -16; z < 16; z++) {
+                this.addBlock(x, -1, z);
+            }
+        }
+    }
+
+    @Test
+    public void shouldHitFloorWithNormalAndDistance() {
+        this.addFloor();
+
+        RaycastService raycastService = new RaycastService(this.chunkSource);
+
+        RayBatch rayBatch = new RayBatch();
+
+        rayBatch.add(0.5f, 5.5f, 0.5f, 0.0f, -2.0f, 0.0f, 10.0f);
+
+        raycastService.cast(rayBatch);
+
+        assertTrue(rayBatch.getIsHit(0));
+        assertEquals(-1, rayBatch.getBlockY(0));
+        assertEquals(1, rayBatch.getNormalY(0));
+        assertEquals(5.5f, rayBatch.getDistance(0), RaycastServiceTest.DELTA);
+    }
+
+    @Test
+    public void shouldCrossChunkBoundaries() {
+        this.addBlock(-20, 3, 0);
+
+        RaycastService raycastService = new RaycastService(this.chunkSource);
+
+        RayBatch rayBatch = new RayBatch();
+
+        rayBatch.add(10.5f, 3.5f, 0.5f, -1.0f, 0.0f, 0.0f, 40.0f);
+
+        raycastService.cast(rayBatch);
+
+        assertTrue(rayBatch.getIsHit(0));
+        assertEquals(-20, rayBatch.getBlockX(0));
+        assertEquals(1, rayBatch.getNormalX(0));
+        assertEquals(29.5f, rayBatch.getDistance(0), RaycastServiceTest.DELTA);
+    }
+
+    @Test
+    public void shouldMissBeyondMaximumDistance() {
+        this.addFloor();
+
+        RaycastService raycastService = new RaycastService(this.chunkSource);
+
+        RayBatch rayBatch = new RayBatch();
+
+        rayBatch.add(0.5f, 5.5f, 0.5f, 0.0f, -1.0f, 0.0f, 4.0f);
+        rayBatch.add(0.5f, 5.5f, 0.5f, 0.0f, 0.0f, 0.0f, 10.0f);
+
+        raycastService.cast(rayBatch);
+
+        assertFalse(rayBatch.getIsHit(0));
+        assertFalse(rayBatch.getIsHit(1));
+    }
+
+    @Test
+    public void shouldMatchSerialResultWhenParallel() {
+        this.addFloor();
+
+        RaycastService serial = new RaycastService(this.chunkSource);
+        RaycastService parallel = new RaycastService(this.chunkSource, 4);
+
+        RayBatch serialBatch = new RayBatch();
+        RayBatch parallelBatch = new RayBatch();
+
+        Random random = new Random(3L);
+
+        for (int i = 0; i < 4 * RaycastService.PARALLEL_THRESHOLD; i++) {
+            float x = random.nextFloat() * 24.0f - 12.0f;
+            float z = random.nextFloat() * 24.0f - 12.0f;
+
+            float directionX = random.nextFloat() - 0.5f;
+            float directionY = -random.nextFloat();
+            float directionZ = random.nextFloat() - 0.5f;
+
+            serialBatch.add(x, 4.0f, z, directionX, directionY, directionZ, 32.0f);
+            parallelBatch.add(x, 4.0f, z, directionX, directionY, directionZ, 32.0f);
+        }
+
+        serial.cast(serialBatch);
+        parallel.cast(parallelBatch);
+
+        for (int i = 0; i < serialBatch.size(); i++) {
+            assertEquals(serialBatch.getIsHit(i), parallelBatch.getIsHit(i));
+            assertEquals(serialBatch.getBlockX(i), parallelBatch.getBlockX(i));
+            assertEquals(serialBatch.getBlockZ(i), parallelBatch.getBlockZ(i));
+            assertEquals(serialBatch.getDistance(i), parallelBatch.getDistance(i));
+        }
+
+        parallel.cleanup();
+    }
+
+    @Test
+    public void shouldMatchBlockWalkWhenSkipping() {
+        Random random = new Random(11L);
+
+        // Sparse blocks scattered over a few chunks so rays cross empty chunks, empty bricks and occupied ones
+        for (int i = 0; i < 300; i++) {
+            this.addBlock(random.nextInt(64) - 32, random.nextInt(32), random.nextInt(64) - 32);
+        }
+
+        RaycastService blockWalk = new RaycastService(this.chunkSource);
+        RaycastService skipping = new RaycastService(this.chunkSource);
+
+        blockWalk.setSkipping(RaycastService.SKIP_NONE);
+
+        RayBatch blockBatch = new RayBatch();
+        RayBatch skippingBatch = new RayBatch();
+
+        for (int i = 0; i < 2000; i++) {
+            float x = random.nextFloat() * 80.0f - 40.0f;
+            float y = random.nextFloat() * 40.0f - 4.0f;
+            float z = random.nextFloat() * 80.0f - 40.0f;
+
+            float directionX = random.nextFloat() - 0.5f;
+            float directionY = random.nextFloat() - 0.5f;
+            float directionZ = random.nextFloat() - 0.5f;
+
+            blockBatch.add(x, y, z, directionX, directionY, directionZ, 100.0f);
+            skippingBatch.add(x, y, z, directionX, directionY, directionZ, 100.0f);
+        }
+
+        blockWalk.cast(blockBatch);
+        skipping.cast(skippingBatch);
+
+        for (int i = 0; i < blockBatch.size(); i++) {
+            assertEquals(blockBatch.getIsHit(i), skippingBatch.getIsHit(i));
+
+            if (blockBatch.getIsHit(i)) {
+                assertEquals(blockBatch.getBlockX(i), skippingBatch.getBlockX(i));
+                assertEquals(blockBatch.getBlockY(i), skippingBatch.getBlockY(i));
+                assertEquals(blockBatch.getBlockZ(i), skippingBatch.getBlockZ(i));
+                assertEquals(blockBatch.getDistance(i), skippingBatch.getDistance(i), RaycastServiceTest.DELTA);
+
+                assertEquals(blockBatch.getNormalX(i), skippingBatch.getNormalX(i));
+                assertEquals(blockBatch.getNormalY(i), skippingBatch.getNormalY(i));
+                assertEquals(blockBatch.getNormalZ(i), skippingBatch.getNormalZ(i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldClearBrickWhenLastBlockRemoved() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        chunk.addBlock(5, 6, 7, BlockType.GRASS);
+        chunk.addBlock(4, 4, 4, BlockType.GRASS);
+
+        assertFalse(chunk.isBrickEmpty(7, 7, 7));
+        assertTrue(chunk.isBrickEmpty(8, 7, 7));
+
+        chunk.removeBlock(5, 6, 7);
+
+        assertFalse(chunk.isBrickEmpty(7, 7, 7));
+
+        chunk.removeBlock(4, 4, 4);
+
+        assertTrue(chunk.isBrickEmpty(7, 7, 7));
+        assertEquals(0L, chunk.getBrickMask());
+    }
+}
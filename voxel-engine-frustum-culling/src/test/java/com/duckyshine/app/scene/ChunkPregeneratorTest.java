@@ -0,0 +1,172 @@
+package com.duckyshine.app.scene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.util.ArrayList;
+
+import java.io.IOException;
+
+import java.nio.file.Path;
+
+import org.joml.Vector3i;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+import com.duckyshine.app.model.LevelOfDetail;
+
+public class ChunkPregeneratorTest {
+    private static final int MARGIN = 4;
+
+    private List<Vector3i> getColumns(int size) {
+        List<Vector3i> columns = new ArrayList<>();
+
+        for (int x = -size; x < size; x++) {
+            for (int z = -size; z < size; z++) {
+                columns.add(new Vector3i(x * 16, 0, z * 16));
+            }
+        }
+
+        return columns;
+    }
+
+    private Map<Vector3i, Chunk> generate(List<Vector3i> columns, int threads, int startY, int endY, int[] progress) {
+        ChunkPregenerator chunkPregenerator = new ChunkPregenerator(threads, ChunkPregeneratorTest.MARGIN);
+
+        Map<Vector3i, Chunk> chunks = new HashMap<>();
+
+        List<ChunkPregenerator.Column> results = chunkPregenerator.generate(columns, startY, endY,
+                position -> LevelOfDetail.FULL, (completed, total) -> {
+                    assertEquals(progress[0] + 1, completed);
+                    assertEquals(columns.size(), total);
+
+                    progress[0] = completed;
+                });
+
+        chunkPregenerator.cleanup();
+
+        for (ChunkPregenerator.Column column : results) {
+            for (Chunk chunk : column.getChunks()) {
+                chunks.put(chunk.getPosition(), chunk);
+            }
+        }
+
+        return chunks;
+    }
+
+    // The old path, one section at a time over the whole vertical range
+    private Map<Vector3i, Chunk> generateSerially(List<Vector3i> columns, int startY, int endY) {
+        Map<Vector3i, Chunk> chunks = new HashMap<>();
+
+        for (Vector3i column : columns) {
+            HeightMap heightMap = new HeightMap(16, 16);
+
+            heightMap.generate(column);
+
+            for (int y = startY; y <= endY; y += 16) {
+                if (!heightMap.isSectionInRange(y, 16, ChunkPregeneratorTest.MARGIN)) {
+                    continue;
+                }
+
+                Chunk chunk = new Chunk(new Vector3i(column.x, y, column.z));
+
+                chunk.generate(heightMap);
+
+                chunks.put(chunk.getPosition(), chunk);
+            }
+        }
+
+        return chunks;
+    }
+
+    private void assertSameBlocks(Chunk expected, Chunk actual) {
+        assertNotNull(actual);
+
+        assertEquals(expected.getSolidCount(), actual.getSolidCount());
+
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    assertEquals(expected.isBlockActive(x, y, z), actual.isBlockActive(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    void poolMatchesSerialGeneration() {
+        List<Vector3i> columns = this.getColumns(3);
+
+        Map<Vector3i, Chunk> expected = this.generateSerially(columns, -64, 64);
+
+        for (int threads : new int[] { 1, 3 }) {
+            int[] progress = { 0 };
+
+            Map<Vector3i, Chunk> actual = this.generate(columns, threads, -64, 64, progress);
+
+            assertEquals(columns.size(), progress[0]);
+            assertEquals(expected.keySet(), actual.keySet());
+
+            for (Vector3i position : expected.keySet()) {
+                this.assertSameBlocks(expected.get(position), actual.get(position));
+
+                assertTrue(actual.get(position).isEmpty() || actual.get(position).hasMesh());
+            }
+        }
+    }
+
+    @Test
+    void verticalRangeIsRespected() {
+        List<Vector3i> columns = this.getColumns(2);
+
+        Map<Vector3i, Chunk> chunks = this.generate(columns, 2, 16, 16, new int[] { 0 });
+
+        for (Vector3i position : chunks.keySet()) {
+            assertEquals(16, position.y);
+        }
+
+        assertEquals(this.generateSerially(columns, 16, 16).keySet(), chunks.keySet());
+    }
+
+    @Test
+    void regionFileRoundTrips(@TempDir Path directory) throws IOException {
+        Chunk chunk = new Chunk(new Vector3i(32, -16, 48));
+
+        chunk.addBlock(0, 0, 0, BlockType.GRASS);
+        chunk.addBlock(15, 15, 15, BlockType.GRASS);
+
+        for (int y = 0; y < 16; y++) {
+            chunk.addBlock(7, y, 3, BlockType.GRASS);
+        }
+
+        Chunk empty = new Chunk(new Vector3i(0, 0, 0));
+
+        Path path = directory.resolve("region.bin");
+
+        RegionFile.write(path, 42L, List.of(chunk, empty));
+
+        RegionFile regionFile = RegionFile.read(path);
+
+        assertEquals(42L, regionFile.getSeed());
+        assertEquals(2, regionFile.getChunks().size());
+
+        Chunk read = regionFile.getChunks().get(0);
+
+        assertEquals(chunk.getPosition(), read.getPosition());
+
+        this.assertSameBlocks(chunk, read);
+
+        assertEquals(BlockType.GRASS, read.getBlock(7, 9, 3).getBlockType());
+
+        assertFalse(regionFile.getChunks().get(1).isBlockActive(0, 0, 0));
+        assertTrue(regionFile.getChunks().get(1).isEmpty());
+    }
+}
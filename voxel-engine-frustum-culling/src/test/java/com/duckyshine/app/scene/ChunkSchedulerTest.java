@@ -0,0 +1,322 @@
+package com.duckyshine.app.scene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.ArrayList;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.joml.Vector3i;
+
+import org.junit.jupiter.api.Test;
+
+public class ChunkSchedulerTest {
+    // Records the order jobs were started and applied in
+    private static class RecordingTask implements ChunkTask<Integer> {
+        private final int id;
+
+        private final List<Integer> started;
+
+        private final List<Integer> applied;
+
+        private boolean isStale;
+
+        private RecordingTask(int id, List<Integer> started, List<Integer> applied) {
+            this.id = id;
+
+            this.started = started;
+
+            this.applied = applied;
+
+            this.isStale = false;
+        }
+
+        @Override
+        public Callable<Integer> prepare() {
+            this.started.add(this.id);
+
+            return () -> this.id;
+        }
+
+        @Override
+        public boolean apply(Integer result) {
+            if (this.isStale) {
+                return false;
+            }
+
+            this.applied.add(result);
+
+            return true;
+        }
+    }
+
+    private Vector3i getPosition(int id) {
+        return new Vector3i(id * 16, 0, 0);
+    }
+
+    @Test
+    public void shouldRunInPriorityOrder() {
+        ChunkScheduler chunkScheduler = new ChunkScheduler(0);
+
+        List<Integer> started = new ArrayList<>();
+        List<Integer> applied = new ArrayList<>();
+
+        double[] priorities = { 3.0d, 1.0d, 2.0d, 1.0d };
+
+        for (int id = 0; id < priorities.length; id++) {
+            chunkScheduler.schedule(this.getPosition(id), JobType.GENERATE, priorities[id],
+                    new RecordingTask(id, started, applied), List.of());
+        }
+
+        assertEquals(4, chunkScheduler.getPendingCount());
+
+        // Inline mode hands out one job per update, ties go to whichever was scheduled first
+        while (!chunkScheduler.isIdle()) {
+            assertEquals(1, chunkScheduler.update());
+        }
+
+        assertEquals(List.of(1, 3, 2, 0), started);
+        assertEquals(started, applied);
+
+        assertEquals(4, chunkScheduler.getUsefulCount());
+        assertEquals(0, chunkScheduler.getWastedCount());
+    }
+
+    @Test
+    public void shouldFollowNewPriorities() {
+        ChunkScheduler chunkScheduler = new ChunkScheduler(0);
+
+        List<Integer> started = new ArrayList<>();
+        List<Integer> applied = new ArrayList<>();
+
+        for (int id = 0; id < 4; id++) {
+            chunkScheduler.schedule(this.getPosition(id), JobType.MESH, id, new RecordingTask(id, started, applied),
+                    List.of());
+        }
+
+        chunkScheduler.update();
+
+        // The player turned around, the far end is in front now
+        chunkScheduler.reprioritise(position -> -position.x);
+
+        while (!chunkScheduler.isIdle()) {
+            chunkScheduler.update();
+        }
+
+        assertEquals(List.of(0, 3, 2, 1), started);
+    }
+
+    @Test
+    public void shouldKeepOneLiveJobPerChunkAndType() {
+        ChunkScheduler chunkScheduler = new ChunkScheduler(0);
+
+        List<Integer> started = new ArrayList<>();
+        List<Integer> applied = new ArrayList<>();
+
+        ChunkJob<?> job = chunkScheduler.schedule(this.getPosition(0), JobType.GENERATE, 1.0d,
+                new RecordingTask(0, started, applied), List.of());
+
+        assertSame(job, chunkScheduler.schedule(this.getPosition(0), JobType.GENERATE, 0.0d,
+                new RecordingTask(1, started, applied), List.of()));
+
+        assertSame(job, chunkScheduler.getJob(this.getPosition(0), JobType.GENERATE));
+
+        chunkScheduler.update();
+
+        assertEquals(List.of(0), applied);
+
+        assertEquals(null, chunkScheduler.getJob(this.getPosition(0), JobType.GENERATE));
+        assertEquals(ChunkJob.State.DONE, job.getState());
+    }
+
+    @Test
+    public void shouldWaitForDependencies() {
+        ChunkScheduler chunkScheduler = new ChunkScheduler(0);
+
+        List<Integer> started = new ArrayList<>();
+        List<Integer> applied = new ArrayList<>();
+
+        ChunkJob<?> first = chunkScheduler.schedule(this.getPosition(0), JobType.GENERATE, 5.0d,
+                new RecordingTask(0, started, applied), List.of());
+        ChunkJob<?> second = chunkScheduler.schedule(this.getPosition(1), JobType.GENERATE, 6.0d,
+                new RecordingTask(1, started, applied), List.of());
+
+        // Would run first on priority alone
+        ChunkJob<?> mesh = chunkScheduler.schedule(this.getPosition(0), JobType.MESH, 0.0d,
+                new RecordingTask(2, started, applied), List.of(first, second));
+
+        assertEquals(ChunkJob.State.WAITING, mesh.getState());
+
+        chunkScheduler.update();
+
+        assertEquals(ChunkJob.State.WAITING, mesh.getState());
+        assertEquals(1, mesh.getRemainingDependencies());
+
+        // A cancelled dependency releases its dependents too
+        assertTrue(chunkScheduler.cancel(second));
+
+        assertEquals(ChunkJob.State.READY, mesh.getState());
+
+        chunkScheduler.update();
+
+        assertEquals(List.of(0, 2), started);
+        assertEquals(1, chunkScheduler.getAvoidedCount());
+
+        // Finished dependencies are not waited on
+        ChunkJob<?> remesh = chunkScheduler.schedule(this.getPosition(0), JobType.MESH, 0.0d,
+                new RecordingTask(3, started, applied), List.of(first, second));
+
+        assertEquals(ChunkJob.State.READY, remesh.getState());
+    }
+
+    @Test
+    public void shouldCountCancelledAndStaleWork() {
+        ChunkScheduler chunkScheduler = new ChunkScheduler(0);
+
+        List<Integer> started = new ArrayList<>();
+        List<Integer> applied = new ArrayList<>();
+
+        for (int id = 0; id < 8; id++) {
+            chunkScheduler.schedule(this.getPosition(id), JobType.GENERATE, id,
+                    new RecordingTask(id, started, applied), List.of());
+        }
+
+        // Everything past the load radius
+        assertEquals(4, chunkScheduler.cancelIf(job -> job.getPosition().x >= 64));
+
+        assertEquals(4, chunkScheduler.getAvoidedCount());
+        assertFalse(chunkScheduler.cancel(this.getPosition(5), JobType.GENERATE));
+
+        RecordingTask stale = new RecordingTask(8, started, applied);
+
+        stale.isStale = true;
+
+        chunkScheduler.schedule(this.getPosition(8), JobType.GENERATE, -1.0d, stale, List.of());
+
+        while (!chunkScheduler.isIdle()) {
+            chunkScheduler.update();
+        }
+
+        assertEquals(List.of(8, 0, 1, 2, 3), started);
+        assertEquals(List.of(0, 1, 2, 3), applied);
+
+        assertEquals(4, chunkScheduler.getUsefulCount());
+        assertEquals(1, chunkScheduler.getWastedCount());
+        assertEquals(4, chunkScheduler.getAvoidedCount());
+    }
+
+    @Test
+    public void shouldSkipJobsWithNothingToDo() {
+        ChunkScheduler chunkScheduler = new ChunkScheduler(0);
+
+        ChunkTask<Integer> task = new ChunkTask<>() {
+            @Override
+            public Callable<Integer> prepare() {
+                return null;
+            }
+
+            @Override
+            public boolean apply(Integer result) {
+                return true;
+            }
+        };
+
+        ChunkJob<?> job = chunkScheduler.schedule(this.getPosition(0), JobType.SAVE, 0.0d, task, List.of());
+
+        assertEquals(0, chunkScheduler.update());
+
+        assertEquals(ChunkJob.State.DONE, job.getState());
+        assertEquals(1, chunkScheduler.getSkippedCount());
+        assertTrue(chunkScheduler.isIdle());
+    }
+
+    // A job cancelled while its worker is busy still finishes, but its result never reaches the world
+    @Test
+    public void shouldDiscardResultOfCancelledRunningJob() throws Exception {
+        ChunkScheduler chunkScheduler = new ChunkScheduler(1);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Integer> applied = new ArrayList<>();
+
+        ChunkTask<Integer> task = new ChunkTask<>() {
+            @Override
+            public Callable<Integer> prepare() {
+                return () -> {
+                    started.countDown();
+
+                    release.await();
+
+                    return 1;
+                };
+            }
+
+            @Override
+            public boolean apply(Integer result) {
+                applied.add(result);
+
+                return true;
+            }
+        };
+
+        ChunkJob<?> job = chunkScheduler.schedule(this.getPosition(0), JobType.MESH, 0.0d, task, List.of());
+
+        chunkScheduler.update();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(ChunkJob.State.RUNNING, job.getState());
+
+        assertTrue(chunkScheduler.cancel(job));
+
+        assertEquals(0, chunkScheduler.getAvoidedCount());
+
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (!chunkScheduler.isIdle() && System.nanoTime() < deadline) {
+            chunkScheduler.update();
+
+            Thread.sleep(1);
+        }
+
+        chunkScheduler.cleanup();
+
+        assertTrue(chunkScheduler.isIdle());
+        assertTrue(applied.isEmpty());
+
+        assertEquals(1, chunkScheduler.getWastedCount());
+        assertEquals(0, chunkScheduler.getUsefulCount());
+    }
+
+    @Test
+    public void shouldRethrowWorkerFailure() {
+        ChunkScheduler chunkScheduler = new ChunkScheduler(0);
+
+        ChunkTask<Integer> task = new ChunkTask<>() {
+            @Override
+            public Callable<Integer> prepare() {
+                return () -> {
+                    throw new IllegalArgumentException("Broken terrain");
+                };
+            }
+
+            @Override
+            public boolean apply(Integer result) {
+                return true;
+            }
+        };
+
+        chunkScheduler.schedule(this.getPosition(0), JobType.GENERATE, 0.0d, task, List.of());
+
+        assertThrows(IllegalStateException.class, chunkScheduler::update);
+    }
+}
@@ -0,0 +1,104 @@
+package com.duckyshine.app.scene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+
+public class ChunkStatisticsTest {
+    @Test
+    public void shouldNotCreateMeshForEmptyChunk() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        chunk.update();
+
+        assertTrue(chunk.isEmpty());
+        assertFalse(chunk.hasMesh());
+        assertFalse(chunk.isRenderable());
+    }
+
+    @Test
+    public void shouldCountEmptyEnclosedPendingAndRenderableChunks() {
+        Chunk empty = new Chunk(0, 0, 0);
+
+        Chunk enclosed = new Chunk(16, 0, 0);
+
+        Chunk surface = new Chunk(32, 0, 0);
+
+        // Never updated, so it has blocks but no mesh yet
+        Chunk pending = new Chunk(48, 0, 0);
+
+        for (int x = 0; x < enclosed.getWidth(); x++) {
+            for (int y = 0; y < enclosed.getHeight(); y++) {
+                for (int z = 0; z < enclosed.getDepth(); z++) {
+                    enclosed.addBlock(x, y, z, BlockType.GRASS);
+                }
+            }
+        }
+
+        enclosed.setIsEnclosed(true);
+
+        surface.addBlock(4, 4, 4, BlockType.GRASS);
+
+        pending.addBlock(4, 4, 4, BlockType.GRASS);
+
+        for (Chunk chunk : List.of(empty, enclosed, surface)) {
+            chunk.update();
+        }
+
+        ChunkStatistics statistics = ChunkStatistics.collect(List.of(empty, enclosed, surface, pending), false);
+
+        assertEquals(4, statistics.getChunkCount());
+        assertEquals(1, statistics.getEmptyChunkCount());
+        assertEquals(1, statistics.getEnclosedChunkCount());
+        assertEquals(1, statistics.getPendingChunkCount());
+        assertEquals(1, statistics.getRenderableChunkCount());
+        assertEquals(8, statistics.getSavedObjectCount());
+    }
+
+    @Test
+    public void shouldReleaseMeshWhenChunkBecomesEnclosed() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        for (int x = 0; x < chunk.getWidth(); x++) {
+            for (int y = 0; y < chunk.getHeight(); y++) {
+                for (int z = 0; z < chunk.getDepth(); z++) {
+                    chunk.addBlock(x, y, z, BlockType.GRASS);
+                }
+            }
+        }
+
+        chunk.update();
+
+        assertTrue(chunk.isFull());
+        assertTrue(chunk.isRenderable());
+
+        chunk.setIsEnclosed(true);
+        chunk.update();
+
+        assertTrue(chunk.hasMesh());
+        assertFalse(chunk.isRenderable());
+    }
+
+    @Test
+    public void shouldReleaseMeshDataWhenChunkIsEmptied() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        chunk.addBlock(1, 1, 1, BlockType.GRASS);
+        chunk.update();
+
+        assertTrue(chunk.isRenderable());
+
+        chunk.removeBlock(1, 1, 1);
+        chunk.update();
+
+        assertTrue(chunk.isEmpty());
+        assertFalse(chunk.isRenderable());
+    }
+}
@@ -0,0 +1,143 @@
+package com.duckyshine.app.scene;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.joml.Vector3f;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.buffer.BufferData;
+
+import com.duckyshine.app.model.Mesh;
+import com.duckyshine.app.model.Chunk;
+import com.duckyshine.app.model.BlockType;
+import com.duckyshine.app.model.MeshUpload;
+
+import com.duckyshine.app.physics.AABB;
+import com.duckyshine.app.physics.FixedTimestep;
+
+public class FrameExchangeTest {
+    private static final float DELTA = 1e-4f;
+
+    private FramePacket getPacket(long tick, List<MeshUpload> meshUploads, BufferData[] farTerrainUploads) {
+        AABB aabb = new AABB(0.0f, 0.0f, 0.0f, 1.0f, 1.0f, 1.0f);
+
+        return new FramePacket(tick, tick * 1000L, new Vector3f(), new Vector3f(tick, 0.0f, 0.0f), aabb, List.of(),
+                meshUploads, farTerrainUploads);
+    }
+
+    private MeshUpload getUpload(Mesh mesh) {
+        return new MeshUpload(mesh, new BufferData(new float[0], new float[0], new int[0]), new int[7], 0);
+    }
+
+    @Test
+    public void shouldHandOverEachPacketOnce() {
+        FrameExchange frameExchange = new FrameExchange();
+
+        assertNull(frameExchange.take());
+
+        FramePacket framePacket = this.getPacket(1, List.of(), null);
+
+        frameExchange.publish(framePacket);
+
+        assertSame(framePacket, frameExchange.take());
+        assertNull(frameExchange.take());
+
+        assertEquals(1, frameExchange.getPublishedCount());
+        assertEquals(0, frameExchange.getSkippedCount());
+    }
+
+    // The render thread fell behind, the newest view wins but no upload may be lost
+    @Test
+    public void shouldCarryUploadsOfReplacedPacket() {
+        FrameExchange frameExchange = new FrameExchange();
+
+        Mesh first = new Mesh();
+        Mesh second = new Mesh();
+
+        MeshUpload stale = this.getUpload(first);
+        MeshUpload kept = this.getUpload(second);
+        MeshUpload newest = this.getUpload(first);
+
+        BufferData level0 = new BufferData(new float[0], new float[0], new int[0]);
+        BufferData level1 = new BufferData(new float[0], new float[0], new int[0]);
+        BufferData newerLevel1 = new BufferData(new float[0], new float[0], new int[0]);
+
+        frameExchange.publish(this.getPacket(1, List.of(stale, kept), new BufferData[] { level0, level1, null }));
+        frameExchange.publish(this.getPacket(2, List.of(newest), new BufferData[] { null, newerLevel1, null }));
+
+        FramePacket framePacket = frameExchange.take();
+
+        assertEquals(2, framePacket.getTick());
+        assertEquals(List.of(kept, newest), framePacket.getMeshUploads());
+
+        BufferData[] farTerrainUploads = framePacket.getFarTerrainUploads();
+
+        assertSame(level0, farTerrainUploads[0]);
+        assertSame(newerLevel1, farTerrainUploads[1]);
+        assertNull(farTerrainUploads[2]);
+
+        assertEquals(1, frameExchange.getSkippedCount());
+    }
+
+    @Test
+    public void shouldInterpolateCameraOverOneTick() {
+        FramePacket framePacket = this.getPacket(4, List.of(), null);
+
+        long halfStep = (long) (FixedTimestep.STEP * 0.5d * 1e9d);
+
+        assertEquals(0.0f, framePacket.getAlpha(framePacket.getTime() - 1000L), FrameExchangeTest.DELTA);
+        assertEquals(0.5f, framePacket.getAlpha(framePacket.getTime() + halfStep), FrameExchangeTest.DELTA);
+        assertEquals(1.0f, framePacket.getAlpha(framePacket.getTime() + halfStep * 4), FrameExchangeTest.DELTA);
+
+        Vector3f cameraPosition = framePacket.getCameraPosition(0.5f, new Vector3f());
+
+        assertEquals(2.0f, cameraPosition.x, FrameExchangeTest.DELTA);
+    }
+
+    // A taken upload belongs to the render thread, rebuilding the mesh must not touch it
+    @Test
+    public void shouldTakeEachBuildOnce() {
+        Chunk chunk = new Chunk(0, 0, 0);
+
+        chunk.addBlock(1, 1, 1, BlockType.GRASS);
+
+        chunk.update();
+
+        Mesh mesh = chunk.getMesh();
+
+        MeshUpload meshUpload = mesh.takeUpload();
+
+        assertNotNull(meshUpload);
+        assertNull(mesh.takeUpload());
+        assertNull(mesh.getBufferData());
+
+        assertSame(mesh, meshUpload.getMesh());
+        assertEquals(6, meshUpload.getQuadCount());
+
+        int[] bucketOffsets = meshUpload.getBucketOffsets().clone();
+
+        float[] vertices = meshUpload.getBufferData().getVertices();
+
+        chunk.addBlock(1, 2, 1, BlockType.GRASS);
+        chunk.addEdit(1, 2, 1);
+
+        chunk.update();
+
+        assertEquals(6, meshUpload.getQuadCount());
+        assertArrayEquals(bucketOffsets, meshUpload.getBucketOffsets());
+        assertSame(vertices, meshUpload.getBufferData().getVertices());
+
+        MeshUpload nextUpload = mesh.takeUpload();
+
+        assertNotNull(nextUpload);
+        assertNotSame(vertices, nextUpload.getBufferData().getVertices());
+    }
+}
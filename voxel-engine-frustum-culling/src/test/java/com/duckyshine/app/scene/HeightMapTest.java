@@ -0,0 +1,55 @@
+package com.duckyshine.app.scene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class HeightMapTest {
+    private HeightMap getHeightMap(int minimumHeight, int maximumHeight) {
+        HeightMap heightMap = new HeightMap(16, 16);
+
+        int[][] heights = heightMap.getHeights();
+
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                heights[z][x] = minimumHeight;
+            }
+        }
+
+        heights[7][3] = maximumHeight;
+
+        heightMap.updateRange();
+
+        return heightMap;
+    }
+
+    @Test
+    public void shouldTrackColumnRange() {
+        HeightMap heightMap = this.getHeightMap(-3, 21);
+
+        assertEquals(-3, heightMap.getMinimumHeight());
+        assertEquals(21, heightMap.getMaximumHeight());
+    }
+
+    @Test
+    public void shouldOnlyKeepSectionsNearTerrain() {
+        HeightMap heightMap = this.getHeightMap(18, 20);
+
+        assertFalse(heightMap.isSectionInRange(-16, 16, 0));
+        assertFalse(heightMap.isSectionInRange(0, 16, 0));
+        assertTrue(heightMap.isSectionInRange(16, 16, 0));
+        assertFalse(heightMap.isSectionInRange(32, 16, 0));
+    }
+
+    @Test
+    public void shouldWidenRangeByMargin() {
+        HeightMap heightMap = this.getHeightMap(18, 30);
+
+        assertFalse(heightMap.isSectionInRange(0, 16, 2));
+        assertTrue(heightMap.isSectionInRange(0, 16, 3));
+        assertFalse(heightMap.isSectionInRange(32, 16, 1));
+        assertTrue(heightMap.isSectionInRange(32, 16, 2));
+    }
+}
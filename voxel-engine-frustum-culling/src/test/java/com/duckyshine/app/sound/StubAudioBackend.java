@@ -0,0 +1,100 @@
+package com.duckyshine.app.sound;
+
+import java.util.Map;
+import java.util.HashMap;
+
+// Records what the pool asks for instead of making any sound
+class StubAudioBackend implements AudioBackend {
+    private final int sourceLimit;
+
+    private int nextId;
+
+    private int createdSources;
+
+    private int loadCount;
+
+    // Source id to the offset it was last started at, only sources currently playing are present
+    private final Map<Integer, Float> playing;
+
+    StubAudioBackend(int sourceLimit) {
+        this.sourceLimit = sourceLimit;
+
+        this.nextId = 1;
+
+        this.createdSources = 0;
+
+        this.loadCount = 0;
+
+        this.playing = new HashMap<>();
+    }
+
+    @Override
+    public int loadBuffer(String filepath) {
+        this.loadCount++;
+
+        return this.nextId++;
+    }
+
+    @Override
+    public float getDuration(int bufferId) {
+        return 2.0f;
+    }
+
+    @Override
+    public void deleteBuffer(int bufferId) {
+
+    }
+
+    @Override
+    public int createSource() {
+        if (this.createdSources == this.sourceLimit) {
+            return 0;
+        }
+
+        this.createdSources++;
+
+        return this.nextId++;
+    }
+
+    @Override
+    public void deleteSource(int sourceId) {
+
+    }
+
+    @Override
+    public void play(int sourceId, int bufferId, float offset, boolean isLooping) {
+        this.playing.put(sourceId, offset);
+    }
+
+    @Override
+    public void stop(int sourceId) {
+        this.playing.remove(sourceId);
+    }
+
+    @Override
+    public void setPosition(int sourceId, float x, float y, float z) {
+
+    }
+
+    @Override
+    public void setGain(int sourceId, float gain) {
+
+    }
+
+    @Override
+    public void setListenerPosition(float x, float y, float z) {
+
+    }
+
+    int getPlayingCount() {
+        return this.playing.size();
+    }
+
+    float getOffset(int sourceId) {
+        return this.playing.get(sourceId);
+    }
+
+    int getLoadCount() {
+        return this.loadCount;
+    }
+}
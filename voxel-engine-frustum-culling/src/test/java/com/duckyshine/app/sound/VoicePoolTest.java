@@ -0,0 +1,127 @@
+package com.duckyshine.app.sound;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class VoicePoolTest {
+    private static final float DELTA = 1e-4f;
+
+    private static final float FRAME = 1.0f / 60.0f;
+
+    @Test
+    public void shouldShareDecodedClips() {
+        StubAudioBackend audioBackend = new StubAudioBackend(8);
+
+        VoicePool voicePool = new VoicePool(audioBackend, 4);
+
+        SoundClip first = voicePool.getClip("break.ogg");
+        SoundClip second = voicePool.getClip("break.ogg");
+
+        assertSame(first, second);
+        assertEquals(1, audioBackend.getLoadCount());
+    }
+
+    @Test
+    public void shouldStopAtDriverSourceLimit() {
+        VoicePool voicePool = new VoicePool(new StubAudioBackend(3), 8);
+
+        assertEquals(3, voicePool.getSourceCount());
+    }
+
+    @Test
+    public void shouldGiveSourcesToClosestVoices() {
+        StubAudioBackend audioBackend = new StubAudioBackend(8);
+
+        VoicePool voicePool = new VoicePool(audioBackend, 2);
+
+        SoundClip soundClip = voicePool.getClip("place.ogg");
+
+        Voice far = voicePool.play(soundClip, SoundPriority.NORMAL, 30.0f, 0.0f, 0.0f);
+        Voice near = voicePool.play(soundClip, SoundPriority.NORMAL, 1.0f, 0.0f, 0.0f);
+        Voice middle = voicePool.play(soundClip, SoundPriority.NORMAL, 10.0f, 0.0f, 0.0f);
+
+        voicePool.update(0.0f, 0.0f, 0.0f, VoicePoolTest.FRAME);
+
+        assertFalse(near.isVirtual());
+        assertFalse(middle.isVirtual());
+        assertTrue(far.isVirtual());
+
+        assertEquals(2, audioBackend.getPlayingCount());
+        assertEquals(1, voicePool.getVirtualCount());
+    }
+
+    @Test
+    public void shouldPreferHigherPriority() {
+        VoicePool voicePool = new VoicePool(new StubAudioBackend(8), 1);
+
+        SoundClip soundClip = voicePool.getClip("place.ogg");
+
+        Voice near = voicePool.play(soundClip, SoundPriority.LOW, 1.0f, 0.0f, 0.0f);
+        Voice important = voicePool.play(soundClip, SoundPriority.HIGH, 20.0f, 0.0f, 0.0f);
+
+        voicePool.update(0.0f, 0.0f, 0.0f, VoicePoolTest.FRAME);
+
+        assertFalse(important.isVirtual());
+        assertTrue(near.isVirtual());
+    }
+
+    @Test
+    public void shouldReleaseSourceWhenOutOfRange() {
+        StubAudioBackend audioBackend = new StubAudioBackend(8);
+
+        VoicePool voicePool = new VoicePool(audioBackend, 4);
+
+        Voice voice = voicePool.play(voicePool.getClip("loop.ogg"), SoundPriority.CRITICAL, 5.0f, 0.0f, 0.0f, 1.0f, true);
+
+        voicePool.update(0.0f, 0.0f, 0.0f, VoicePoolTest.FRAME);
+
+        assertFalse(voice.isVirtual());
+
+        voicePool.update(100.0f, 0.0f, 0.0f, VoicePoolTest.FRAME);
+
+        assertTrue(voice.isVirtual());
+        assertEquals(0, audioBackend.getPlayingCount());
+        assertEquals(1, voicePool.getVoiceCount());
+    }
+
+    @Test
+    public void shouldResumeVirtualVoiceAtElapsedTime() {
+        StubAudioBackend audioBackend = new StubAudioBackend(8);
+
+        VoicePool voicePool = new VoicePool(audioBackend, 4);
+
+        Voice voice = voicePool.play(voicePool.getClip("loop.ogg"), SoundPriority.NORMAL, 100.0f, 0.0f, 0.0f, 1.0f, true);
+
+        voicePool.update(0.0f, 0.0f, 0.0f, 0.5f);
+
+        assertTrue(voice.isVirtual());
+
+        voicePool.update(100.0f, 0.0f, 0.0f, 0.25f);
+
+        assertFalse(voice.isVirtual());
+        assertEquals(0.75f, audioBackend.getOffset(voice.getSourceId()), VoicePoolTest.DELTA);
+    }
+
+    @Test
+    public void shouldDropFinishedVoices() {
+        StubAudioBackend audioBackend = new StubAudioBackend(8);
+
+        VoicePool voicePool = new VoicePool(audioBackend, 4);
+
+        voicePool.play(voicePool.getClip("break.ogg"), SoundPriority.NORMAL, 0.0f, 0.0f, 0.0f);
+
+        voicePool.update(0.0f, 0.0f, 0.0f, VoicePoolTest.FRAME);
+
+        assertEquals(1, voicePool.getRealCount());
+
+        voicePool.update(0.0f, 0.0f, 0.0f, 2.0f);
+
+        assertEquals(0, voicePool.getVoiceCount());
+        assertEquals(0, voicePool.getRealCount());
+        assertEquals(0, audioBackend.getPlayingCount());
+    }
+}
@@ -0,0 +1,53 @@
+package com.duckyshine.app.terrain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.duckyshine.app.math.Voxel;
+
+import com.duckyshine.app.scene.HeightMap;
+
+public class ClipmapLevelTest {
+    @Test
+    public void shouldSampleWholeGridOnce() {
+        ClipmapLevel clipmapLevel = new ClipmapLevel(8, 4);
+
+        assertTrue(clipmapLevel.update(0, 0));
+        assertEquals(81, clipmapLevel.getSampleCount());
+
+        assertFalse(clipmapLevel.update(3, 3));
+        assertEquals(0, clipmapLevel.getSampleCount());
+    }
+
+    @Test
+    public void shouldOnlySampleNewEdgeWhenMoving() {
+        ClipmapLevel clipmapLevel = new ClipmapLevel(8, 4);
+
+        clipmapLevel.update(0, 0);
+
+        assertTrue(clipmapLevel.update(4, 0));
+        assertEquals(9, clipmapLevel.getSampleCount());
+
+        assertTrue(clipmapLevel.update(8, 4));
+        assertEquals(17, clipmapLevel.getSampleCount());
+    }
+
+    @Test
+    public void shouldMatchHeightMapAfterWrapping() {
+        ClipmapLevel clipmapLevel = new ClipmapLevel(8, 4);
+
+        clipmapLevel.update(0, 0);
+        clipmapLevel.update(20, -12);
+
+        for (int gridX = clipmapLevel.getOriginX(); gridX <= clipmapLevel.getOriginX() + 8; gridX++) {
+            for (int gridZ = clipmapLevel.getOriginZ(); gridZ <= clipmapLevel.getOriginZ() + 8; gridZ++) {
+                int expected = HeightMap.getHeight(gridX * 4, gridZ * 4, Voxel.CHUNK_WIDTH, Voxel.CHUNK_DEPTH);
+
+                assertEquals(expected, clipmapLevel.getHeight(gridX, gridZ));
+            }
+        }
+    }
+}